@@ -0,0 +1,252 @@
+package card;
+
+/**
+ * Compact primitive encoding of a French playing card, allowing decks and
+ * hands to store their cards in a byte array and only create Card objects
+ * when they are needed by the user interface.
+ * <br><br>
+ * A card code is laid out as
+ * <br><pre>
+ * bit  6    | bits 5-4 | bits 3-0
+ * face up   | suit     | face
+ * </pre>
+ * The colour of the card is determined by the suit, clubs and spades are
+ * black, hearts and diamonds are red.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public final class CardCode
+{
+	/**
+	 * Mask of the bits holding the face.
+	 */
+	private static final int FACE_MASK = 0x0F;
+	/**
+	 * Number of bits the suit is shifted by.
+	 */
+	private static final int SUIT_SHIFT = 4;
+	/**
+	 * Mask of the bits holding the suit once shifted.
+	 */
+	private static final int SUIT_MASK = 0x03;
+	/**
+	 * The bit flagging that the card is face up.
+	 */
+	private static final int FACE_UP = 0x40;
+	/**
+	 * Every face, cached to avoid the copy made by Face.values().
+	 */
+	private static final Face[] FACES = Face.values();
+	/**
+	 * Every suit, cached to avoid the copy made by Suit.values().
+	 */
+	private static final Suit[] SUITS = Suit.values();
+	/**
+	 * The hard value of each face, an ace is always worth 1.
+	 */
+	private static final int[] HARD_VALUES = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10,
+			10, 10, 10};
+	/**
+	 * The number of distinct card codes, including the face up bit.
+	 */
+	public static final int NUMOFCODES = 0x80;
+
+	/**
+	 * Prevents the utility class from being constructed.
+	 *
+	 * @since 1.8.0
+	 */
+	private CardCode()
+	{
+		super();
+	}
+
+	/**
+	 * Encodes the attributes of a card.
+	 *
+	 * @param face The face of the card.
+	 * @param suit The suit of the card.
+	 * @param faceUp Whether the card is face up.
+	 * @return The code of the card.
+	 * @since 1.8.0
+	 */
+	public static byte encode(Face face, Suit suit, boolean faceUp)
+	{
+		int code = face.ordinal() | suit.ordinal() << SUIT_SHIFT;
+		if(faceUp)
+		{
+			code |= FACE_UP;
+		}
+
+		return (byte) code;
+	}
+
+	/**
+	 * Encodes a card, the program ends if the card is null or blank.
+	 *
+	 * @param card The card being encoded.
+	 * @return The code of the card.
+	 * @since 1.8.0
+	 */
+	public static byte fromCard(Card card)
+	{
+		try
+		{
+			if(card == null || card.getFace() == null)
+			{
+				throw new NullPointerException("Null card in CardCode");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		return encode(card.getFace(), card.getSuit(), card.getFaceUp());
+	}
+
+	/**
+	 * Creates a card from a card code, an ace is given a value of 11.
+	 *
+	 * @param code The code of the card.
+	 * @return A new card with the attributes of the code.
+	 * @since 1.8.0
+	 */
+	public static Card toCard(byte code)
+	{
+		Card card = new Card(getColour(code), getSuit(code), getFace(code));
+		card.setFaceUp(getFaceUp(code));
+		return card;
+	}
+
+	/**
+	 * Gets the index of the face of a card code, equal to the ordinal of the
+	 * face.
+	 *
+	 * @param code The code of the card.
+	 * @return The index of the face.
+	 * @since 1.8.0
+	 */
+	public static int getFaceIndex(byte code)
+	{
+		return code & FACE_MASK;
+	}
+
+	/**
+	 * Gets the face of a card code.
+	 *
+	 * @param code The code of the card.
+	 * @return The face of the card.
+	 * @since 1.8.0
+	 */
+	public static Face getFace(byte code)
+	{
+		return FACES[code & FACE_MASK];
+	}
+
+	/**
+	 * Gets the suit of a card code.
+	 *
+	 * @param code The code of the card.
+	 * @return The suit of the card.
+	 * @since 1.8.0
+	 */
+	public static Suit getSuit(byte code)
+	{
+		return SUITS[code >> SUIT_SHIFT & SUIT_MASK];
+	}
+
+	/**
+	 * Gets the colour of a card code.
+	 *
+	 * @param code The code of the card.
+	 * @return The colour of the card.
+	 * @since 1.8.0
+	 */
+	public static Colour getColour(byte code)
+	{
+		Suit suit = getSuit(code);
+		if(suit == Suit.CLUBS || suit == Suit.SPADES)
+		{
+			return Colour.BLACK;
+		}
+		return Colour.RED;
+	}
+
+	/**
+	 * Gets the hard value of a card code, aces are worth 1.
+	 *
+	 * @param code The code of the card.
+	 * @return The hard value of the card.
+	 * @since 1.8.0
+	 */
+	public static int getHardValue(byte code)
+	{
+		return HARD_VALUES[code & FACE_MASK];
+	}
+
+	/**
+	 * Gets whether a card code is an ace.
+	 *
+	 * @param code The code of the card.
+	 * @return Whether the card is an ace.
+	 * @since 1.8.0
+	 */
+	public static boolean isAce(byte code)
+	{
+		return (code & FACE_MASK) == 0;
+	}
+
+	/**
+	 * Gets whether a card code is face up.
+	 *
+	 * @param code The code of the card.
+	 * @return Whether the card is face up.
+	 * @since 1.8.0
+	 */
+	public static boolean getFaceUp(byte code)
+	{
+		return (code & FACE_UP) != 0;
+	}
+
+	/**
+	 * Sets whether a card code is face up.
+	 *
+	 * @param code The code of the card.
+	 * @param faceUp Whether the card is face up.
+	 * @return The code of the card with the new face up state.
+	 * @since 1.8.0
+	 */
+	public static byte setFaceUp(byte code, boolean faceUp)
+	{
+		if(faceUp)
+		{
+			return (byte) (code | FACE_UP);
+		}
+		return (byte) (code & ~FACE_UP);
+	}
+
+	/**
+	 * String representation of a card code, in the same form as a card.
+	 *
+	 * @param code The code of the card.
+	 * @return String representation of the card code.
+	 * @see card.Card#toString()
+	 * @since 1.8.0
+	 */
+	public static String toString(byte code)
+	{
+		if(getFaceUp(code))
+		{
+			return getColour(code).name() + " " + getFace(code) + " of "
+				+ getSuit(code);
+		}
+		else
+		{
+			return "FACE DOWN CARD";
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package card;
+
+import java.util.Arrays;
+
+/**
+ * A card counting system which gives each face a tag, the running count is
+ * the sum of the tags of every card dealt from the shoe.
+ * <br><br>
+ * A balanced system has tags which sum to 0 over a standard deck and starts
+ * at a running count of 0. An unbalanced system such as KO starts at the sum
+ * of the tags of a deck multiplied by 1 minus the number of decks, so the
+ * count ends at the sum of a single deck once every card has been dealt.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class CountingSystem
+{
+	/**
+	 * The Hi-Lo system, 2 - 6 are +1 and 10 - ace are -1.
+	 */
+	public static final CountingSystem HI_LO = new CountingSystem("Hi-Lo",
+			new int[] {-1, 1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1});
+	/**
+	 * The Knock-Out system, 2 - 7 are +1 and 10 - ace are -1.
+	 */
+	public static final CountingSystem KO = new CountingSystem("KO",
+			new int[] {-1, 1, 1, 1, 1, 1, 1, 0, 0, -1, -1, -1, -1});
+	/**
+	 * The Omega II system, 4 - 6 are +2, 2, 3 and 7 are +1, 9 is -1, 10 -
+	 * king are -2 and aces aren't counted.
+	 */
+	public static final CountingSystem OMEGA_II = new CountingSystem(
+			"Omega II", new int[] {0, 1, 1, 2, 2, 2, 1, 0, -1, -2, -2, -2, -2});
+	/**
+	 * The name of the system.
+	 */
+	private String name;
+	/**
+	 * The tag of each face, indexed by the ordinal of the face.
+	 */
+	private int[] tags;
+	/**
+	 * The tag of each card code, so a draw is counted with a single lookup.
+	 */
+	private int[] codeTags;
+	/**
+	 * The sum of the tags over a standard deck.
+	 */
+	private int deckSum;
+
+	/**
+	 * Constructs a counting system with a tag for each face, the program
+	 * ends if any argument is null or there isn't a tag for every face.
+	 *
+	 * @param name The name of the system.
+	 * @param tags The tag of each face, indexed by the ordinal of the face.
+	 * @since 1.8.0
+	 */
+	public CountingSystem(String name, int[] tags)
+	{
+		try
+		{
+			if(name == null || tags == null)
+			{
+				throw new NullPointerException("Null in CountingSystem "
+						+ "constructor");
+			}
+			if(tags.length != Face.values().length)
+			{
+				throw new DeckException("Invalid number of tags: " +
+						tags.length);
+			}
+		}
+		catch(NullPointerException | DeckException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.name = name;
+		this.tags = tags.clone();
+		codeTags = new int[CardCode.NUMOFCODES];
+		for(int code = 0; code < CardCode.NUMOFCODES; code++)
+		{
+			int faceIndex = CardCode.getFaceIndex((byte) code);
+			if(faceIndex < tags.length)
+			{
+				codeTags[code] = tags[faceIndex];
+			}
+		}
+
+		for(int tag : tags)
+		{
+			deckSum += tag * Suit.values().length;
+		}
+	}
+
+	/**
+	 * String representation of the system in the form
+	 * <br><pre>
+	 * Hi-Lo [-1, 1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1]
+	 * </pre>
+	 *
+	 * @return String representation of the system.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return name + " " + Arrays.toString(tags);
+	}
+
+	/**
+	 * Checks if the system is equal to another object.
+	 *
+	 * @param obj The object to compare the system with.
+	 * @return Whether the objects are equal.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 * @since 1.8.0
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (obj == null)
+		{
+			return false;
+		}
+		if (getClass() != obj.getClass())
+		{
+			return false;
+		}
+		CountingSystem other = (CountingSystem) obj;
+		if (!name.equals(other.name))
+		{
+			return false;
+		}
+		if (!Arrays.equals(tags, other.tags))
+		{
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the hash code of the system, equal systems have equal hash codes.
+	 *
+	 * @return The hash code.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 * @since 1.8.0
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + name.hashCode();
+		result = prime * result + Arrays.hashCode(tags);
+		return result;
+	}
+
+	/**
+	 * Gets the name of the system.
+	 *
+	 * @return The name of the system.
+	 * @since 1.8.0
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the tag of a face.
+	 *
+	 * @param face The face of the card.
+	 * @return The tag of the face.
+	 * @since 1.8.0
+	 */
+	public int getTag(Face face)
+	{
+		return tags[face.ordinal()];
+	}
+
+	/**
+	 * Gets the tag of a card code.
+	 *
+	 * @param code The code of the card.
+	 * @return The tag of the card.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public int getTag(byte code)
+	{
+		return codeTags[code];
+	}
+
+	/**
+	 * Gets whether the tags sum to 0 over a standard deck.
+	 *
+	 * @return Whether the system is balanced.
+	 * @since 1.8.0
+	 */
+	public boolean getBalanced()
+	{
+		return deckSum == 0;
+	}
+
+	/**
+	 * Gets the running count before any card has been dealt from a shoe.
+	 *
+	 * @param numOfDecks The number of standard decks in the shoe.
+	 * @return The initial running count.
+	 * @since 1.8.0
+	 */
+	public int getInitialRunningCount(int numOfDecks)
+	{
+		return deckSum * (1 - numOfDecks);
+	}
+}
@@ -1,26 +1,75 @@
 package card;
 
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * A deck is an object with a data representation of at least 1 deck of 52 
  * French playing cards but supports up to 8.
  * 
  * @author Brodie Robertson
- * @version 1.4.3
+ * @version 1.8.0
  * @since 1.0.0
  */
-public class Deck implements Cloneable
+public class Deck implements Cloneable, ShoeView
 {
 	/**
-	 * The cards in the deck.
+	 * The codes of the cards in the shoe, allocated once when the deck is 
+	 * created. Cards are drawn from the end of the array and only the first 
+	 * cardsRemaining cards are still in the deck.
+	 * 
+	 * @see card.CardCode
+	 */
+	private byte[] cards;
+	/**
+	 * The number of cards remaining in the deck, also the draw cursor.
 	 */
-	private Card[] cards;
+	private int cardsRemaining;
 	/**
 	 * The number of standard decks in the the deck.
 	 */
 	private int numOfDecks;
+	/**
+	 * The engine used to shuffle the deck.
+	 */
+	private Shuffler shuffler;
+	/**
+	 * The system used to count the cards dealt from the deck.
+	 */
+	private CountingSystem countingSystem = CountingSystem.HI_LO;
+	/**
+	 * The running count of the cards dealt from the deck, updated on every 
+	 * draw.
+	 */
+	private int runningCount;
+	/**
+	 * The number of cards remaining of each face, indexed by the ordinal of 
+	 * the face.
+	 */
+	private int[] faceCounts;
+	/**
+	 * The number of cards remaining of each suit, indexed by the ordinal of 
+	 * the suit.
+	 */
+	private int[] suitCounts;
+	/**
+	 * The number of cards remaining of each colour, indexed by the ordinal of
+	 * the colour.
+	 */
+	private int[] colourCounts;
+	/**
+	 * The number of cards remaining of each hard value, index 0 is aces and 
+	 * index 9 is every card worth 10.
+	 */
+	private int[] valueCounts;
+	/**
+	 * The fraction of the deck dealt before the cut card is reached.
+	 */
+	private double penetration = DEFAULTPENETRATION;
+	/**
+	 * Whether the deck is a continuous shuffling machine, returning the 
+	 * discards after every round instead of using a cut card.
+	 */
+	private boolean continuousShuffle;
 	/**
 	 * The size of a standard deck.
 	 */
@@ -33,6 +82,14 @@ public class Deck implements Cloneable
 	 * The maximum number of decks.
 	 */
 	public static final int MAXNUMOFDECKS = 8;
+	/**
+	 * The default fraction of the deck dealt before the cut card is reached.
+	 */
+	public static final double DEFAULTPENETRATION = 0.75;
+	/**
+	 * The cards in play when every card is returned to the deck.
+	 */
+	private static final byte[] NOCARDS = new byte[0];
 	
 	/**
 	 * Constructs a deck with a specified number of decks.
@@ -41,19 +98,61 @@ public class Deck implements Cloneable
 	 * @since 1.0.0
 	 */
 	public Deck(int numOfDecks) throws DeckException
+	{
+		this(numOfDecks, new FisherYatesShuffler());
+	}
+	
+	/**
+	 * Constructs a deck with a specified number of decks, shuffled with a 
+	 * generator using a specified seed.
+	 * 
+	 * @param numOfDecks The number of standard decks in the deck.
+	 * @param seed The seed used to shuffle the deck.
+	 * @since 1.8.0
+	 */
+	public Deck(int numOfDecks, long seed) throws DeckException
+	{
+		this(numOfDecks, new FisherYatesShuffler(seed));
+	}
+	
+	/**
+	 * Constructs a deck with a specified number of decks, shuffled with a 
+	 * specified shuffler.
+	 * 
+	 * @param numOfDecks The number of standard decks in the deck.
+	 * @param shuffler The engine used to shuffle the deck.
+	 * @since 1.8.0
+	 */
+	public Deck(int numOfDecks, Shuffler shuffler) throws DeckException
 	{
 		setNumOfDecks(numOfDecks);
+		setShuffler(shuffler);
 		createDeck();
 	}
 	
 	/**
 	 * Constructs a deck with using the attributes of another deck, program 
-	 * ends with a null argument.
+	 * ends with a null argument. The copy is given a randomly seeded 
+	 * shuffler of its own, the other deck's shuffler isn't used so copying a
+	 * deck never changes its shuffles.
 	 * 
 	 * @param other Deck being copied
 	 * @since 1.0.0
 	 */
 	public Deck(Deck other)
+	{
+		this(other, new FisherYatesShuffler());
+	}
+	
+	/**
+	 * Constructs a deck with using the attributes of another deck, shuffled
+	 * with a specified shuffler, program ends with a null argument.
+	 * 
+	 * @param other Deck being copied
+	 * @param shuffler The engine used to shuffle the copy.
+	 * @since 1.8.0
+	 */
+	public Deck(Deck other, Shuffler shuffler)
 	{
 		try
 		{
@@ -68,12 +167,18 @@ public class Deck implements Cloneable
 			System.exit(0);
 		}
 		
-		cards = new Card[other.cards.length];
-		for(int i = 0; i < cards.length; i++)
-		{
-			cards[i] = new Card(other.cards[i]);
-		}
+		cards = other.cards.clone();
+		cardsRemaining = other.cardsRemaining;
 		numOfDecks = other.numOfDecks;
+		setShuffler(shuffler);
+		countingSystem = other.countingSystem;
+		runningCount = other.runningCount;
+		penetration = other.penetration;
+		continuousShuffle = other.continuousShuffle;
+		faceCounts = other.faceCounts.clone();
+		suitCounts = other.suitCounts.clone();
+		colourCounts = other.colourCounts.clone();
+		valueCounts = other.valueCounts.clone();
 	}
 	
 	/**
@@ -102,9 +207,9 @@ public class Deck implements Cloneable
 	public String toString() 
 	{
 		String cardList = "";
-		for(int i = 0; i < cards.length; i++)
+		for(int i = 0; i < cardsRemaining; i++)
 		{
-			cardList += cards[i] + "\n";
+			cardList += CardCode.toString(cards[i]) + "\n";
 		}
 		
 		return cardList;
@@ -136,7 +241,12 @@ public class Deck implements Cloneable
 			return false;
 		}
 		Deck other = (Deck) obj;
-		if (!Arrays.equals(cards, other.cards))
+		if (cardsRemaining != other.cardsRemaining)
+		{
+			return false;
+		}
+		if (!Arrays.equals(cards, 0, cardsRemaining, other.cards, 0, 
+				other.cardsRemaining))
 		{
 			return false;
 		}
@@ -148,7 +258,8 @@ public class Deck implements Cloneable
 	}
 	
 	/**
-	 * Clone method for the deck.
+	 * Clone method for the deck, the clone is given a randomly seeded 
+	 * shuffler of its own so cloning a deck never changes its shuffles.
 	 * 
 	 * @return A copy of the deck.
 	 * 
@@ -169,13 +280,12 @@ public class Deck implements Cloneable
 			e.printStackTrace();
 		}
 		
-		for(int i = 0; i < cards.length; i++)
-		{
-			if(cards[i] != null)
-			{
-				clone.cards[i] = cards[i].clone();
-			}
-		}
+		clone.cards = cards.clone();
+		clone.shuffler = new FisherYatesShuffler();
+		clone.faceCounts = faceCounts.clone();
+		clone.suitCounts = suitCounts.clone();
+		clone.colourCounts = colourCounts.clone();
+		clone.valueCounts = valueCounts.clone();
 		return clone;
 	}
 
@@ -188,26 +298,26 @@ public class Deck implements Cloneable
 	 */
 	private void createDeck()
 	{
-		cards = new Card[DECKSIZE * numOfDecks];
+		cards = new byte[DECKSIZE * numOfDecks];
+		faceCounts = new int[Face.values().length];
+		suitCounts = new int[Suit.values().length];
+		colourCounts = new int[Colour.values().length];
+		valueCounts = new int[10];
 		int cardsAdded = 0;
 		for(int i = 0; i < numOfDecks; i++)
 		{
-			int suitsCreated = 0;
-			Colour colour = Colour.BLACK;
 			for(Suit suit : Suit.values())
 			{
 				for(Face face : Face.values())
 				{
-					cards[cardsAdded] = new Card(colour, suit, face);
+					cards[cardsAdded] = CardCode.encode(face, suit, true);
+					countCode(cards[cardsAdded], 1);
 					cardsAdded++;
 				}
-				suitsCreated++;
-				if(suitsCreated == 2)
-				{
-					colour = Colour.RED;
-				}	
 			}
 		}
+		cardsRemaining = cards.length;
+		runningCount = countingSystem.getInitialRunningCount(numOfDecks);
 		shuffle();
 	}
 	
@@ -240,6 +350,42 @@ public class Deck implements Cloneable
 		this.numOfDecks = numOfDecks;
 	}
 	
+	/**
+	 * Gets the engine used to shuffle the deck.
+	 * 
+	 * @return The engine used to shuffle the deck.
+	 * @since 1.8.0
+	 */
+	public Shuffler getShuffler()
+	{
+		return shuffler;
+	}
+	
+	/**
+	 * Sets the engine used to shuffle the deck, the program ends if the 
+	 * shuffler is null.
+	 * 
+	 * @param shuffler The engine used to shuffle the deck.
+	 * @since 1.8.0
+	 */
+	public void setShuffler(Shuffler shuffler)
+	{
+		try
+		{
+			if(shuffler == null)
+			{
+				throw new NullPointerException("Shuffler can't be null");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		this.shuffler = shuffler;
+	}
+	
 	/**
 	 * Gets the last card in the deck and removes it from the deck.
 	 * 
@@ -248,22 +394,230 @@ public class Deck implements Cloneable
 	 */
 	public Card getCard()
 	{
-		if(cards.length == 0)
+		return CardCode.toCard(drawCode());
+	}
+	
+	/**
+	 * Gets the code of the last card in the deck and removes it from the deck
+	 * by moving the draw cursor, the backing array is never resized.
+	 * 
+	 * @return The code of a card from the deck.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public byte drawCode()
+	{
+		//An empty deck is reshuffled rather than failing, the Table returns 
+		//only its discards so this is a fallback for other users of the deck.
+		if(cardsRemaining == 0)
 		{
-			try 
-			{
-				throw new DeckException("No cards remaining in the deck");
-			} 
-			catch (DeckException e) 
+			reshuffle();
+		}
+		
+		cardsRemaining--;
+		byte code = cards[cardsRemaining];
+		runningCount += countingSystem.getTag(code);
+		countCode(code, -1);
+		return code;
+	}
+	
+	/**
+	 * Returns every card to the deck and shuffles it, reusing the same 
+	 * storage.
+	 * 
+	 * @since 1.8.0
+	 */
+	public void reshuffle()
+	{
+		reshuffle(NOCARDS, 0);
+	}
+	
+	/**
+	 * Returns every card to the deck except for the cards still in play and
+	 * shuffles it, reusing the same storage. The cards in play stay counted 
+	 * as dealt, the program ends if a card in play isn't from this deck.
+	 * 
+	 * @param inPlay The codes of the cards still in play, face down cards are
+	 * accepted.
+	 * @param numInPlay The number of codes in play.
+	 * @since 1.8.0
+	 */
+	public void reshuffle(byte[] inPlay, int numInPlay)
+	{
+		cardsRemaining = cards.length;
+		try
+		{
+			//Moves each card in play past the draw cursor.
+			for(int i = 0; i < numInPlay; i++)
 			{
-				e.printStackTrace();
+				byte code = CardCode.setFaceUp(inPlay[i], true);
+				int index = cardsRemaining - 1;
+				while(index >= 0 && cards[index] != code)
+				{
+					index--;
+				}
+				if(index < 0)
+				{
+					throw new DeckException("Card in play isn't in the deck: " 
+							+ CardCode.toString(code));
+				}
+				
+				cardsRemaining--;
+				cards[index] = cards[cardsRemaining];
+				cards[cardsRemaining] = code;
 			}
 		}
+		catch(DeckException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		recount();
+		shuffle();
+	}
+	
+	/**
+	 * Rebuilds the composition of the cards remaining and the running count
+	 * of the cards dealt, which are kept past the draw cursor.
+	 * 
+	 * @since 1.8.0
+	 */
+	private void recount()
+	{
+		Arrays.fill(faceCounts, 0);
+		Arrays.fill(suitCounts, 0);
+		Arrays.fill(colourCounts, 0);
+		Arrays.fill(valueCounts, 0);
+		for(int i = 0; i < cardsRemaining; i++)
+		{
+			countCode(cards[i], 1);
+		}
+		
+		runningCount = countingSystem.getInitialRunningCount(numOfDecks);
+		for(int i = cardsRemaining; i < cards.length; i++)
+		{
+			runningCount += countingSystem.getTag(cards[i]);
+		}
+	}
+	
+	/**
+	 * Gets the fraction of the deck dealt before the cut card is reached.
+	 * 
+	 * @return The penetration of the deck.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getPenetration()
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getPenetration()
+	{
+		return penetration;
+	}
+	
+	/**
+	 * Sets the fraction of the deck dealt before the cut card is reached.
+	 * 
+	 * @param penetration The penetration of the deck.
+	 * @throws DeckException Thrown if the penetration isn't greater than 0 
+	 * and at most 1.
+	 * @since 1.8.0
+	 */
+	public void setPenetration(double penetration) throws DeckException
+	{
+		if(!(penetration > 0 && penetration <= 1))
+		{
+			throw new DeckException("Invalid penetration: " + penetration);
+		}
 		
-		Card card = cards[cards.length - 1];
-		cards[cards.length - 1] = null;
-		decreaseDeckSize();
-		return card;
+		this.penetration = penetration;
+	}
+	
+	/**
+	 * Gets whether the cut card has been reached, the deck should be 
+	 * reshuffled before the next round.
+	 * 
+	 * @return Whether the cut card has been reached.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getCutCardReached()
+	 * @since 1.8.0
+	 */
+	@Override
+	public boolean getCutCardReached()
+	{
+		//A continuous shuffling machine has no cut card.
+		if(continuousShuffle)
+		{
+			return false;
+		}
+		return cards.length - cardsRemaining >= Math.round(penetration * 
+				cards.length);
+	}
+	
+	/**
+	 * Gets whether the deck is a continuous shuffling machine.
+	 * 
+	 * @return Whether the deck is a continuous shuffling machine.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getContinuousShuffle()
+	 * @since 1.8.0
+	 */
+	@Override
+	public boolean getContinuousShuffle()
+	{
+		return continuousShuffle;
+	}
+	
+	/**
+	 * Sets whether the deck is a continuous shuffling machine, which returns
+	 * the discards after every round and never reaches the cut card.
+	 * 
+	 * @param continuousShuffle Whether the deck is a continuous shuffling 
+	 * machine.
+	 * @since 1.8.0
+	 */
+	public void setContinuousShuffle(boolean continuousShuffle)
+	{
+		this.continuousShuffle = continuousShuffle;
+	}
+	
+	/**
+	 * Returns every card dealt from the deck into a random position in the 
+	 * deck, one card at a time, the same as a continuous shuffling machine. 
+	 * Only call this once none of the dealt cards are in play, it doesn't
+	 * allocate and takes time proportional to the cards returned.
+	 * 
+	 * @since 1.8.0
+	 */
+	public void returnDiscards()
+	{
+		//The dealt cards are kept past the draw cursor.
+		while(cardsRemaining < cards.length)
+		{
+			byte code = cards[cardsRemaining];
+			runningCount -= countingSystem.getTag(code);
+			countCode(code, 1);
+			shuffler.insert(cards, cardsRemaining);
+			cardsRemaining++;
+		}
+	}
+	
+	/**
+	 * Adds a card to or removes a card from the composition of the deck.
+	 * 
+	 * @param code The code of the card.
+	 * @param sign 1 if the card is added to the deck, -1 if it's removed.
+	 * @since 1.8.0
+	 */
+	private void countCode(byte code, int sign)
+	{
+		faceCounts[CardCode.getFaceIndex(code)] += sign;
+		suitCounts[CardCode.getSuit(code).ordinal()] += sign;
+		colourCounts[CardCode.getColour(code).ordinal()] += sign;
+		valueCounts[CardCode.getHardValue(code) - 1] += sign;
 	}
 	
 	/**
@@ -273,44 +627,190 @@ public class Deck implements Cloneable
 	 */
 	public int getCardsRemaining()
 	{
-		return cards.length;
+		return cardsRemaining;
 	}
 	
 	/**
-	 * Decreases the size of the deck to the number of cards now in the deck,
-	 * used when a card is removed by getCard.
+	 * Shuffles the cards remaining in the deck with the deck's shuffler.
 	 * 
+	 * @see card.Shuffler
 	 * @since 1.0.0
 	 */
-	private void decreaseDeckSize()
+	public void shuffle()
 	{
-		Card[] newCards = new Card[cards.length - 1];
-		
-		for(int i = 0; i < cards.length - 1; i++)
+		shuffler.shuffle(cards, cardsRemaining);
+	}
+	
+	/**
+	 * Gets the number of cards remaining of each hard value.
+	 * 
+	 * @return The counts of each hard value, index 0 is aces and index 9 is
+	 * every card worth 10.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getValueCounts()
+	 * @since 1.8.0
+	 */
+	@Override
+	public int[] getValueCounts()
+	{
+		return valueCounts.clone();
+	}
+	
+	/**
+	 * Gets the number of cards remaining with a hard value.
+	 * 
+	 * @param hardValue The hard value, 1 for an ace.
+	 * @return The number of cards remaining with the value.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getValueCount(int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public int getValueCount(int hardValue)
+	{
+		return valueCounts[hardValue - 1];
+	}
+	
+	/**
+	 * Gets the number of cards remaining with a face.
+	 * 
+	 * @param face The face to count.
+	 * @return The number of cards remaining with the face.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getFaceCount(card.Face)
+	 * @since 1.8.0
+	 */
+	@Override
+	public int getFaceCount(Face face)
+	{
+		return faceCounts[face.ordinal()];
+	}
+	
+	/**
+	 * Gets the number of cards remaining with a suit.
+	 * 
+	 * @param suit The suit to count.
+	 * @return The number of cards remaining with the suit.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getSuitCount(card.Suit)
+	 * @since 1.8.0
+	 */
+	@Override
+	public int getSuitCount(Suit suit)
+	{
+		return suitCounts[suit.ordinal()];
+	}
+	
+	/**
+	 * Gets the number of cards remaining with a colour.
+	 * 
+	 * @param colour The colour to count.
+	 * @return The number of cards remaining with the colour.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getColourCount(card.Colour)
+	 * @since 1.8.0
+	 */
+	@Override
+	public int getColourCount(Colour colour)
+	{
+		return colourCounts[colour.ordinal()];
+	}
+	
+	/**
+	 * Gets the system used to count the cards dealt from the deck.
+	 * 
+	 * @return The counting system.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getCountingSystem()
+	 * @since 1.8.0
+	 */
+	@Override
+	public CountingSystem getCountingSystem()
+	{
+		return countingSystem;
+	}
+	
+	/**
+	 * Sets the system used to count the cards dealt from the deck, the cards
+	 * already dealt are recounted with the new system. The program ends if 
+	 * the system is null.
+	 * 
+	 * @param countingSystem The counting system.
+	 * @since 1.8.0
+	 */
+	public void setCountingSystem(CountingSystem countingSystem)
+	{
+		try
 		{
-			newCards[i] = cards[i];
+			if(countingSystem == null)
+			{
+				throw new NullPointerException("Counting system can't be null");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
 		}
 		
-		cards = newCards;
+		this.countingSystem = countingSystem;
+		recount();
 	}
 	
 	/**
-	 * Shuffles the deck, by swapping the positions of the first half of the
-	 * deck with random positions in the second half.
+	 * Gets the running count of the cards dealt from the deck.
 	 * 
-	 * @since 1.0.0
+	 * @return The running count.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getRunningCount()
+	 * @since 1.8.0
 	 */
-	public void shuffle()
+	@Override
+	public int getRunningCount()
+	{
+		return runningCount;
+	}
+	
+	/**
+	 * Gets the number of decks remaining in the deck.
+	 * 
+	 * @return The number of decks remaining, including partial decks.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getDecksRemaining()
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getDecksRemaining()
+	{
+		return (double) cardsRemaining / DECKSIZE;
+	}
+	
+	/**
+	 * Gets the true count, the running count divided by the number of decks
+	 * remaining. The running count is returned once the deck is empty.
+	 * 
+	 * @return The true count.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.ShoeView#getTrueCount()
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getTrueCount()
 	{
-		int mid = cards.length / 2;
-		Random rand = new Random();
-		for(int i = 0; i < mid; i++)
+		if(cardsRemaining == 0)
 		{
-			int randIndex = mid + rand.nextInt(mid);
-			Card temp = cards[i];
-			cards[i] = cards[randIndex];
-			cards[randIndex] = temp;
+			return runningCount;
 		}
+		return runningCount * (double) DECKSIZE / cardsRemaining;
 	}
 	
 	/**
@@ -323,16 +823,7 @@ public class Deck implements Cloneable
 	 */
 	public String countColour(Colour colour)
 	{
-		int count = 0;
-		for(int i = 0; i < cards.length; i++)
-		{
-			if(cards[i].getColour() == colour)
-			{
-				count++;
-			}
-		}
-		
-		return colour.toString() + " " + count;
+		return colour.toString() + " " + getColourCount(colour);
 	}
 	
 	/**
@@ -345,16 +836,7 @@ public class Deck implements Cloneable
 	 */
 	public String countSuit(Suit suit)
 	{
-		int count = 0;
-		for(int i = 0; i < cards.length; i++)
-		{
-			if(cards[i].getSuit() == suit)
-			{
-				count++;
-			}
-		}
-		
-		return suit.toString() + " " + count;
+		return suit.toString() + " " + getSuitCount(suit);
 	}
 	
 	/**
@@ -367,15 +849,6 @@ public class Deck implements Cloneable
 	 */
 	public String countFace(Face face)
 	{
-		int count = 0;
-		for(int i = 0; i < cards.length; i++)
-		{
-			if(cards[i].getFace() == face)
-			{
-				count++;
-			}
-		}
-		
-		return face.toString() + " " + count;
+		return face.toString() + " " + getFaceCount(face);
 	}
 }
@@ -0,0 +1,123 @@
+package card;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * A shuffler which performs an unbiased Fisher-Yates shuffle of the cards, 
+ * driven by a seedable random number generator so that every shuffle can be
+ * reproduced.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class FisherYatesShuffler implements Shuffler
+{
+	/**
+	 * The random number generator used to pick the positions of the cards.
+	 */
+	private RandomGenerator random;
+	
+	/**
+	 * Constructs a shuffler with a randomly seeded generator.
+	 * 
+	 * @since 1.8.0
+	 */
+	public FisherYatesShuffler()
+	{
+		this(new SplittableRandom());
+	}
+	
+	/**
+	 * Constructs a shuffler with a generator using a specified seed.
+	 * 
+	 * @param seed The seed of the generator.
+	 * @since 1.8.0
+	 */
+	public FisherYatesShuffler(long seed)
+	{
+		this(new SplittableRandom(seed));
+	}
+	
+	/**
+	 * Constructs a shuffler with a specified generator, the program ends if 
+	 * the generator is null.
+	 * 
+	 * @param random The generator used to shuffle the cards.
+	 * @since 1.8.0
+	 */
+	public FisherYatesShuffler(RandomGenerator random)
+	{
+		try
+		{
+			if(random == null)
+			{
+				throw new NullPointerException("Null in FisherYatesShuffler constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		this.random = random;
+	}
+	
+	/**
+	 * Shuffles the cards by swapping each card, starting from the end, with
+	 * a random card at or before it.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.Shuffler#shuffle(byte[], int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void shuffle(byte[] cards, int length)
+	{
+		for(int i = length - 1; i > 0; i--)
+		{
+			int randIndex = random.nextInt(i + 1);
+			byte temp = cards[i];
+			cards[i] = cards[randIndex];
+			cards[randIndex] = temp;
+		}
+	}
+	
+	/**
+	 * Inserts the card by swapping it with a random card at or before it, a 
+	 * single step of an inside out Fisher-Yates shuffle.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.Shuffler#insert(byte[], int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void insert(byte[] cards, int length)
+	{
+		int randIndex = random.nextInt(length + 1);
+		byte temp = cards[length];
+		cards[length] = cards[randIndex];
+		cards[randIndex] = temp;
+	}
+	
+	/**
+	 * Splits the generator if it's splittable, otherwise seeds a new 
+	 * generator from this one.
+	 * 
+	 * (non-Javadoc)
+	 * @see card.Shuffler#split()
+	 * @since 1.8.0
+	 */
+	@Override
+	public FisherYatesShuffler split()
+	{
+		if(random instanceof SplittableGenerator)
+		{
+			return new FisherYatesShuffler(((SplittableGenerator)random).split());
+		}
+		return new FisherYatesShuffler(random.nextLong());
+	}
+}
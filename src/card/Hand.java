@@ -9,19 +9,39 @@ import logic.Table;
  * hand.
  * 
  * @author Brodie Robertson
- * @version 1.7.0
+ * @version 1.8.0
  * @since 1.0.0
  */
-public class Hand implements Cloneable
+public class Hand implements Cloneable, HandView
 {
 	/**
-	 * The cards in the hand.
+	 * The codes of the cards in the hand.
+	 * 
+	 * @see card.CardCode
+	 */
+	private byte[] cards;
+	/**
+	 * The number of cards in the hand.
 	 */
-	private Card[] cards;
+	private int size;
 	/**
 	 * Whether the hand has been split or not.
 	 */
 	private boolean split;
+	/**
+	 * The sum of the face up cards in the hand with every ace worth 1.
+	 */
+	private int hardTotal;
+	/**
+	 * The number of face up aces in the hand.
+	 */
+	private int aceCount;
+	/**
+	 * The maximum number of cards a hand can hold, a hand with a hard total 
+	 * of 21 can't hold more than 21 cards so at most 22 cards are held once
+	 * it busts.
+	 */
+	public static final int MAXCARDS = 22;
 	
 	/**
 	 * Constructs a hand with default values.
@@ -31,7 +51,8 @@ public class Hand implements Cloneable
 	public Hand()
 	{
 		super();
-		cards = new Card[0];
+		cards = new byte[MAXCARDS];
+		size = 0;
 		split = false;
 	}
 	
@@ -55,12 +76,11 @@ public class Hand implements Cloneable
 		{
 			
 		}
-		cards = new Card[other.cards.length];
-		for(int i = 0; i < cards.length; i++)
-		{
-			cards[i] = new Card(other.cards[i]);
-		}
+		cards = other.cards.clone();
+		size = other.size;
 		split = other.split;
+		hardTotal = other.hardTotal;
+		aceCount = other.aceCount;
 	}
 	
 	/**
@@ -81,11 +101,11 @@ public class Hand implements Cloneable
 	public String toString()
 	{
 		String cardList = "Hand Score: " + getHandScore() + "\n";
-		for(int i = 0; i < cards.length; i++)
+		for(int i = 0; i < size; i++)
 		{
-			if(cards[i] != null && cards[i].getFaceUp())
+			if(CardCode.getFaceUp(cards[i]))
 			{
-				cardList += cards[i] + "\n";
+				cardList += CardCode.toString(cards[i]) + "\n";
 			}
 			else
 			{
@@ -122,7 +142,7 @@ public class Hand implements Cloneable
 			return false;
 		}
 		Hand other = (Hand) obj;
-		if (!Arrays.equals(cards, other.cards))
+		if (!Arrays.equals(cards, 0, size, other.cards, 0, other.size))
 		{
 			return false;
 		}
@@ -155,13 +175,7 @@ public class Hand implements Cloneable
 			e.printStackTrace();
 		}
 		
-		for(int i = 0; i < cards.length; i++)
-		{
-			if(cards[i] != null)
-			{
-				clone.cards[i] = cards[i].clone();
-			}
-		}
+		clone.cards = cards.clone();
 		return clone;
 	}
 	
@@ -173,7 +187,7 @@ public class Hand implements Cloneable
 	 */
 	public int getCardsRemaining()
 	{
-		return cards.length;
+		return size;
 	}
 	
 	/**
@@ -184,58 +198,54 @@ public class Hand implements Cloneable
 	 */
 	public void addCard(Card card)
 	{	
+		addCode(CardCode.fromCard(card));
+	}
+	
+	/**
+	 * Adds the code of a card to the hand.
+	 * 
+	 * @param code The code of the card being added.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public void addCode(byte code)
+	{
 		try
-		{	
-			if(card == null)
+		{
+			if(size == MAXCARDS)
 			{
-				throw new NullPointerException("Card added to the hand is null");
+				throw new HandException("Hand is full: " + size);
 			}
 		}
-		catch(NullPointerException e)
+		catch(HandException e)
 		{
 			e.printStackTrace();
 			System.exit(0);
 		}
 		
-		increaseHandSize();
-		cards[cards.length - 1] = new Card(card);
-		
-		//If the hand score is greater than Blackjack or less than Blackjack.
-		if(getHandScore() > Table.BLACKJACK || getHandScore() < Table.BLACKJACK)
-		{
-			int aceCount = 0;
-			int score = getHandScore();
-			for(int i = 0; i < cards.length; i++)
-			{
-				if(cards[i].getFace() == Face.ACE && cards[i] != null)
-				{
-					aceCount++;
-				}
-			}
-			
-			int j = 0;
-			while(j < cards.length && aceCount > 0)
-			{
-				if(score + 10 < Table.BLACKJACK && cards[j].getValue() == 1)
-				{
-					cards[j].setValue();
-					score += 10;
-					aceCount--;
-				}
-				else if(score > Table.BLACKJACK && cards[j].getValue() == 11)
-				{
-					cards[j].setValue();
-					score -= 10;
-					aceCount--;
-				}
-				j++;
-			}
-		}
+		cards[size] = code;
+		size++;
+		countCode(code, 1);
+	}
+	
+	/**
+	 * Removes every card from the hand so it can be reused, the storage of
+	 * the hand isn't reallocated.
+	 * 
+	 * @since 1.8.0
+	 */
+	public void clear()
+	{
+		size = 0;
+		hardTotal = 0;
+		aceCount = 0;
+		split = false;
 	}
 	
 	/**
 	 * Gets the card at the specified index, the programs ends if the index is 
-	 * invalid.
+	 * invalid. An ace is given a value of 11 if it's the ace being counted as
+	 * 11 in the hand score, otherwise 1.
 	 * 
 	 * @param index The index of the card.
 	 * @return The card at the specified index.
@@ -243,9 +253,28 @@ public class Hand implements Cloneable
 	 */
 	public Card getCard(int index)
 	{	
+		Card card = CardCode.toCard(getCode(index));
+		if(card.getFace() == Face.ACE && index != getSoftAceIndex())
+		{
+			card.setValue();
+		}
+		return card;
+	}
+	
+	/**
+	 * Gets the code of the card at the specified index, the programs ends if
+	 * the index is invalid.
+	 * 
+	 * @param index The index of the card.
+	 * @return The code of the card at the specified index.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public byte getCode(int index)
+	{
 		try
 		{
-			if(index < 0 || index >= cards.length)
+			if(index < 0 || index >= size)
 			{
 				throw new HandException("Invalid index: " + index);
 			}
@@ -256,8 +285,7 @@ public class Hand implements Cloneable
 			System.exit(0);
 		}
 		
-		Card temp = new Card(cards[index]);
-		return temp;
+		return cards[index];
 	}
 	
 	/**
@@ -268,16 +296,25 @@ public class Hand implements Cloneable
 	 */
 	public Card[] getCards()
 	{
-		Card[] temp = new Card[cards.length];
+		Card[] temp = new Card[size];
 		for(int i = 0; i < temp.length; i++)
 		{
-			if(cards[i] != null)
-			{
-				temp[i] = cards[i].clone();
-			}
+			temp[i] = getCard(i);
 		}
 		
-		return cards;
+		return temp;
+	}
+	
+	/**
+	 * Gets the codes of all of the cards in the hand.
+	 * 
+	 * @return A copy of the codes of the cards in the hand.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public byte[] getCodes()
+	{
+		return Arrays.copyOf(cards, size);
 	}
 	
 	/**
@@ -293,7 +330,7 @@ public class Hand implements Cloneable
 		{	
 			//Throws exception if index is less than 0 or greater than the 
 			//number of cards in the hand.
-			if(index < 0 || index >= cards.length)
+			if(index < 0 || index >= size)
 			{
 				throw new HandException("Invalid index: " + index);
 			}
@@ -304,104 +341,129 @@ public class Hand implements Cloneable
 			System.exit(0);
 		}
 		
-		cards[index] = null;
-		reorderHand();
-		decreaseHandSize();
+		countCode(cards[index], -1);
+		reorderHand(index);
+		size--;
 	}
 	
 	/**
-	 * Reorders the hand so that if there is a null in the hand it's moved to
-	 * the end, uses when a card is removed with removeCard.
+	 * Reorders the hand so that the card at the specified index is moved to
+	 * the end, used when a card is removed with removeCard.
 	 * 
+	 * @param index The index of the card being removed.
 	 * @since 1.0.0
 	 */
-	private void reorderHand()
+	private void reorderHand(int index)
 	{
-		for(int i = 0; i < cards.length; i++)
+		for(int i = index; i < size - 1; i++)
 		{
-			if(cards[i] == null && i != cards.length - 1)
-			{
-				cards[i] = cards[i + 1];
-			}
+			cards[i] = cards[i + 1];
 		}
 	}
 	
 	/**
-	 * Decreases the size of the hand to the number of cards in the hand, used
-	 * when a card is removed with removeCard.
+	 * Gets whether the hand has been split or not
 	 * 
+	 * @return Whether the hand has been split or not.
 	 * @since 1.0.0
 	 */
-	private void decreaseHandSize()
+	public boolean getSplit()
 	{
-		Card[] newCards = new Card[cards.length - 1];
-		
-		for(int i = 0; i < newCards.length; i++)
-		{
-			newCards[i] = cards[i];
-		}
-		
-		cards = newCards;
+		return split;
 	}
 	
 	/**
-	 * Increases the size of the hand to the number of cards in the hand, used
-	 * when a card is added with addCard.
+	 * Sets whether the hand has been split.
 	 * 
+	 * @param split Whether the hand has been split now.
 	 * @since 1.0.0
 	 */
-	private void increaseHandSize()
+	public void setSplit(boolean split)
 	{
-		Card[] newCards = new Card[cards.length + 1];
-		
-		for(int i = 0; i < cards.length; i++)
+		this.split = split;
+	}
+	
+	/**
+	 * Gets the hand score, counts the card if it's face up. Every ace is 
+	 * worth 1 except for the first face up ace which is worth 11 if that 
+	 * doesn't take the score over Blackjack.
+	 * 
+	 * @return The hand score.
+	 * @since 1.0.0
+	 */
+	public int getHandScore()
+	{
+		if(isSoft())
 		{
-			newCards[i] = cards[i];
+			return hardTotal + 10;
 		}
-		
-		cards = newCards;
+		return hardTotal;
 	}
 	
 	/**
-	 * Gets whether the hand has been split or not
+	 * Gets the hand score with every ace worth 1.
 	 * 
-	 * @return Whether the hand has been split or not.
-	 * @since 1.0.0
+	 * @return The hard total of the hand.
+	 * @since 1.8.0
 	 */
-	public boolean getSplit()
+	public int getHardTotal()
 	{
-		return split;
+		return hardTotal;
 	}
 	
 	/**
-	 * Sets whether the hand has been split.
+	 * Gets whether an ace in the hand is being counted as 11.
 	 * 
-	 * @param split Whether the hand has been split now.
-	 * @since 1.0.0
+	 * @return Whether the hand is soft.
+	 * @since 1.8.0
 	 */
-	public void setSplit(boolean split)
+	public boolean isSoft()
 	{
-		this.split = split;
+		return aceCount > 0 && hardTotal + 10 <= Table.BLACKJACK;
 	}
 	
 	/**
-	 * Gets the hand score, counts the card if it's face up.
+	 * Gets whether the hand is Blackjack, a score of 21 with only 2 cards.
 	 * 
-	 * @return The hand score.
-	 * @since 1.0.0
+	 * @return Whether the hand is Blackjack.
+	 * @since 1.8.0
 	 */
-	public int getHandScore()
+	public boolean isBlackjack()
+	{
+		return size == 2 && getHandScore() == Table.BLACKJACK;
+	}
+	
+	/**
+	 * Gets whether the hand score is greater than Blackjack.
+	 * 
+	 * @return Whether the hand is bust.
+	 * @since 1.8.0
+	 */
+	public boolean isBust()
+	{
+		return hardTotal > Table.BLACKJACK;
+	}
+	
+	/**
+	 * Gets the index of the face up ace being counted as 11 in the hand 
+	 * score.
+	 * 
+	 * @return The index of the ace or -1 if no ace is worth 11.
+	 * @since 1.8.0
+	 */
+	private int getSoftAceIndex()
 	{
-		int score = 0;
-		for(int i = 0; i < cards.length; i++)
+		if(isSoft())
 		{
-			if(cards[i] != null && cards[i].getFaceUp())
+			for(int i = 0; i < size; i++)
 			{
-				score += cards[i].getValue();
+				if(CardCode.getFaceUp(cards[i]) && CardCode.isAce(cards[i]))
+				{
+					return i;
+				}
 			}
 		}
-		
-		return score;
+		return -1;
 	}
 	
 	/**
@@ -415,7 +477,7 @@ public class Hand implements Cloneable
 	{
 		try
 		{
-			if(index < 0 | index >= cards.length)
+			if(index < 0 | index >= size)
 			{
 				throw new HandException("Invalid card index: " + index);
 			}
@@ -426,6 +488,28 @@ public class Hand implements Cloneable
 			System.exit(0);
 		}
 		
-		cards[index].setFaceUp(faceUp);
+		countCode(cards[index], -1);
+		cards[index] = CardCode.setFaceUp(cards[index], faceUp);
+		countCode(cards[index], 1);
+	}
+	
+	/**
+	 * Adds or removes a card from the running totals of the hand, face down
+	 * cards aren't counted.
+	 * 
+	 * @param code The code of the card.
+	 * @param sign 1 if the card is being added, -1 if it's being removed.
+	 * @since 1.8.0
+	 */
+	private void countCode(byte code, int sign)
+	{
+		if(CardCode.getFaceUp(code))
+		{
+			hardTotal += sign * CardCode.getHardValue(code);
+			if(CardCode.isAce(code))
+			{
+				aceCount += sign;
+			}
+		}
 	}
 }
@@ -0,0 +1,97 @@
+package card;
+
+/**
+ * Read-only view of a hand, allowing the state of a hand to be read without
+ * copying it.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface HandView
+{
+	/**
+	 * Gets the number of cards in the hand.
+	 * 
+	 * @return The number of cards in the hand.
+	 * @since 1.8.0
+	 */
+	public int getCardsRemaining();
+	
+	/**
+	 * Gets the card at the specified index, the program ends if the index is
+	 * invalid.
+	 * 
+	 * @param index The index of the card.
+	 * @return A new card with the attributes of the card at the index.
+	 * @since 1.8.0
+	 */
+	public Card getCard(int index);
+	
+	/**
+	 * Gets all of the cards in the hand.
+	 * 
+	 * @return New cards with the attributes of the cards in the hand.
+	 * @since 1.8.0
+	 */
+	public Card[] getCards();
+	
+	/**
+	 * Gets the code of the card at the specified index, the program ends if
+	 * the index is invalid.
+	 * 
+	 * @param index The index of the card.
+	 * @return The code of the card at the specified index.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public byte getCode(int index);
+	
+	/**
+	 * Gets the hand score of the face up cards.
+	 * 
+	 * @return The hand score.
+	 * @since 1.8.0
+	 */
+	public int getHandScore();
+	
+	/**
+	 * Gets the hand score with every ace worth 1.
+	 * 
+	 * @return The hard total of the hand.
+	 * @since 1.8.0
+	 */
+	public int getHardTotal();
+	
+	/**
+	 * Gets whether an ace in the hand is being counted as 11.
+	 * 
+	 * @return Whether the hand is soft.
+	 * @since 1.8.0
+	 */
+	public boolean isSoft();
+	
+	/**
+	 * Gets whether the hand is Blackjack.
+	 * 
+	 * @return Whether the hand is Blackjack.
+	 * @since 1.8.0
+	 */
+	public boolean isBlackjack();
+	
+	/**
+	 * Gets whether the hand score is greater than Blackjack.
+	 * 
+	 * @return Whether the hand is bust.
+	 * @since 1.8.0
+	 */
+	public boolean isBust();
+	
+	/**
+	 * Gets whether the hand has been split.
+	 * 
+	 * @return Whether the hand has been split.
+	 * @since 1.8.0
+	 */
+	public boolean getSplit();
+}
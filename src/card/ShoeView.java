@@ -0,0 +1,130 @@
+package card;
+
+/**
+ * Read-only view of the deck being dealt from, allowing the state of the 
+ * deck to be read without copying it.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface ShoeView
+{
+	/**
+	 * Gets the number of standard decks in the shoe.
+	 * 
+	 * @return The number of standard decks.
+	 * @since 1.8.0
+	 */
+	public int getNumOfDecks();
+	
+	/**
+	 * Gets the number of cards remaining in the shoe.
+	 * 
+	 * @return The number of cards remaining.
+	 * @since 1.8.0
+	 */
+	public int getCardsRemaining();
+	
+	/**
+	 * Gets the number of cards remaining of each hard value.
+	 * 
+	 * @return The counts of each hard value, index 0 is aces and index 9 is
+	 * every card worth 10.
+	 * @since 1.8.0
+	 */
+	public int[] getValueCounts();
+	
+	/**
+	 * Gets the number of cards remaining with a hard value.
+	 * 
+	 * @param hardValue The hard value, 1 for an ace.
+	 * @return The number of cards remaining with the value.
+	 * @since 1.8.0
+	 */
+	public int getValueCount(int hardValue);
+	
+	/**
+	 * Gets the number of cards remaining with a face.
+	 * 
+	 * @param face The face to count.
+	 * @return The number of cards remaining with the face.
+	 * @since 1.8.0
+	 */
+	public int getFaceCount(Face face);
+	
+	/**
+	 * Gets the number of cards remaining with a suit.
+	 * 
+	 * @param suit The suit to count.
+	 * @return The number of cards remaining with the suit.
+	 * @since 1.8.0
+	 */
+	public int getSuitCount(Suit suit);
+	
+	/**
+	 * Gets the number of cards remaining with a colour.
+	 * 
+	 * @param colour The colour to count.
+	 * @return The number of cards remaining with the colour.
+	 * @since 1.8.0
+	 */
+	public int getColourCount(Colour colour);
+	
+	/**
+	 * Gets the system used to count the cards dealt from the shoe.
+	 * 
+	 * @return The counting system.
+	 * @since 1.8.0
+	 */
+	public CountingSystem getCountingSystem();
+	
+	/**
+	 * Gets the running count of the cards dealt from the shoe.
+	 * 
+	 * @return The running count.
+	 * @since 1.8.0
+	 */
+	public int getRunningCount();
+	
+	/**
+	 * Gets the number of decks remaining in the shoe.
+	 * 
+	 * @return The number of decks remaining, including partial decks.
+	 * @since 1.8.0
+	 */
+	public double getDecksRemaining();
+	
+	/**
+	 * Gets the true count, the running count divided by the number of decks
+	 * remaining.
+	 * 
+	 * @return The true count.
+	 * @since 1.8.0
+	 */
+	public double getTrueCount();
+	
+	/**
+	 * Gets the fraction of the shoe dealt before the cut card is reached.
+	 * 
+	 * @return The penetration of the shoe.
+	 * @since 1.8.0
+	 */
+	public double getPenetration();
+	
+	/**
+	 * Gets whether the cut card has been reached.
+	 * 
+	 * @return Whether the cut card has been reached.
+	 * @since 1.8.0
+	 */
+	public boolean getCutCardReached();
+	
+	/**
+	 * Gets whether the shoe is a continuous shuffling machine.
+	 * 
+	 * @return Whether the shoe is a continuous shuffling machine.
+	 * @since 1.8.0
+	 */
+	public boolean getContinuousShuffle();
+}
@@ -0,0 +1,43 @@
+package card;
+
+/**
+ * A shuffler is a pluggable shuffling engine used by a deck to randomise the 
+ * order of its cards.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface Shuffler
+{
+	/**
+	 * Shuffles the first length card codes of an array in place.
+	 * 
+	 * @param cards The card codes being shuffled.
+	 * @param length The number of card codes to shuffle.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	void shuffle(byte[] cards, int length);
+	
+	/**
+	 * Inserts the card code at index length into a random position among the
+	 * first length + 1 card codes, the card code previously at that position
+	 * is moved to index length.
+	 * 
+	 * @param cards The card codes.
+	 * @param length The index of the card code being inserted.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	void insert(byte[] cards, int length);
+	
+	/**
+	 * Creates a new shuffler with an independent stream of random numbers,
+	 * for use by a deck on another thread.
+	 * 
+	 * @return The new shuffler.
+	 * @since 1.8.0
+	 */
+	Shuffler split();
+}
@@ -0,0 +1,74 @@
+package logic;
+
+import player.Action;
+import player.BasicStrategy;
+
+/**
+ * Decider which plays a CPU's turn with basic strategy, the same strategy
+ * used by the CPUs in the GUI.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class CPUDecider implements Decider
+{
+	/**
+	 * The strategy used to play each hand.
+	 */
+	private BasicStrategy strategy;
+
+	/**
+	 * Constructs a decider using the basic strategy for the rules of the
+	 * Table.
+	 *
+	 * @since 1.8.0
+	 */
+	public CPUDecider()
+	{
+		this(new BasicStrategy());
+	}
+
+	/**
+	 * Constructs a decider using a specified strategy, the program ends if
+	 * the strategy is null.
+	 *
+	 * @param strategy The strategy used to play each hand.
+	 * @since 1.8.0
+	 */
+	public CPUDecider(BasicStrategy strategy)
+	{
+		try
+		{
+			if(strategy == null)
+			{
+				throw new NullPointerException("Null in CPUDecider constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Looks up the basic strategy action for the hand against the dealer's
+	 * face up card.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.Decider#getAction(logic.Table, int, int, boolean)
+	 * @since 1.8.0
+	 */
+	@Override
+	public Action getAction(Table table, int index, int handIndex,
+			boolean firstAction)
+	{
+		byte dealerUpCard = table.getPersonView(table.getDealerIndex()).
+				getHandView(0).getCode(0);
+		return strategy.getAction(table.getPlayerView(index), handIndex,
+				dealerUpCard, firstAction);
+	}
+}
@@ -0,0 +1,370 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import card.CardCode;
+import card.HandView;
+import player.Rules;
+
+/**
+ * Calculates the probability of each final score of the dealer from the
+ * dealer's face up card and the cards remaining in the shoe, the dealer draws
+ * until they reach 17 the same as in Table.addToDealersHand.
+ * <br><br>
+ * The shoe is described by the number of cards of each hard value, packed
+ * into a long with 6 bits for aces to nines and 8 bits for tens. Within a
+ * query the cards remaining determine the dealer's total so the recursion is
+ * memoised on the packed counts alone, and finished queries are kept in a
+ * least recently used cache for each face up card.
+ * <br><br>
+ * When the face up card is an ace the dealer has already checked for
+ * Blackjack, so the face down card can't be worth 10. A calculator isn't
+ * thread safe, each thread needs its own.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class DealerOutcomeCalculator
+{
+	/**
+	 * The number of outcomes, a final score of 17 - 21 or bust.
+	 */
+	public static final int OUTCOMES = 6;
+	/**
+	 * The index of the outcome for a final score of 17.
+	 */
+	public static final int SEVENTEEN = 0;
+	/**
+	 * The index of the outcome where the dealer busts.
+	 */
+	public static final int BUST = 5;
+	/**
+	 * The default number of queries kept for each face up card.
+	 */
+	public static final int DEFAULTCACHESIZE = 1024;
+	/**
+	 * The dealer draws until their score reaches this.
+	 */
+	private static final int DEALERSTAND = 17;
+	/**
+	 * The number of bits shifted for the count of each hard value.
+	 */
+	private static final int[] SHIFTS = {0, 6, 12, 18, 24, 30, 36, 42, 48, 54};
+	/**
+	 * The maximum count of each hard value which can be packed.
+	 */
+	private static final int[] MAXCOUNTS = {63, 63, 63, 63, 63, 63, 63, 63, 63,
+			255};
+	/**
+	 * The outcome of the dealer standing on each score from 17 - 21 and
+	 * busting.
+	 */
+	private static final double[][] FINAL = new double[OUTCOMES][OUTCOMES];
+	/**
+	 * The rules of the table.
+	 */
+	private Rules rules;
+	/**
+	 * The maximum number of queries kept for each face up card.
+	 */
+	private int cacheSize;
+	/**
+	 * The finished queries for each face up card, index 0 is an ace.
+	 */
+	private ArrayList<LinkedHashMap<Long, double[]>> caches;
+	/**
+	 * The outcomes of every shoe reached within the current query.
+	 */
+	private HashMap<Long, double[]> memo;
+	/**
+	 * The cards remaining of each hard value during the current query.
+	 */
+	private int[] counts;
+	/**
+	 * The number of cards remaining during the current query.
+	 */
+	private int cardsRemaining;
+	/**
+	 * The packed counts during the current query.
+	 */
+	private long key;
+
+	static
+	{
+		for(int i = 0; i < OUTCOMES; i++)
+		{
+			FINAL[i][i] = 1;
+		}
+	}
+
+	/**
+	 * Constructs a calculator for the rules of the Table.
+	 *
+	 * @since 1.8.0
+	 */
+	public DealerOutcomeCalculator()
+	{
+		this(new Rules(), DEFAULTCACHESIZE);
+	}
+
+	/**
+	 * Constructs a calculator for a set of rules, the program ends if the
+	 * rules are null or the cache size is less than 1.
+	 *
+	 * @param rules The rules of the table.
+	 * @param cacheSize The maximum number of queries kept for each face up
+	 * card.
+	 * @since 1.8.0
+	 */
+	public DealerOutcomeCalculator(Rules rules, int cacheSize)
+	{
+		try
+		{
+			if(rules == null)
+			{
+				throw new NullPointerException("Null in DealerOutcomeCalculator "
+						+ "constructor");
+			}
+			if(cacheSize < 1)
+			{
+				throw new TableException("Invalid cache size: " + cacheSize);
+			}
+		}
+		catch(NullPointerException | TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.rules = rules;
+		this.cacheSize = cacheSize;
+		caches = new ArrayList<LinkedHashMap<Long, double[]>>();
+		for(int i = 0; i < 10; i++)
+		{
+			caches.add(new LinkedHashMap<Long, double[]>(16, 0.75f, true)
+			{
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, double[]>
+						eldest)
+				{
+					return size() > DealerOutcomeCalculator.this.cacheSize;
+				}
+			});
+		}
+		memo = new HashMap<Long, double[]>();
+		counts = new int[10];
+	}
+
+	/**
+	 * Gets the rules of the table.
+	 *
+	 * @return The rules of the table.
+	 * @since 1.8.0
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Packs the number of cards of each hard value into a long, the program
+	 * ends if a count can't be packed.
+	 *
+	 * @param valueCounts The counts of each hard value, index 0 is aces and
+	 * index 9 is every card worth 10.
+	 * @return The packed counts.
+	 * @since 1.8.0
+	 */
+	public static long pack(int[] valueCounts)
+	{
+		long packed = 0;
+		try
+		{
+			if(valueCounts.length != SHIFTS.length)
+			{
+				throw new TableException("Invalid number of counts: " +
+						valueCounts.length);
+			}
+
+			for(int i = 0; i < SHIFTS.length; i++)
+			{
+				if(valueCounts[i] < 0 || valueCounts[i] > MAXCOUNTS[i])
+				{
+					throw new TableException("Invalid count of " + (i + 1) +
+							": " + valueCounts[i]);
+				}
+				packed |= (long) valueCounts[i] << SHIFTS[i];
+			}
+		}
+		catch(TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		return packed;
+	}
+
+	/**
+	 * Gets the probability of each outcome of the dealer's turn at a table,
+	 * the dealer's face down card is treated as unknown and returned to the
+	 * shoe.
+	 *
+	 * @param table The table being played.
+	 * @return The probability of each outcome, index 0 - 4 is a final score
+	 * of 17 - 21 and index 5 is bust.
+	 * @since 1.8.0
+	 */
+	public double[] getOutcomes(Table table)
+	{
+		HandView dealerHand = table.getPersonView(table.getDealerIndex()).
+				getHandView(0);
+		int[] valueCounts = table.getShoeView().getValueCounts();
+		for(int i = 1; i < dealerHand.getCardsRemaining(); i++)
+		{
+			if(!CardCode.getFaceUp(dealerHand.getCode(i)))
+			{
+				valueCounts[CardCode.getHardValue(dealerHand.getCode(i)) - 1]++;
+			}
+		}
+
+		return getOutcomes(dealerHand.getCode(0), valueCounts);
+	}
+
+	/**
+	 * Gets the probability of each outcome of the dealer's turn.
+	 *
+	 * @param upCard The code of the dealer's face up card.
+	 * @param valueCounts The counts of each hard value in the shoe, index 0
+	 * is aces and index 9 is every card worth 10.
+	 * @return The probability of each outcome, index 0 - 4 is a final score
+	 * of 17 - 21 and index 5 is bust.
+	 * @since 1.8.0
+	 */
+	public double[] getOutcomes(byte upCard, int[] valueCounts)
+	{
+		return getOutcomes(CardCode.getHardValue(upCard), valueCounts);
+	}
+
+	/**
+	 * Gets the probability of each outcome of the dealer's turn. If the shoe
+	 * runs out before the dealer reaches 17 the dealer is counted as standing
+	 * on 17.
+	 *
+	 * @param upValue The hard value of the dealer's face up card, 1 for an
+	 * ace.
+	 * @param valueCounts The counts of each hard value in the shoe, index 0
+	 * is aces and index 9 is every card worth 10.
+	 * @return The probability of each outcome, index 0 - 4 is a final score
+	 * of 17 - 21 and index 5 is bust.
+	 * @since 1.8.0
+	 */
+	public double[] getOutcomes(int upValue, int[] valueCounts)
+	{
+		long packed = pack(valueCounts);
+		LinkedHashMap<Long, double[]> cache = caches.get(upValue - 1);
+		double[] outcomes = cache.get(packed);
+		if(outcomes == null)
+		{
+			key = packed;
+			cardsRemaining = 0;
+			for(int i = 0; i < counts.length; i++)
+			{
+				counts[i] = valueCounts[i];
+				cardsRemaining += counts[i];
+			}
+
+			memo.clear();
+			outcomes = draw(upValue, upValue == 1, upValue == 1);
+			cache.put(packed, outcomes);
+		}
+
+		return outcomes.clone();
+	}
+
+	/**
+	 * Recursively finds the outcomes of the dealer drawing from the current
+	 * shoe, the result for each shoe is memoised.
+	 *
+	 * @param total The hard total of the dealer.
+	 * @param ace Whether the dealer holds an ace.
+	 * @param peeked Whether the next card is the face down card of a dealer
+	 * who has checked for Blackjack.
+	 * @return The probability of each outcome.
+	 * @since 1.8.0
+	 */
+	private double[] draw(int total, boolean ace, boolean peeked)
+	{
+		if(total > Table.BLACKJACK)
+		{
+			return FINAL[BUST];
+		}
+
+		int score = total;
+		if(ace && total + 10 <= Table.BLACKJACK)
+		{
+			score += 10;
+		}
+		boolean hitSoft17 = score == DEALERSTAND && score != total && rules.
+				getDealerHitsSoft17();
+		if(score >= DEALERSTAND && !hitSoft17)
+		{
+			return FINAL[score - DEALERSTAND];
+		}
+
+		double[] outcomes = null;
+		if(!peeked)
+		{
+			outcomes = memo.get(key);
+			if(outcomes != null)
+			{
+				return outcomes;
+			}
+		}
+
+		int drawable = cardsRemaining;
+		if(peeked)
+		{
+			drawable -= counts[9];
+		}
+		if(drawable == 0)
+		{
+			return FINAL[SEVENTEEN];
+		}
+
+		outcomes = new double[OUTCOMES];
+		for(int i = 0; i < counts.length; i++)
+		{
+			if(counts[i] == 0 || (peeked && i == 9))
+			{
+				continue;
+			}
+
+			double probability = (double) counts[i] / drawable;
+			counts[i]--;
+			cardsRemaining--;
+			key -= 1L << SHIFTS[i];
+			double[] next = draw(total + i + 1, ace || i == 0, false);
+			counts[i]++;
+			cardsRemaining++;
+			key += 1L << SHIFTS[i];
+
+			for(int j = 0; j < OUTCOMES; j++)
+			{
+				outcomes[j] += probability * next[j];
+			}
+		}
+
+		if(!peeked)
+		{
+			memo.put(key, outcomes);
+		}
+		return outcomes;
+	}
+}
@@ -0,0 +1,54 @@
+package logic;
+
+import player.Action;
+
+/**
+ * A decider makes the decisions for a player when a round is played without
+ * the GUI by the RoundEngine.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface Decider
+{
+	/**
+	 * Gets the wager of the player at the start of the round, only used for
+	 * humans as the wagers of CPUs are set by the table.
+	 * 
+	 * @param table The table being played.
+	 * @param index The index of the player.
+	 * @return The wager of the player.
+	 * @since 1.8.0
+	 */
+	default double getWager(Table table, int index)
+	{
+		return Table.MINWAGER;
+	}
+	
+	/**
+	 * Gets the insurance the player takes when the dealer shows an ace, only
+	 * used for humans as the insurance of CPUs is set by the table.
+	 * 
+	 * @param table The table being played.
+	 * @param index The index of the player.
+	 * @return The insurance of the player, 0 if they don't take insurance.
+	 * @since 1.8.0
+	 */
+	default double getInsurance(Table table, int index)
+	{
+		return 0;
+	}
+	
+	/**
+	 * Gets the next action of the player with a specified hand.
+	 * 
+	 * @param table The table being played.
+	 * @param index The index of the player.
+	 * @param handIndex The index of the hand.
+	 * @param firstAction Whether this is the first action with the hand.
+	 * @return The action the player takes.
+	 * @since 1.8.0
+	 */
+	Action getAction(Table table, int index, int handIndex, boolean firstAction);
+}
@@ -0,0 +1,575 @@
+package logic;
+
+import java.util.HashMap;
+
+import card.CardCode;
+import card.HandView;
+import player.Action;
+import player.PlayerView;
+import player.Rules;
+
+/**
+ * Calculates the expected value of each action for a hand from the dealer's
+ * face up card and the cards remaining in the shoe, under the payouts of
+ * Table.roundResult. Values are in units of the wager before the action, a
+ * win pays 1, Blackjack pays 1.5, a surrender loses 0.5 and a bust is a push
+ * if the dealer also busts.
+ * <br><br>
+ * The cards the player draws are removed from the shoe for every later draw
+ * of the player, the hit values are memoised on the packed counts of the shoe
+ * the same way as the DealerOutcomeCalculator. The dealer's outcomes are taken
+ * from the shoe at the time of the decision.
+ * <br><br>
+ * A split is paid on the best of the 2 hands with the doubled wager, each
+ * hand is played by hitting or standing, whichever has the higher value, and
+ * the 2 hands are treated as independent. A calculator isn't thread safe,
+ * each thread needs its own.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class ExpectedValueCalculator
+{
+	/**
+	 * The number of final results of a split hand, a score of 0 - 21, bust
+	 * and a 2 card 21.
+	 */
+	private static final int RESULTS = Table.BLACKJACK + 3;
+	/**
+	 * The result of a split hand which busts.
+	 */
+	private static final int BUSTRESULT = Table.BLACKJACK + 1;
+	/**
+	 * The result of a split hand which reaches 21 with 2 cards.
+	 */
+	private static final int TWOCARDRESULT = Table.BLACKJACK + 2;
+	/**
+	 * The payout of Blackjack.
+	 */
+	private static final double BLACKJACKPAYOUT = 1.5;
+	/**
+	 * The number of bits shifted for the count of each hard value, the same
+	 * as DealerOutcomeCalculator.pack.
+	 */
+	private static final int[] SHIFTS = {0, 6, 12, 18, 24, 30, 36, 42, 48, 54};
+	/**
+	 * The calculator for the dealer's outcomes.
+	 */
+	private DealerOutcomeCalculator dealer;
+	/**
+	 * The probability of each outcome of the dealer during the current query.
+	 */
+	private double[] dealerOutcomes;
+	/**
+	 * The value of hitting every hand reached within the current query.
+	 */
+	private HashMap<Long, Double> hitMemo;
+	/**
+	 * The results of every split hand reached within the current query.
+	 */
+	private HashMap<Long, double[]> resultMemo;
+	/**
+	 * The cards remaining of each hard value during the current query.
+	 */
+	private int[] counts;
+	/**
+	 * The number of cards remaining during the current query.
+	 */
+	private int cardsRemaining;
+	/**
+	 * The packed counts during the current query.
+	 */
+	private long key;
+
+	/**
+	 * Constructs a calculator for the rules of the Table.
+	 *
+	 * @since 1.8.0
+	 */
+	public ExpectedValueCalculator()
+	{
+		this(new DealerOutcomeCalculator());
+	}
+
+	/**
+	 * Constructs a calculator using a specified dealer outcome calculator,
+	 * the program ends if it's null.
+	 *
+	 * @param dealer The calculator for the dealer's outcomes.
+	 * @since 1.8.0
+	 */
+	public ExpectedValueCalculator(DealerOutcomeCalculator dealer)
+	{
+		try
+		{
+			if(dealer == null)
+			{
+				throw new NullPointerException("Null in ExpectedValueCalculator "
+						+ "constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.dealer = dealer;
+		hitMemo = new HashMap<Long, Double>();
+		resultMemo = new HashMap<Long, double[]>();
+		counts = new int[SHIFTS.length];
+	}
+
+	/**
+	 * Gets the rules of the table.
+	 *
+	 * @return The rules of the table.
+	 * @since 1.8.0
+	 */
+	public Rules getRules()
+	{
+		return dealer.getRules();
+	}
+
+	/**
+	 * Gets the action with the highest expected value for a hand of a player
+	 * at a table.
+	 *
+	 * @param table The table being played.
+	 * @param index The index of the player.
+	 * @param handIndex The index of the hand being played.
+	 * @param firstAction Whether this is the first action of the hand.
+	 * @return The action with the highest expected value.
+	 * @since 1.8.0
+	 */
+	public Action getBestAction(Table table, int index, int handIndex,
+			boolean firstAction)
+	{
+		return getBestAction(getExpectedValues(table, index, handIndex,
+				firstAction));
+	}
+
+	/**
+	 * Gets the action with the highest expected value.
+	 *
+	 * @param values The expected value of each action, indexed by the ordinal
+	 * of the action.
+	 * @return The action with the highest expected value.
+	 * @since 1.8.0
+	 */
+	public static Action getBestAction(double[] values)
+	{
+		Action best = Action.STAND;
+		for(Action action : Action.values())
+		{
+			if(values[action.ordinal()] > values[best.ordinal()])
+			{
+				best = action;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Gets the expected value of each action for a hand of a player at a
+	 * table, the dealer's face down card is returned to the shoe.
+	 *
+	 * @param table The table being played.
+	 * @param index The index of the player.
+	 * @param handIndex The index of the hand being played.
+	 * @param firstAction Whether this is the first action of the hand.
+	 * @return The expected value of each action indexed by the ordinal of the
+	 * action, NaN if the action isn't available.
+	 * @since 1.8.0
+	 */
+	public double[] getExpectedValues(Table table, int index, int handIndex,
+			boolean firstAction)
+	{
+		PlayerView player = table.getPlayerView(index);
+		HandView dealerHand = table.getPersonView(table.getDealerIndex()).
+				getHandView(0);
+		int[] valueCounts = table.getShoeView().getValueCounts();
+		for(int i = 1; i < dealerHand.getCardsRemaining(); i++)
+		{
+			if(!CardCode.getFaceUp(dealerHand.getCode(i)))
+			{
+				valueCounts[CardCode.getHardValue(dealerHand.getCode(i)) - 1]++;
+			}
+		}
+
+		boolean split = player.getNumOfHands() > 1;
+		boolean canDouble = firstAction && player.getTotalMoney() >= player.
+				getWager() && (!split || getRules().getDoubleAfterSplit());
+		boolean canSplit = firstAction && !split && player.canSplit();
+		boolean canSurrender = firstAction && !split && getRules().
+				getSurrender();
+		return getExpectedValues(player.getHandView(handIndex), dealerHand.
+				getCode(0), valueCounts, canDouble, canSplit, canSurrender);
+	}
+
+	/**
+	 * Gets the expected value of each action for a hand.
+	 *
+	 * @param hand The hand being played.
+	 * @param dealerUpCard The code of the dealer's face up card.
+	 * @param valueCounts The counts of each hard value in the shoe, index 0
+	 * is aces and index 9 is every card worth 10.
+	 * @param canDouble Whether the player can double down.
+	 * @param canSplit Whether the player can split the hand, only true if the
+	 * hand is a pair.
+	 * @param canSurrender Whether the player can surrender.
+	 * @return The expected value of each action indexed by the ordinal of the
+	 * action, NaN if the action isn't available.
+	 * @since 1.8.0
+	 */
+	public double[] getExpectedValues(HandView hand, byte dealerUpCard,
+			int[] valueCounts, boolean canDouble, boolean canSplit,
+			boolean canSurrender)
+	{
+		double[] values = new double[Action.values().length];
+		dealerOutcomes = dealer.getOutcomes(dealerUpCard, valueCounts);
+		key = DealerOutcomeCalculator.pack(valueCounts);
+		cardsRemaining = 0;
+		for(int i = 0; i < counts.length; i++)
+		{
+			counts[i] = valueCounts[i];
+			cardsRemaining += counts[i];
+		}
+
+		int total = hand.getHardTotal();
+		boolean ace = false;
+		for(int i = 0; i < hand.getCardsRemaining(); i++)
+		{
+			ace |= CardCode.isAce(hand.getCode(i));
+		}
+		int numOfCards = hand.getCardsRemaining();
+
+		hitMemo.clear();
+		values[Action.STAND.ordinal()] = standValue(getScore(total, ace),
+				numOfCards);
+		values[Action.HIT.ordinal()] = hitValue(total, ace, numOfCards);
+
+		values[Action.DOUBLE_DOWN.ordinal()] = Double.NaN;
+		if(canDouble)
+		{
+			values[Action.DOUBLE_DOWN.ordinal()] = doubleValue(total, ace);
+		}
+
+		values[Action.SURRENDER.ordinal()] = Double.NaN;
+		if(canSurrender)
+		{
+			values[Action.SURRENDER.ordinal()] = -0.5;
+		}
+
+		values[Action.SPLIT.ordinal()] = Double.NaN;
+		if(canSplit)
+		{
+			values[Action.SPLIT.ordinal()] = splitValue(CardCode.getHardValue(
+					hand.getCode(0)));
+		}
+
+		return values;
+	}
+
+	/**
+	 * Gets the score of a hand, an ace is counted as 11 if it doesn't take
+	 * the hand over Blackjack.
+	 *
+	 * @param total The hard total of the hand.
+	 * @param ace Whether the hand holds an ace.
+	 * @return The score of the hand.
+	 * @since 1.8.0
+	 */
+	private static int getScore(int total, boolean ace)
+	{
+		if(ace && total + 10 <= Table.BLACKJACK)
+		{
+			return total + 10;
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the value of standing against the dealer's outcomes.
+	 *
+	 * @param score The score of the hand.
+	 * @param numOfCards The number of cards in the hand.
+	 * @return The value of standing.
+	 * @since 1.8.0
+	 */
+	private double standValue(int score, int numOfCards)
+	{
+		if(score > Table.BLACKJACK)
+		{
+			//A bust is a push if the dealer also busts.
+			return dealerOutcomes[DealerOutcomeCalculator.BUST] - 1;
+		}
+
+		double dealer21 = dealerOutcomes[Table.BLACKJACK - 17];
+		if(score == Table.BLACKJACK)
+		{
+			//A 21 pushes against a dealer's 21.
+			if(numOfCards == 2)
+			{
+				return BLACKJACKPAYOUT * (1 - dealer21);
+			}
+			return 1 - dealer21;
+		}
+
+		double value = dealerOutcomes[DealerOutcomeCalculator.BUST] - dealer21;
+		for(int dealerScore = 17; dealerScore < Table.BLACKJACK; dealerScore++)
+		{
+			if(score > dealerScore)
+			{
+				value += dealerOutcomes[dealerScore - 17];
+			}
+			else if(score < dealerScore)
+			{
+				value -= dealerOutcomes[dealerScore - 17];
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Gets the value of a hand which can keep playing, the hand stands if its
+	 * score is 21 or more.
+	 *
+	 * @param total The hard total of the hand.
+	 * @param ace Whether the hand holds an ace.
+	 * @param numOfCards The number of cards in the hand.
+	 * @return The value of the best play of the hand.
+	 * @since 1.8.0
+	 */
+	private double bestValue(int total, boolean ace, int numOfCards)
+	{
+		int score = getScore(total, ace);
+		double stand = standValue(score, numOfCards);
+		if(score >= Table.BLACKJACK)
+		{
+			return stand;
+		}
+
+		return Math.max(stand, hitValue(total, ace, numOfCards));
+	}
+
+	/**
+	 * Gets the value of taking another card and playing on from there, the
+	 * value of each shoe is memoised.
+	 *
+	 * @param total The hard total of the hand.
+	 * @param ace Whether the hand holds an ace.
+	 * @param numOfCards The number of cards in the hand.
+	 * @return The value of hitting.
+	 * @since 1.8.0
+	 */
+	private double hitValue(int total, boolean ace, int numOfCards)
+	{
+		Double memoised = hitMemo.get(key);
+		if(memoised != null)
+		{
+			return memoised;
+		}
+
+		double value = 0;
+		int drawable = cardsRemaining;
+		for(int i = 0; i < counts.length; i++)
+		{
+			if(counts[i] == 0)
+			{
+				continue;
+			}
+
+			double probability = (double) counts[i] / drawable;
+			removeCard(i);
+			value += probability * bestValue(total + i + 1, ace || i == 0,
+					numOfCards + 1);
+			returnCard(i);
+		}
+
+		hitMemo.put(key, value);
+		return value;
+	}
+
+	/**
+	 * Gets the value of doubling the wager and taking exactly 1 more card.
+	 *
+	 * @param total The hard total of the hand.
+	 * @param ace Whether the hand holds an ace.
+	 * @return The value of doubling down.
+	 * @since 1.8.0
+	 */
+	private double doubleValue(int total, boolean ace)
+	{
+		double value = 0;
+		for(int i = 0; i < counts.length; i++)
+		{
+			if(counts[i] > 0)
+			{
+				value += (double) counts[i] / cardsRemaining * standValue(
+						getScore(total + i + 1, ace || i == 0), 3);
+			}
+		}
+
+		return 2 * value;
+	}
+
+	/**
+	 * Gets the value of splitting a pair, the doubled wager is paid on the
+	 * best of the 2 hands.
+	 *
+	 * @param cardValue The hard value of each card in the pair.
+	 * @return The value of splitting.
+	 * @since 1.8.0
+	 */
+	private double splitValue(int cardValue)
+	{
+		hitMemo.clear();
+		resultMemo.clear();
+		double[] results = splitResults(cardValue, cardValue == 1, 1);
+		double[] payouts = new double[RESULTS];
+		for(int i = 0; i < RESULTS; i++)
+		{
+			payouts[i] = getResultPayout(i);
+		}
+
+		double value = 0;
+		for(int i = 0; i < RESULTS; i++)
+		{
+			for(int j = 0; j < RESULTS; j++)
+			{
+				value += results[i] * results[j] * payouts[Math.max(
+						getResultRank(i), getResultRank(j)) == getResultRank(i) ?
+						i : j];
+			}
+		}
+
+		return 2 * value;
+	}
+
+	/**
+	 * Recursively finds the probability of each final result of a split hand,
+	 * the results of each shoe are memoised.
+	 *
+	 * @param total The hard total of the hand.
+	 * @param ace Whether the hand holds an ace.
+	 * @param numOfCards The number of cards in the hand.
+	 * @return The probability of each result.
+	 * @since 1.8.0
+	 */
+	private double[] splitResults(int total, boolean ace, int numOfCards)
+	{
+		double[] results = new double[RESULTS];
+		int score = getScore(total, ace);
+		if(score > Table.BLACKJACK)
+		{
+			results[BUSTRESULT] = 1;
+			return results;
+		}
+		else if(score == Table.BLACKJACK)
+		{
+			results[numOfCards == 2 ? TWOCARDRESULT : score] = 1;
+			return results;
+		}
+		//A split hand always takes a second card.
+		else if(numOfCards > 1 && standValue(score, numOfCards) >= hitValue(
+				total, ace, numOfCards))
+		{
+			results[score] = 1;
+			return results;
+		}
+
+		double[] memoised = resultMemo.get(key);
+		if(memoised != null)
+		{
+			return memoised;
+		}
+
+		for(int i = 0; i < counts.length; i++)
+		{
+			if(counts[i] == 0)
+			{
+				continue;
+			}
+
+			double probability = (double) counts[i] / cardsRemaining;
+			removeCard(i);
+			double[] next = splitResults(total + i + 1, ace || i == 0,
+					numOfCards + 1);
+			returnCard(i);
+			for(int j = 0; j < RESULTS; j++)
+			{
+				results[j] += probability * next[j];
+			}
+		}
+
+		resultMemo.put(key, results);
+		return results;
+	}
+
+	/**
+	 * Gets the rank of a split hand result used to choose the best hand, a
+	 * bust is the lowest and a 2 card 21 is the highest.
+	 *
+	 * @param result The result of the hand.
+	 * @return The rank of the result.
+	 * @since 1.8.0
+	 */
+	private static int getResultRank(int result)
+	{
+		if(result == BUSTRESULT)
+		{
+			return -1;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the payout of the best split hand.
+	 *
+	 * @param result The result of the hand.
+	 * @return The payout of the result.
+	 * @since 1.8.0
+	 */
+	private double getResultPayout(int result)
+	{
+		if(result == BUSTRESULT)
+		{
+			return standValue(Table.BLACKJACK + 1, 3);
+		}
+		else if(result == TWOCARDRESULT)
+		{
+			return standValue(Table.BLACKJACK, 2);
+		}
+		return standValue(result, 3);
+	}
+
+	/**
+	 * Removes a card from the shoe of the current query.
+	 *
+	 * @param valueIndex The hard value of the card minus 1.
+	 * @since 1.8.0
+	 */
+	private void removeCard(int valueIndex)
+	{
+		counts[valueIndex]--;
+		cardsRemaining--;
+		key -= 1L << SHIFTS[valueIndex];
+	}
+
+	/**
+	 * Returns a card to the shoe of the current query.
+	 *
+	 * @param valueIndex The hard value of the card minus 1.
+	 * @since 1.8.0
+	 */
+	private void returnCard(int valueIndex)
+	{
+		counts[valueIndex]++;
+		cardsRemaining++;
+		key += 1L << SHIFTS[valueIndex];
+	}
+}
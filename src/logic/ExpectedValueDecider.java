@@ -0,0 +1,69 @@
+package logic;
+
+import player.Action;
+
+/**
+ * Decider which plays a CPU's turn by taking the action with the highest
+ * expected value for the cards remaining in the shoe.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class ExpectedValueDecider implements Decider
+{
+	/**
+	 * The calculator used to value each action.
+	 */
+	private ExpectedValueCalculator calculator;
+
+	/**
+	 * Constructs a decider using a calculator for the rules of the Table.
+	 *
+	 * @since 1.8.0
+	 */
+	public ExpectedValueDecider()
+	{
+		this(new ExpectedValueCalculator());
+	}
+
+	/**
+	 * Constructs a decider using a specified calculator, the program ends if
+	 * the calculator is null.
+	 *
+	 * @param calculator The calculator used to value each action.
+	 * @since 1.8.0
+	 */
+	public ExpectedValueDecider(ExpectedValueCalculator calculator)
+	{
+		try
+		{
+			if(calculator == null)
+			{
+				throw new NullPointerException("Null in ExpectedValueDecider "
+						+ "constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.calculator = calculator;
+	}
+
+	/**
+	 * Takes the action with the highest expected value for the hand.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.Decider#getAction(logic.Table, int, int, boolean)
+	 * @since 1.8.0
+	 */
+	@Override
+	public Action getAction(Table table, int index, int handIndex,
+			boolean firstAction)
+	{
+		return calculator.getBestAction(table, index, handIndex, firstAction);
+	}
+}
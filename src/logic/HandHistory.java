@@ -0,0 +1,507 @@
+package logic;
+
+import java.nio.ByteBuffer;
+
+import card.CardCode;
+import player.Action;
+import player.BettingPolicy;
+import player.FlatBettingPolicy;
+import player.KellyBettingPolicy;
+import player.ProportionalBettingPolicy;
+import player.TrueCountBettingPolicy;
+
+/**
+ * The binary hand history format shared by the GUI and simulations. A file
+ * is a header followed by a fixed width record for every seat which played
+ * a round, so record n is found at HEADERSIZE + n * RECORDSIZE without
+ * reading the records before it. Every value is big endian.
+ * <br><br>
+ * Header
+ * <br><pre>
+ * 0  i32 magic          8  u8 seats     12 i32 rounds per game
+ * 4  u16 version        9  u8 humans    16 f64 penetration
+ * 6  u16 record size    10 u8 decks     24 u8  betting policy
+ *                       11 u8 flags     32 f64 policy parameters x 4
+ * </pre>
+ * Record
+ * <br><pre>
+ * 0  i64 shoe seed      24 i32 payout       36 u8 dealer cards
+ * 8  i32 game           28 i32 money        37 u8 hand 1 cards
+ * 12 u16 round          32 u8 outcome       38 u8 hand 2 cards
+ * 14 u8  seat           33 u8 dealer score  39 u8 decisions
+ * 15 u8  flags          34 u8 hand 1 score  40 i64 decisions
+ * 16 i32 wager          35 u8 hand 2 score  48 i64 cards low
+ * 20 i32 insurance                          56 i64 cards high
+ * </pre>
+ * Money is in cents, the wager is the wager placed before any double or
+ * split and the payout is the change in the seat's money over the round.
+ * The decisions hold 4 bits for each decision in the order they were taken,
+ * the action's ordinal and the hand in the top bit. The cards hold 6 bits
+ * for each card, the suit and face of its code, in 7 slots for the dealer
+ * followed by 7 for each hand. The counts and scores are always exact, the
+ * TRUNCATED flag is set when a hand had more cards or the seat more
+ * decisions than the record holds.
+ * <br><br>
+ * The betting policy of the CPUs is kept with its parameters so their
+ * wagers can be worked out again exactly rather than from the rounded
+ * wagers of the records.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public final class HandHistory
+{
+	/**
+	 * Marks the start of a hand history file, "BJHH".
+	 */
+	public static final int MAGIC = 0x424A4848;
+	/**
+	 * The version of the format.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * The number of bytes in the header.
+	 */
+	public static final int HEADERSIZE = 64;
+	/**
+	 * The number of bytes in each record.
+	 */
+	public static final int RECORDSIZE = 64;
+	/**
+	 * The number of cards of each hand held by a record.
+	 */
+	public static final int MAXCARDS = 7;
+	/**
+	 * The number of decisions held by a record.
+	 */
+	public static final int MAXDECISIONS = 16;
+	/**
+	 * The most rounds in a game, a record holds its round as a u16.
+	 */
+	public static final int MAXROUNDS = 0xFFFF;
+	/**
+	 * The most games in a hand history, a record holds its game as an i32.
+	 */
+	public static final long MAXGAMES = Integer.MAX_VALUE;
+	/**
+	 * Header flag, the shoe was a continuous shuffling machine.
+	 */
+	public static final int CONTINUOUSSHUFFLE = 0x01;
+	/**
+	 * Betting policy, the policy of the CPUs isn't known.
+	 */
+	public static final int UNKNOWNPOLICY = 0;
+	/**
+	 * Betting policy, FlatBettingPolicy.
+	 */
+	public static final int FLATPOLICY = 1;
+	/**
+	 * Betting policy, ProportionalBettingPolicy.
+	 */
+	public static final int PROPORTIONALPOLICY = 2;
+	/**
+	 * Betting policy, TrueCountBettingPolicy.
+	 */
+	public static final int TRUECOUNTPOLICY = 3;
+	/**
+	 * Betting policy, KellyBettingPolicy.
+	 */
+	public static final int KELLYPOLICY = 4;
+	/**
+	 * Record flag, the seat split their hand.
+	 */
+	public static final int SPLIT = 0x01;
+	/**
+	 * Record flag, the seat doubled down on a hand.
+	 */
+	public static final int DOUBLED = 0x02;
+	/**
+	 * Record flag, the seat surrendered.
+	 */
+	public static final int SURRENDERED = 0x04;
+	/**
+	 * Record flag, the seat took insurance.
+	 */
+	public static final int INSURED = 0x08;
+	/**
+	 * Record flag, the dealer had Blackjack in their first 2 cards.
+	 */
+	public static final int DEALERBLACKJACK = 0x10;
+	/**
+	 * Record flag, the seat had Blackjack in their first 2 cards.
+	 */
+	public static final int BLACKJACK = 0x20;
+	/**
+	 * Record flag, some cards or decisions didn't fit in the record.
+	 */
+	public static final int TRUNCATED = 0x80;
+	/**
+	 * Offset of the magic in the header.
+	 */
+	static final int MAGIC_OFFSET = 0;
+	/**
+	 * Offset of the version in the header.
+	 */
+	static final int VERSION_OFFSET = 4;
+	/**
+	 * Offset of the record size in the header.
+	 */
+	static final int RECORDSIZE_OFFSET = 6;
+	/**
+	 * Offset of the number of seats in the header.
+	 */
+	static final int SEATS_OFFSET = 8;
+	/**
+	 * Offset of the number of humans in the header.
+	 */
+	static final int HUMANS_OFFSET = 9;
+	/**
+	 * Offset of the number of decks in the header.
+	 */
+	static final int DECKS_OFFSET = 10;
+	/**
+	 * Offset of the flags in the header.
+	 */
+	static final int HEADERFLAGS_OFFSET = 11;
+	/**
+	 * Offset of the rounds per game in the header.
+	 */
+	static final int ROUNDS_OFFSET = 12;
+	/**
+	 * Offset of the penetration in the header.
+	 */
+	static final int PENETRATION_OFFSET = 16;
+	/**
+	 * Offset of the betting policy in the header.
+	 */
+	static final int POLICY_OFFSET = 24;
+	/**
+	 * Offset of the parameters of the betting policy in the header.
+	 */
+	static final int POLICYPARAMETERS_OFFSET = 32;
+	/**
+	 * Offset of the shoe seed in a record.
+	 */
+	static final int SEED_OFFSET = 0;
+	/**
+	 * Offset of the game in a record.
+	 */
+	static final int GAME_OFFSET = 8;
+	/**
+	 * Offset of the round in a record.
+	 */
+	static final int ROUND_OFFSET = 12;
+	/**
+	 * Offset of the seat in a record.
+	 */
+	static final int SEAT_OFFSET = 14;
+	/**
+	 * Offset of the flags in a record.
+	 */
+	static final int FLAGS_OFFSET = 15;
+	/**
+	 * Offset of the wager in a record.
+	 */
+	static final int WAGER_OFFSET = 16;
+	/**
+	 * Offset of the insurance in a record.
+	 */
+	static final int INSURANCE_OFFSET = 20;
+	/**
+	 * Offset of the payout in a record.
+	 */
+	static final int PAYOUT_OFFSET = 24;
+	/**
+	 * Offset of the money in a record.
+	 */
+	static final int MONEY_OFFSET = 28;
+	/**
+	 * Offset of the outcome in a record.
+	 */
+	static final int OUTCOME_OFFSET = 32;
+	/**
+	 * Offset of the dealer's score in a record, followed by each hand's.
+	 */
+	static final int SCORES_OFFSET = 33;
+	/**
+	 * Offset of the dealer's number of cards in a record, followed by each
+	 * hand's.
+	 */
+	static final int COUNTS_OFFSET = 36;
+	/**
+	 * Offset of the number of decisions in a record.
+	 */
+	static final int NUMOFDECISIONS_OFFSET = 39;
+	/**
+	 * Offset of the decisions in a record.
+	 */
+	static final int DECISIONS_OFFSET = 40;
+	/**
+	 * Offset of the low 64 bits of the cards in a record.
+	 */
+	static final int CARDSLOW_OFFSET = 48;
+	/**
+	 * Offset of the high 64 bits of the cards in a record.
+	 */
+	static final int CARDSHIGH_OFFSET = 56;
+	/**
+	 * Number of bits in each card of a record.
+	 */
+	private static final int CARD_BITS = 6;
+	/**
+	 * Mask of the bits of each card.
+	 */
+	private static final int CARD_MASK = 0x3F;
+	/**
+	 * Number of bits in each decision of a record.
+	 */
+	private static final int DECISION_BITS = 4;
+	/**
+	 * The bit of a decision holding its hand.
+	 */
+	private static final int DECISION_HAND = 0x08;
+	/**
+	 * Every action, cached to avoid the copy made by Action.values().
+	 */
+	private static final Action[] ACTIONS = Action.values();
+
+	/**
+	 * Prevents the utility class from being constructed.
+	 *
+	 * @since 1.8.0
+	 */
+	private HandHistory()
+	{
+		super();
+	}
+
+	/**
+	 * Writes a header.
+	 *
+	 * @param buffer The buffer being written, at least HEADERSIZE bytes.
+	 * @param numOfSeats The number of seats at the table.
+	 * @param numOfHumans The number of humans, who sit in the first seats.
+	 * @param numOfDecks The number of decks in the shoe.
+	 * @param totalRounds The number of rounds in each game.
+	 * @param penetration The penetration of the shoe.
+	 * @param continuousShuffle Whether the shoe is a continuous shuffling
+	 * machine.
+	 * @param bettingPolicy The betting policy of the CPUs, null if it isn't
+	 * known.
+	 * @since 1.8.0
+	 */
+	static void writeHeader(ByteBuffer buffer, int numOfSeats, int numOfHumans,
+			int numOfDecks, int totalRounds, double penetration,
+			boolean continuousShuffle, BettingPolicy bettingPolicy)
+	{
+		int start = buffer.position();
+		buffer.putInt(MAGIC);
+		buffer.putShort((short) VERSION);
+		buffer.putShort((short) RECORDSIZE);
+		buffer.put((byte) numOfSeats);
+		buffer.put((byte) numOfHumans);
+		buffer.put((byte) numOfDecks);
+		buffer.put((byte) (continuousShuffle ? CONTINUOUSSHUFFLE : 0));
+		buffer.putInt(totalRounds);
+		buffer.putDouble(penetration);
+		while(buffer.position() < start + HEADERSIZE)
+		{
+			buffer.put((byte) 0);
+		}
+
+		//Any other policy can't be built again so it's written as unknown.
+		double[] parameters = new double[4];
+		int policy = UNKNOWNPOLICY;
+		if(bettingPolicy instanceof FlatBettingPolicy)
+		{
+			policy = FLATPOLICY;
+			parameters[0] = ((FlatBettingPolicy) bettingPolicy).getWager();
+		}
+		else if(bettingPolicy instanceof ProportionalBettingPolicy)
+		{
+			policy = PROPORTIONALPOLICY;
+			parameters[0] = ((ProportionalBettingPolicy) bettingPolicy).
+					getFraction();
+		}
+		else if(bettingPolicy instanceof TrueCountBettingPolicy)
+		{
+			TrueCountBettingPolicy trueCount = (TrueCountBettingPolicy)
+					bettingPolicy;
+			policy = TRUECOUNTPOLICY;
+			parameters[0] = trueCount.getUnit();
+			parameters[1] = trueCount.getMaxUnits();
+		}
+		else if(bettingPolicy instanceof KellyBettingPolicy)
+		{
+			KellyBettingPolicy kelly = (KellyBettingPolicy) bettingPolicy;
+			policy = KELLYPOLICY;
+			parameters[0] = kelly.getFraction();
+			parameters[1] = kelly.getBaseEdge();
+			parameters[2] = kelly.getEdgePerTrueCount();
+			parameters[3] = kelly.getVariance();
+		}
+		buffer.put(start + POLICY_OFFSET, (byte) policy);
+		for(int i = 0; i < parameters.length; i++)
+		{
+			buffer.putDouble(start + POLICYPARAMETERS_OFFSET + i * Double.BYTES,
+					parameters[i]);
+		}
+	}
+
+	/**
+	 * Reads the betting policy of the CPUs from a header.
+	 *
+	 * @param header The header.
+	 * @return The betting policy, null if it isn't known.
+	 * @since 1.8.0
+	 */
+	static BettingPolicy readPolicy(ByteBuffer header)
+	{
+		double[] parameters = new double[4];
+		for(int i = 0; i < parameters.length; i++)
+		{
+			parameters[i] = header.getDouble(POLICYPARAMETERS_OFFSET + i *
+					Double.BYTES);
+		}
+
+		switch(header.get(POLICY_OFFSET))
+		{
+			case FLATPOLICY:
+				return new FlatBettingPolicy(parameters[0]);
+			case PROPORTIONALPOLICY:
+				return new ProportionalBettingPolicy(parameters[0]);
+			case TRUECOUNTPOLICY:
+				return new TrueCountBettingPolicy(parameters[0], (int)
+						parameters[1]);
+			case KELLYPOLICY:
+				return new KellyBettingPolicy(parameters[0], parameters[1],
+						parameters[2], parameters[3]);
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Packs a card into the cards of a record.
+	 *
+	 * @param cards The low and high 64 bits of the cards.
+	 * @param slot The slot of the card, the dealer's cards come first.
+	 * @param code The code of the card.
+	 * @since 1.8.0
+	 */
+	static void putCard(long[] cards, int slot, byte code)
+	{
+		long bits = code & CARD_MASK;
+		int offset = slot * CARD_BITS;
+		if(offset >= Long.SIZE)
+		{
+			cards[1] |= bits << (offset - Long.SIZE);
+			return;
+		}
+
+		cards[0] |= bits << offset;
+		//A card can straddle the two halves.
+		if(offset + CARD_BITS > Long.SIZE)
+		{
+			cards[1] |= bits >>> (Long.SIZE - offset);
+		}
+	}
+
+	/**
+	 * Unpacks a card from the cards of a record.
+	 *
+	 * @param low The low 64 bits of the cards.
+	 * @param high The high 64 bits of the cards.
+	 * @param slot The slot of the card, the dealer's cards come first.
+	 * @return The code of the card, face up.
+	 * @since 1.8.0
+	 */
+	static byte getCard(long low, long high, int slot)
+	{
+		int offset = slot * CARD_BITS;
+		long bits;
+		if(offset >= Long.SIZE)
+		{
+			bits = high >>> (offset - Long.SIZE);
+		}
+		else
+		{
+			bits = low >>> offset;
+			if(offset + CARD_BITS > Long.SIZE)
+			{
+				bits |= high << (Long.SIZE - offset);
+			}
+		}
+		return CardCode.setFaceUp((byte) (bits & CARD_MASK), true);
+	}
+
+	/**
+	 * Packs a decision into the decisions of a record.
+	 *
+	 * @param decisions The decisions.
+	 * @param index The index of the decision.
+	 * @param action The action taken.
+	 * @param handIndex The hand the action was taken on.
+	 * @return The decisions with the decision added.
+	 * @since 1.8.0
+	 */
+	static long putDecision(long decisions, int index, Action action,
+			int handIndex)
+	{
+		long bits = action.ordinal() | (handIndex > 0 ? DECISION_HAND : 0);
+		return decisions | bits << (index * DECISION_BITS);
+	}
+
+	/**
+	 * Unpacks the action of a decision.
+	 *
+	 * @param decisions The decisions of a record.
+	 * @param index The index of the decision.
+	 * @return The action taken.
+	 * @since 1.8.0
+	 */
+	public static Action getDecisionAction(long decisions, int index)
+	{
+		int bits = (int) (decisions >>> (index * DECISION_BITS));
+		return ACTIONS[bits & (DECISION_HAND - 1)];
+	}
+
+	/**
+	 * Unpacks the hand of a decision.
+	 *
+	 * @param decisions The decisions of a record.
+	 * @param index The index of the decision.
+	 * @return The index of the hand the action was taken on.
+	 * @since 1.8.0
+	 */
+	public static int getDecisionHand(long decisions, int index)
+	{
+		int bits = (int) (decisions >>> (index * DECISION_BITS));
+		return (bits & DECISION_HAND) != 0 ? 1 : 0;
+	}
+
+	/**
+	 * Gets the score of cards, an ace counts as 11 if it doesn't bust.
+	 *
+	 * @param codes The codes of the cards.
+	 * @param count The number of cards.
+	 * @return The score.
+	 * @since 1.8.0
+	 */
+	static int getScore(byte[] codes, int count)
+	{
+		int score = 0;
+		boolean ace = false;
+		for(int i = 0; i < count; i++)
+		{
+			score += CardCode.getHardValue(codes[i]);
+			ace |= CardCode.isAce(codes[i]);
+		}
+		if(ace && score + 10 <= Table.BLACKJACK)
+		{
+			score += 10;
+		}
+		return score;
+	}
+}
@@ -0,0 +1,438 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import player.Action;
+
+/**
+ * Answers queries over a hand history without reading its records, using a
+ * bitmap index kept in a file next to the hand history. The index holds a
+ * bitmap for every value of each column, bit n of a bitmap is set if record
+ * n has the value. A query ANDs and ORs the bitmaps a word at a time, so it
+ * reads 1 bit of each bitmap it uses for every record rather than the whole
+ * 64 byte record.
+ * <br><br>
+ * The index is written by the HandHistoryWriter as records are appended,
+ * an index which is missing or behind its hand history is brought up to
+ * date by update. The index is a header followed by blocks of BLOCKRECORDS
+ * records, each block holds every bitmap of its records one after another
+ * so a block is only written while it's the last block. Every value is big
+ * endian.
+ * <br><br>
+ * Header
+ * <br><pre>
+ * 0  i32 magic          8  i32 records per block
+ * 4  u16 version        16 i64 records indexed
+ * 6  u16 bitmaps        24-63 reserved
+ * </pre>
+ * Columns
+ * <br><pre>
+ * SEAT         the seat, 0 to 5
+ * UPCARD       the value of the dealer's first card, 1 for an ace to 10
+ * TOTAL        the score of the first 2 cards, 4 to 21
+ * FIRSTACTION  the ordinal of the first action, STAND if there wasn't one
+ * ACTION       the ordinal of every action taken, except STAND
+ * OUTCOME      the outcome, NOOUTCOME if the seat wasn't given one
+ * FLAG         every record flag which is set
+ * </pre>
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistory
+ * @see logic.HandHistoryQuery
+ */
+public class HandHistoryIndex
+{
+	/**
+	 * Marks the start of a hand history index, "BJHI".
+	 */
+	public static final int MAGIC = 0x424A4849;
+	/**
+	 * The version of the format.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * The number of bytes in the header.
+	 */
+	public static final int HEADERSIZE = 64;
+	/**
+	 * The number of records in each block.
+	 */
+	public static final int BLOCKRECORDS = 64 * 1024;
+	/**
+	 * The extension of an index added to the name of its hand history.
+	 */
+	public static final String EXTENSION = ".idx";
+	/**
+	 * Column of the seat.
+	 */
+	public static final int SEAT = 0;
+	/**
+	 * Column of the value of the dealer's first card, 1 for an ace.
+	 */
+	public static final int UPCARD = 1;
+	/**
+	 * Column of the score of the first 2 cards of the seat.
+	 */
+	public static final int TOTAL = 2;
+	/**
+	 * Column of the ordinal of the first action of the seat.
+	 */
+	public static final int FIRSTACTION = 3;
+	/**
+	 * Column of the ordinal of every action the seat took.
+	 */
+	public static final int ACTION = 4;
+	/**
+	 * Column of the outcome of the seat.
+	 */
+	public static final int OUTCOME = 5;
+	/**
+	 * Column of the flags of the record.
+	 */
+	public static final int FLAG = 6;
+	/**
+	 * The outcome of a seat which wasn't given one.
+	 */
+	public static final int NOOUTCOME = Table.LOST + 1;
+	/**
+	 * The lowest score of the first 2 cards.
+	 */
+	static final int MINTOTAL = 4;
+	/**
+	 * The first value of each column.
+	 */
+	private static final int[] FIRSTVALUES = {0, 1, MINTOTAL, 0, 0, 0, 0};
+	/**
+	 * The number of bitmaps of each column.
+	 */
+	private static final int[] COLUMNSIZES = {Table.MAXNUMPLAYERS, 10,
+			Table.BLACKJACK - MINTOTAL + 1, Action.values().length,
+			Action.values().length, NOOUTCOME + 1, Byte.SIZE};
+	/**
+	 * The first bitmap of each column.
+	 */
+	private static final int[] COLUMNSTARTS = new int[COLUMNSIZES.length];
+	/**
+	 * The number of bitmaps in the index.
+	 */
+	public static final int NUMOFBITMAPS;
+	static
+	{
+		int bitmaps = 0;
+		for(int i = 0; i < COLUMNSIZES.length; i++)
+		{
+			COLUMNSTARTS[i] = bitmaps;
+			bitmaps += COLUMNSIZES[i];
+		}
+		NUMOFBITMAPS = bitmaps;
+	}
+	/**
+	 * The number of words in each bitmap of a block.
+	 */
+	static final int BLOCKWORDS = BLOCKRECORDS / Long.SIZE;
+	/**
+	 * The number of bytes in each block.
+	 */
+	static final long BLOCKSIZE = (long) NUMOFBITMAPS * BLOCKWORDS *
+			Long.BYTES;
+	/**
+	 * Offset of the magic in the header.
+	 */
+	static final int MAGIC_OFFSET = 0;
+	/**
+	 * Offset of the version in the header.
+	 */
+	static final int VERSION_OFFSET = 4;
+	/**
+	 * Offset of the number of bitmaps in the header.
+	 */
+	static final int BITMAPS_OFFSET = 6;
+	/**
+	 * Offset of the records per block in the header.
+	 */
+	static final int BLOCKRECORDS_OFFSET = 8;
+	/**
+	 * Offset of the number of records indexed in the header.
+	 */
+	static final int RECORDS_OFFSET = 16;
+	/**
+	 * The number of blocks in each mapped segment.
+	 */
+	private static final int SEGMENTBLOCKS = (int) (Integer.MAX_VALUE /
+			BLOCKSIZE);
+	/**
+	 * The mapped blocks, viewed as words.
+	 */
+	private LongBuffer[] segments;
+	/**
+	 * The number of records indexed.
+	 */
+	private long numOfRecords;
+
+	/**
+	 * Opens and maps the index of a hand history, only the records indexed
+	 * when it's opened are queried.
+	 *
+	 * @param handHistory The name of the hand history file.
+	 * @throws IOException Thrown if the index can't be read or isn't a hand
+	 * history index.
+	 * @since 1.8.0
+	 */
+	public HandHistoryIndex(String handHistory) throws IOException
+	{
+		String file = getIndexFile(handHistory);
+		try(FileChannel channel = FileChannel.open(Paths.get(file),
+				StandardOpenOption.READ))
+		{
+			numOfRecords = readHeader(channel, file);
+			int numOfBlocks = (int) ((numOfRecords + BLOCKRECORDS - 1) /
+					BLOCKRECORDS);
+			if(channel.size() < HEADERSIZE + numOfBlocks * BLOCKSIZE)
+			{
+				throw new IOException("Incomplete hand history index: " + file);
+			}
+
+			int numOfSegments = (numOfBlocks + SEGMENTBLOCKS - 1) /
+					SEGMENTBLOCKS;
+			segments = new LongBuffer[numOfSegments];
+			for(int i = 0; i < numOfSegments; i++)
+			{
+				long first = (long) i * SEGMENTBLOCKS;
+				long blocks = Math.min(SEGMENTBLOCKS, numOfBlocks - first);
+				MappedByteBuffer segment = channel.map(FileChannel.MapMode.
+						READ_ONLY, HEADERSIZE + first * BLOCKSIZE, blocks *
+						BLOCKSIZE);
+				segments[i] = segment.asLongBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Gets the name of the index of a hand history.
+	 *
+	 * @param handHistory The name of the hand history file.
+	 * @return The name of the index file.
+	 * @since 1.8.0
+	 */
+	public static String getIndexFile(String handHistory)
+	{
+		return handHistory + EXTENSION;
+	}
+
+	/**
+	 * Indexes every record of a hand history which isn't indexed yet,
+	 * creating the index if it doesn't exist. Must not be used while the
+	 * hand history is being written, its writer keeps the index up to date.
+	 *
+	 * @param handHistory The name of the hand history file.
+	 * @return The number of records indexed.
+	 * @throws IOException Thrown if the hand history or index can't be read
+	 * or written.
+	 * @since 1.8.0
+	 */
+	public static long update(String handHistory) throws IOException
+	{
+		HandHistoryReader reader = new HandHistoryReader(handHistory);
+		HandHistoryIndexWriter writer = new HandHistoryIndexWriter(
+				getIndexFile(handHistory), false);
+		try
+		{
+			writer.append(reader);
+		}
+		finally
+		{
+			writer.close();
+		}
+		return reader.getNumOfRecords();
+	}
+
+	/**
+	 * Gets the bitmap of a value of a column.
+	 *
+	 * @param column The column.
+	 * @param value The value, a record flag for the FLAG column.
+	 * @return The index of the bitmap.
+	 * @throws TableException Thrown if the column or value is invalid.
+	 * @since 1.8.0
+	 */
+	public static int getBitmap(int column, int value) throws TableException
+	{
+		if(column < SEAT || column > FLAG)
+		{
+			throw new TableException("Invalid column: " + column);
+		}
+
+		int offset = value - FIRSTVALUES[column];
+		//A flag is a single bit.
+		if(column == FLAG)
+		{
+			offset = Integer.bitCount(value) == 1 ? Integer.
+					numberOfTrailingZeros(value) : -1;
+		}
+		//Standing isn't recorded.
+		else if(column == ACTION && value == Action.STAND.ordinal())
+		{
+			offset = -1;
+		}
+
+		if(offset < 0 || offset >= COLUMNSIZES[column])
+		{
+			throw new TableException("Invalid value for column " + column +
+					": " + value);
+		}
+		return COLUMNSTARTS[column] + offset;
+	}
+
+	/**
+	 * Gets the number of records indexed.
+	 *
+	 * @return The number of records.
+	 * @since 1.8.0
+	 */
+	public long getNumOfRecords()
+	{
+		return numOfRecords;
+	}
+
+	/**
+	 * Counts the records which match a query.
+	 *
+	 * @param query The query.
+	 * @return The number of records which match.
+	 * @since 1.8.0
+	 */
+	public long count(HandHistoryQuery query)
+	{
+		int[][] clauses = query.getClauses();
+		long count = 0;
+		long numOfWords = (numOfRecords + Long.SIZE - 1) / Long.SIZE;
+		for(long i = 0; i < numOfWords; i++)
+		{
+			count += Long.bitCount(match(clauses, i));
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the records which match a query in the order they were written.
+	 *
+	 * @param query The query.
+	 * @param first The index of the first record searched, searching starts
+	 * at the first record if it's negative.
+	 * @param limit The most records found.
+	 * @return The index of every record found.
+	 * @throws TableException Thrown if the limit is less than 1.
+	 * @since 1.8.0
+	 */
+	public long[] find(HandHistoryQuery query, long first, int limit) throws
+			TableException
+	{
+		if(limit < 1)
+		{
+			throw new TableException("Invalid limit: " + limit);
+		}
+
+		first = Math.max(first, 0);
+		int[][] clauses = query.getClauses();
+		long[] found = new long[Math.min(limit, 1024)];
+		int numFound = 0;
+		long numOfWords = (numOfRecords + Long.SIZE - 1) / Long.SIZE;
+		for(long i = first / Long.SIZE; i < numOfWords &&
+				numFound < limit; i++)
+		{
+			long word = match(clauses, i);
+			//Skips the records before the first in its word.
+			if(i == first / Long.SIZE)
+			{
+				word &= -1L << (first % Long.SIZE);
+			}
+
+			while(word != 0 && numFound < limit)
+			{
+				if(numFound == found.length)
+				{
+					found = Arrays.copyOf(found, Math.min(limit, found.length *
+							2));
+				}
+				found[numFound++] = i * Long.SIZE + Long.numberOfTrailingZeros(
+						word);
+				word &= word - 1;
+			}
+		}
+		return Arrays.copyOf(found, numFound);
+	}
+
+	/**
+	 * Matches the clauses of a query against a word of every bitmap.
+	 *
+	 * @param clauses The bitmaps of each clause.
+	 * @param word The index of the word, counted across every block.
+	 * @return The bits of the records in the word which match.
+	 * @since 1.8.0
+	 */
+	private long match(int[][] clauses, long word)
+	{
+		long block = word / BLOCKWORDS;
+		LongBuffer segment = segments[(int) (block / SEGMENTBLOCKS)];
+		int start = (int) (block % SEGMENTBLOCKS) * NUMOFBITMAPS * BLOCKWORDS +
+				(int) (word % BLOCKWORDS);
+
+		long result = -1L;
+		//The bits past the last record are never set.
+		long end = numOfRecords - word * Long.SIZE;
+		if(end < Long.SIZE)
+		{
+			result = (1L << end) - 1;
+		}
+		for(int i = 0; i < clauses.length && result != 0; i++)
+		{
+			long any = 0;
+			for(int bitmap : clauses[i])
+			{
+				any |= segment.get(start + bitmap * BLOCKWORDS);
+			}
+			result &= any;
+		}
+		return result;
+	}
+
+	/**
+	 * Reads and validates the header of an index.
+	 *
+	 * @param channel The channel of the index.
+	 * @param file The name of the index file.
+	 * @return The number of records indexed.
+	 * @throws IOException Thrown if the header can't be read or is invalid.
+	 * @since 1.8.0
+	 */
+	static long readHeader(FileChannel channel, String file) throws IOException
+	{
+		if(channel.size() < HEADERSIZE)
+		{
+			throw new IOException("Not a hand history index: " + file);
+		}
+
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+				HEADERSIZE);
+		if(header.getInt(MAGIC_OFFSET) != MAGIC)
+		{
+			throw new IOException("Not a hand history index: " + file);
+		}
+		else if(header.getShort(VERSION_OFFSET) != VERSION || header.getShort(
+				BITMAPS_OFFSET) != NUMOFBITMAPS || header.getInt(
+				BLOCKRECORDS_OFFSET) != BLOCKRECORDS)
+		{
+			throw new IOException("Unsupported hand history index version: " +
+					header.getShort(VERSION_OFFSET));
+		}
+		return header.getLong(RECORDS_OFFSET);
+	}
+}
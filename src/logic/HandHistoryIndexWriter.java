@@ -0,0 +1,404 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import card.CardCode;
+import player.Action;
+
+/**
+ * Appends records to a hand history index. The bitmaps of the last block
+ * are kept in memory, after each append only the words of each bitmap which
+ * changed are written and then the number of records in the header, so a
+ * reader never sees a record whose bits aren't written.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistoryIndex
+ */
+class HandHistoryIndexWriter
+{
+	/**
+	 * The number of records read from a hand history at a time.
+	 */
+	private static final int READRECORDS = 1024;
+	/**
+	 * The channel of the file.
+	 */
+	private FileChannel channel;
+	/**
+	 * The bitmaps of the last block, one after another.
+	 */
+	private long[] block;
+	/**
+	 * The number of records indexed.
+	 */
+	private long numOfRecords;
+	/**
+	 * The number of records written to the file.
+	 */
+	private long numOfWrittenRecords;
+	/**
+	 * The buffer the words are written from.
+	 */
+	private ByteBuffer words;
+	/**
+	 * The cards of the first 2 cards of a hand.
+	 */
+	private byte[] codes;
+
+	/**
+	 * Opens an index to append to, creating it if it doesn't exist.
+	 *
+	 * @param file The name of the index file.
+	 * @param replace Whether an existing index is replaced rather than
+	 * appended to.
+	 * @throws IOException Thrown if the index can't be read or written, or
+	 * isn't a hand history index.
+	 * @since 1.8.0
+	 */
+	HandHistoryIndexWriter(String file, boolean replace) throws IOException
+	{
+		block = new long[HandHistoryIndex.NUMOFBITMAPS * HandHistoryIndex.
+				BLOCKWORDS];
+		words = ByteBuffer.allocate(HandHistoryIndex.BLOCKWORDS * Long.BYTES);
+		codes = new byte[2];
+		if(replace)
+		{
+			channel = FileChannel.open(Paths.get(file), StandardOpenOption.
+					CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+		else
+		{
+			channel = FileChannel.open(Paths.get(file), StandardOpenOption.
+					CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+
+		if(channel.size() == 0)
+		{
+			ByteBuffer header = ByteBuffer.allocate(HandHistoryIndex.
+					HEADERSIZE);
+			header.putInt(HandHistoryIndex.MAGIC_OFFSET, HandHistoryIndex.
+					MAGIC);
+			header.putShort(HandHistoryIndex.VERSION_OFFSET, (short)
+					HandHistoryIndex.VERSION);
+			header.putShort(HandHistoryIndex.BITMAPS_OFFSET, (short)
+					HandHistoryIndex.NUMOFBITMAPS);
+			header.putInt(HandHistoryIndex.BLOCKRECORDS_OFFSET,
+					HandHistoryIndex.BLOCKRECORDS);
+			write(header, 0);
+		}
+		else
+		{
+			try
+			{
+				numOfRecords = HandHistoryIndex.readHeader(channel, file);
+				numOfWrittenRecords = numOfRecords;
+				readBlock();
+			}
+			catch(IOException e)
+			{
+				channel.close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of records indexed.
+	 *
+	 * @return The number of records.
+	 * @since 1.8.0
+	 */
+	long getNumOfRecords()
+	{
+		return numOfRecords;
+	}
+
+	/**
+	 * Indexes a block of whole records and writes them to the index.
+	 *
+	 * @param records The records, from the position to the limit.
+	 * @throws IOException Thrown if the index can't be written.
+	 * @since 1.8.0
+	 */
+	void append(ByteBuffer records) throws IOException
+	{
+		for(int i = records.position(); i + HandHistory.RECORDSIZE <= records.
+				limit(); i += HandHistory.RECORDSIZE)
+		{
+			index(records, i);
+			numOfRecords++;
+			if(numOfRecords % HandHistoryIndex.BLOCKRECORDS == 0)
+			{
+				flush();
+				Arrays.fill(block, 0);
+			}
+		}
+		flush();
+	}
+
+	/**
+	 * Indexes every record of a hand history which isn't indexed yet.
+	 *
+	 * @param reader The reader of the hand history.
+	 * @throws IOException Thrown if the index can't be written, or holds
+	 * more records than the hand history.
+	 * @since 1.8.0
+	 */
+	void append(HandHistoryReader reader) throws IOException
+	{
+		if(numOfRecords > reader.getNumOfRecords())
+		{
+			throw new IOException("Hand history index has more records than "
+					+ "its hand history");
+		}
+
+		byte[] bytes = new byte[READRECORDS * HandHistory.RECORDSIZE];
+		ByteBuffer records = ByteBuffer.wrap(bytes);
+		byte[] record = new byte[HandHistory.RECORDSIZE];
+		while(numOfRecords < reader.getNumOfRecords())
+		{
+			long first = numOfRecords;
+			int count = (int) Math.min(READRECORDS, reader.getNumOfRecords() -
+					first);
+			for(int i = 0; i < count; i++)
+			{
+				reader.getRecord(first + i, record);
+				System.arraycopy(record, 0, bytes, i * HandHistory.RECORDSIZE,
+						HandHistory.RECORDSIZE);
+			}
+			records.clear();
+			records.limit(count * HandHistory.RECORDSIZE);
+			append(records);
+		}
+	}
+
+	/**
+	 * Closes the file.
+	 *
+	 * @throws IOException Thrown if the file can't be closed.
+	 * @since 1.8.0
+	 */
+	void close() throws IOException
+	{
+		channel.close();
+	}
+
+	/**
+	 * Sets the bits of a record in the bitmaps of the last block.
+	 *
+	 * @param records The records.
+	 * @param offset The offset of the record.
+	 * @since 1.8.0
+	 */
+	private void index(ByteBuffer records, int offset)
+	{
+		int seat = records.get(offset + HandHistory.SEAT_OFFSET) & 0xFF;
+		int flags = records.get(offset + HandHistory.FLAGS_OFFSET) & 0xFF;
+		int outcome = records.get(offset + HandHistory.OUTCOME_OFFSET) & 0xFF;
+		int numOfDealerCards = records.get(offset + HandHistory.
+				COUNTS_OFFSET) & 0xFF;
+		int numOfFirstCards = records.get(offset + HandHistory.COUNTS_OFFSET +
+				1) & 0xFF;
+		int numOfSecondCards = records.get(offset + HandHistory.COUNTS_OFFSET +
+				2) & 0xFF;
+		int numOfDecisions = Math.min(records.get(offset + HandHistory.
+				NUMOFDECISIONS_OFFSET) & 0xFF, HandHistory.MAXDECISIONS);
+		long decisions = records.getLong(offset + HandHistory.
+				DECISIONS_OFFSET);
+		long low = records.getLong(offset + HandHistory.CARDSLOW_OFFSET);
+		long high = records.getLong(offset + HandHistory.CARDSHIGH_OFFSET);
+
+		if(seat < Table.MAXNUMPLAYERS)
+		{
+			set(HandHistoryIndex.SEAT, seat);
+		}
+
+		if(numOfDealerCards > 0)
+		{
+			set(HandHistoryIndex.UPCARD, CardCode.getHardValue(HandHistory.
+					getCard(low, high, 0)));
+		}
+
+		//A split hand started with the first card of each hand.
+		int total = 0;
+		if((flags & HandHistory.SPLIT) != 0 && numOfFirstCards > 0 &&
+				numOfSecondCards > 0)
+		{
+			codes[0] = HandHistory.getCard(low, high, HandHistory.MAXCARDS);
+			codes[1] = HandHistory.getCard(low, high, HandHistory.MAXCARDS * 2);
+			total = HandHistory.getScore(codes, 2);
+		}
+		else if(numOfFirstCards >= 2)
+		{
+			codes[0] = HandHistory.getCard(low, high, HandHistory.MAXCARDS);
+			codes[1] = HandHistory.getCard(low, high, HandHistory.MAXCARDS + 1);
+			total = HandHistory.getScore(codes, 2);
+		}
+		if(total >= HandHistoryIndex.MINTOTAL)
+		{
+			set(HandHistoryIndex.TOTAL, total);
+		}
+
+		if(numOfDecisions > 0)
+		{
+			set(HandHistoryIndex.FIRSTACTION, HandHistory.getDecisionAction(
+					decisions, 0).ordinal());
+		}
+		else
+		{
+			set(HandHistoryIndex.FIRSTACTION, Action.STAND.ordinal());
+		}
+		for(int i = 0; i < numOfDecisions; i++)
+		{
+			Action action = HandHistory.getDecisionAction(decisions, i);
+			if(action != Action.STAND)
+			{
+				set(HandHistoryIndex.ACTION, action.ordinal());
+			}
+		}
+
+		set(HandHistoryIndex.OUTCOME, outcome <= Table.LOST ? outcome :
+				HandHistoryIndex.NOOUTCOME);
+
+		for(int i = 0; i < Byte.SIZE; i++)
+		{
+			if((flags & 1 << i) != 0)
+			{
+				set(HandHistoryIndex.FLAG, 1 << i);
+			}
+		}
+	}
+
+	/**
+	 * Sets the bit of the record being indexed in the bitmap of a value.
+	 *
+	 * @param column The column.
+	 * @param value The value.
+	 * @since 1.8.0
+	 */
+	private void set(int column, int value)
+	{
+		int bitmap;
+		try
+		{
+			bitmap = HandHistoryIndex.getBitmap(column, value);
+		}
+		//A value which can't be queried isn't indexed.
+		catch(TableException e)
+		{
+			return;
+		}
+
+		int bit = (int) (numOfRecords % HandHistoryIndex.BLOCKRECORDS);
+		block[bitmap * HandHistoryIndex.BLOCKWORDS + bit / Long.SIZE] |= 1L <<
+				bit;
+	}
+
+	/**
+	 * Writes the words of each bitmap changed since the last flush, then the
+	 * number of records indexed.
+	 *
+	 * @throws IOException Thrown if the index can't be written.
+	 * @since 1.8.0
+	 */
+	private void flush() throws IOException
+	{
+		if(numOfWrittenRecords == numOfRecords)
+		{
+			return;
+		}
+
+		//The records written are all in the same block.
+		long blockIndex = numOfWrittenRecords / HandHistoryIndex.BLOCKRECORDS;
+		int firstWord = (int) (numOfWrittenRecords % HandHistoryIndex.
+				BLOCKRECORDS) / Long.SIZE;
+		int lastWord = (int) ((numOfRecords - 1) % HandHistoryIndex.
+				BLOCKRECORDS) / Long.SIZE;
+		long blockStart = HandHistoryIndex.HEADERSIZE + blockIndex *
+				HandHistoryIndex.BLOCKSIZE;
+
+		//Sizes a new block so readers can map all of it.
+		if(channel.size() < blockStart + HandHistoryIndex.BLOCKSIZE)
+		{
+			write(ByteBuffer.allocate(1), blockStart + HandHistoryIndex.
+					BLOCKSIZE - 1);
+		}
+
+		words.clear();
+		LongBuffer view = words.asLongBuffer();
+		for(int i = 0; i < HandHistoryIndex.NUMOFBITMAPS; i++)
+		{
+			int start = i * HandHistoryIndex.BLOCKWORDS;
+			view.clear();
+			view.put(block, start + firstWord, lastWord - firstWord + 1);
+			words.clear();
+			words.limit(view.position() * Long.BYTES);
+			write(words, blockStart + (long) (start + firstWord) * Long.BYTES);
+		}
+
+		ByteBuffer count = ByteBuffer.allocate(Long.BYTES);
+		count.putLong(0, numOfRecords);
+		write(count, HandHistoryIndex.RECORDS_OFFSET);
+		numOfWrittenRecords = numOfRecords;
+	}
+
+	/**
+	 * Reads the bitmaps of a partly filled last block.
+	 *
+	 * @throws IOException Thrown if the index can't be read.
+	 * @since 1.8.0
+	 */
+	private void readBlock() throws IOException
+	{
+		int numOfWords = (int) (numOfRecords % HandHistoryIndex.BLOCKRECORDS +
+				Long.SIZE - 1) / Long.SIZE;
+		if(numOfWords == 0)
+		{
+			return;
+		}
+
+		long blockStart = HandHistoryIndex.HEADERSIZE + numOfRecords /
+				HandHistoryIndex.BLOCKRECORDS * HandHistoryIndex.BLOCKSIZE;
+		for(int i = 0; i < HandHistoryIndex.NUMOFBITMAPS; i++)
+		{
+			int start = i * HandHistoryIndex.BLOCKWORDS;
+			words.clear();
+			words.limit(numOfWords * Long.BYTES);
+			long position = blockStart + (long) start * Long.BYTES;
+			while(words.hasRemaining())
+			{
+				if(channel.read(words, position + words.position()) < 0)
+				{
+					throw new IOException("Incomplete hand history index");
+				}
+			}
+			words.flip();
+			words.asLongBuffer().get(block, start, numOfWords);
+		}
+	}
+
+	/**
+	 * Writes every byte of a buffer.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param position The position in the file it's written to.
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	private void write(ByteBuffer buffer, long position) throws IOException
+	{
+		while(buffer.hasRemaining())
+		{
+			position += channel.write(buffer, position);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package logic;
+
+import java.util.ArrayList;
+
+/**
+ * A query of a hand history index. A query is a list of clauses which must
+ * all match, a clause matches a record if any of its bitmaps is set for the
+ * record. A query without clauses matches every record.
+ * <br><br>
+ * Every hand where the dealer showed an ace and seat 2 doubled down on 9,
+ * 10 or 11
+ * <br><pre>
+ * HandHistoryQuery query = new HandHistoryQuery();
+ * query.addClause(HandHistoryIndex.getBitmap(HandHistoryIndex.UPCARD, 1));
+ * query.addClause(HandHistoryIndex.getBitmap(HandHistoryIndex.SEAT, 2));
+ * query.addClause(HandHistoryIndex.getBitmap(HandHistoryIndex.FIRSTACTION,
+ *         Action.DOUBLE_DOWN.ordinal()));
+ * query.addClause(HandHistoryIndex.getBitmap(HandHistoryIndex.TOTAL, 9),
+ *         HandHistoryIndex.getBitmap(HandHistoryIndex.TOTAL, 10),
+ *         HandHistoryIndex.getBitmap(HandHistoryIndex.TOTAL, 11));
+ * </pre>
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistoryIndex
+ */
+public class HandHistoryQuery
+{
+	/**
+	 * The bitmaps of every clause.
+	 */
+	private ArrayList<int[]> clauses;
+
+	/**
+	 * Constructs a query without any clauses.
+	 *
+	 * @since 1.8.0
+	 */
+	public HandHistoryQuery()
+	{
+		clauses = new ArrayList<int[]>();
+	}
+
+	/**
+	 * Adds a clause which matches a record if any of its bitmaps is set.
+	 *
+	 * @param bitmaps The bitmaps of the clause, from
+	 * HandHistoryIndex.getBitmap.
+	 * @throws TableException Thrown if the clause has no bitmaps or any
+	 * bitmap is invalid.
+	 * @since 1.8.0
+	 */
+	public void addClause(int... bitmaps) throws TableException
+	{
+		if(bitmaps.length == 0)
+		{
+			throw new TableException("Empty clause");
+		}
+		for(int bitmap : bitmaps)
+		{
+			if(bitmap < 0 || bitmap >= HandHistoryIndex.NUMOFBITMAPS)
+			{
+				throw new TableException("Invalid bitmap: " + bitmap);
+			}
+		}
+
+		clauses.add(bitmaps.clone());
+	}
+
+	/**
+	 * Gets the number of clauses.
+	 *
+	 * @return The number of clauses.
+	 * @since 1.8.0
+	 */
+	public int getNumOfClauses()
+	{
+		return clauses.size();
+	}
+
+	/**
+	 * Gets the bitmaps of every clause.
+	 *
+	 * @return The bitmaps of each clause.
+	 * @since 1.8.0
+	 */
+	int[][] getClauses()
+	{
+		return clauses.toArray(new int[clauses.size()][]);
+	}
+}
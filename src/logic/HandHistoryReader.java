@@ -0,0 +1,517 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import player.Action;
+import player.BettingPolicy;
+
+/**
+ * Reads a hand history file by memory mapping it, every record is read in
+ * place by its index without copying or parsing the records before it. The
+ * file is mapped in segments so files larger than 2GB can be read.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistory
+ */
+public class HandHistoryReader
+{
+	/**
+	 * The number of records in each mapped segment, the last may hold fewer.
+	 */
+	private static final int SEGMENTRECORDS = Integer.MAX_VALUE /
+			HandHistory.RECORDSIZE;
+	/**
+	 * The mapped header.
+	 */
+	private MappedByteBuffer header;
+	/**
+	 * The mapped records.
+	 */
+	private MappedByteBuffer[] segments;
+	/**
+	 * The number of records in the file.
+	 */
+	private long numOfRecords;
+
+	/**
+	 * Opens and maps a hand history file, a partly written record at the end
+	 * of the file is ignored.
+	 *
+	 * @param file The name of the file.
+	 * @throws IOException Thrown if the file can't be read or isn't a hand
+	 * history file.
+	 * @since 1.8.0
+	 */
+	public HandHistoryReader(String file) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(Paths.get(file),
+				StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if(size < HandHistory.HEADERSIZE)
+			{
+				throw new IOException("Not a hand history file: " + file);
+			}
+
+			header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					HandHistory.HEADERSIZE);
+			if(header.getInt(HandHistory.MAGIC_OFFSET) != HandHistory.MAGIC)
+			{
+				throw new IOException("Not a hand history file: " + file);
+			}
+			else if(header.getShort(HandHistory.VERSION_OFFSET) !=
+					HandHistory.VERSION || header.getShort(HandHistory.
+					RECORDSIZE_OFFSET) != HandHistory.RECORDSIZE)
+			{
+				throw new IOException("Unsupported hand history version: " +
+						header.getShort(HandHistory.VERSION_OFFSET));
+			}
+
+			numOfRecords = (size - HandHistory.HEADERSIZE) / HandHistory.
+					RECORDSIZE;
+			int numOfSegments = (int) ((numOfRecords + SEGMENTRECORDS - 1) /
+					SEGMENTRECORDS);
+			segments = new MappedByteBuffer[numOfSegments];
+			for(int i = 0; i < numOfSegments; i++)
+			{
+				long first = (long) i * SEGMENTRECORDS;
+				long records = Math.min(SEGMENTRECORDS, numOfRecords - first);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						HandHistory.HEADERSIZE + first * HandHistory.RECORDSIZE,
+						records * HandHistory.RECORDSIZE);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of records in the file.
+	 *
+	 * @return The number of records.
+	 * @since 1.8.0
+	 */
+	public long getNumOfRecords()
+	{
+		return numOfRecords;
+	}
+
+	/**
+	 * Gets the number of seats at the tables recorded.
+	 *
+	 * @return The number of seats.
+	 * @since 1.8.0
+	 */
+	public int getNumOfSeats()
+	{
+		return header.get(HandHistory.SEATS_OFFSET) & 0xFF;
+	}
+
+	/**
+	 * Gets the number of humans at the tables recorded, who sit in the first
+	 * seats.
+	 *
+	 * @return The number of humans.
+	 * @since 1.8.0
+	 */
+	public int getNumOfHumans()
+	{
+		return header.get(HandHistory.HUMANS_OFFSET) & 0xFF;
+	}
+
+	/**
+	 * Gets the number of decks in the shoe.
+	 *
+	 * @return The number of decks.
+	 * @since 1.8.0
+	 */
+	public int getNumOfDecks()
+	{
+		return header.get(HandHistory.DECKS_OFFSET) & 0xFF;
+	}
+
+	/**
+	 * Gets whether the shoe was a continuous shuffling machine.
+	 *
+	 * @return Whether the shoe was a continuous shuffling machine.
+	 * @since 1.8.0
+	 */
+	public boolean getContinuousShuffle()
+	{
+		return (header.get(HandHistory.HEADERFLAGS_OFFSET) & HandHistory.
+				CONTINUOUSSHUFFLE) != 0;
+	}
+
+	/**
+	 * Gets the number of rounds in each game.
+	 *
+	 * @return The number of rounds.
+	 * @since 1.8.0
+	 */
+	public int getTotalRounds()
+	{
+		return header.getInt(HandHistory.ROUNDS_OFFSET);
+	}
+
+	/**
+	 * Gets the penetration of the shoe.
+	 *
+	 * @return The penetration.
+	 * @since 1.8.0
+	 */
+	public double getPenetration()
+	{
+		return header.getDouble(HandHistory.PENETRATION_OFFSET);
+	}
+
+	/**
+	 * Gets the betting policy of the CPUs, a new policy is built each time.
+	 *
+	 * @return The betting policy, null if it isn't known.
+	 * @since 1.8.0
+	 */
+	public BettingPolicy getBettingPolicy()
+	{
+		return HandHistory.readPolicy(header);
+	}
+
+	/**
+	 * Gets the seed the shoe of a record's game was shuffled with.
+	 *
+	 * @param record The index of the record.
+	 * @return The seed.
+	 * @since 1.8.0
+	 */
+	public long getSeed(long record)
+	{
+		return segment(record).getLong(offset(record) + HandHistory.
+				SEED_OFFSET);
+	}
+
+	/**
+	 * Gets the number of the game of a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The number of the game.
+	 * @since 1.8.0
+	 */
+	public int getGame(long record)
+	{
+		return segment(record).getInt(offset(record) + HandHistory.
+				GAME_OFFSET);
+	}
+
+	/**
+	 * Gets the number of the round in its game of a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The number of the round, starting at 1.
+	 * @since 1.8.0
+	 */
+	public int getRound(long record)
+	{
+		return segment(record).getShort(offset(record) + HandHistory.
+				ROUND_OFFSET) & 0xFFFF;
+	}
+
+	/**
+	 * Gets the seat of a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The index of the seat.
+	 * @since 1.8.0
+	 */
+	public int getSeat(long record)
+	{
+		return getByte(record, HandHistory.SEAT_OFFSET);
+	}
+
+	/**
+	 * Gets the flags of a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The flags.
+	 * @since 1.8.0
+	 */
+	public int getFlags(long record)
+	{
+		return getByte(record, HandHistory.FLAGS_OFFSET);
+	}
+
+	/**
+	 * Gets the wager placed before any double or split.
+	 *
+	 * @param record The index of the record.
+	 * @return The wager.
+	 * @since 1.8.0
+	 */
+	public double getWager(long record)
+	{
+		return TableEvent.fromCents(getInt(record, HandHistory.WAGER_OFFSET));
+	}
+
+	/**
+	 * Gets the insurance taken.
+	 *
+	 * @param record The index of the record.
+	 * @return The insurance.
+	 * @since 1.8.0
+	 */
+	public double getInsurance(long record)
+	{
+		return TableEvent.fromCents(getInt(record, HandHistory.
+				INSURANCE_OFFSET));
+	}
+
+	/**
+	 * Gets the change in the seat's money over the round.
+	 *
+	 * @param record The index of the record.
+	 * @return The payout, negative if money was lost.
+	 * @since 1.8.0
+	 */
+	public double getPayout(long record)
+	{
+		return TableEvent.fromCents(getInt(record, HandHistory.PAYOUT_OFFSET));
+	}
+
+	/**
+	 * Gets the seat's money after the round.
+	 *
+	 * @param record The index of the record.
+	 * @return The money.
+	 * @since 1.8.0
+	 */
+	public double getMoney(long record)
+	{
+		return TableEvent.fromCents(getInt(record, HandHistory.MONEY_OFFSET));
+	}
+
+	/**
+	 * Gets the outcome of the seat's round.
+	 *
+	 * @param record The index of the record.
+	 * @return The outcome, one of the outcomes of Table.
+	 * @since 1.8.0
+	 */
+	public int getOutcome(long record)
+	{
+		return getByte(record, HandHistory.OUTCOME_OFFSET);
+	}
+
+	/**
+	 * Gets the final score of the dealer.
+	 *
+	 * @param record The index of the record.
+	 * @return The score.
+	 * @since 1.8.0
+	 */
+	public int getDealerScore(long record)
+	{
+		return getByte(record, HandHistory.SCORES_OFFSET);
+	}
+
+	/**
+	 * Gets the final score of a hand of the seat.
+	 *
+	 * @param record The index of the record.
+	 * @param handIndex The index of the hand.
+	 * @return The score, 0 if the hand wasn't played.
+	 * @since 1.8.0
+	 */
+	public int getHandScore(long record, int handIndex)
+	{
+		return getByte(record, HandHistory.SCORES_OFFSET + 1 + handIndex);
+	}
+
+	/**
+	 * Gets the number of the dealer's cards.
+	 *
+	 * @param record The index of the record.
+	 * @return The number of cards.
+	 * @since 1.8.0
+	 */
+	public int getNumOfDealerCards(long record)
+	{
+		return getByte(record, HandHistory.COUNTS_OFFSET);
+	}
+
+	/**
+	 * Gets the number of cards in a hand of the seat.
+	 *
+	 * @param record The index of the record.
+	 * @param handIndex The index of the hand.
+	 * @return The number of cards.
+	 * @since 1.8.0
+	 */
+	public int getNumOfCards(long record, int handIndex)
+	{
+		return getByte(record, HandHistory.COUNTS_OFFSET + 1 + handIndex);
+	}
+
+	/**
+	 * Gets a card of the dealer, only the first MAXCARDS cards are held.
+	 *
+	 * @param record The index of the record.
+	 * @param position The position of the card.
+	 * @return The code of the card, face up.
+	 * @since 1.8.0
+	 */
+	public byte getDealerCard(long record, int position)
+	{
+		return getCard(record, position);
+	}
+
+	/**
+	 * Gets a card of a hand of the seat, only the first MAXCARDS cards are
+	 * held.
+	 *
+	 * @param record The index of the record.
+	 * @param handIndex The index of the hand.
+	 * @param position The position of the card.
+	 * @return The code of the card, face up.
+	 * @since 1.8.0
+	 */
+	public byte getCard(long record, int handIndex, int position)
+	{
+		return getCard(record, (handIndex + 1) * HandHistory.MAXCARDS +
+				position);
+	}
+
+	/**
+	 * Gets the number of decisions made by the seat, only the first
+	 * MAXDECISIONS are held.
+	 *
+	 * @param record The index of the record.
+	 * @return The number of decisions.
+	 * @since 1.8.0
+	 */
+	public int getNumOfDecisions(long record)
+	{
+		return getByte(record, HandHistory.NUMOFDECISIONS_OFFSET);
+	}
+
+	/**
+	 * Gets the action of a decision.
+	 *
+	 * @param record The index of the record.
+	 * @param index The index of the decision.
+	 * @return The action taken.
+	 * @since 1.8.0
+	 */
+	public Action getDecision(long record, int index)
+	{
+		return HandHistory.getDecisionAction(getDecisions(record), index);
+	}
+
+	/**
+	 * Gets the hand of a decision.
+	 *
+	 * @param record The index of the record.
+	 * @param index The index of the decision.
+	 * @return The index of the hand the action was taken on.
+	 * @since 1.8.0
+	 */
+	public int getDecisionHand(long record, int index)
+	{
+		return HandHistory.getDecisionHand(getDecisions(record), index);
+	}
+
+	/**
+	 * Gets the packed decisions of a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The decisions.
+	 * @see logic.HandHistory#getDecisionAction(long, int)
+	 * @since 1.8.0
+	 */
+	public long getDecisions(long record)
+	{
+		return segment(record).getLong(offset(record) + HandHistory.
+				DECISIONS_OFFSET);
+	}
+
+	/**
+	 * Copies every byte of a record.
+	 *
+	 * @param record The index of the record.
+	 * @param bytes The array the record is copied to, at least RECORDSIZE
+	 * bytes.
+	 * @since 1.8.0
+	 */
+	void getRecord(long record, byte[] bytes)
+	{
+		segment(record).get(offset(record), bytes, 0, HandHistory.RECORDSIZE);
+	}
+
+	/**
+	 * Gets the card in a slot of a record.
+	 *
+	 * @param record The index of the record.
+	 * @param slot The slot of the card.
+	 * @return The code of the card, face up.
+	 * @since 1.8.0
+	 */
+	private byte getCard(long record, int slot)
+	{
+		MappedByteBuffer segment = segment(record);
+		int offset = offset(record);
+		return HandHistory.getCard(segment.getLong(offset + HandHistory.
+				CARDSLOW_OFFSET), segment.getLong(offset + HandHistory.
+				CARDSHIGH_OFFSET), slot);
+	}
+
+	/**
+	 * Gets an unsigned byte of a record.
+	 *
+	 * @param record The index of the record.
+	 * @param field The offset of the byte in the record.
+	 * @return The byte.
+	 * @since 1.8.0
+	 */
+	private int getByte(long record, int field)
+	{
+		return segment(record).get(offset(record) + field) & 0xFF;
+	}
+
+	/**
+	 * Gets an int of a record.
+	 *
+	 * @param record The index of the record.
+	 * @param field The offset of the int in the record.
+	 * @return The int.
+	 * @since 1.8.0
+	 */
+	private int getInt(long record, int field)
+	{
+		return segment(record).getInt(offset(record) + field);
+	}
+
+	/**
+	 * Gets the segment holding a record.
+	 *
+	 * @param record The index of the record.
+	 * @return The segment.
+	 * @since 1.8.0
+	 */
+	private MappedByteBuffer segment(long record)
+	{
+		return segments[(int) (record / SEGMENTRECORDS)];
+	}
+
+	/**
+	 * Gets the offset of a record in its segment.
+	 *
+	 * @param record The index of the record.
+	 * @return The offset.
+	 * @since 1.8.0
+	 */
+	private int offset(long record)
+	{
+		return (int) (record % SEGMENTRECORDS) * HandHistory.RECORDSIZE;
+	}
+}
@@ -0,0 +1,558 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import player.Action;
+
+/**
+ * Records the rounds of a table as hand history records by listening to the
+ * events of the table. A round is recorded once the table is cleared for the
+ * next round or the game is finished. Records are collected in a buffer and
+ * handed to the writer in blocks, so a recorder is only used by the thread
+ * of its table.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistory
+ */
+public class HandHistoryRecorder implements TableListener
+{
+	/**
+	 * The number of records collected before they're written.
+	 */
+	private static final int BLOCKSIZE = 1024;
+	/**
+	 * The most cards a hand can hold, 21 aces and the card which busts it.
+	 */
+	private static final int MAXHANDCARDS = Table.BLACKJACK + 1;
+	/**
+	 * The outcome of a seat which wasn't given a result.
+	 */
+	private static final int NORESULT = 0xFF;
+	/**
+	 * Every action, cached to avoid the copy made by Action.values().
+	 */
+	private static final Action[] ACTIONS = Action.values();
+	/**
+	 * The file the records are written to, null if they're kept in memory.
+	 */
+	private HandHistoryWriter writer;
+	/**
+	 * The records waiting to be written.
+	 */
+	private ByteBuffer records;
+	/**
+	 * The table being recorded, null between games.
+	 */
+	private Table table;
+	/**
+	 * The seed of the shoe of the game.
+	 */
+	private long seed;
+	/**
+	 * The number of the game.
+	 */
+	private int game;
+	/**
+	 * The number of the round in the game, starting at 1.
+	 */
+	private int round;
+	/**
+	 * Whether a round has started and not yet been recorded.
+	 */
+	private boolean roundOpen;
+	/**
+	 * The number of seats at the table.
+	 */
+	private int numOfSeats;
+	/**
+	 * Whether each seat placed a wager this round.
+	 */
+	private boolean[] playing;
+	/**
+	 * The flags of each seat.
+	 */
+	private int[] flags;
+	/**
+	 * The wager each seat placed, in cents.
+	 */
+	private int[] wagers;
+	/**
+	 * The insurance each seat took, in cents.
+	 */
+	private int[] insurances;
+	/**
+	 * The money of each seat before the round, kept exact so the payout
+	 * is rounded the same way as the money.
+	 */
+	private double[] moneyBefore;
+	/**
+	 * The outcome of each seat.
+	 */
+	private int[] outcomes;
+	/**
+	 * The packed decisions of each seat.
+	 */
+	private long[] decisions;
+	/**
+	 * The number of decisions each seat made.
+	 */
+	private int[] numOfDecisions;
+	/**
+	 * The codes of the cards of each hand of each seat.
+	 */
+	private byte[][][] codes;
+	/**
+	 * The number of cards in each hand of each seat.
+	 */
+	private int[][] counts;
+	/**
+	 * The codes of the dealer's cards.
+	 */
+	private byte[] dealerCodes;
+	/**
+	 * The number of the dealer's cards.
+	 */
+	private int dealerCount;
+	/**
+	 * Reused to pack the cards of a record.
+	 */
+	private long[] cards;
+
+	/**
+	 * Constructs a recorder writing to a hand history file, the program ends
+	 * if the writer is null.
+	 *
+	 * @param writer The file the records are written to.
+	 * @since 1.8.0
+	 */
+	public HandHistoryRecorder(HandHistoryWriter writer)
+	{
+		try
+		{
+			if(writer == null)
+			{
+				throw new NullPointerException("Null writer in "
+						+ "HandHistoryRecorder constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.writer = writer;
+		allocate(writer.getNumOfSeats());
+	}
+
+	/**
+	 * Constructs a recorder which keeps every record in memory until it's
+	 * flushed, used to record a replay to compare with the original.
+	 *
+	 * @param numOfSeats The number of seats at the table.
+	 * @since 1.8.0
+	 */
+	HandHistoryRecorder(int numOfSeats)
+	{
+		allocate(numOfSeats);
+	}
+
+	/**
+	 * Allocates the state of every seat and the records.
+	 *
+	 * @param numOfSeats The number of seats at the table.
+	 * @since 1.8.0
+	 */
+	private void allocate(int numOfSeats)
+	{
+		this.numOfSeats = numOfSeats;
+		records = ByteBuffer.allocate(BLOCKSIZE * HandHistory.RECORDSIZE);
+		playing = new boolean[numOfSeats];
+		flags = new int[numOfSeats];
+		wagers = new int[numOfSeats];
+		insurances = new int[numOfSeats];
+		moneyBefore = new double[numOfSeats];
+		outcomes = new int[numOfSeats];
+		decisions = new long[numOfSeats];
+		numOfDecisions = new int[numOfSeats];
+		codes = new byte[numOfSeats][2][MAXHANDCARDS];
+		counts = new int[numOfSeats][2];
+		dealerCodes = new byte[MAXHANDCARDS];
+		cards = new long[2];
+	}
+
+	/**
+	 * Starts recording a game, finishing the game being recorded. The
+	 * program ends if the table is null, has a different number of seats
+	 * to the file or has more rounds than a record can hold.
+	 *
+	 * @param table The table of the game.
+	 * @param seed The seed the shoe of the game was shuffled with.
+	 * @since 1.8.0
+	 */
+	public void startGame(Table table, long seed)
+	{
+		try
+		{
+			if(table == null)
+			{
+				throw new NullPointerException("Null table in startGame");
+			}
+			else if(table.getDealerIndex() != numOfSeats)
+			{
+				throw new TableException("Invalid number of seats: " + table.
+						getDealerIndex());
+			}
+		}
+		catch(NullPointerException | TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		startGame(table, seed, writer.nextGame());
+	}
+
+	/**
+	 * Starts recording a game with a specified number, finishing the game
+	 * being recorded. The program ends if the table has more rounds than a
+	 * record can hold.
+	 *
+	 * @param table The table of the game.
+	 * @param seed The seed the shoe of the game was shuffled with.
+	 * @param game The number of the game.
+	 * @since 1.8.0
+	 */
+	void startGame(Table table, long seed, int game)
+	{
+		try
+		{
+			if(table.getTotalRounds() > HandHistory.MAXROUNDS)
+			{
+				throw new TableException("Too many rounds for a hand history: "
+						+ table.getTotalRounds());
+			}
+		}
+		catch(TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		finishGame();
+		this.table = table;
+		this.seed = seed;
+		this.game = game;
+		round = 0;
+		table.addTableListener(this);
+	}
+
+	/**
+	 * Records the round in progress and stops recording the game.
+	 *
+	 * @since 1.8.0
+	 */
+	public void finishGame()
+	{
+		if(table == null)
+		{
+			return;
+		}
+
+		endRound();
+		table.removeTableListener(this);
+		table = null;
+	}
+
+	/**
+	 * Writes the records collected to the file, records kept in memory are
+	 * discarded.
+	 *
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	public void flush() throws IOException
+	{
+		records.flip();
+		if(writer != null)
+		{
+			writer.writeRecords(records);
+		}
+		records.clear();
+	}
+
+	/**
+	 * Gets the round being recorded, or the next round if one hasn't started.
+	 *
+	 * @return The number of the round, starting at 1.
+	 * @since 1.8.0
+	 */
+	int getNextRound()
+	{
+		return roundOpen ? round : round + 1;
+	}
+
+	/**
+	 * Gets the records collected since the last flush.
+	 *
+	 * @return The records, from the position to the limit.
+	 * @since 1.8.0
+	 */
+	ByteBuffer getRecords()
+	{
+		return records.duplicate().flip();
+	}
+
+	/**
+	 * Applies an event to the round being recorded.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.TableListener#tableChanged(logic.Table, long)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void tableChanged(Table changed, long event)
+	{
+		int type = TableEvent.getType(event);
+		int person = TableEvent.getPerson(event);
+		switch(type)
+		{
+			case TableEvent.CLEARED:
+				endRound();
+				return;
+			case TableEvent.SHUFFLED:
+				return;
+			default:
+				startRound();
+				break;
+		}
+
+		if(person == numOfSeats)
+		{
+			//Only the dealer's cards are recorded.
+			if(type == TableEvent.CARDDEALT || type == TableEvent.CARDFLIPPED)
+			{
+				int position = TableEvent.getPosition(event);
+				dealerCodes[position] = TableEvent.getCode(event);
+				dealerCount = Math.max(dealerCount, position + 1);
+			}
+			return;
+		}
+
+		switch(type)
+		{
+			case TableEvent.WAGER:
+				//Later wagers are the doubles, splits and surrenders. The
+				//wager has already been taken from the player's money.
+				if(!playing[person])
+				{
+					playing[person] = true;
+					wagers[person] = TableEvent.getValue(event);
+					moneyBefore[person] = changed.getPlayerView(person).
+							getTotalMoney() + changed.getPlayerView(person).
+							getWager();
+				}
+				break;
+			case TableEvent.INSURANCE:
+				if(TableEvent.getValue(event) > 0)
+				{
+					insurances[person] = TableEvent.getValue(event);
+					flags[person] |= HandHistory.INSURED;
+				}
+				break;
+			case TableEvent.CARDDEALT:
+			case TableEvent.CARDFLIPPED:
+				int hand = TableEvent.getHand(event);
+				int position = TableEvent.getPosition(event);
+				codes[person][hand][position] = TableEvent.getCode(event);
+				counts[person][hand] = Math.max(counts[person][hand],
+						position + 1);
+				break;
+			case TableEvent.SPLIT:
+				codes[person][1][0] = codes[person][0][1];
+				counts[person][0] = 1;
+				counts[person][1] = 1;
+				flags[person] |= HandHistory.SPLIT;
+				break;
+			case TableEvent.ACTION:
+				addDecision(person, event);
+				break;
+			case TableEvent.RESULT:
+				outcomes[person] = TableEvent.getPosition(event);
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Adds a decision of a seat.
+	 *
+	 * @param seat The seat.
+	 * @param event The ACTION event.
+	 * @since 1.8.0
+	 */
+	private void addDecision(int seat, long event)
+	{
+		Action action = ACTIONS[TableEvent.getPosition(event)];
+		if(action == Action.DOUBLE_DOWN)
+		{
+			flags[seat] |= HandHistory.DOUBLED;
+		}
+		else if(action == Action.SURRENDER)
+		{
+			flags[seat] |= HandHistory.SURRENDERED;
+		}
+
+		if(numOfDecisions[seat] < HandHistory.MAXDECISIONS)
+		{
+			decisions[seat] = HandHistory.putDecision(decisions[seat],
+					numOfDecisions[seat], action, TableEvent.getHand(event));
+		}
+		numOfDecisions[seat]++;
+	}
+
+	/**
+	 * Starts a round if one isn't in progress.
+	 *
+	 * @since 1.8.0
+	 */
+	private void startRound()
+	{
+		if(roundOpen)
+		{
+			return;
+		}
+
+		roundOpen = true;
+		round++;
+		for(int i = 0; i < numOfSeats; i++)
+		{
+			playing[i] = false;
+			flags[i] = 0;
+			insurances[i] = 0;
+			outcomes[i] = NORESULT;
+			decisions[i] = 0;
+			numOfDecisions[i] = 0;
+			counts[i][0] = 0;
+			counts[i][1] = 0;
+		}
+		dealerCount = 0;
+	}
+
+	/**
+	 * Records every seat which played the round in progress, the program ends
+	 * if the records can't be written.
+	 *
+	 * @since 1.8.0
+	 */
+	private void endRound()
+	{
+		if(!roundOpen)
+		{
+			return;
+		}
+
+		roundOpen = false;
+		for(int i = 0; i < numOfSeats; i++)
+		{
+			if(playing[i])
+			{
+				//Records kept in memory grow instead of being written.
+				if(!records.hasRemaining() && writer == null)
+				{
+					records = ByteBuffer.allocate(records.capacity() * 2).put(
+							records.flip());
+				}
+				else if(!records.hasRemaining())
+				{
+					try
+					{
+						flush();
+					}
+					catch(IOException e)
+					{
+						e.printStackTrace();
+						System.exit(0);
+					}
+				}
+				putRecord(i);
+			}
+		}
+	}
+
+	/**
+	 * Adds the record of a seat to the records waiting to be written.
+	 *
+	 * @param seat The seat.
+	 * @since 1.8.0
+	 */
+	private void putRecord(int seat)
+	{
+		int money = TableEvent.toCents(table.getPlayerView(seat).
+				getTotalMoney());
+		int dealerScore = HandHistory.getScore(dealerCodes, dealerCount);
+		int firstScore = HandHistory.getScore(codes[seat][0], counts[seat][0]);
+		int secondScore = HandHistory.getScore(codes[seat][1],
+				counts[seat][1]);
+
+		int recordFlags = flags[seat];
+		if(dealerCount == 2 && dealerScore == Table.BLACKJACK)
+		{
+			recordFlags |= HandHistory.DEALERBLACKJACK;
+		}
+		if(counts[seat][0] == 2 && counts[seat][1] == 0 && firstScore ==
+				Table.BLACKJACK)
+		{
+			recordFlags |= HandHistory.BLACKJACK;
+		}
+		if(numOfDecisions[seat] > HandHistory.MAXDECISIONS || dealerCount >
+				HandHistory.MAXCARDS || counts[seat][0] > HandHistory.MAXCARDS ||
+				counts[seat][1] > HandHistory.MAXCARDS)
+		{
+			recordFlags |= HandHistory.TRUNCATED;
+		}
+
+		//The dealer's cards fill the first slots, followed by each hand.
+		cards[0] = 0;
+		cards[1] = 0;
+		for(int i = 0; i < Math.min(dealerCount, HandHistory.MAXCARDS); i++)
+		{
+			HandHistory.putCard(cards, i, dealerCodes[i]);
+		}
+		for(int hand = 0; hand < 2; hand++)
+		{
+			int slot = (hand + 1) * HandHistory.MAXCARDS;
+			for(int i = 0; i < Math.min(counts[seat][hand], HandHistory.
+					MAXCARDS); i++)
+			{
+				HandHistory.putCard(cards, slot + i, codes[seat][hand][i]);
+			}
+		}
+
+		records.putLong(seed);
+		records.putInt(game);
+		records.putShort((short) round);
+		records.put((byte) seat);
+		records.put((byte) recordFlags);
+		records.putInt(wagers[seat]);
+		records.putInt(insurances[seat]);
+		records.putInt(money - TableEvent.toCents(moneyBefore[seat]));
+		records.putInt(money);
+		records.put((byte) outcomes[seat]);
+		records.put((byte) dealerScore);
+		records.put((byte) firstScore);
+		records.put((byte) secondScore);
+		records.put((byte) dealerCount);
+		records.put((byte) counts[seat][0]);
+		records.put((byte) counts[seat][1]);
+		records.put((byte) Math.min(numOfDecisions[seat], HandHistory.
+				MAXDECISIONS));
+		records.putLong(decisions[seat]);
+		records.putLong(cards[0]);
+		records.putLong(cards[1]);
+	}
+}
@@ -0,0 +1,517 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import card.DeckException;
+import card.FisherYatesShuffler;
+import card.ShoeView;
+import player.Action;
+import player.BettingPolicy;
+import player.CPUException;
+import player.HumanException;
+import player.PlayerException;
+import player.PlayerView;
+
+/**
+ * Replays the games of a hand history. Each game's table is built again
+ * from the settings in the header and the shoe from the game's seed, then
+ * the recorded wagers, insurance and decisions are fed back into the table
+ * by a decider. A hand stands once its recorded decisions run out.
+ * <br><br>
+ * The CPUs wager through the betting policy in the header so their wagers
+ * are the same to the last bit. The recorded wagers are used for the humans,
+ * whose wagers are whole dollars, and for CPUs whose policy isn't known,
+ * which only replay exactly if they wagered whole cents. The replay is
+ * recorded again and compared with the original records, a replay matches
+ * if every record is identical. The table is played the same way as a
+ * simulation so the statistics of every player are the same as the
+ * original game's.
+ * <br><br>
+ * Listeners added to the table after it's prepared see every event of the
+ * replay, so a replay can be shown as it's played.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistory
+ */
+public class HandHistoryReplay
+{
+	/**
+	 * The hand history being replayed.
+	 */
+	private HandHistoryReader reader;
+	/**
+	 * The betting policy of the CPUs, null if it isn't known.
+	 */
+	private BettingPolicy bettingPolicy;
+	/**
+	 * The index of the first record of each game in gameRecords, with an
+	 * extra entry holding the number of records.
+	 */
+	private int[] gameStarts;
+	/**
+	 * The index of every record, grouped by game in the order they were
+	 * written.
+	 */
+	private long[] gameRecords;
+	/**
+	 * Records the replay to compare with the original records.
+	 */
+	private HandHistoryRecorder recorder;
+	/**
+	 * Makes the decisions of every seat.
+	 */
+	private Decider decider;
+	/**
+	 * The table of the game being replayed, null if no game is prepared.
+	 */
+	private Table table;
+	/**
+	 * The number of the game being replayed.
+	 */
+	private int game;
+	/**
+	 * The number of rounds recorded in the game being replayed.
+	 */
+	private int numOfRounds;
+	/**
+	 * The record of each seat in each round of the game, -1 if the seat
+	 * didn't play the round.
+	 */
+	private long[] roundRecords;
+	/**
+	 * The next decision of each seat in its current round.
+	 */
+	private int[] nextDecisions;
+	/**
+	 * The round the next decision of each seat is from.
+	 */
+	private int[] decisionRounds;
+	/**
+	 * Reused to compare records.
+	 */
+	private byte[] original;
+	/**
+	 * Reused to compare records.
+	 */
+	private byte[] replayed;
+
+	/**
+	 * Constructs a replay of a hand history, every record is read once to
+	 * find the records of each game. The program ends if the reader is null.
+	 *
+	 * @param reader The hand history being replayed.
+	 * @throws TableException Thrown if the hand history holds more records
+	 * than can be indexed.
+	 * @since 1.8.0
+	 */
+	public HandHistoryReplay(HandHistoryReader reader) throws TableException
+	{
+		try
+		{
+			if(reader == null)
+			{
+				throw new NullPointerException("Null reader in "
+						+ "HandHistoryReplay constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		long numOfRecords = reader.getNumOfRecords();
+		if(numOfRecords > Integer.MAX_VALUE - 8)
+		{
+			throw new TableException("Too many records to replay: " +
+					numOfRecords);
+		}
+
+		this.reader = reader;
+		bettingPolicy = reader.getBettingPolicy();
+		int numOfSeats = reader.getNumOfSeats();
+		recorder = new HandHistoryRecorder(numOfSeats);
+		decider = new RecordedDecider();
+		nextDecisions = new int[numOfSeats];
+		decisionRounds = new int[numOfSeats];
+		original = new byte[HandHistory.RECORDSIZE];
+		replayed = new byte[HandHistory.RECORDSIZE];
+
+		//Counts the records of each game, then places each record after the
+		//records of the games before it.
+		int numOfGames = 0;
+		for(long i = 0; i < numOfRecords; i++)
+		{
+			numOfGames = Math.max(numOfGames, reader.getGame(i) + 1);
+		}
+		gameStarts = new int[numOfGames + 1];
+		for(long i = 0; i < numOfRecords; i++)
+		{
+			gameStarts[reader.getGame(i) + 1]++;
+		}
+		for(int i = 0; i < numOfGames; i++)
+		{
+			gameStarts[i + 1] += gameStarts[i];
+		}
+		gameRecords = new long[(int) numOfRecords];
+		int[] filled = Arrays.copyOf(gameStarts, numOfGames);
+		for(long i = 0; i < numOfRecords; i++)
+		{
+			gameRecords[filled[reader.getGame(i)]++] = i;
+		}
+	}
+
+	/**
+	 * Gets the hand history being replayed.
+	 *
+	 * @return The hand history.
+	 * @since 1.8.0
+	 */
+	public HandHistoryReader getReader()
+	{
+		return reader;
+	}
+
+	/**
+	 * Gets the number of games in the hand history.
+	 *
+	 * @return The number of games.
+	 * @since 1.8.0
+	 */
+	public int getNumOfGames()
+	{
+		return gameStarts.length - 1;
+	}
+
+	/**
+	 * Gets the number of records of a game.
+	 *
+	 * @param game The number of the game.
+	 * @return The number of records.
+	 * @since 1.8.0
+	 */
+	public int getNumOfRecords(int game)
+	{
+		return gameStarts[game + 1] - gameStarts[game];
+	}
+
+	/**
+	 * Gets the table of the game being replayed.
+	 *
+	 * @return The table, null if no game is prepared.
+	 * @since 1.8.0
+	 */
+	public Table getTable()
+	{
+		return table;
+	}
+
+	/**
+	 * Builds the table of a game as it was before its first round, listeners
+	 * can be added to the table before it's played.
+	 *
+	 * @param game The number of the game.
+	 * @return The table of the game.
+	 * @throws TableException Thrown if the game has no records or the
+	 * settings in the header are invalid.
+	 * @since 1.8.0
+	 */
+	public Table prepareGame(int game) throws TableException
+	{
+		if(game < 0 || game >= getNumOfGames() || getNumOfRecords(game) == 0)
+		{
+			throw new TableException("No records for game: " + game);
+		}
+
+		int numOfSeats = reader.getNumOfSeats();
+		int numOfHumans = reader.getNumOfHumans();
+		long seed = reader.getSeed(gameRecords[gameStarts[game]]);
+		Table prepared = new Table();
+		try
+		{
+			if(numOfHumans > 0)
+			{
+				prepared.createPlayers(numOfHumans, numOfSeats - numOfHumans);
+			}
+			else
+			{
+				prepared.createCPUPlayers(numOfSeats);
+			}
+			for(int i = numOfHumans; i < numOfSeats; i++)
+			{
+				prepared.setBettingPolicy(i, bettingPolicy != null ?
+						bettingPolicy : new RecordedBettingPolicy(i));
+			}
+			prepared.setContinuousShuffle(reader.getContinuousShuffle());
+			prepared.setPenetration(reader.getPenetration());
+			prepared.createDeck(reader.getNumOfDecks(), new FisherYatesShuffler(
+					seed));
+			prepared.setTotalRounds(reader.getTotalRounds());
+		}
+		catch(PlayerException | HumanException | CPUException | DeckException
+				ex)
+		{
+			throw new TableException("Invalid hand history settings: " + ex.
+					getMessage());
+		}
+
+		//The record of each seat in each round.
+		numOfRounds = 0;
+		for(int i = gameStarts[game]; i < gameStarts[game + 1]; i++)
+		{
+			numOfRounds = Math.max(numOfRounds, reader.getRound(gameRecords[i]));
+		}
+		roundRecords = new long[numOfRounds * numOfSeats];
+		Arrays.fill(roundRecords, -1);
+		for(int i = gameStarts[game]; i < gameStarts[game + 1]; i++)
+		{
+			long record = gameRecords[i];
+			roundRecords[(reader.getRound(record) - 1) * numOfSeats + reader.
+					getSeat(record)] = record;
+		}
+		Arrays.fill(decisionRounds, 0);
+
+		this.game = game;
+		table = prepared;
+		recorder.startGame(table, seed, game);
+		discardRecords();
+		return table;
+	}
+
+	/**
+	 * Plays every recorded round of the prepared game and compares the
+	 * replay with the original records.
+	 *
+	 * @return The number of records which don't match, including records
+	 * missing from either the replay or the original.
+	 * @throws TableException Thrown if no game is prepared or a recorded
+	 * decision is invalid.
+	 * @throws PlayerException Thrown if a recorded decision is invalid.
+	 * @since 1.8.0
+	 */
+	public int playGame() throws TableException, PlayerException
+	{
+		if(table == null)
+		{
+			throw new TableException("No game prepared");
+		}
+
+		try
+		{
+			table.playRounds(numOfRounds, decider);
+		}
+		finally
+		{
+			recorder.finishGame();
+		}
+
+		ByteBuffer records = recorder.getRecords();
+		int numOfReplayed = records.remaining() / HandHistory.RECORDSIZE;
+		int numOfOriginal = getNumOfRecords(game);
+		int mismatches = Math.abs(numOfReplayed - numOfOriginal);
+		for(int i = 0; i < Math.min(numOfReplayed, numOfOriginal); i++)
+		{
+			reader.getRecord(gameRecords[gameStarts[game] + i], original);
+			records.get(replayed);
+			if(!Arrays.equals(original, replayed))
+			{
+				mismatches++;
+			}
+		}
+
+		discardRecords();
+		return mismatches;
+	}
+
+	/**
+	 * Replays a game and compares it with the original records.
+	 *
+	 * @param game The number of the game.
+	 * @return The number of records which don't match.
+	 * @throws TableException Thrown if the game can't be replayed.
+	 * @throws PlayerException Thrown if a recorded decision is invalid.
+	 * @since 1.8.0
+	 */
+	public int replayGame(int game) throws TableException, PlayerException
+	{
+		prepareGame(game);
+		return playGame();
+	}
+
+	/**
+	 * Replays every game with records and compares them with the original
+	 * records.
+	 *
+	 * @return The number of games with any record which doesn't match.
+	 * @throws TableException Thrown if a game can't be replayed.
+	 * @throws PlayerException Thrown if a recorded decision is invalid.
+	 * @since 1.8.0
+	 */
+	public int replayAll() throws TableException, PlayerException
+	{
+		int mismatchedGames = 0;
+		for(int i = 0; i < getNumOfGames(); i++)
+		{
+			if(getNumOfRecords(i) > 0 && replayGame(i) > 0)
+			{
+				mismatchedGames++;
+			}
+		}
+		return mismatchedGames;
+	}
+
+	/**
+	 * Discards the records of the replay, including any left by a replay
+	 * which failed.
+	 *
+	 * @since 1.8.0
+	 */
+	private void discardRecords()
+	{
+		try
+		{
+			recorder.flush();
+		}
+		//Records kept in memory are never written.
+		catch(IOException ex)
+		{
+			ex.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets the record of a seat in the round being played, or in the next
+	 * round if it hasn't started yet.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The index of the record, -1 if the seat has no record.
+	 * @since 1.8.0
+	 */
+	private long getRecord(int seat)
+	{
+		int round = recorder.getNextRound();
+		if(round > numOfRounds)
+		{
+			return -1;
+		}
+		return roundRecords[(round - 1) * reader.getNumOfSeats() + seat];
+	}
+
+	/**
+	 * Makes the recorded decisions of every seat.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class RecordedDecider implements Decider
+	{
+		/**
+		 * Gets the recorded wager of a human.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getWager(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getWager(Table changed, int index)
+		{
+			long record = getRecord(index);
+			return record < 0 ? Table.MINWAGER : reader.getWager(record);
+		}
+
+		/**
+		 * Gets the recorded insurance of a human.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getInsurance(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getInsurance(Table changed, int index)
+		{
+			long record = getRecord(index);
+			return record < 0 ? 0 : reader.getInsurance(record);
+		}
+
+		/**
+		 * Gets the next recorded decision of a seat if it was made with the
+		 * hand, otherwise the hand stands.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getAction(logic.Table, int, int, boolean)
+		 * @since 1.8.0
+		 */
+		@Override
+		public Action getAction(Table changed, int index, int handIndex,
+				boolean firstAction)
+		{
+			long record = getRecord(index);
+			if(record < 0)
+			{
+				return Action.STAND;
+			}
+
+			int round = recorder.getNextRound();
+			if(decisionRounds[index] != round)
+			{
+				decisionRounds[index] = round;
+				nextDecisions[index] = 0;
+			}
+
+			int next = nextDecisions[index];
+			if(next < reader.getNumOfDecisions(record) && reader.
+					getDecisionHand(record, next) == handIndex)
+			{
+				nextDecisions[index]++;
+				return reader.getDecision(record, next);
+			}
+			return Action.STAND;
+		}
+	}
+
+	/**
+	 * Wagers the recorded wager of a CPU when the betting policy isn't known,
+	 * each CPU has its own policy.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class RecordedBettingPolicy implements BettingPolicy
+	{
+		/**
+		 * The index of the CPU.
+		 */
+		private int seat;
+
+		/**
+		 * Constructs a policy for the CPU at a specified index.
+		 *
+		 * @param seat The index of the CPU.
+		 * @since 1.8.0
+		 */
+		public RecordedBettingPolicy(int seat)
+		{
+			this.seat = seat;
+		}
+
+		/**
+		 * Gets the recorded wager of the CPU.
+		 *
+		 * (non-Javadoc)
+		 * @see player.BettingPolicy#getWager(player.PlayerView, card.ShoeView)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getWager(PlayerView player, ShoeView shoe)
+		{
+			long record = getRecord(seat);
+			return record < 0 ? Table.MINWAGER : reader.getWager(record);
+		}
+	}
+}
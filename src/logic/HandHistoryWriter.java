@@ -0,0 +1,160 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import player.BettingPolicy;
+
+/**
+ * Writes a hand history file sequentially. Records are written in blocks by
+ * HandHistoryRecorders, which may be on different threads, so a block of
+ * records is never interleaved with another. Every block is also appended to
+ * the index of the file.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ * @see logic.HandHistory
+ */
+public class HandHistoryWriter
+{
+	/**
+	 * The channel of the file.
+	 */
+	private FileChannel channel;
+	/**
+	 * The index of the file.
+	 */
+	private HandHistoryIndexWriter index;
+	/**
+	 * The number of games started.
+	 */
+	private int numOfGames;
+	/**
+	 * The number of records written.
+	 */
+	private long numOfRecords;
+	/**
+	 * The number of seats at every table recorded.
+	 */
+	private int numOfSeats;
+
+	/**
+	 * Creates a hand history file and its index, replacing any files with the
+	 * same names, and writes its header.
+	 *
+	 * @param file The name of the file.
+	 * @param numOfSeats The number of seats at the table.
+	 * @param numOfHumans The number of humans, who sit in the first seats.
+	 * @param numOfDecks The number of decks in the shoe.
+	 * @param totalRounds The number of rounds in each game.
+	 * @param penetration The penetration of the shoe.
+	 * @param continuousShuffle Whether the shoe is a continuous shuffling
+	 * machine.
+	 * @param bettingPolicy The betting policy of the CPUs, null if it isn't
+	 * known.
+	 * @throws IOException Thrown if the file can't be created, or the number
+	 * of rounds is more than a record can hold.
+	 * @since 1.8.0
+	 */
+	public HandHistoryWriter(String file, int numOfSeats, int numOfHumans,
+			int numOfDecks, int totalRounds, double penetration,
+			boolean continuousShuffle, BettingPolicy bettingPolicy) throws
+			IOException
+	{
+		if(totalRounds > HandHistory.MAXROUNDS)
+		{
+			throw new IOException("Too many rounds for a hand history: " +
+					totalRounds);
+		}
+
+		this.numOfSeats = numOfSeats;
+		channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(HandHistory.HEADERSIZE);
+		HandHistory.writeHeader(header, numOfSeats, numOfHumans, numOfDecks,
+				totalRounds, penetration, continuousShuffle, bettingPolicy);
+		header.flip();
+		write(header);
+		index = new HandHistoryIndexWriter(HandHistoryIndex.getIndexFile(file),
+				true);
+	}
+
+	/**
+	 * Gets the number of seats at every table recorded.
+	 *
+	 * @return The number of seats.
+	 * @since 1.8.0
+	 */
+	public int getNumOfSeats()
+	{
+		return numOfSeats;
+	}
+
+	/**
+	 * Starts a new game.
+	 *
+	 * @return The number of the game, starting at 0.
+	 * @since 1.8.0
+	 */
+	public synchronized int nextGame()
+	{
+		return numOfGames++;
+	}
+
+	/**
+	 * Gets the number of records written.
+	 *
+	 * @return The number of records.
+	 * @since 1.8.0
+	 */
+	public synchronized long getNumOfRecords()
+	{
+		return numOfRecords;
+	}
+
+	/**
+	 * Writes a block of whole records.
+	 *
+	 * @param records The records, from the position to the limit.
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	public synchronized void writeRecords(ByteBuffer records) throws IOException
+	{
+		numOfRecords += records.remaining() / HandHistory.RECORDSIZE;
+		ByteBuffer indexed = records.duplicate();
+		write(records);
+		index.append(indexed);
+	}
+
+	/**
+	 * Closes the file and its index.
+	 *
+	 * @throws IOException Thrown if the file can't be closed.
+	 * @since 1.8.0
+	 */
+	public synchronized void close() throws IOException
+	{
+		channel.close();
+		index.close();
+	}
+
+	/**
+	 * Writes every byte of a buffer.
+	 *
+	 * @param buffer The buffer being written.
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	private void write(ByteBuffer buffer) throws IOException
+	{
+		while(buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package logic;
+
+/**
+ * Listens to the tables of a TableHost. Every method is called on the thread
+ * of the table, while a seat is awaiting a decision the table is safe to read
+ * but the listener mustn't block as it holds up the table.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface HostListener
+{
+	/**
+	 * Called when a seat of a table starts awaiting a decision.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param decision TableHost.WAGER, TableHost.INSURANCE or 
+	 * TableHost.ACTION.
+	 * @since 1.8.0
+	 */
+	void decisionAwaited(int id, int seat, int decision);
+
+	/**
+	 * Called when a submitted decision is rejected, because it's invalid or
+	 * the seat stopped waiting for it before it was taken. The seat keeps
+	 * awaiting the decision if it hasn't timed out.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param decision TableHost.WAGER, TableHost.INSURANCE or
+	 * TableHost.ACTION.
+	 * @since 1.8.0
+	 */
+	void decisionRejected(int id, int seat, int decision);
+
+	/**
+	 * Called when the game of a table has finished or the table has been
+	 * closed.
+	 *
+	 * @param id The id of the table.
+	 * @since 1.8.0
+	 */
+	void tableFinished(int id);
+}
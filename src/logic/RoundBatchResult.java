@@ -0,0 +1,243 @@
+package logic;
+
+import player.PlayerView;
+
+/**
+ * The statistics of every player seat across a batch of rounds played by
+ * Table.playRounds, each statistic is a primitive array indexed by seat.
+ * The arrays are returned directly rather than copied.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class RoundBatchResult
+{
+	/**
+	 * Number of wins of each seat.
+	 */
+	private int[] win;
+	/**
+	 * Number of losses of each seat.
+	 */
+	private int[] loss;
+	/**
+	 * Number of pushes of each seat.
+	 */
+	private int[] push;
+	/**
+	 * Number of busts of each seat.
+	 */
+	private int[] bust;
+	/**
+	 * Number of surrenders of each seat.
+	 */
+	private int[] surrender;
+	/**
+	 * Number of times each seat achieved Blackjack.
+	 */
+	private int[] blackjack;
+	/**
+	 * Total wagers of each seat.
+	 */
+	private double[] totalWager;
+	/**
+	 * Total winnings of each seat.
+	 */
+	private double[] totalWinnings;
+	/**
+	 * The change in the money of each seat.
+	 */
+	private double[] moneyChange;
+	/**
+	 * Number of rounds played.
+	 */
+	private int rounds;
+	/**
+	 * Number of hands played by every seat.
+	 */
+	private long hands;
+
+	/**
+	 * Constructs a result holding the statistics of every seat before the
+	 * batch is played.
+	 *
+	 * @param table The table being played.
+	 * @since 1.8.0
+	 */
+	RoundBatchResult(Table table)
+	{
+		int numOfSeats = table.getDealerIndex();
+		win = new int[numOfSeats];
+		loss = new int[numOfSeats];
+		push = new int[numOfSeats];
+		bust = new int[numOfSeats];
+		surrender = new int[numOfSeats];
+		blackjack = new int[numOfSeats];
+		totalWager = new double[numOfSeats];
+		totalWinnings = new double[numOfSeats];
+		moneyChange = new double[numOfSeats];
+		record(table, -1);
+	}
+
+	/**
+	 * Subtracts the statistics of every seat before the batch from the
+	 * statistics after it.
+	 *
+	 * @param table The table being played.
+	 * @param rounds The number of rounds played.
+	 * @param hands The number of hands played by every seat.
+	 * @since 1.8.0
+	 */
+	void finish(Table table, int rounds, long hands)
+	{
+		record(table, 1);
+		this.rounds = rounds;
+		this.hands = hands;
+	}
+
+	/**
+	 * Adds the statistics of every seat multiplied by a sign.
+	 *
+	 * @param table The table being played.
+	 * @param sign -1 before the batch and 1 after it.
+	 * @since 1.8.0
+	 */
+	private void record(Table table, int sign)
+	{
+		for(int i = 0; i < win.length; i++)
+		{
+			PlayerView player = table.getPlayerView(i);
+			win[i] += sign * player.getWin();
+			loss[i] += sign * player.getLoss();
+			push[i] += sign * player.getPush();
+			bust[i] += sign * player.getBust();
+			surrender[i] += sign * player.getSurrender();
+			blackjack[i] += sign * player.getBlackjack();
+			totalWager[i] += sign * player.getTotalWager();
+			totalWinnings[i] += sign * player.getTotalWinnings();
+			moneyChange[i] += sign * player.getTotalMoney();
+		}
+	}
+
+	/**
+	 * Gets the number of rounds played.
+	 *
+	 * @return The number of rounds.
+	 * @since 1.8.0
+	 */
+	public int getRounds()
+	{
+		return rounds;
+	}
+
+	/**
+	 * Gets the number of hands played by every seat.
+	 *
+	 * @return The number of hands.
+	 * @since 1.8.0
+	 */
+	public long getHands()
+	{
+		return hands;
+	}
+
+	/**
+	 * Gets the number of wins of each seat.
+	 *
+	 * @return The wins indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getWin()
+	{
+		return win;
+	}
+
+	/**
+	 * Gets the number of losses of each seat.
+	 *
+	 * @return The losses indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getLoss()
+	{
+		return loss;
+	}
+
+	/**
+	 * Gets the number of pushes of each seat.
+	 *
+	 * @return The pushes indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getPush()
+	{
+		return push;
+	}
+
+	/**
+	 * Gets the number of busts of each seat.
+	 *
+	 * @return The busts indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getBust()
+	{
+		return bust;
+	}
+
+	/**
+	 * Gets the number of surrenders of each seat.
+	 *
+	 * @return The surrenders indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getSurrender()
+	{
+		return surrender;
+	}
+
+	/**
+	 * Gets the number of times each seat achieved Blackjack.
+	 *
+	 * @return The Blackjacks indexed by seat.
+	 * @since 1.8.0
+	 */
+	public int[] getBlackjack()
+	{
+		return blackjack;
+	}
+
+	/**
+	 * Gets the total wagers of each seat.
+	 *
+	 * @return The total wagers indexed by seat.
+	 * @since 1.8.0
+	 */
+	public double[] getTotalWager()
+	{
+		return totalWager;
+	}
+
+	/**
+	 * Gets the total winnings of each seat.
+	 *
+	 * @return The total winnings indexed by seat.
+	 * @since 1.8.0
+	 */
+	public double[] getTotalWinnings()
+	{
+		return totalWinnings;
+	}
+
+	/**
+	 * Gets the change in the money of each seat.
+	 *
+	 * @return The change in money indexed by seat.
+	 * @since 1.8.0
+	 */
+	public double[] getMoneyChange()
+	{
+		return moneyChange;
+	}
+}
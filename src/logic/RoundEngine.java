@@ -0,0 +1,219 @@
+package logic;
+
+import player.Action;
+import player.CPU;
+import player.PlayerException;
+
+/**
+ * Plays complete rounds on a table without the GUI one round at a time,
+ * keeping the current round of the table. Each round is played by the same
+ * core as Table.playRounds, so the rules are only written once. Every
+ * decision is made synchronously by a decider so rounds run as fast as the
+ * table allows.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class RoundEngine
+{
+	/**
+	 * The table being played.
+	 */
+	private Table table;
+	/**
+	 * Makes the decisions for the human players.
+	 */
+	private Decider humanDecider;
+	/**
+	 * Makes the turn decisions for the CPU players.
+	 */
+	private Decider cpuDecider;
+	/**
+	 * Passes each decision to the decider of the seat.
+	 */
+	private Decider seatDecider;
+	/**
+	 * The number of hands played by players who weren't bankrupt.
+	 */
+	private long handsPlayed;
+
+	/**
+	 * Constructs a round engine for a table which already has players and a
+	 * deck, the program ends if any argument is null.
+	 *
+	 * @param table The table being played.
+	 * @param humanDecider Makes the decisions for the human players.
+	 * @param cpuDecider Makes the turn decisions for the CPU players.
+	 * @since 1.8.0
+	 */
+	public RoundEngine(Table table, Decider humanDecider, Decider cpuDecider)
+	{
+		try
+		{
+			if(table == null || humanDecider == null || cpuDecider == null)
+			{
+				throw new NullPointerException("Null in RoundEngine constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.table = table;
+		this.humanDecider = humanDecider;
+		this.cpuDecider = cpuDecider;
+		seatDecider = new SeatDecider();
+	}
+
+	/**
+	 * Constructs a round engine where the CPU players use the same rules as
+	 * in the GUI.
+	 *
+	 * @param table The table being played.
+	 * @param humanDecider Makes the decisions for the human players.
+	 * @since 1.8.0
+	 */
+	public RoundEngine(Table table, Decider humanDecider)
+	{
+		this(table, humanDecider, new CPUDecider());
+	}
+
+	/**
+	 * Gets the table being played.
+	 *
+	 * @return The table being played.
+	 * @since 1.8.0
+	 */
+	public Table getTable()
+	{
+		return table;
+	}
+
+	/**
+	 * Gets the number of hands played by players who weren't bankrupt, each
+	 * player plays 1 hand per round.
+	 *
+	 * @return The number of hands played.
+	 * @since 1.8.0
+	 */
+	public long getHandsPlayed()
+	{
+		return handsPlayed;
+	}
+
+	/**
+	 * Plays rounds until there are no rounds remaining or every player is
+	 * bankrupt.
+	 *
+	 * @throws TableException Thrown if a decider makes an invalid decision.
+	 * @throws PlayerException Thrown if a decider makes an invalid decision.
+	 * @since 1.8.0
+	 */
+	public void playGame() throws TableException, PlayerException
+	{
+		boolean roundsRemaining = true;
+		while(roundsRemaining)
+		{
+			roundsRemaining = playRound();
+		}
+	}
+
+	/**
+	 * Plays the current round and prepares the table for the next round if
+	 * there is one.
+	 *
+	 * @return Whether there is another round to play.
+	 * @throws TableException Thrown if a decider makes an invalid decision.
+	 * @throws PlayerException Thrown if a decider makes an invalid decision.
+	 * @since 1.8.0
+	 */
+	public boolean playRound() throws TableException, PlayerException
+	{
+		handsPlayed += table.playRound(seatDecider);
+		return nextRound();
+	}
+
+	/**
+	 * Checks if there are any rounds remaining and prepares the table for the
+	 * next round if there are.
+	 *
+	 * @return Whether there is another round to play.
+	 * @since 1.8.0
+	 */
+	private boolean nextRound()
+	{
+		//If there are rounds remaining and any player's who aren't bankrupt.
+		if(table.getCurrentRound() + 1 <= table.getTotalRounds() &&
+				table.checkIfAnyPlayerNotBankrupt())
+		{
+			for(int i = 0; i <= table.getDealerIndex(); i++)
+			{
+				table.prepareForNewRound(i);
+			}
+			table.reshuffleAtCutCard();
+			table.setCurrentRound(table.getCurrentRound() + 1);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Passes the wagers and insurance of the humans to the human decider and
+	 * the actions of each player to the decider of their type.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class SeatDecider implements Decider
+	{
+		/**
+		 * Gets the wager of a human from the human decider.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getWager(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getWager(Table table, int index)
+		{
+			return humanDecider.getWager(table, index);
+		}
+
+		/**
+		 * Gets the insurance of a human from the human decider.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getInsurance(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getInsurance(Table table, int index)
+		{
+			return humanDecider.getInsurance(table, index);
+		}
+
+		/**
+		 * Gets the action of a player from the decider of their type.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getAction(logic.Table, int, int, boolean)
+		 * @since 1.8.0
+		 */
+		@Override
+		public Action getAction(Table table, int index, int handIndex,
+				boolean firstAction)
+		{
+			if(table.getPlayerView(index) instanceof CPU)
+			{
+				return cpuDecider.getAction(table, index, handIndex,
+						firstAction);
+			}
+			return humanDecider.getAction(table, index, handIndex,
+					firstAction);
+		}
+	}
+}
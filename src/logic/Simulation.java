@@ -0,0 +1,437 @@
+package logic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import card.Deck;
+import card.DeckException;
+import card.FisherYatesShuffler;
+import player.BettingPolicy;
+import player.CPUException;
+import player.PlayerException;
+import player.ProportionalBettingPolicy;
+
+/**
+ * A Monte Carlo simulation of CPU players, the games are split into shards
+ * which are played on independent tables across a fixed pool of threads.
+ * The seed of each game's shoe is derived from the seed of the simulation
+ * and the number of the game, so the games played only depend on the seed
+ * and not on the number of threads, and any game can be played again from
+ * its seed alone. The games can be recorded
+ * to a hand history file.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class Simulation
+{
+	/**
+	 * Spreads the seeds of consecutive games across the generator's states.
+	 */
+	private static final long SEEDGAMMA = 0x9E3779B97F4A7C15L;
+	/**
+	 * The number of CPU players at each table.
+	 */
+	private int numOfCPUPlayers;
+	/**
+	 * The number of standard decks in each shoe.
+	 */
+	private int numOfDecks;
+	/**
+	 * The number of rounds in each game.
+	 */
+	private int roundsPerGame;
+	/**
+	 * The number of games to play.
+	 */
+	private long numOfGames;
+	/**
+	 * The seed of the simulation.
+	 */
+	private long seed;
+	/**
+	 * The number of threads the games are played on.
+	 */
+	private int numOfThreads;
+	/**
+	 * Whether the CPUs take the action with the highest expected value
+	 * instead of the basic strategy action.
+	 */
+	private boolean expectedValuePlay;
+	/**
+	 * The policy deciding the wagers of every CPU.
+	 */
+	private BettingPolicy bettingPolicy = new ProportionalBettingPolicy();
+	/**
+	 * Whether every shoe is a continuous shuffling machine.
+	 */
+	private boolean continuousShuffle;
+	/**
+	 * The file every round is recorded to, null if the rounds aren't
+	 * recorded.
+	 */
+	private String handHistory;
+
+	/**
+	 * Constructs a simulation using every available processor.
+	 *
+	 * @param numOfCPUPlayers The number of CPU players at each table.
+	 * @param numOfDecks The number of standard decks in each shoe.
+	 * @param roundsPerGame The number of rounds in each game.
+	 * @param numOfGames The number of games to play.
+	 * @param seed The seed of the simulation.
+	 * @throws TableException Thrown if any argument is invalid.
+	 * @since 1.8.0
+	 */
+	public Simulation(int numOfCPUPlayers, int numOfDecks, int roundsPerGame,
+			long numOfGames, long seed) throws TableException
+	{
+		if(numOfCPUPlayers < Table.MINNUMPLAYERS || numOfCPUPlayers >
+			Table.MAXNUMPLAYERS)
+		{
+			throw new TableException("Invalid number of CPU players: " +
+					numOfCPUPlayers);
+		}
+
+		if(numOfDecks < Deck.MINNUMOFDECKS || numOfDecks > Deck.MAXNUMOFDECKS)
+		{
+			throw new TableException("Invalid number of decks: " + numOfDecks);
+		}
+
+		if(roundsPerGame <= 0)
+		{
+			throw new TableException("Invalid number of rounds: " +
+					roundsPerGame);
+		}
+
+		if(numOfGames <= 0)
+		{
+			throw new TableException("Invalid number of games: " + numOfGames);
+		}
+
+		this.numOfCPUPlayers = numOfCPUPlayers;
+		this.numOfDecks = numOfDecks;
+		this.roundsPerGame = roundsPerGame;
+		this.numOfGames = numOfGames;
+		this.seed = seed;
+		setNumOfThreads(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Gets the number of threads the games are played on.
+	 *
+	 * @return The number of threads.
+	 * @since 1.8.0
+	 */
+	public int getNumOfThreads()
+	{
+		return numOfThreads;
+	}
+
+	/**
+	 * Sets the number of threads the games are played on.
+	 *
+	 * @param numOfThreads The number of threads.
+	 * @throws TableException Thrown if the number of threads is less than 1.
+	 * @since 1.8.0
+	 */
+	public void setNumOfThreads(int numOfThreads) throws TableException
+	{
+		if(numOfThreads < 1)
+		{
+			throw new TableException("Invalid number of threads: " +
+					numOfThreads);
+		}
+
+		this.numOfThreads = numOfThreads;
+	}
+
+	/**
+	 * Gets whether the CPUs take the action with the highest expected value.
+	 *
+	 * @return Whether the CPUs play by expected value.
+	 * @since 1.8.0
+	 */
+	public boolean getExpectedValuePlay()
+	{
+		return expectedValuePlay;
+	}
+
+	/**
+	 * Sets whether the CPUs take the action with the highest expected value
+	 * instead of the basic strategy action.
+	 *
+	 * @param expectedValuePlay Whether the CPUs play by expected value.
+	 * @since 1.8.0
+	 */
+	public void setExpectedValuePlay(boolean expectedValuePlay)
+	{
+		this.expectedValuePlay = expectedValuePlay;
+	}
+
+	/**
+	 * Gets the policy deciding the wagers of every CPU.
+	 *
+	 * @return The betting policy.
+	 * @since 1.8.0
+	 */
+	public BettingPolicy getBettingPolicy()
+	{
+		return bettingPolicy;
+	}
+
+	/**
+	 * Sets the policy deciding the wagers of every CPU, the policy is shared
+	 * by every thread.
+	 *
+	 * @param bettingPolicy The betting policy.
+	 * @throws TableException Thrown if the policy is null.
+	 * @since 1.8.0
+	 */
+	public void setBettingPolicy(BettingPolicy bettingPolicy) throws
+		TableException
+	{
+		if(bettingPolicy == null)
+		{
+			throw new TableException("Betting policy can't be null");
+		}
+
+		this.bettingPolicy = bettingPolicy;
+	}
+
+	/**
+	 * Gets whether every shoe is a continuous shuffling machine.
+	 *
+	 * @return Whether every shoe is a continuous shuffling machine.
+	 * @since 1.8.0
+	 */
+	public boolean getContinuousShuffle()
+	{
+		return continuousShuffle;
+	}
+
+	/**
+	 * Sets whether every shoe is a continuous shuffling machine instead of
+	 * being reshuffled at the cut card.
+	 *
+	 * @param continuousShuffle Whether every shoe is a continuous shuffling
+	 * machine.
+	 * @since 1.8.0
+	 */
+	public void setContinuousShuffle(boolean continuousShuffle)
+	{
+		this.continuousShuffle = continuousShuffle;
+	}
+
+	/**
+	 * Gets the file every round is recorded to.
+	 *
+	 * @return The name of the file, null if the rounds aren't recorded.
+	 * @since 1.8.0
+	 */
+	public String getHandHistory()
+	{
+		return handHistory;
+	}
+
+	/**
+	 * Sets the file every round is recorded to, replacing any file with the
+	 * same name when the simulation is run.
+	 *
+	 * @param handHistory The name of the file, null to not record the rounds.
+	 * @throws TableException Thrown if there are more games than a hand
+	 * history can number.
+	 * @since 1.8.0
+	 */
+	public void setHandHistory(String handHistory) throws TableException
+	{
+		if(handHistory != null && numOfGames > HandHistory.MAXGAMES)
+		{
+			throw new TableException("Too many games for a hand history: " +
+					numOfGames);
+		}
+
+		this.handHistory = handHistory;
+	}
+
+	/**
+	 * Plays every game and merges the statistics of each shard, the program
+	 * ends if a shard fails or the hand history can't be written.
+	 *
+	 * @return The merged statistics of every seat.
+	 * @since 1.8.0
+	 */
+	public SimulationResult run()
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(numOfThreads);
+		ArrayList<Future<SimulationResult>> shards =
+				new ArrayList<Future<SimulationResult>>();
+		SimulationResult result = new SimulationResult(numOfCPUPlayers);
+		long startTime = System.nanoTime();
+		HandHistoryWriter writer = null;
+
+		try
+		{
+			if(handHistory != null)
+			{
+				writer = new HandHistoryWriter(handHistory, numOfCPUPlayers, 0,
+						numOfDecks, roundsPerGame, new Table().getPenetration(),
+						continuousShuffle, bettingPolicy);
+			}
+
+			//Splits the games as evenly as possible between the threads.
+			long firstGame = 0;
+			for(int i = 0; i < numOfThreads; i++)
+			{
+				long games = numOfGames / numOfThreads;
+				if(i < numOfGames % numOfThreads)
+				{
+					games++;
+				}
+
+				if(games > 0)
+				{
+					shards.add(pool.submit(new Shard(firstGame, games, writer)));
+				}
+				firstGame += games;
+			}
+
+			for(Future<SimulationResult> shard : shards)
+			{
+				result.merge(shard.get());
+			}
+			if(writer != null)
+			{
+				writer.close();
+			}
+		}
+		catch(InterruptedException | ExecutionException | IOException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+
+		result.setElapsedTime(System.nanoTime() - startTime);
+		return result;
+	}
+
+	/**
+	 * Gets the seed of the shoe of a game.
+	 *
+	 * @param game The number of the game, starting at 0.
+	 * @return The seed of the shoe.
+	 * @since 1.8.0
+	 */
+	private long getShoeSeed(long game)
+	{
+		return new SplittableRandom(seed + game * SEEDGAMMA).nextLong();
+	}
+
+	/**
+	 * A set of games played on a single thread.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class Shard implements Callable<SimulationResult>
+	{
+		/**
+		 * The number of the first game in the shard.
+		 */
+		private long firstGame;
+		/**
+		 * The number of games in the shard.
+		 */
+		private long games;
+		/**
+		 * The file the rounds are recorded to, null if they aren't recorded.
+		 */
+		private HandHistoryWriter writer;
+
+		/**
+		 * Constructs a shard with a specified range of games.
+		 *
+		 * @param firstGame The number of the first game in the shard.
+		 * @param games The number of games in the shard.
+		 * @param writer The file the rounds are recorded to, null if they
+		 * aren't recorded.
+		 * @since 1.8.0
+		 */
+		public Shard(long firstGame, long games, HandHistoryWriter writer)
+		{
+			this.firstGame = firstGame;
+			this.games = games;
+			this.writer = writer;
+		}
+
+		/**
+		 * Plays every game in the shard.
+		 *
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 * @since 1.8.0
+		 */
+		@Override
+		public SimulationResult call() throws TableException, PlayerException,
+			CPUException, DeckException, IOException
+		{
+			SimulationResult result = new SimulationResult(numOfCPUPlayers);
+			//Each shard keeps its own decider so the caches of the calculators
+			//aren't shared between threads.
+			Decider decider = new CPUDecider();
+			if(expectedValuePlay)
+			{
+				decider = new ExpectedValueDecider();
+			}
+			HandHistoryRecorder recorder = null;
+			if(writer != null)
+			{
+				recorder = new HandHistoryRecorder(writer);
+			}
+
+			for(long i = firstGame; i < firstGame + games; i++)
+			{
+				Table table = new Table();
+				table.createCPUPlayers(numOfCPUPlayers);
+				for(int j = 0; j < numOfCPUPlayers; j++)
+				{
+					table.setBettingPolicy(j, bettingPolicy);
+				}
+				table.setContinuousShuffle(continuousShuffle);
+				long shoeSeed = getShoeSeed(i);
+				table.createDeck(numOfDecks, new FisherYatesShuffler(shoeSeed));
+				table.setTotalRounds(roundsPerGame);
+				if(recorder != null)
+				{
+					recorder.startGame(table, shoeSeed, (int) i);
+				}
+
+				//The table reshuffles the same deck at the cut card.
+				RoundBatchResult batch = table.playRounds(roundsPerGame, decider);
+				result.addGame(table, batch.getRounds(), batch.getHands());
+				if(recorder != null)
+				{
+					recorder.finishGame();
+				}
+			}
+			if(recorder != null)
+			{
+				recorder.flush();
+			}
+
+			return result;
+		}
+	}
+}
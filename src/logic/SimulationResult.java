@@ -0,0 +1,347 @@
+package logic;
+
+import java.text.DecimalFormat;
+
+import player.PlayerView;
+
+/**
+ * The statistics of every CPU seat across all of the games played by a
+ * simulation, the results of separate simulations can be merged.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class SimulationResult
+{
+	/**
+	 * Number of wins of each seat.
+	 */
+	private long[] win;
+	/**
+	 * Number of losses of each seat.
+	 */
+	private long[] loss;
+	/**
+	 * Number of pushes of each seat.
+	 */
+	private long[] push;
+	/**
+	 * Number of busts of each seat.
+	 */
+	private long[] bust;
+	/**
+	 * Number of surrenders of each seat.
+	 */
+	private long[] surrender;
+	/**
+	 * Number of times each seat achieved Blackjack.
+	 */
+	private long[] blackjack;
+	/**
+	 * Total wagers of each seat.
+	 */
+	private double[] totalWager;
+	/**
+	 * Total winnings of each seat.
+	 */
+	private double[] totalWinnings;
+	/**
+	 * Number of games played.
+	 */
+	private long games;
+	/**
+	 * Number of rounds played.
+	 */
+	private long rounds;
+	/**
+	 * Number of hands played by every seat.
+	 */
+	private long hands;
+	/**
+	 * Time taken to play the games in nanoseconds.
+	 */
+	private long elapsedTime;
+	/**
+	 * Formats doubles to to contain 2 digits after the decimal.
+	 */
+	private static final DecimalFormat df = new DecimalFormat("0.00");
+
+	/**
+	 * Constructs an empty result for a specified number of seats.
+	 *
+	 * @param numOfSeats The number of CPU seats.
+	 * @since 1.8.0
+	 */
+	public SimulationResult(int numOfSeats)
+	{
+		win = new long[numOfSeats];
+		loss = new long[numOfSeats];
+		push = new long[numOfSeats];
+		bust = new long[numOfSeats];
+		surrender = new long[numOfSeats];
+		blackjack = new long[numOfSeats];
+		totalWager = new double[numOfSeats];
+		totalWinnings = new double[numOfSeats];
+	}
+
+	/**
+	 * String representation of the result in the form
+	 * <br><pre>
+	 * Games: 1000 Rounds: 9850 Hands: 58532 Hands/second: 1250000.00
+	 * CPU 0 Win: 4123 Loss: 4711 Push: 812 Bust: 1502 Surrender: 403 ...
+	 * ...
+	 * </pre>
+	 *
+	 * @return String representation of the result.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		String string = "Games: " + games + " Rounds: " + rounds + " Hands: "
+				+ hands + " Hands/second: " + df.format(getHandsPerSecond())
+				+ "\n";
+		for(int i = 0; i < win.length; i++)
+		{
+			string += "CPU " + i + " Win: " + win[i] + " Loss: " + loss[i]
+					+ " Push: " + push[i] + " Bust: " + bust[i]
+					+ " Surrender: " + surrender[i] + " Blackjack: "
+					+ blackjack[i] + " Total Wager: $" + df.format(totalWager[i])
+					+ " Total Winnings: $" + df.format(totalWinnings[i]) + "\n";
+		}
+
+		return string;
+	}
+
+	/**
+	 * Adds the statistics of every player at the end of a game.
+	 *
+	 * @param table The table the game was played on.
+	 * @param roundsPlayed The number of rounds played.
+	 * @param handsPlayed The number of hands played by every player.
+	 * @since 1.8.0
+	 */
+	public void addGame(Table table, long roundsPlayed, long handsPlayed)
+	{
+		for(int i = 0; i < win.length; i++)
+		{
+			PlayerView player = table.getPlayerView(i);
+			win[i] += player.getWin();
+			loss[i] += player.getLoss();
+			push[i] += player.getPush();
+			bust[i] += player.getBust();
+			surrender[i] += player.getSurrender();
+			blackjack[i] += player.getBlackjack();
+			totalWager[i] += player.getTotalWager();
+			totalWinnings[i] += player.getTotalWinnings();
+		}
+		games++;
+		rounds += roundsPlayed;
+		hands += handsPlayed;
+	}
+
+	/**
+	 * Adds the statistics of another result to this result.
+	 *
+	 * @param other The result being merged.
+	 * @since 1.8.0
+	 */
+	public void merge(SimulationResult other)
+	{
+		for(int i = 0; i < win.length; i++)
+		{
+			win[i] += other.win[i];
+			loss[i] += other.loss[i];
+			push[i] += other.push[i];
+			bust[i] += other.bust[i];
+			surrender[i] += other.surrender[i];
+			blackjack[i] += other.blackjack[i];
+			totalWager[i] += other.totalWager[i];
+			totalWinnings[i] += other.totalWinnings[i];
+		}
+		games += other.games;
+		rounds += other.rounds;
+		hands += other.hands;
+	}
+
+	/**
+	 * Gets the number of seats.
+	 *
+	 * @return The number of seats.
+	 * @since 1.8.0
+	 */
+	public int getNumOfSeats()
+	{
+		return win.length;
+	}
+
+	/**
+	 * Gets the number of wins of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of wins.
+	 * @since 1.8.0
+	 */
+	public long getWin(int seat)
+	{
+		return win[seat];
+	}
+
+	/**
+	 * Gets the number of losses of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of losses.
+	 * @since 1.8.0
+	 */
+	public long getLoss(int seat)
+	{
+		return loss[seat];
+	}
+
+	/**
+	 * Gets the number of pushes of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of pushes.
+	 * @since 1.8.0
+	 */
+	public long getPush(int seat)
+	{
+		return push[seat];
+	}
+
+	/**
+	 * Gets the number of busts of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of busts.
+	 * @since 1.8.0
+	 */
+	public long getBust(int seat)
+	{
+		return bust[seat];
+	}
+
+	/**
+	 * Gets the number of surrenders of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of surrenders.
+	 * @since 1.8.0
+	 */
+	public long getSurrender(int seat)
+	{
+		return surrender[seat];
+	}
+
+	/**
+	 * Gets the number of times a seat achieved Blackjack.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The number of Blackjacks.
+	 * @since 1.8.0
+	 */
+	public long getBlackjack(int seat)
+	{
+		return blackjack[seat];
+	}
+
+	/**
+	 * Gets the total wagers of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The total wagers.
+	 * @since 1.8.0
+	 */
+	public double getTotalWager(int seat)
+	{
+		return totalWager[seat];
+	}
+
+	/**
+	 * Gets the total winnings of a seat.
+	 *
+	 * @param seat The index of the seat.
+	 * @return The total winnings.
+	 * @since 1.8.0
+	 */
+	public double getTotalWinnings(int seat)
+	{
+		return totalWinnings[seat];
+	}
+
+	/**
+	 * Gets the number of games played.
+	 *
+	 * @return The number of games played.
+	 * @since 1.8.0
+	 */
+	public long getGames()
+	{
+		return games;
+	}
+
+	/**
+	 * Gets the number of rounds played.
+	 *
+	 * @return The number of rounds played.
+	 * @since 1.8.0
+	 */
+	public long getRounds()
+	{
+		return rounds;
+	}
+
+	/**
+	 * Gets the number of hands played by every seat.
+	 *
+	 * @return The number of hands played.
+	 * @since 1.8.0
+	 */
+	public long getHands()
+	{
+		return hands;
+	}
+
+	/**
+	 * Gets the time taken to play the games.
+	 *
+	 * @return The time taken in nanoseconds.
+	 * @since 1.8.0
+	 */
+	public long getElapsedTime()
+	{
+		return elapsedTime;
+	}
+
+	/**
+	 * Sets the time taken to play the games.
+	 *
+	 * @param elapsedTime The time taken in nanoseconds.
+	 * @since 1.8.0
+	 */
+	public void setElapsedTime(long elapsedTime)
+	{
+		this.elapsedTime = elapsedTime;
+	}
+
+	/**
+	 * Gets the number of hands played per second.
+	 *
+	 * @return The number of hands played per second.
+	 * @since 1.8.0
+	 */
+	public double getHandsPerSecond()
+	{
+		if(elapsedTime == 0)
+		{
+			return 0;
+		}
+		return hands * 1e9 / elapsedTime;
+	}
+}
@@ -1,6 +1,7 @@
 package logic;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import card.*;
 import player.*;
@@ -9,7 +10,7 @@ import player.*;
  * The logic layer for the game, manages all of the back end data manipulation.
  * 
  * @author Brodie Robertson
- * @version 1.7.1
+ * @version 1.8.0
  * @since 1.0.0
  */
 public class Table 
@@ -46,6 +47,18 @@ public class Table
 	 * Deck used by all players.
 	 */
 	private Deck deck;
+	/**
+	 * The system used to count the cards dealt from every deck.
+	 */
+	private CountingSystem countingSystem = CountingSystem.HI_LO;
+	/**
+	 * The fraction of every deck dealt before the cut card is reached.
+	 */
+	private double penetration = Deck.DEFAULTPENETRATION;
+	/**
+	 * Whether every deck is a continuous shuffling machine.
+	 */
+	private boolean continuousShuffle;
 	/**
 	 * The current round.
 	 */
@@ -54,6 +67,34 @@ public class Table
 	 * The absolute total number of rounds.
 	 */
 	private int totalRounds;	
+	/**
+	 * The outcome of a player's round who surrendered.
+	 */
+	public static final int SURRENDERED = 0;
+	/**
+	 * The outcome of a player's round who pushed.
+	 */
+	public static final int PUSHED = 1;
+	/**
+	 * The outcome of a player's round who won with Blackjack.
+	 */
+	public static final int BLACKJACKWIN = 2;
+	/**
+	 * The outcome of a player's round who won.
+	 */
+	public static final int WON = 3;
+	/**
+	 * The outcome of a player's round who busted.
+	 */
+	public static final int BUSTED = 4;
+	/**
+	 * The outcome of a player's round who lost.
+	 */
+	public static final int LOST = 5;
+	/**
+	 * Listens to every change of the table.
+	 */
+	private TableListener[] listeners = new TableListener[0];
 	/**
 	 * Formats doubles to to contain 2 digits after the decimal.
 	 */
@@ -114,9 +155,73 @@ public class Table
 		players[playerIndex] = new Dealer("Dealer");
 	}
 	
+	/**
+	 * Creates a table of CPU players without any humans, used when games are
+	 * played without the GUI.
+	 * 
+	 * @param numOfCPUPlayers The number of CPU players.
+	 * @throws CPUException Thrown if the number of CPU players is invalid.
+	 * @since 1.8.0
+	 */
+	public void createCPUPlayers(int numOfCPUPlayers) throws CPUException
+	{
+		//Throws exception if the number of CPU players greater than or less
+		//than the required number of players.
+		if(numOfCPUPlayers < MINNUMPLAYERS || numOfCPUPlayers > MAXNUMPLAYERS)
+		{
+			throw new CPUException("Invalid number of AI player: " + 
+					numOfCPUPlayers);
+		}
+		
+		players = new Person[numOfCPUPlayers + 1];
+		for(int i = 0; i < numOfCPUPlayers; i++)
+		{
+			players[i] = new CPU("CPU " + i);
+		}
+		
+		players[numOfCPUPlayers] = new Dealer("Dealer");
+	}
+	
+	/**
+	 * Creates the deck used by all players.
+	 * 
+	 * @param deckSize The number of standard decks in the deck.
+	 * @throws DeckException Thrown if the number of decks is invalid.
+	 * @since 1.0.0
+	 */
 	public void createDeck(int deckSize) throws DeckException
 	{
 		deck = new Deck(deckSize);
+		deck.setCountingSystem(countingSystem);
+		deck.setPenetration(penetration);
+		deck.setContinuousShuffle(continuousShuffle);
+	}
+	
+	/**
+	 * Creates the deck used by all players, shuffled by a specified shuffler.
+	 * 
+	 * @param deckSize The number of standard decks in the deck.
+	 * @param shuffler The engine used to shuffle the deck.
+	 * @throws DeckException Thrown if the number of decks is invalid.
+	 * @since 1.8.0
+	 */
+	public void createDeck(int deckSize, Shuffler shuffler) throws DeckException
+	{
+		deck = new Deck(deckSize, shuffler);
+		deck.setCountingSystem(countingSystem);
+		deck.setPenetration(penetration);
+		deck.setContinuousShuffle(continuousShuffle);
+	}
+	
+	/**
+	 * Gets the number of cards remaining in the deck.
+	 * 
+	 * @return The number of cards remaining in the deck.
+	 * @since 1.8.0
+	 */
+	public int getCardsRemaining()
+	{
+		return deck.getCardsRemaining();
 	}
 	
 	/**
@@ -206,7 +311,8 @@ public class Table
 	}
 	
 	/**
-	 * Gets the deck.
+	 * Gets a copy of the deck, the copy is shuffled independently of the
+	 * table's deck.
 	 * 
 	 * @return The deck.
 	 * @since 1.0.0
@@ -216,6 +322,265 @@ public class Table
 		return new Deck(deck);
 	}
 	
+	/**
+	 * Gets a read-only view of the deck without copying it.
+	 * 
+	 * @return A view of the deck.
+	 * @since 1.8.0
+	 */
+	public ShoeView getShoeView()
+	{
+		return deck;
+	}
+	
+	/**
+	 * Gets the system used to count the cards dealt from every deck.
+	 * 
+	 * @return The counting system.
+	 * @since 1.8.0
+	 */
+	public CountingSystem getCountingSystem()
+	{
+		return countingSystem;
+	}
+	
+	/**
+	 * Sets the system used to count the cards dealt from every deck, the 
+	 * current deck is recounted with the new system. The program ends if the
+	 * system is null.
+	 * 
+	 * @param countingSystem The counting system.
+	 * @since 1.8.0
+	 */
+	public void setCountingSystem(CountingSystem countingSystem)
+	{
+		try
+		{
+			if(countingSystem == null)
+			{
+				throw new NullPointerException("Counting system can't be null");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		this.countingSystem = countingSystem;
+		if(deck != null)
+		{
+			deck.setCountingSystem(countingSystem);
+		}
+	}
+	
+	/**
+	 * Gets the fraction of every deck dealt before the cut card is reached.
+	 * 
+	 * @return The penetration of the deck.
+	 * @since 1.8.0
+	 */
+	public double getPenetration()
+	{
+		return penetration;
+	}
+	
+	/**
+	 * Sets the fraction of every deck dealt before the cut card is reached,
+	 * including the current deck.
+	 * 
+	 * @param penetration The penetration of the deck.
+	 * @throws DeckException Thrown if the penetration isn't greater than 0 
+	 * and at most 1.
+	 * @since 1.8.0
+	 */
+	public void setPenetration(double penetration) throws DeckException
+	{
+		if(deck != null)
+		{
+			deck.setPenetration(penetration);
+		}
+		else if(!(penetration > 0 && penetration <= 1))
+		{
+			throw new DeckException("Invalid penetration: " + penetration);
+		}
+		
+		this.penetration = penetration;
+	}
+	
+	/**
+	 * Gets whether every deck is a continuous shuffling machine.
+	 * 
+	 * @return Whether every deck is a continuous shuffling machine.
+	 * @since 1.8.0
+	 */
+	public boolean getContinuousShuffle()
+	{
+		return continuousShuffle;
+	}
+	
+	/**
+	 * Sets whether every deck is a continuous shuffling machine, including 
+	 * the current deck. The discards are returned to the deck as the dealer
+	 * is prepared for each new round.
+	 * 
+	 * @param continuousShuffle Whether every deck is a continuous shuffling
+	 * machine.
+	 * @since 1.8.0
+	 */
+	public void setContinuousShuffle(boolean continuousShuffle)
+	{
+		this.continuousShuffle = continuousShuffle;
+		if(deck != null)
+		{
+			deck.setContinuousShuffle(continuousShuffle);
+		}
+	}
+	
+	/**
+	 * Adds a listener which is told about every change of the table.
+	 * 
+	 * @param listener The listener.
+	 * @since 1.8.0
+	 */
+	public void addTableListener(TableListener listener)
+	{
+		try
+		{
+			if(listener == null)
+			{
+				throw new NullPointerException("Null table listener");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		//The array is copied on change so firing an event doesn't allocate.
+		TableListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+		added[listeners.length] = listener;
+		listeners = added;
+	}
+	
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener The listener.
+	 * @return Whether the listener was removed.
+	 * @since 1.8.0
+	 */
+	public boolean removeTableListener(TableListener listener)
+	{
+		for(int i = 0; i < listeners.length; i++)
+		{
+			if(listeners[i] == listener)
+			{
+				TableListener[] removed = new TableListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, removed, 0, i);
+				System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+				listeners = removed;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Tells every listener about a change.
+	 * 
+	 * @param type The type of the event.
+	 * @param person The index of the person.
+	 * @param hand The index of the hand.
+	 * @param position The position in the hand or the outcome.
+	 * @param value The code, amount in cents or money in cents.
+	 * @see logic.TableEvent
+	 * @since 1.8.0
+	 */
+	private void fire(int type, int person, int hand, int position, int value)
+	{
+		if(listeners.length == 0)
+		{
+			return;
+		}
+		
+		long event = TableEvent.encode(type, person, hand, position, value);
+		for(TableListener listener : listeners)
+		{
+			listener.tableChanged(this, event);
+		}
+	}
+	
+	/**
+	 * Tells every listener about a change to the money of a player.
+	 * 
+	 * @param type WAGER, INSURANCE or RESULT.
+	 * @param index The index of the player.
+	 * @param outcome The outcome of a RESULT.
+	 * @param money The wager, insurance or money of the player.
+	 * @since 1.8.0
+	 */
+	private void fireMoney(int type, int index, int outcome, double money)
+	{
+		if(listeners.length > 0)
+		{
+			fire(type, index, 0, outcome, TableEvent.toCents(money));
+		}
+	}
+	
+	/**
+	 * Reshuffles every card back into the deck if the cut card has been 
+	 * reached, called between rounds once every hand has been cleared.
+	 * 
+	 * @return Whether the deck was reshuffled.
+	 * @since 1.8.0
+	 */
+	public boolean reshuffleAtCutCard()
+	{
+		if(!deck.getCutCardReached())
+		{
+			return false;
+		}
+		
+		deck.reshuffle();
+		fire(TableEvent.SHUFFLED, 0, 0, 0, 0);
+		return true;
+	}
+	
+	/**
+	 * Draws the code of a card from the deck, if the deck is empty in the 
+	 * middle of a round every card which isn't in a hand is reshuffled back
+	 * into the deck first.
+	 * 
+	 * @return The code of a card from the deck.
+	 * @since 1.8.0
+	 */
+	private byte drawCode()
+	{
+		if(deck.getCardsRemaining() == 0)
+		{
+			byte[] inPlay = new byte[deck.getNumOfDecks() * Deck.DECKSIZE];
+			int numInPlay = 0;
+			for(Person person : players)
+			{
+				for(int i = 0; i < person.getNumOfHands(); i++)
+				{
+					HandView hand = person.getHandView(i);
+					for(int j = 0; j < hand.getCardsRemaining(); j++)
+					{
+						inPlay[numInPlay] = hand.getCode(j);
+						numInPlay++;
+					}
+				}
+			}
+			deck.reshuffle(inPlay, numInPlay);
+			fire(TableEvent.SHUFFLED, 0, 0, 0, 0);
+		}
+		
+		return deck.drawCode();
+	}
+	
 	/**
 	 * Gets the list of players.
 	 * 
@@ -236,6 +601,17 @@ public class Table
 		return copy;
 	}
 	
+	/**
+	 * Gets the index of the dealer, every index before it belongs to a player.
+	 * 
+	 * @return The index of the dealer.
+	 * @since 1.8.0
+	 */
+	public int getDealerIndex()
+	{
+		return players.length - 1;
+	}
+	
 	/**
 	 * Gets the person at a specified index.
 	 * 
@@ -258,6 +634,67 @@ public class Table
 		return players[index].clone();
 	}
 	
+	/**
+	 * Gets a read-only view of the person at a specified index, the person 
+	 * isn't copied so the view always shows the current state of the table.
+	 * 
+	 * @param index The index of the person.
+	 * @return A view of the person.
+	 * @since 1.8.0
+	 */
+	public PersonView getPersonView(int index)
+	{
+		try
+		{
+			validatePersonIndex(index);
+		}
+		catch(TableException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+		
+		return players[index];
+	}
+	
+	/**
+	 * Gets a read-only view of the player at a specified index, the program
+	 * ends if the index doesn't belong to a player.
+	 * 
+	 * @param index The index of the player.
+	 * @return A view of the player.
+	 * @since 1.8.0
+	 */
+	public PlayerView getPlayerView(int index)
+	{
+		try
+		{
+			validatePersonIndex(index);
+			if(!(players[index] instanceof Player))
+			{
+				throw new PlayerException("Error this is not a player");
+			}
+		}
+		catch(TableException | PlayerException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+		
+		return (Player)players[index];
+	}
+	
+	/**
+	 * Gets the number of people at the table, including the dealer.
+	 * 
+	 * @return The number of people.
+	 * @since 1.8.0
+	 */
+	public int getNumOfPeople()
+	{
+		return players.length;
+	}
+	
 	/**
 	 * Sets the name of a person at specified index.
 	 * 
@@ -298,19 +735,30 @@ public class Table
 			System.exit(0);
 		}
 
+		dealHand(index);
+	}
+	
+	/**
+	 * Deals the initial cards to a person without validating the index.
+	 * 
+	 * @param index The index of the person.
+	 * @since 1.8.0
+	 */
+	private void dealHand(int index)
+	{
 		final int startingCards = 2;
 		//Deals 1 card to each player and then deals the 2nd.
 		for(int i = 0; i < startingCards; i++)
 		{
-			Card card = deck.getCard();
+			byte code = drawCode();
 			//If the card being added is the dealer's second card, flip it.
-			if(index == players.length - 1 && players[index].getHand(0).
-					getCardsRemaining() == 1)
+			if(index == players.length - 1 && i == 1)
 			{
-				card.setFaceUp(false);
+				code = CardCode.setFaceUp(code, false);
 			}
 						
-			players[index].addToHand(card, 0);
+			players[index].addToHand(code, 0);
+			fire(TableEvent.CARDDEALT, index, 0, i, code);
 		}
 	}
 	
@@ -346,6 +794,7 @@ public class Table
 		{
 			Player player = (Player)players[index];
 			player.setWager(wager);
+			fireMoney(TableEvent.WAGER, index, 0, wager);
 		}
 		else
 		{
@@ -354,7 +803,8 @@ public class Table
 	}
 	
 	/**
-	 * Sets the wager of a CPU at a specified index.
+	 * Sets the wager of a CPU at a specified index from its betting policy,
+	 * the wager is clamped to the table limits and the CPU's money.
 	 * 
 	 * @param index The index of the CPU.
 	 * @return The wager of the CPU.
@@ -376,57 +826,69 @@ public class Table
 			System.exit(0);
 		}
 		
-		Player player = (Player)players[index];
-		
-		//Sets the wager to 1/15 of their total money.
-		double wager = player.getTotalMoney() / 15;
+		return placeCPUWager(index, (CPU)players[index]);
+	}
+	
+	/**
+	 * Sets the wager of a CPU from its betting policy without validating the
+	 * CPU.
+	 * 
+	 * @param index The index of the CPU.
+	 * @param player The CPU.
+	 * @return The wager of the CPU.
+	 * @since 1.8.0
+	 */
+	private double placeCPUWager(int index, CPU player)
+	{
+		//Clamps the wager of the policy between the minimum wager and the 
+		//smaller of the maximum wager and the CPU's money, a wager which isn't
+		//a number is treated as the minimum.
+		double wager = player.getBettingPolicy().getWager(player, deck);
+		wager = Math.min(wager, Math.min(MAXWAGER, player.getTotalMoney()));
+		if(!(wager >= MINWAGER))
+		{
+			wager = MINWAGER;
+		}
 		
-		//If that's less than the MINWAGER use the MINWAGER instead.
-		if(wager < MINWAGER)
+		try 
 		{
-			try 
-			{
-				player.setWager(MINWAGER);
-			} 
-			catch (PlayerException ex) 
-			{
-				ex.printStackTrace();
-				System.exit(0);
-			}
-			
-			return MINWAGER;
+			player.setWager(wager);
+		} 
+		catch (PlayerException ex) 
+		{
+			ex.printStackTrace();
+			System.exit(0);
 		}
 		
-		boolean validWager = false;
-		while(!validWager)
+		fireMoney(TableEvent.WAGER, index, 0, wager);
+		return wager;
+	}
+	
+	/**
+	 * Sets the policy deciding the wager of a CPU at a specified index, the 
+	 * program ends if the index isn't a CPU or the policy is null.
+	 * 
+	 * @param index The index of the CPU.
+	 * @param bettingPolicy The betting policy.
+	 * @since 1.8.0
+	 */
+	public void setBettingPolicy(int index, BettingPolicy bettingPolicy)
+	{
+		try
 		{
-			//Valid wager if it's between the min an max wager and wager less 
-			//than or equal to the players total money.
-			if(wager >= MINWAGER && wager <= MAXWAGER && wager <= player.
-					getTotalMoney())
-			{
-				validWager = true;
-			}
-			else
+			validatePersonIndex(index);
+			if(!(players[index] instanceof CPU))
 			{
-				wager--;
+				throw new PersonException("Error this is not a cpu");
 			}
 		}
-		
-		if(wager > MINWAGER)
+		catch(TableException | PersonException ex)
 		{
-			try 
-			{
-				player.setWager(wager);
-			} 
-			catch (PlayerException ex) 
-			{
-				ex.printStackTrace();
-				System.exit(0);
-			}
+			ex.printStackTrace();
+			System.exit(0);
 		}
 		
-		return wager;
+		((CPU)players[index]).setBettingPolicy(bettingPolicy);
 	}
 	
 	/**
@@ -459,12 +921,13 @@ public class Table
 		player = (Player) players[index];
 		
 		//If the Player's hand score is less than Blackjack.
-		if(player.getHand(0).getHandScore() < BLACKJACK)
+		if(player.getHandView(0).getHandScore() < BLACKJACK)
 		{
 			if(insurance <= player.getWager() / 2)
 			{
 				player.setInsurance(insurance);
 				player.setTookInsurance(true);
+				fireMoney(TableEvent.INSURANCE, index, 0, insurance);
 			}
 			else
 			{
@@ -472,7 +935,7 @@ public class Table
 			}
 		}
 		//Throws exception if the Player already has Blackjack.
-		else if(player.getHand(0).getHandScore() == BLACKJACK)
+		else if(player.getHandView(0).getHandScore() == BLACKJACK)
 		{
 			throw new PlayerException("Player already has Blackjack");
 		}
@@ -492,7 +955,6 @@ public class Table
 	 */
 	public double setCPUInsurance(int index)
 	{
-		Player player = null;
 		try 
 		{
 			validatePersonIndex(index);
@@ -507,7 +969,19 @@ public class Table
 			System.exit(0);
 		}
 		
-		player = (Player)players[index];
+		return placeCPUInsurance(index, (Player)players[index]);
+	}
+	
+	/**
+	 * Sets the insurance of a CPU without validating the CPU.
+	 * 
+	 * @param index The index of the CPU.
+	 * @param player The CPU.
+	 * @return The insurance of the CPU.
+	 * @since 1.8.0
+	 */
+	private double placeCPUInsurance(int index, Player player)
+	{
 		double insurance = player.getWager() / 2;
 	
 		//Valid insurance if it's less than total money and greater than 0.
@@ -531,6 +1005,7 @@ public class Table
 				ex.printStackTrace();
 				System.exit(0);
 			}
+			fireMoney(TableEvent.INSURANCE, index, 0, insurance);
 		}
 		
 		return insurance;
@@ -556,11 +1031,11 @@ public class Table
 	 */
 	public boolean attemptDealerCardFlip()
 	{
-		Hand dealerHand = players[players.length - 1].getHand(0);
+		HandView dealerHand = players[players.length - 1].getHandView(0);
 		//If the dealer's 2nd card's value is 10, flip it.
-		if(dealerHand.getCard(1).getValue() == 10)
+		if(CardCode.getHardValue(dealerHand.getCode(1)) == 10)
 		{
-			players[players.length - 1].flipCardInHand(1, 0, true);
+			flipDealersCard();
 			return true;
 		}
 		return false;
@@ -575,7 +1050,29 @@ public class Table
 	public String insurancePayout(int index)
 	{	
 		Player player = (Player)players[index];
-
+		switch(settleInsurance(index, player))
+		{
+			case WON:
+				return player.getName() + " wins the insurance bet\n";
+			case PUSHED:
+				return player.getName() + " pushes and their wager is returned\n";
+			default:
+				return player.getName() + " loses this round\n";
+		}
+	}
+	
+	/**
+	 * Pays out the insurance bet of a player when the dealer has Blackjack.
+	 * 
+	 * @param index The index of the player.
+	 * @param player The player.
+	 * @return WON if the player took insurance, PUSHED if the player has 
+	 * Blackjack or LOST.
+	 * @since 1.8.0
+	 */
+	private int settleInsurance(int index, Player player)
+	{
+		int outcome = LOST;
 		//If player has insurance bet
 		if(player.getTookInsurance())
 		{
@@ -591,32 +1088,27 @@ public class Table
 				e.printStackTrace();
 				System.exit(0);
 			}
-			return player.getName() + " wins the insurance bet\n";
+			fireMoney(TableEvent.INSURANCE, index, 0, 0);
+			outcome = WON;
 		}
-		//If player does not have insurance
-		else
+		//If the player has Blackjack
+		else if(player.getHandView(0).getHandScore() == BLACKJACK)
 		{
-			//If the player has Blackjack
-			if(player.getHand(0).getHandScore() == BLACKJACK)
+			try 
 			{
-				try 
-				{
-					player.setTotalMoney(player.getTotalMoney() + player.getWager());
-					player.setPush(player.getPush() + 1);
-				} 
-				catch (PlayerException e) 
-				{
-					e.printStackTrace();
-					System.exit(0);
-				}
-				return player.getName() + " pushes and their wager is returned\n";
-			}
-			//If the player does not have Blackjack
-			else
+				player.setTotalMoney(player.getTotalMoney() + player.getWager());
+				player.setPush(player.getPush() + 1);
+			} 
+			catch (PlayerException e) 
 			{
-				return player.getName() + " loses this round\n";
+				e.printStackTrace();
+				System.exit(0);
 			}
+			outcome = PUSHED;
 		}
+		
+		fireMoney(TableEvent.RESULT, index, outcome, player.getTotalMoney());
+		return outcome;
 	}
 	
 	/**
@@ -633,6 +1125,7 @@ public class Table
 			Player player = (Player)players[index];
 			player.setInsurance(0);
 			player.setTookInsurance(false);
+			fireMoney(TableEvent.INSURANCE, index, 0, 0);
 		}
 		catch(TableException | PlayerException ex)
 		{
@@ -661,15 +1154,34 @@ public class Table
 			System.exit(0);
 		}
 		
-		Player player = (Player)players[index];
-		Card card = player.addToHand(deck.getCard(), handIndex);
+		fire(TableEvent.ACTION, index, handIndex, Action.HIT.ordinal(), 0);
+		return CardCode.toCard(drawToHand(index, (Player)players[index], 
+				handIndex));
+	}
+	
+	/**
+	 * Deals a card to a hand of a player and marks the player as busted if 
+	 * the hand busts.
+	 * 
+	 * @param index The index of the player.
+	 * @param player The player.
+	 * @param handIndex The index of the hand.
+	 * @return The code of the card dealt.
+	 * @since 1.8.0
+	 */
+	private byte drawToHand(int index, Player player, int handIndex)
+	{
+		byte code = drawCode();
+		player.addToHand(code, handIndex);
+		fire(TableEvent.CARDDEALT, index, handIndex, player.getHandView(
+				handIndex).getCardsRemaining() - 1, code);
 		
-		if(player.getHand(handIndex).getHandScore() > BLACKJACK)
+		if(player.getHandView(handIndex).isBust())
 		{
 			player.setBusted(true);
 		}
 		
-		return new Card(card);
+		return code;
 	}
 	
 	/**
@@ -695,15 +1207,10 @@ public class Table
 			System.exit(0);
 		}
 		
-		Card card = player.addToHand(deck.getCard(), handIndex);
-		
-		//If player surpasses blackjack
-		if(player.getHand(handIndex).getHandScore() > BLACKJACK)
-		{
-			player.setBusted(true);
-		}
-		
-		return card;
+		fire(TableEvent.ACTION, index, handIndex, Action.DOUBLE_DOWN.ordinal(), 
+				0);
+		fireMoney(TableEvent.WAGER, index, 0, player.getWager());
+		return CardCode.toCard(drawToHand(index, player, handIndex));
 	}
 	
 	/**
@@ -714,24 +1221,47 @@ public class Table
 	 */
 	public void split(int index)
 	{
-		Player player = null;
 		try 
 		{
 			validatePersonIndex(index);
-			player = (Player)players[index];
+		} 
+		catch (TableException e) 
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		fire(TableEvent.ACTION, index, 0, Action.SPLIT.ordinal(), 0);
+		splitHand(index, (Player)players[index]);
+	}
+	
+	/**
+	 * Splits the hand of a player without validating the player.
+	 * 
+	 * @param index The index of the player.
+	 * @param player The player.
+	 * @since 1.8.0
+	 */
+	private void splitHand(int index, Player player)
+	{
+		try 
+		{
 			player.setWager(player.getWager() * 2);
 		} 
-		catch (PlayerException | TableException e) 
+		catch (PlayerException e) 
 		{
 			e.printStackTrace();
 			System.exit(0);
 		}
 		
+		fireMoney(TableEvent.WAGER, index, 0, player.getWager());
+		
 		//Adds a new hand and moves the player's second card into it.
 		player.addHand();
 		player.setHandSplit(0);
-		player.addToHand(player.getHand(0).getCard(1), 1);
+		player.addToHand(player.getHandView(0).getCode(1), 1);
 		player.removeFromHand(0, 1);
+		fire(TableEvent.SPLIT, index, 0, 0, 0);
 	}
 	
 	/**
@@ -742,25 +1272,47 @@ public class Table
 	 * @since 1.0.0
 	 */
 	public double surrender(int index)
+	{
+		try 
+		{
+			validatePersonIndex(index);
+		} 
+		catch (TableException e) 
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		fire(TableEvent.ACTION, index, 0, Action.SURRENDER.ordinal(), 0);
+		return surrenderHand(index, (Player)players[index]);
+	}
+	
+	/**
+	 * Surrenders the hand of a player without validating the player.
+	 * 
+	 * @param index The index of the player.
+	 * @param player The player.
+	 * @return The amount returned to the player.
+	 * @since 1.8.0
+	 */
+	private double surrenderHand(int index, Player player)
 	{
 		double returnedAmount = 0;
-		Player player = null;
 		//Returns half the player's wager, and sets their wager to 0.
 		try 
 		{
-			validatePersonIndex(index);
-			player = (Player)players[index];
 			returnedAmount = player.getWager() / 2;
 			player.setTotalMoney(player.getTotalMoney() + returnedAmount);
 			player.setWager(0);
 		} 
-		catch (PlayerException | TableException e) 
+		catch (PlayerException e) 
 		{
 			e.printStackTrace();
 			System.exit(0);
 		}
 		
 		player.setSurrendered(true);
+		fireMoney(TableEvent.WAGER, index, 0, 0);
 		return returnedAmount;
 	}
 	
@@ -771,7 +1323,10 @@ public class Table
 	 */
 	public void flipDealersCard()
 	{
-		players[players.length - 1].flipCardInHand(1, 0, true);
+		Person dealer = players[players.length - 1];
+		dealer.flipCardInHand(1, 0, true);
+		fire(TableEvent.CARDFLIPPED, players.length - 1, 0, 1, dealer.
+				getHandView(0).getCode(1));
 	}
 	
 	/**
@@ -786,9 +1341,13 @@ public class Table
 		ArrayList<Card> cardsAdded = new ArrayList<Card>();
 		
 		//While the dealer's score is less than 17
-		while(dealer.getHand(0).getHandScore() < 17)
+		while(dealer.getHandView(0).getHandScore() < 17)
 		{
-			cardsAdded.add(dealer.addToHand(deck.getCard(), 0));
+			byte code = drawCode();
+			dealer.addToHand(code, 0);
+			fire(TableEvent.CARDDEALT, players.length - 1, 0, dealer.getHandView(
+					0).getCardsRemaining() - 1, code);
+			cardsAdded.add(CardCode.toCard(code));
 		}
 		
 		return cardsAdded.toArray(new Card[cardsAdded.size()]);
@@ -802,287 +1361,182 @@ public class Table
 	 */
 	public String roundResult(int index) 
 	{	
-		//Dealer's score is greater than 21.
-		Dealer dealer = (Dealer) players[players.length - 1];
-		int dealerScore = dealer.getHand(0).getHandScore();
 		Player player = (Player) players[index];
-		Hand[] hands = player.getHands();
-			
-		//If the player has surrendered.
-		if(player.getSurrendered())
-		{
-			player.setSurrender(player.getSurrender() + 1);
-			return player.getName() + " surrendered this hand";
-		}
-		//If the dealer's score is greater than blackjack.
-		else if (dealerScore > BLACKJACK)
+		int dealerScore = players[players.length - 1].getHandView(0).
+				getHandScore();
+		int bestHandIndex = getBestHandIndex(player);
+		int handScore = player.getHandView(bestHandIndex).getHandScore();
+		boolean split = player.getNumOfHands() > 1;
+		double push = player.getWager();
+		
+		switch(settle(index, player))
 		{
-			//If the player hasn't used split
-			if (hands.length < 2) 
-			{
-				int handScore = hands[0].getHandScore();
-				//If the player's score is greater than 21
-				if (handScore > BLACKJACK) 
+			case SURRENDERED:
+				return player.getName() + " surrendered this hand";
+			case PUSHED:
+				if(split)
 				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes and regains $" + df.format(push);
+					return player.getName() + " pushes with hand " + (bestHandIndex + 1) 
+							+ " and regains $" + df.format(push);
 				}
-				//If the player's score is 21
-				else if (handScore == BLACKJACK) 
+				return player.getName() + " pushes and regains $" + df.format(push);
+			case BLACKJACKWIN:
+				if(split)
 				{
-					//If the player only has 2 cards
-					if(hands[0].getCards().length == 2)
-					{
-						blackjackPayout(player);
-						return player.getName() + " has Blackjack";
-					}
-					//If the player has more than 2 cards
-					else
-					{
-						standardPayout(player);
-						return player.getName() + " wins hand";
-					}
+					return player.getName() + " has Blackjack with hand " 
+							+ (bestHandIndex + 1);
 				}
-				//If the player's score is less than 21
-				else 
+				return player.getName() + " has Blackjack";
+			case WON:
+				if(!split)
 				{
-					standardPayout(player);
 					return player.getName() + " wins hand";
 				}
-			}
-			//If player has used split
-			else 
-			{
-				int bestHandIndex = 0;
-				for (int j = 0; j < hands.length; j++) 
-				{
-					if ((hands[j].getHandScore() > hands[bestHandIndex].getHandScore()
-						 && hands[j].getHandScore() <= BLACKJACK) || (hands[j].
-						 getHandScore() < hands[bestHandIndex].getHandScore() 
-						 && hands[bestHandIndex].getHandScore() > BLACKJACK))
-					{
-						bestHandIndex = j;
-					}
-				}
-				int handScore = hands[bestHandIndex].getHandScore();
-				//If the player's score is greater than Blackjack
-				if (handScore > BLACKJACK)
+				else if(dealerScore < BLACKJACK && handScore < BLACKJACK)
 				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes with hand " + (bestHandIndex + 1) 
-							+ " and regains $" + df.format(push);
+					return player.getName() + " wins with hand " + (bestHandIndex + 1);
 				}
-
-				//If the player's score is equal to Blackjack
-				else if(handScore == BLACKJACK)
+				return player.getName() + " wins hand " + (bestHandIndex + 1);
+			case BUSTED:
+				if(split)
 				{
-					//If the player only has 2 cards
-					if(hands[0].getCards().length == 2)
-					{
-						blackjackPayout(player);
-						return player.getName() + " has Blackjack with hand " 
-								+ (bestHandIndex + 1);
-					}
-					//If the player has more than 2 cards
-					else
-					{
-						standardPayout(player);
-						return player.getName() + " wins hand " + (bestHandIndex + 1);
-					}
+					return player.getName() + " busts with all hands";
 				}
-				//Else the player's score is less than Blackjack
-				else
+				return player.getName() + " busts";
+			default:
+				if(split)
 				{
-					standardPayout(player);
-					return player.getName() + " wins hand " + (bestHandIndex + 1);
+					return player.getName() + " loses with all hands";
 				}
+				return player.getName() + " loses this hand";
+		}
+	}
+	
+	/**
+	 * Pays out the wager of a player against the dealer's final score. After
+	 * a split only the best hand is paid, once, on the doubled wager.
+	 * 
+	 * @param index The index of the player.
+	 * @param player The player.
+	 * @return The outcome of the player's round.
+	 * @since 1.8.0
+	 */
+	private int settle(int index, Player player)
+	{
+		int outcome = settleWager(player);
+		fireMoney(TableEvent.RESULT, index, outcome, player.getTotalMoney());
+		return outcome;
+	}
+	
+	/**
+	 * Pays out the wager of a player without telling the listeners.
+	 * 
+	 * @param player The player.
+	 * @return The outcome of the player's round.
+	 * @since 1.8.0
+	 */
+	private int settleWager(Player player)
+	{
+		int dealerScore = players[players.length - 1].getHandView(0).
+				getHandScore();
+		HandView hand = player.getHandView(getBestHandIndex(player));
+		int handScore = hand.getHandScore();
+			
+		//If the player has surrendered.
+		if(player.getSurrendered())
+		{
+			player.setSurrender(player.getSurrender() + 1);
+			return SURRENDERED;
+		}
+		//If the dealer's score is greater than blackjack.
+		else if (dealerScore > BLACKJACK)
+		{
+			//If the player's score is greater than 21
+			if (handScore > BLACKJACK) 
+			{
+				pushPayout(player);
+				return PUSHED;
+			}
+			//If the player's score is 21 with 2 cards, the first hand is 
+			//checked after a split.
+			else if (handScore == BLACKJACK && player.getHandView(0).
+					getCardsRemaining() == 2)
+			{
+				blackjackPayout(player);
+				return BLACKJACKWIN;
 			}
+			standardPayout(player);
+			return WON;
+		}
+		//If the player's score is greater than 21
+		else if (handScore > BLACKJACK) 
+		{
+			player.setBust(player.getBust() + 1);
+			player.setLoss(player.getLoss() + 1);
+			return BUSTED;
 		}
 		//Dealer's score is 21 (equivalent to blackjack)
 		else if (dealerScore == BLACKJACK)
 		{
-			//Player hasn't used split
-			if (hands.length < 2)
+			//If the player's score is 21
+			if (handScore == BLACKJACK)
 			{
-				int handScore = hands[0].getHandScore();
-				//If the player's score is greater than 21
-				if (handScore > BLACKJACK)
-				{
-					player.setBust(player.getBust() + 1);
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " busts";
-				}
-				//If the player's score is 21
-				else if (handScore == BLACKJACK)
-				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes and regains $" + df.format(push);
-				}
-				//If the player's score is less than 21
-				else
-				{
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " loses this hand";
-				}
-			}
-			//Player has split
-			else 
-			{
-				int bestHandIndex = 0;
-				for (int j = 1; j < hands.length; j++) 
-				{
-					if ((hands[j].getHandScore() > hands[bestHandIndex].getHandScore()
-						 && hands[j].getHandScore() <= BLACKJACK)
-						 || (hands[j].getHandScore() < hands[bestHandIndex].getHandScore()
-						 && hands[bestHandIndex].getHandScore() > BLACKJACK)) 
-					{
-						bestHandIndex = j;
-					}
-				}
-				int handScore = hands[bestHandIndex].getHandScore();
-
-				//If the player's score is greater than 21
-				if (handScore > BLACKJACK) 
-				{
-					player.setBust(player.getBust() + 1);
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " busts with all hands";
-				}
-				//If the player's score is 21
-				else if (handScore == BLACKJACK)
-				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes with hand " + (bestHandIndex + 1)
-							+ " and regains $" + df.format(push);
-				}
-				//If the player's score is less than 21
-				else 
-				{
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " loses with all hands";
-				}
+				pushPayout(player);
+				return PUSHED;
 			}
-		} 
-		//Dealer's score less than 21
-		else 
+			player.setLoss(player.getLoss() + 1);
+			return LOST;
+		}
+		//If the player's score is 21
+		else if (handScore == BLACKJACK) 
 		{
-			//If player hasn't split
-			if (hands.length < 2) 
+			//If the player only has 2 cards
+			if(hand.getCardsRemaining() == 2)
 			{
-				int handScore = hands[0].getHandScore();
-				//If the player's score is greater than 21
-				if (handScore > BLACKJACK) 
-				{
-					player.setBust(player.getBust() + 1);
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " busts";
-				}
-				//If the player's score is 21
-				else if (handScore == BLACKJACK) 
-				{
-					//If the player only has 2 cards
-					if(hands[0].getCards().length == 2)
-					{
-						blackjackPayout(player);
-						return player.getName() + " has Blackjack";
-					}
-					//If the player has more than 2 cards
-					else
-					{
-						standardPayout(player);
-						return player.getName() + " wins hand";
-					}
-				}
-				//If the player's score is greater than the dealer's score
-				//and less than 21
-				else if (handScore > dealerScore && handScore < BLACKJACK) 
-				{
-					standardPayout(player);
-					return player.getName() + " wins hand";
-				}
-				//If the player's score equals the dealer's score
-				else if (handScore == dealerScore) 
-				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes and regains $" + df.format(push);
-				}
-				//If the player's score is less than the dealer's score and 
-				//less than Blackjack
-				else
-				{
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " loses this hand";
-				}
+				blackjackPayout(player);
+				return BLACKJACKWIN;
 			}
-			//If player has split
-			else 
+			standardPayout(player);
+			return WON;
+		}
+		//If the player's score is greater than the dealer's score
+		else if (handScore > dealerScore) 
+		{
+			standardPayout(player);
+			return WON;
+		}
+		//If the player's score equals the dealer's score
+		else if (handScore == dealerScore) 
+		{
+			pushPayout(player);
+			return PUSHED;
+		}
+		player.setLoss(player.getLoss() + 1);
+		return LOST;
+	}
+	
+	/**
+	 * Gets the index of the best hand of a player, the highest hand which 
+	 * hasn't bust or the lowest hand if every hand has bust.
+	 * 
+	 * @param player The player.
+	 * @return The index of the best hand.
+	 * @since 1.8.0
+	 */
+	private static int getBestHandIndex(Player player)
+	{
+		int bestHandIndex = 0;
+		for (int j = 1; j < player.getNumOfHands(); j++) 
+		{
+			int handScore = player.getHandView(j).getHandScore();
+			int bestScore = player.getHandView(bestHandIndex).getHandScore();
+			if ((handScore > bestScore && handScore <= BLACKJACK) || 
+				(handScore < bestScore && bestScore > BLACKJACK)) 
 			{
-				int bestHandIndex = 0;
-				for (int j = 1; j < hands.length; j++) 
-				{
-					if ((hands[j].getHandScore() > hands[bestHandIndex].getHandScore()
-						 && hands[j].getHandScore() <= BLACKJACK) || (hands[j].
-						 getHandScore() < hands[bestHandIndex].getHandScore() && hands
-						 [bestHandIndex].getHandScore() > BLACKJACK)) 
-					{
-						bestHandIndex = j;
-					}
-				}
-				int handScore = hands[bestHandIndex].getHandScore();
-
-				//If the player's score is greater than 21
-				if (handScore > BLACKJACK) 
-				{
-					player.setBust(player.getBust() + 1);
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " busts with all hands";
-				}
-				//If the player's score is 21
-				else if (handScore == BLACKJACK)
-				{
-					//If the player only has 2 cards
-					if(hands[bestHandIndex].getCards().length == 2)
-					{
-						blackjackPayout(player);
-						return player.getName() + " has Blackjack with hand " 
-								+ (bestHandIndex + 1);
-					}
-					//If the player has more than 2 cards
-					else
-					{
-						standardPayout(player);
-						return player.getName() + " wins hand " + (bestHandIndex + 1);
-					}
-					
-				}
-				//If the player's score is greater than the dealer's score
-				//and less than 21
-				else if (handScore > dealerScore && handScore < BLACKJACK) 
-				{
-					standardPayout(player);
-					return player.getName() + " wins with hand " + (bestHandIndex + 1);
-				}
-				//If the player's score equals the dealer's score
-				else if (handScore == dealerScore) 
-				{
-					double push = player.getWager();
-					pushPayout(player);
-					return player.getName() + " pushes with hand " + (bestHandIndex + 1) 
-							+ " and regains $" + df.format(push);
-				}
-				//If the player's score is less than the dealer's score
-				else
-				{
-					player.setLoss(player.getLoss() + 1);
-					return player.getName() + " loses with all hands";
-				}
+				bestHandIndex = j;
 			}
 		}
+		return bestHandIndex;
 	}
 	
 	/**
@@ -1159,15 +1613,335 @@ public class Table
 		payee.setPush(payee.getPush() + 1);
 	}
 	
+	/**
+	 * Plays a batch of complete rounds for every seat without the GUI, in the
+	 * same sequence of wagers, deal, insurance, player turns, dealer turn and
+	 * results as the GUI. This is the only copy of that sequence outside the
+	 * GUI, RoundEngine plays each of its rounds through it. The table, deck 
+	 * and decider are validated once before the batch and every round after
+	 * uses the unchecked cores of the public methods, the results are built
+	 * from the statistics of the players rather than from Strings.
+	 * <br><br>
+	 * Rounds are played until the number of rounds is reached or every player
+	 * is bankrupt. The table is prepared between rounds but the hands of the 
+	 * last round are left on the table the same as RoundEngine.playGame, 
+	 * every person must be prepared for a new round before another batch. The
+	 * current round isn't changed.
+	 * 
+	 * @param numOfRounds The maximum number of rounds to play.
+	 * @param decider Makes the decisions for every player, a CPU's wager and
+	 * insurance come from the table.
+	 * @return The statistics of every seat over the batch.
+	 * @throws TableException Thrown if the arguments or table are invalid or 
+	 * the decider makes an invalid decision.
+	 * @throws PlayerException Thrown if the decider makes an invalid decision.
+	 * @since 1.8.0
+	 */
+	public RoundBatchResult playRounds(int numOfRounds, Decider decider) throws
+	TableException, PlayerException
+	{
+		if(numOfRounds < 1)
+		{
+			throw new TableException("Invalid number of rounds: " + numOfRounds);
+		}
+		validateBatch(decider);
+		
+		//Every seat is cast once for the whole batch.
+		final int dealerIndex = players.length - 1;
+		Player[] seats = getSeats();
+		Person dealer = players[dealerIndex];
+		
+		RoundBatchResult result = new RoundBatchResult(this);
+		int round = 0;
+		long hands = 0;
+		boolean roundsRemaining = true;
+		while(roundsRemaining)
+		{
+			round++;
+			hands += playBatchRound(seats, dealer, decider);
+			
+			//If there are rounds remaining and any player's who aren't bankrupt.
+			roundsRemaining = round < numOfRounds && 
+					checkIfAnyPlayerNotBankrupt();
+			if(roundsRemaining)
+			{
+				for(int i = 0; i <= dealerIndex; i++)
+				{
+					prepareForNewRound(i);
+				}
+				reshuffleAtCutCard();
+			}
+		}
+		
+		result.finish(this, round, hands);
+		return result;
+	}
+	
+	/**
+	 * Plays a single complete round for every seat with the same core as 
+	 * playRounds, the hands of the round are left on the table.
+	 * 
+	 * @param decider Makes the decisions for every player, a CPU's wager and
+	 * insurance come from the table.
+	 * @return The number of hands played by players who weren't bankrupt.
+	 * @throws TableException Thrown if the decider or table is invalid or the
+	 * decider makes an invalid decision.
+	 * @throws PlayerException Thrown if the decider makes an invalid decision.
+	 * @since 1.8.0
+	 */
+	int playRound(Decider decider) throws TableException, PlayerException
+	{
+		validateBatch(decider);
+		return playBatchRound(getSeats(), players[players.length - 1], decider);
+	}
+	
+	/**
+	 * Validates the decider and table before rounds are played with the 
+	 * batch core.
+	 * 
+	 * @param decider Makes the decisions for every player.
+	 * @throws TableException Thrown if the decider is null or the table has
+	 * no players or deck.
+	 * @since 1.8.0
+	 */
+	private void validateBatch(Decider decider) throws TableException
+	{
+		if(decider == null)
+		{
+			throw new TableException("Null decider");
+		}
+		if(players == null || deck == null)
+		{
+			throw new TableException("Table has no players or deck");
+		}
+	}
+	
+	/**
+	 * Gets every player at the table, cast once for the batch core.
+	 * 
+	 * @return Every player, in the order of their seats.
+	 * @since 1.8.0
+	 */
+	private Player[] getSeats()
+	{
+		Player[] seats = new Player[players.length - 1];
+		for(int i = 0; i < seats.length; i++)
+		{
+			seats[i] = (Player)players[i];
+		}
+		return seats;
+	}
+	
+	/**
+	 * Plays a single round of a batch.
+	 * 
+	 * @param seats Every player at the table.
+	 * @param dealer The dealer.
+	 * @param decider Makes the decisions for every player.
+	 * @return The number of hands played by players who weren't bankrupt.
+	 * @throws TableException Thrown if the decider makes an invalid decision.
+	 * @throws PlayerException Thrown if the decider makes an invalid decision.
+	 * @since 1.8.0
+	 */
+	private int playBatchRound(Player[] seats, Person dealer, Decider decider) 
+			throws TableException, PlayerException
+	{
+		int hands = 0;
+		for(int i = 0; i < seats.length; i++)
+		{
+			Player player = seats[i];
+			if(!player.getBankrupt())
+			{
+				if(player instanceof CPU)
+				{
+					placeCPUWager(i, (CPU)player);
+				}
+				else
+				{
+					setHumanWager(i, decider.getWager(this, i));
+				}
+				hands++;
+			}
+		}
+		
+		//Every wager is placed before the deal as a policy may use the count.
+		for(int i = 0; i < seats.length; i++)
+		{
+			if(!seats[i].getBankrupt())
+			{
+				dealHand(i);
+			}
+		}
+		dealHand(seats.length);
+		
+		//If the dealer's first card is an Ace, begin the insurance round
+		//which ends the round if the dealer has Blackjack.
+		if(CardCode.isAce(dealer.getHandView(0).getCode(0)))
+		{
+			for(int i = 0; i < seats.length; i++)
+			{
+				Player player = seats[i];
+				if(!player.getBankrupt() && player.getHandView(0).
+						getHandScore() < BLACKJACK)
+				{
+					if(player instanceof CPU)
+					{
+						placeCPUInsurance(i, player);
+					}
+					else
+					{
+						double insurance = decider.getInsurance(this, i);
+						if(insurance > 0)
+						{
+							setHumanInsurance(i, insurance);
+						}
+					}
+				}
+			}
+			
+			if(attemptDealerCardFlip())
+			{
+				for(int i = 0; i < seats.length; i++)
+				{
+					settleInsurance(i, seats[i]);
+				}
+				return hands;
+			}
+			
+			for(int i = 0; i < seats.length; i++)
+			{
+				if(seats[i].getTookInsurance())
+				{
+					seats[i].setInsurance(0);
+					seats[i].setTookInsurance(false);
+					fireMoney(TableEvent.INSURANCE, i, 0, 0);
+				}
+			}
+		}
+		
+		for(int i = 0; i < seats.length; i++)
+		{
+			playBatchTurn(seats[i], i, decider);
+		}
+		
+		//Flips the dealer's second card and draws until 17.
+		flipDealersCard();
+		while(dealer.getHandView(0).getHandScore() < 17)
+		{
+			byte code = drawCode();
+			dealer.addToHand(code, 0);
+			fire(TableEvent.CARDDEALT, seats.length, 0, dealer.getHandView(0).
+					getCardsRemaining() - 1, code);
+		}
+		
+		for(int i = 0; i < seats.length; i++)
+		{
+			//Bankrupt players sit out the round.
+			if(!seats[i].getBankrupt())
+			{
+				settle(i, seats[i]);
+			}
+		}
+		return hands;
+	}
+	
+	/**
+	 * Plays out the turn of a player in a batch, every hand is played until 
+	 * the player stands, reaches Blackjack or busts.
+	 * 
+	 * @param player The player.
+	 * @param index The index of the player.
+	 * @param decider Makes the decisions for the player.
+	 * @throws TableException Thrown if the decider chooses an invalid action.
+	 * @throws PlayerException Thrown if the wager can't be doubled.
+	 * @since 1.8.0
+	 */
+	private void playBatchTurn(Player player, int index, Decider decider) 
+			throws TableException, PlayerException
+	{
+		//If the Player is bankrupt or the Player's score is greater than or
+		//equal to Blackjack.
+		if(player.getBankrupt() || player.getHandView(0).getHandScore() >= 
+				BLACKJACK)
+		{
+			return;
+		}
+		
+		int handIndex = 0;
+		boolean firstAction = true;
+		while(handIndex < player.getNumOfHands())
+		{
+			Action action = decider.getAction(this, index, handIndex, 
+					firstAction);
+			boolean handOver = false;
+			
+			if(action == Action.HIT)
+			{
+				fire(TableEvent.ACTION, index, handIndex, action.ordinal(), 0);
+				drawToHand(index, player, handIndex);
+			}
+			else if(action == Action.STAND)
+			{
+				handOver = true;
+			}
+			else if(action == Action.DOUBLE_DOWN && firstAction && player.
+					getTotalMoney() >= player.getWager())
+			{
+				player.setWager(player.getWager() * 2);
+				fire(TableEvent.ACTION, index, handIndex, action.ordinal(), 0);
+				fireMoney(TableEvent.WAGER, index, 0, player.getWager());
+				drawToHand(index, player, handIndex);
+				handOver = true;
+			}
+			else if(action == Action.SPLIT && firstAction && player.
+					getNumOfHands() == 1 && player.canSplit())
+			{
+				fire(TableEvent.ACTION, index, handIndex, action.ordinal(), 0);
+				splitHand(index, player);
+			}
+			else if(action == Action.SURRENDER && firstAction && player.
+					getNumOfHands() == 1)
+			{
+				fire(TableEvent.ACTION, index, handIndex, action.ordinal(), 0);
+				surrenderHand(index, player);
+				return;
+			}
+			else
+			{
+				throw new TableException("Invalid action for " + player.
+						getName() + ": " + action);
+			}
+			
+			firstAction = action == Action.SPLIT;
+			//The hand is over if the player stands, doubles down, reaches
+			//Blackjack or busts.
+			if(handOver || player.getHandView(handIndex).getHandScore() >= 
+					BLACKJACK)
+			{
+				handIndex++;
+				firstAction = true;
+			}
+		}
+	}
+	
 	/**
 	 * Resets all of the player's hands, wagers, and if they've surrendered set 
 	 * back to default state and checks if they have enough money to continue.
+	 * When the dealer is reset a continuous shuffling machine takes back the
+	 * discards.
 	 * 
 	 * @since 1.0.0
 	 */
 	public void prepareForNewRound(int index)
 	{
 		players[index].startingHand();
+		//A continuous shuffling machine takes back the discards of the round.
+		boolean returnedDiscards = index == getDealerIndex() && deck.
+				getContinuousShuffle();
+		if(returnedDiscards)
+		{
+			deck.returnDiscards();
+		}
 		if(players[index] instanceof Player)
 		{
 			Player player = (Player)players[index];
@@ -1202,5 +1976,11 @@ public class Table
 				player.setBankrupt(true);
 			}
 		}
+		
+		fire(TableEvent.CLEARED, index, 0, 0, 0);
+		if(returnedDiscards)
+		{
+			fire(TableEvent.SHUFFLED, 0, 0, 0, 0);
+		}
 	}
 }
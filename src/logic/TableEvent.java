@@ -0,0 +1,346 @@
+package logic;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact primitive encoding of a change to a table, allowing the table to
+ * tell its listeners what changed without creating an object for every
+ * change. Consumers apply each change instead of reading the whole table.
+ * <br><br>
+ * An event is laid out in a long as
+ * <br><pre>
+ * bits 63-56 | bits 55-48 | bits 47-40 | bits 39-32 | bits 31-0
+ * type       | person     | hand       | position   | value
+ * </pre>
+ * and is written to a stream as its type followed by only the fields the
+ * type uses
+ * <br><pre>
+ * CARDDEALT   person, hand, position, code          5 bytes
+ * CARDFLIPPED person, hand, position, code          5 bytes
+ * WAGER       person, i32 cents                     6 bytes
+ * INSURANCE   person, i32 cents                     6 bytes
+ * SPLIT       person                                2 bytes
+ * RESULT      person, outcome, i32 money in cents   7 bytes
+ * CLEARED     person                                2 bytes
+ * SHUFFLED                                          1 byte
+ * ACTION      person, hand, action                  4 bytes
+ * </pre>
+ * The code of a card dealt face down is its real code, a consumer which
+ * mustn't see it checks the face up bit of the code.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public final class TableEvent
+{
+	/**
+	 * A card was dealt to a hand, the value is the code of the card.
+	 */
+	public static final int CARDDEALT = 1;
+	/**
+	 * A card in a hand was turned face up, the value is its new code.
+	 */
+	public static final int CARDFLIPPED = 2;
+	/**
+	 * The wager of a player changed, the value is the wager in cents.
+	 */
+	public static final int WAGER = 3;
+	/**
+	 * The insurance of a player changed, the value is the insurance in
+	 * cents.
+	 */
+	public static final int INSURANCE = 4;
+	/**
+	 * A player split their hand, the second card of hand 1 moved to hand 2.
+	 */
+	public static final int SPLIT = 5;
+	/**
+	 * The result of a player's round was posted, the position is the outcome
+	 * and the value is the player's money in cents. After the dealer's
+	 * Blackjack, WON means the insurance bet was won.
+	 */
+	public static final int RESULT = 6;
+	/**
+	 * Every hand of a person was cleared and their wager reset for a new
+	 * round.
+	 */
+	public static final int CLEARED = 7;
+	/**
+	 * The cards were shuffled back into the deck, including the discards
+	 * taken back by a continuous shuffling machine.
+	 */
+	public static final int SHUFFLED = 8;
+	/**
+	 * A player took an action on a hand, the position is the ordinal of the
+	 * action. Standing doesn't change the table so it isn't reported.
+	 */
+	public static final int ACTION = 9;
+	/**
+	 * The length of each type when written to a stream, indexed by type.
+	 */
+	private static final int[] LENGTHS = {0, 5, 5, 6, 6, 2, 7, 2, 1, 4};
+	/**
+	 * Number of bits the type is shifted by.
+	 */
+	private static final int TYPE_SHIFT = 56;
+	/**
+	 * Number of bits the person is shifted by.
+	 */
+	private static final int PERSON_SHIFT = 48;
+	/**
+	 * Number of bits the hand is shifted by.
+	 */
+	private static final int HAND_SHIFT = 40;
+	/**
+	 * Number of bits the position is shifted by.
+	 */
+	private static final int POSITION_SHIFT = 32;
+	/**
+	 * Mask of each byte field once shifted.
+	 */
+	private static final int BYTE_MASK = 0xFF;
+
+	/**
+	 * Prevents the utility class from being constructed.
+	 *
+	 * @since 1.8.0
+	 */
+	private TableEvent()
+	{
+		super();
+	}
+
+	/**
+	 * Encodes the fields of an event.
+	 *
+	 * @param type The type of the event.
+	 * @param person The index of the person.
+	 * @param hand The index of the hand.
+	 * @param position The position in the hand, the outcome or the action.
+	 * @param value The code, amount in cents or money in cents.
+	 * @return The event.
+	 * @since 1.8.0
+	 */
+	public static long encode(int type, int person, int hand, int position,
+			int value)
+	{
+		return (long) (type & BYTE_MASK) << TYPE_SHIFT |
+				(long) (person & BYTE_MASK) << PERSON_SHIFT |
+				(long) (hand & BYTE_MASK) << HAND_SHIFT |
+				(long) (position & BYTE_MASK) << POSITION_SHIFT |
+				(value & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the type of an event.
+	 *
+	 * @param event The event.
+	 * @return The type.
+	 * @since 1.8.0
+	 */
+	public static int getType(long event)
+	{
+		return (int) (event >>> TYPE_SHIFT) & BYTE_MASK;
+	}
+
+	/**
+	 * Gets the index of the person of an event.
+	 *
+	 * @param event The event.
+	 * @return The index of the person.
+	 * @since 1.8.0
+	 */
+	public static int getPerson(long event)
+	{
+		return (int) (event >>> PERSON_SHIFT) & BYTE_MASK;
+	}
+
+	/**
+	 * Gets the index of the hand of an event.
+	 *
+	 * @param event The event.
+	 * @return The index of the hand.
+	 * @since 1.8.0
+	 */
+	public static int getHand(long event)
+	{
+		return (int) (event >>> HAND_SHIFT) & BYTE_MASK;
+	}
+
+	/**
+	 * Gets the position in the hand of an event, the outcome of a RESULT.
+	 *
+	 * @param event The event.
+	 * @return The position or outcome.
+	 * @since 1.8.0
+	 */
+	public static int getPosition(long event)
+	{
+		return (int) (event >>> POSITION_SHIFT) & BYTE_MASK;
+	}
+
+	/**
+	 * Gets the value of an event.
+	 *
+	 * @param event The event.
+	 * @return The code or amount in cents.
+	 * @since 1.8.0
+	 */
+	public static int getValue(long event)
+	{
+		return (int) event;
+	}
+
+	/**
+	 * Gets the code of the card of a CARDDEALT or CARDFLIPPED event.
+	 *
+	 * @param event The event.
+	 * @return The code of the card.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public static byte getCode(long event)
+	{
+		return (byte) event;
+	}
+
+	/**
+	 * Converts an amount of money to whole cents.
+	 *
+	 * @param money The amount of money.
+	 * @return The amount in cents.
+	 * @since 1.8.0
+	 */
+	public static int toCents(double money)
+	{
+		return (int) Math.round(money * 100);
+	}
+
+	/**
+	 * Converts whole cents to an amount of money.
+	 *
+	 * @param cents The amount in cents.
+	 * @return The amount of money.
+	 * @since 1.8.0
+	 */
+	public static double fromCents(int cents)
+	{
+		return cents / 100.0;
+	}
+
+	/**
+	 * Gets the number of bytes an event takes when written to a stream.
+	 *
+	 * @param type The type of the event.
+	 * @return The length, 0 if the type is invalid.
+	 * @since 1.8.0
+	 */
+	public static int getLength(int type)
+	{
+		if(type < 0 || type >= LENGTHS.length)
+		{
+			return 0;
+		}
+		return LENGTHS[type];
+	}
+
+	/**
+	 * Writes an event to a buffer with only the fields its type uses.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param event The event.
+	 * @since 1.8.0
+	 */
+	public static void write(ByteBuffer buffer, long event)
+	{
+		int type = getType(event);
+		buffer.put((byte) type);
+		switch(type)
+		{
+			case CARDDEALT:
+			case CARDFLIPPED:
+				buffer.put((byte) getPerson(event));
+				buffer.put((byte) getHand(event));
+				buffer.put((byte) getPosition(event));
+				buffer.put(getCode(event));
+				break;
+			case WAGER:
+			case INSURANCE:
+				buffer.put((byte) getPerson(event));
+				buffer.putInt(getValue(event));
+				break;
+			case RESULT:
+				buffer.put((byte) getPerson(event));
+				buffer.put((byte) getPosition(event));
+				buffer.putInt(getValue(event));
+				break;
+			case SPLIT:
+			case CLEARED:
+				buffer.put((byte) getPerson(event));
+				break;
+			case ACTION:
+				buffer.put((byte) getPerson(event));
+				buffer.put((byte) getHand(event));
+				buffer.put((byte) getPosition(event));
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Reads an event written by write.
+	 *
+	 * @param buffer The buffer being read.
+	 * @return The event.
+	 * @throws TableException Thrown if the type is invalid.
+	 * @since 1.8.0
+	 */
+	public static long read(ByteBuffer buffer) throws TableException
+	{
+		int type = buffer.get() & BYTE_MASK;
+		switch(type)
+		{
+			case CARDDEALT:
+			case CARDFLIPPED:
+				return encode(type, buffer.get(), buffer.get(), buffer.get(),
+						buffer.get() & BYTE_MASK);
+			case WAGER:
+			case INSURANCE:
+				return encode(type, buffer.get(), 0, 0, buffer.getInt());
+			case RESULT:
+				return encode(type, buffer.get(), 0, buffer.get(), buffer.
+						getInt());
+			case SPLIT:
+			case CLEARED:
+				return encode(type, buffer.get(), 0, 0, 0);
+			case SHUFFLED:
+				return encode(type, 0, 0, 0, 0);
+			case ACTION:
+				return encode(type, buffer.get(), buffer.get(), buffer.get(), 0);
+			default:
+				throw new TableException("Invalid event type: " + type);
+		}
+	}
+
+	/**
+	 * String representation of an event in the form
+	 * <br><pre>
+	 * CARDDEALT person 0 hand 0 position 1 value 76
+	 * </pre>
+	 *
+	 * @param event The event.
+	 * @return String representation of the event.
+	 * @since 1.8.0
+	 */
+	public static String toString(long event)
+	{
+		final String[] names = {"NONE", "CARDDEALT", "CARDFLIPPED", "WAGER",
+				"INSURANCE", "SPLIT", "RESULT", "CLEARED", "SHUFFLED", "ACTION"};
+		int type = getType(event);
+		String name = type < names.length ? names[type] : "" + type;
+		return name + " person " + getPerson(event) + " hand " + getHand(event)
+				+ " position " + getPosition(event) + " value " + getValue(event);
+	}
+}
@@ -0,0 +1,908 @@
+package logic;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import card.DeckException;
+import player.Action;
+import player.CPUException;
+import player.HumanException;
+import player.PlayerException;
+import player.PlayerView;
+
+/**
+ * Hosts many independent tables in one JVM, the rounds of each table are
+ * played by a RoundEngine on a thread of its own. When a human seat has to
+ * decide the thread of the table blocks until the decision is submitted or
+ * the seat's decision timeout expires, in which case the seat takes the
+ * minimum wager, no insurance or stands. Submitting a decision never blocks,
+ * it's validated on the thread of the table and a decision the table
+ * rejects is reported to the HostListener.
+ * <br><br>
+ * Each table runs on a virtual thread when the JVM provides them, so
+ * thousands of mostly idle tables only cost the memory of their state.
+ * Otherwise each table runs on a daemon platform thread with a small stack.
+ * <br><br>
+ * Only one seat of a table decides at a time, a table is safe to read from
+ * another thread while one of its seats is awaiting a decision.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class TableHost
+{
+	/**
+	 * No seat of the table is awaiting a decision.
+	 */
+	public static final int NONE = -1;
+	/**
+	 * A seat is awaiting its wager.
+	 */
+	public static final int WAGER = 0;
+	/**
+	 * A seat is awaiting its insurance.
+	 */
+	public static final int INSURANCE = 1;
+	/**
+	 * A seat is awaiting its next action.
+	 */
+	public static final int ACTION = 2;
+	/**
+	 * The default time a seat has to make a decision in milliseconds.
+	 */
+	public static final long DEFAULTDECISIONTIMEOUT = 30000;
+	/**
+	 * The maximum time a seat can have to make a decision in milliseconds.
+	 */
+	public static final long MAXDECISIONTIMEOUT = 600000;
+	/**
+	 * The most submissions queued for the decision being awaited.
+	 */
+	private static final int MAXSUBMISSIONS = 8;
+	/**
+	 * The stack size of a platform thread when virtual threads aren't
+	 * available.
+	 */
+	private static final long PLATFORMSTACKSIZE = 256 * 1024;
+	/**
+	 * Creates the thread of each table.
+	 */
+	private ThreadFactory threadFactory;
+	/**
+	 * Whether the threads are virtual threads.
+	 */
+	private boolean virtualThreads;
+	/**
+	 * Plays the CPU seats of every table, basic strategy is stateless so it's
+	 * shared.
+	 */
+	private Decider cpuDecider;
+	/**
+	 * Listens to every table, null if there isn't a listener.
+	 */
+	private volatile HostListener listener;
+	/**
+	 * The tables being hosted by their id.
+	 */
+	private ConcurrentHashMap<Integer, HostedTable> tables;
+	/**
+	 * The id of the next table created.
+	 */
+	private AtomicInteger nextId;
+
+	/**
+	 * Constructs a host without any tables.
+	 *
+	 * @since 1.8.0
+	 */
+	public TableHost()
+	{
+		tables = new ConcurrentHashMap<Integer, HostedTable>();
+		nextId = new AtomicInteger();
+		cpuDecider = new CPUDecider();
+		try
+		{
+			//Virtual threads are looked up reflectively so the host still
+			//runs on a JVM without them.
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Method factory = Class.forName("java.lang.Thread$Builder").
+					getMethod("factory");
+			threadFactory = (ThreadFactory) factory.invoke(builder);
+			virtualThreads = true;
+		}
+		catch(ReflectiveOperationException | UnsupportedOperationException e)
+		{
+			threadFactory = runnable ->
+			{
+				Thread thread = new Thread(null, runnable, "Table",
+						PLATFORMSTACKSIZE);
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+	}
+
+	/**
+	 * Gets whether each table runs on a virtual thread.
+	 *
+	 * @return Whether the threads are virtual threads.
+	 * @since 1.8.0
+	 */
+	public boolean getVirtualThreads()
+	{
+		return virtualThreads;
+	}
+
+	/**
+	 * Gets the listener of every table.
+	 *
+	 * @return The listener, null if there isn't one.
+	 * @since 1.8.0
+	 */
+	public HostListener getHostListener()
+	{
+		return listener;
+	}
+
+	/**
+	 * Sets the listener of every table.
+	 *
+	 * @param listener The listener, null to remove it.
+	 * @since 1.8.0
+	 */
+	public void setHostListener(HostListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Gets the number of tables being hosted.
+	 *
+	 * @return The number of tables.
+	 * @since 1.8.0
+	 */
+	public int getNumOfTables()
+	{
+		return tables.size();
+	}
+
+	/**
+	 * Creates a table which isn't running yet, the humans take the first
+	 * seats.
+	 *
+	 * @param numOfHumanPlayers The number of human players.
+	 * @param numOfCPUPlayers The number of CPU players.
+	 * @param numOfDecks The number of standard decks in the shoe.
+	 * @param totalRounds The number of rounds in the game.
+	 * @return The id of the table.
+	 * @throws PlayerException Thrown if the number of players is invalid.
+	 * @throws HumanException Thrown if the number of humans is invalid.
+	 * @throws CPUException Thrown if the number of CPUs is invalid.
+	 * @throws DeckException Thrown if the number of decks is invalid.
+	 * @throws TableException Thrown if the number of rounds is invalid.
+	 * @since 1.8.0
+	 */
+	public int createTable(int numOfHumanPlayers, int numOfCPUPlayers,
+			int numOfDecks, int totalRounds) throws PlayerException,
+			HumanException, CPUException, DeckException, TableException
+	{
+		Table table = new Table();
+		table.createPlayers(numOfHumanPlayers, numOfCPUPlayers);
+		table.createDeck(numOfDecks);
+		table.setTotalRounds(totalRounds);
+
+		int id = nextId.getAndIncrement();
+		tables.put(id, new HostedTable(this, id, table, numOfHumanPlayers));
+		return id;
+	}
+
+	/**
+	 * Starts playing the rounds of a table on its own thread.
+	 *
+	 * @param id The id of the table.
+	 * @throws TableException Thrown if the table doesn't exist or has already
+	 * been started.
+	 * @since 1.8.0
+	 */
+	public void startTable(int id) throws TableException
+	{
+		HostedTable hosted = getHostedTable(id);
+		synchronized(hosted)
+		{
+			if(hosted.thread != null)
+			{
+				throw new TableException("Table already started: " + id);
+			}
+			hosted.thread = threadFactory.newThread(hosted);
+			hosted.thread.setName("Table " + id);
+			hosted.thread.start();
+		}
+	}
+
+	/**
+	 * Stops a table and removes it from the host, any seat awaiting a
+	 * decision takes its default and the rest of the round is played out
+	 * without waiting.
+	 *
+	 * @param id The id of the table.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public void closeTable(int id) throws TableException
+	{
+		HostedTable hosted = tables.remove(id);
+		if(hosted == null)
+		{
+			throw new TableException("Invalid table: " + id);
+		}
+
+		hosted.closed = true;
+		synchronized(hosted)
+		{
+			if(hosted.thread != null)
+			{
+				hosted.thread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Closes every table.
+	 *
+	 * @since 1.8.0
+	 */
+	public void shutdown()
+	{
+		for(Integer id : tables.keySet())
+		{
+			try
+			{
+				closeTable(id);
+			}
+			catch(TableException e)
+			{
+				//The table was closed by another thread.
+			}
+		}
+	}
+
+	/**
+	 * Waits for the thread of a table to finish.
+	 *
+	 * @param id The id of the table.
+	 * @param timeoutMillis The maximum time to wait in milliseconds.
+	 * @return Whether the table finished.
+	 * @throws TableException Thrown if the table doesn't exist or hasn't been
+	 * started.
+	 * @throws InterruptedException Thrown if the waiting thread is
+	 * interrupted.
+	 * @since 1.8.0
+	 */
+	public boolean awaitFinished(int id, long timeoutMillis) throws
+			TableException, InterruptedException
+	{
+		HostedTable hosted = getHostedTable(id);
+		Thread thread;
+		synchronized(hosted)
+		{
+			thread = hosted.thread;
+		}
+		if(thread == null)
+		{
+			throw new TableException("Table not started: " + id);
+		}
+
+		thread.join(Math.max(timeoutMillis, 1));
+		return !thread.isAlive();
+	}
+
+	/**
+	 * Gets whether a table has finished its game.
+	 *
+	 * @param id The id of the table.
+	 * @return Whether the table has finished.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public boolean getFinished(int id) throws TableException
+	{
+		return getHostedTable(id).finished;
+	}
+
+	/**
+	 * Gets a hosted table, it should only be read while one of its seats is
+	 * awaiting a decision or once it has finished.
+	 *
+	 * @param id The id of the table.
+	 * @return The table.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public Table getTable(int id) throws TableException
+	{
+		return getHostedTable(id).table;
+	}
+
+	/**
+	 * Gets the seat of a table awaiting a decision.
+	 *
+	 * @param id The id of the table.
+	 * @return The index of the seat or NONE.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public int getAwaitingSeat(int id) throws TableException
+	{
+		return getHostedTable(id).awaitingSeat;
+	}
+
+	/**
+	 * Gets the decision a table is awaiting.
+	 *
+	 * @param id The id of the table.
+	 * @return WAGER, INSURANCE, ACTION or NONE.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public int getAwaitingDecision(int id) throws TableException
+	{
+		return getHostedTable(id).awaitingDecision;
+	}
+
+	/**
+	 * Gets the index of the hand awaiting an action.
+	 *
+	 * @param id The id of the table.
+	 * @return The index of the hand.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public int getAwaitingHandIndex(int id) throws TableException
+	{
+		return getHostedTable(id).awaitingHandIndex;
+	}
+
+	/**
+	 * Gets whether the action being awaited is the first action of the hand.
+	 *
+	 * @param id The id of the table.
+	 * @return Whether it's the first action.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public boolean getAwaitingFirstAction(int id) throws TableException
+	{
+		return getHostedTable(id).awaitingFirstAction;
+	}
+
+	/**
+	 * Gets the time a seat has to make a decision.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @return The decision timeout in milliseconds.
+	 * @throws TableException Thrown if the table or seat doesn't exist.
+	 * @since 1.8.0
+	 */
+	public long getDecisionTimeout(int id, int seat) throws TableException
+	{
+		HostedTable hosted = getHostedTable(id);
+		validateSeat(hosted, seat);
+		return hosted.decisionTimeouts.get(seat);
+	}
+
+	/**
+	 * Sets the time a seat has to make a decision.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param timeoutMillis The decision timeout in milliseconds.
+	 * @throws TableException Thrown if the table or seat doesn't exist or the
+	 * timeout is less than 1 or greater than the maximum.
+	 * @since 1.8.0
+	 */
+	public void setDecisionTimeout(int id, int seat, long timeoutMillis)
+			throws TableException
+	{
+		HostedTable hosted = getHostedTable(id);
+		validateSeat(hosted, seat);
+		if(timeoutMillis < 1 || timeoutMillis > MAXDECISIONTIMEOUT)
+		{
+			throw new TableException("Invalid decision timeout: " +
+					timeoutMillis);
+		}
+		hosted.decisionTimeouts.set(seat, timeoutMillis);
+	}
+
+	/**
+	 * Submits the wager of a seat awaiting its wager.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param wager The wager.
+	 * @return Whether the wager was queued, a queued wager the table rejects is
+	 * reported to the HostListener.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public boolean submitWager(int id, int seat, double wager) throws
+			TableException
+	{
+		return getHostedTable(id).submit(seat, WAGER, wager, null);
+	}
+
+	/**
+	 * Submits the insurance of a seat awaiting its insurance.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param insurance The insurance, 0 if the seat doesn't take insurance.
+	 * @return Whether the insurance was queued, a queued insurance the table rejects is
+	 * reported to the HostListener.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public boolean submitInsurance(int id, int seat, double insurance) throws
+			TableException
+	{
+		return getHostedTable(id).submit(seat, INSURANCE, insurance, null);
+	}
+
+	/**
+	 * Submits the next action of a seat awaiting its action, the action is
+	 * only accepted if the RoundEngine allows it.
+	 *
+	 * @param id The id of the table.
+	 * @param seat The index of the seat.
+	 * @param action The action.
+	 * @return Whether the action was queued, a queued action the table rejects is
+	 * reported to the HostListener.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	public boolean submitAction(int id, int seat, Action action) throws
+			TableException
+	{
+		if(action == null)
+		{
+			return false;
+		}
+		return getHostedTable(id).submit(seat, ACTION, 0, action);
+	}
+
+	/**
+	 * Gets a hosted table.
+	 *
+	 * @param id The id of the table.
+	 * @return The hosted table.
+	 * @throws TableException Thrown if the table doesn't exist.
+	 * @since 1.8.0
+	 */
+	private HostedTable getHostedTable(int id) throws TableException
+	{
+		HostedTable hosted = tables.get(id);
+		if(hosted == null)
+		{
+			throw new TableException("Invalid table: " + id);
+		}
+		return hosted;
+	}
+
+	/**
+	 * Validates the index of a human seat.
+	 *
+	 * @param hosted The hosted table.
+	 * @param seat The index of the seat.
+	 * @throws TableException Thrown if the seat isn't a human seat.
+	 * @since 1.8.0
+	 */
+	private static void validateSeat(HostedTable hosted, int seat) throws
+			TableException
+	{
+		if(seat < 0 || seat >= hosted.decisionTimeouts.length())
+		{
+			throw new TableException("Invalid seat: " + seat);
+		}
+	}
+
+	/**
+	 * A table with the state of the seat awaiting a decision, it decides for
+	 * the humans by waiting for their submissions.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private static class HostedTable implements Decider, Runnable
+	{
+		/**
+		 * The table being played.
+		 */
+		private Table table;
+		/**
+		 * The host of the table.
+		 */
+		private TableHost host;
+		/**
+		 * The id of the table.
+		 */
+		private int id;
+		/**
+		 * The time each human seat has to make a decision in milliseconds,
+		 * set by any thread and read by the thread of the table.
+		 */
+		private AtomicLongArray decisionTimeouts;
+		/**
+		 * The decisions submitted for the seat awaiting a decision.
+		 */
+		private ArrayBlockingQueue<Submission> decisions;
+		/**
+		 * Guards the state of the decision being awaited, so a submission is
+		 * only queued while the decision it was made for is being awaited.
+		 */
+		private Object awaitLock;
+		/**
+		 * The number of decisions awaited, a submission is tagged with the
+		 * decision it was made for.
+		 */
+		private long generation;
+		/**
+		 * The thread playing the table.
+		 */
+		private Thread thread;
+		/**
+		 * The seat awaiting a decision.
+		 */
+		private volatile int awaitingSeat = NONE;
+		/**
+		 * The decision being awaited.
+		 */
+		private volatile int awaitingDecision = NONE;
+		/**
+		 * The hand awaiting an action.
+		 */
+		private volatile int awaitingHandIndex;
+		/**
+		 * Whether the action being awaited is the first action of the hand.
+		 */
+		private volatile boolean awaitingFirstAction;
+		/**
+		 * Whether the table has been closed.
+		 */
+		private volatile boolean closed;
+		/**
+		 * Whether the game has finished.
+		 */
+		private volatile boolean finished;
+
+		/**
+		 * Constructs a hosted table.
+		 *
+		 * @param host The host of the table.
+		 * @param id The id of the table.
+		 * @param table The table being played.
+		 * @param numOfHumanPlayers The number of human seats.
+		 * @since 1.8.0
+		 */
+		private HostedTable(TableHost host, int id, Table table,
+				int numOfHumanPlayers)
+		{
+			this.host = host;
+			this.id = id;
+			this.table = table;
+			decisionTimeouts = new AtomicLongArray(numOfHumanPlayers);
+			for(int i = 0; i < numOfHumanPlayers; i++)
+			{
+				decisionTimeouts.set(i, DEFAULTDECISIONTIMEOUT);
+			}
+			decisions = new ArrayBlockingQueue<Submission>(MAXSUBMISSIONS);
+			awaitLock = new Object();
+		}
+
+		/**
+		 * Plays rounds until the game is over or the table is closed.
+		 *
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 * @since 1.8.0
+		 */
+		@Override
+		public void run()
+		{
+			RoundEngine engine = new RoundEngine(table, this, host.cpuDecider);
+			try
+			{
+				boolean roundsRemaining = true;
+				while(roundsRemaining && !closed)
+				{
+					roundsRemaining = engine.playRound();
+				}
+			}
+			catch(TableException | PlayerException e)
+			{
+				//Only this table ends, the rest of the host keeps running.
+				e.printStackTrace();
+			}
+			finally
+			{
+				finished = true;
+				HostListener listener = host.listener;
+				if(listener != null)
+				{
+					listener.tableFinished(id);
+				}
+			}
+		}
+
+		/**
+		 * Waits for the wager of a human seat, the minimum wager if it times
+		 * out.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getWager(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getWager(Table table, int index)
+		{
+			Submission submitted = await(index, WAGER, 0, false);
+			return submitted == null ? Table.MINWAGER : submitted.value;
+		}
+
+		/**
+		 * Waits for the insurance of a human seat, no insurance if it times
+		 * out.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getInsurance(logic.Table, int)
+		 * @since 1.8.0
+		 */
+		@Override
+		public double getInsurance(Table table, int index)
+		{
+			Submission submitted = await(index, INSURANCE, 0, false);
+			return submitted == null ? 0 : submitted.value;
+		}
+
+		/**
+		 * Waits for the action of a human seat, stands if it times out.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.Decider#getAction(logic.Table, int, int, boolean)
+		 * @since 1.8.0
+		 */
+		@Override
+		public Action getAction(Table table, int index, int handIndex,
+				boolean firstAction)
+		{
+			Submission submitted = await(index, ACTION, handIndex, firstAction);
+			return submitted == null ? Action.STAND : submitted.action;
+		}
+
+		/**
+		 * Queues a decision of a seat for the thread of the table without
+		 * waiting for it. The submission is only queued if the seat is
+		 * awaiting the decision, and is tagged with the decision so it can't
+		 * be taken as a later one.
+		 *
+		 * @param seat The index of the seat.
+		 * @param decision The decision.
+		 * @param value The wager or insurance.
+		 * @param action The action.
+		 * @return Whether the decision was queued.
+		 * @since 1.8.0
+		 */
+		private boolean submit(int seat, int decision, double value,
+				Action action)
+		{
+			synchronized(awaitLock)
+			{
+				if(closed || awaitingSeat != seat || awaitingDecision !=
+						decision)
+				{
+					return false;
+				}
+
+				return decisions.offer(new Submission(generation, seat,
+						decision, value, action));
+			}
+		}
+
+		/**
+		 * Blocks the thread of the table until a seat submits a valid
+		 * decision or its timeout expires. Invalid submissions are rejected
+		 * and the seat keeps waiting, as are submissions left queued once
+		 * the seat stops waiting.
+		 *
+		 * @param seat The index of the seat.
+		 * @param decision The decision being awaited.
+		 * @param handIndex The index of the hand.
+		 * @param firstAction Whether this is the first action of the hand.
+		 * @return The decision, null if the seat timed out.
+		 * @since 1.8.0
+		 */
+		private Submission await(int seat, int decision, int handIndex,
+				boolean firstAction)
+		{
+			if(closed)
+			{
+				return null;
+			}
+
+			long awaited;
+			synchronized(awaitLock)
+			{
+				awaited = ++generation;
+				awaitingHandIndex = handIndex;
+				awaitingFirstAction = firstAction;
+				awaitingDecision = decision;
+				awaitingSeat = seat;
+			}
+			HostListener listener = host.listener;
+			if(listener != null)
+			{
+				listener.decisionAwaited(id, seat, decision);
+			}
+
+			Submission accepted = null;
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+					decisionTimeouts.get(seat));
+			try
+			{
+				while(accepted == null)
+				{
+					Submission submitted = decisions.poll(deadline - System.
+							nanoTime(), TimeUnit.NANOSECONDS);
+					if(submitted == null)
+					{
+						break;
+					}
+
+					if(submitted.generation == awaited && submitted.seat ==
+							seat && submitted.decision == decision && validate(
+							submitted, firstAction))
+					{
+						accepted = submitted;
+					}
+					else
+					{
+						reject(submitted);
+					}
+				}
+			}
+			catch(InterruptedException e)
+			{
+				//The table was closed, the round is played out with defaults.
+			}
+			finally
+			{
+				synchronized(awaitLock)
+				{
+					awaitingSeat = NONE;
+					awaitingDecision = NONE;
+				}
+
+				//Nothing is queued once the seat has stopped waiting.
+				Submission late;
+				while((late = decisions.poll()) != null)
+				{
+					reject(late);
+				}
+			}
+			return accepted;
+		}
+
+		/**
+		 * Reports a rejected submission to the listener of the host.
+		 *
+		 * @param submitted The decision.
+		 * @since 1.8.0
+		 */
+		private void reject(Submission submitted)
+		{
+			HostListener listener = host.listener;
+			if(listener != null)
+			{
+				listener.decisionRejected(id, submitted.seat, submitted.
+						decision);
+			}
+		}
+
+		/**
+		 * Validates a decision against the seat, only called on the thread of
+		 * the table.
+		 *
+		 * @param submitted The decision.
+		 * @param firstAction Whether this is the first action of the hand.
+		 * @return Whether the decision is valid.
+		 * @since 1.8.0
+		 */
+		private boolean validate(Submission submitted, boolean firstAction)
+		{
+			PlayerView player = table.getPlayerView(submitted.seat);
+			switch(submitted.decision)
+			{
+				case WAGER:
+					return submitted.value >= Table.MINWAGER && submitted.value
+							<= Table.MAXWAGER && submitted.value <= player.
+							getTotalMoney();
+				case INSURANCE:
+					return submitted.value >= 0 && submitted.value <= player.
+							getWager() / 2 && submitted.value <= player.
+							getTotalMoney();
+				default:
+					switch(submitted.action)
+					{
+						case DOUBLE_DOWN:
+							return firstAction && player.getTotalMoney() >=
+									player.getWager();
+						case SPLIT:
+							return firstAction && player.getNumOfHands() == 1 &&
+									player.canSplit();
+						case SURRENDER:
+							return firstAction && player.getNumOfHands() == 1;
+						default:
+							return true;
+					}
+			}
+		}
+	}
+
+	/**
+	 * A decision submitted for a seat, tagged with the decision it was made
+	 * for.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private static class Submission
+	{
+		/**
+		 * The number of the decision it was made for.
+		 */
+		private long generation;
+		/**
+		 * The index of the seat.
+		 */
+		private int seat;
+		/**
+		 * WAGER, INSURANCE or ACTION.
+		 */
+		private int decision;
+		/**
+		 * The wager or insurance.
+		 */
+		private double value;
+		/**
+		 * The action.
+		 */
+		private Action action;
+
+		/**
+		 * Constructs a submission.
+		 *
+		 * @param generation The number of the decision it was made for.
+		 * @param seat The index of the seat.
+		 * @param decision WAGER, INSURANCE or ACTION.
+		 * @param value The wager or insurance.
+		 * @param action The action.
+		 * @since 1.8.0
+		 */
+		private Submission(long generation, int seat, int decision,
+				double value, Action action)
+		{
+			this.generation = generation;
+			this.seat = seat;
+			this.decision = decision;
+			this.value = value;
+			this.action = action;
+		}
+	}
+}
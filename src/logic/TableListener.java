@@ -0,0 +1,23 @@
+package logic;
+
+/**
+ * Listens to the changes of a table. The listener is called on the thread
+ * changing the table, straight after each change, so it mustn't block or
+ * change the table itself.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface TableListener
+{
+	/**
+	 * Called after the table changes.
+	 *
+	 * @param table The table which changed.
+	 * @param event The change encoded by TableEvent.
+	 * @see logic.TableEvent
+	 * @since 1.8.0
+	 */
+	void tableChanged(Table table, long event);
+}
@@ -0,0 +1,73 @@
+package main;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import server.LoadClient;
+import server.ServerException;
+import server.TableServer;
+
+/**
+ * Control class to generate load on a table server. If the host is local a
+ * server is started on the port in the same JVM, 0 for any free port.
+ * <br><br>
+ * Arguments: host port numOfConnections [numOfCPUPlayers] [numOfDecks]
+ * [totalRounds] [timeoutSeconds]
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ *
+ */
+public class LoadClientControl
+{
+	public static void main(String[] args)
+	{
+		if(args.length < 3)
+		{
+			System.out.println("Usage: LoadClientControl host port "
+					+ "numOfConnections [numOfCPUPlayers] [numOfDecks] "
+					+ "[totalRounds] [timeoutSeconds]");
+			return;
+		}
+
+		TableServer server = null;
+		try
+		{
+			String host = args[0];
+			int port = Integer.parseInt(args[1]);
+			int numOfCPUPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+			int numOfDecks = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+			int totalRounds = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+			long timeoutSeconds = args.length > 6 ? Long.parseLong(args[6]) : 60;
+
+			if(host.equals("local"))
+			{
+				server = new TableServer(new InetSocketAddress("127.0.0.1", 
+						port));
+				port = server.getPort();
+				host = "127.0.0.1";
+				Thread serverThread = new Thread(server, "Server");
+				serverThread.setDaemon(true);
+				serverThread.start();
+			}
+
+			LoadClient client = new LoadClient(new InetSocketAddress(host, port),
+					Integer.parseInt(args[2]), numOfCPUPlayers, numOfDecks, 
+					totalRounds);
+			client.run(timeoutSeconds * 1000);
+			System.out.print(client);
+		}
+		catch(NumberFormatException | IOException | ServerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		finally
+		{
+			if(server != null)
+			{
+				server.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,245 @@
+package main;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import card.CardCode;
+import logic.HandHistory;
+import logic.HandHistoryIndex;
+import logic.HandHistoryQuery;
+import logic.HandHistoryReader;
+import logic.TableException;
+import player.Action;
+
+/**
+ * Control class to query a hand history through its index without the GUI.
+ * <br><br>
+ * Arguments: handHistory [column=value[,value]...]...
+ * <br><br>
+ * The columns are seat, upcard, total, first, action, outcome and flag. A
+ * seat is from 0, an up card is from 1 for an ace to 10 and a total is the
+ * score of the first 2 cards. The first action and actions are hit, stand,
+ * double_down, split or surrender. An outcome is surrendered, pushed,
+ * blackjackwin, won, busted, lost or none. A flag is split, doubled,
+ * surrendered, insured, dealerblackjack, blackjack or truncated. A record
+ * matches if it has any of the values of every column given, the number of
+ * records which match is shown followed by the first of them. The index is
+ * brought up to date first if it's missing or behind its hand history.
+ * <br><br>
+ * Every hand where the dealer showed an ace and seat 2 doubled down on 11
+ * <br><pre>
+ * QueryControl hands.bin upcard=1 seat=2 first=double_down total=11
+ * </pre>
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ *
+ */
+public class QueryControl
+{
+	/**
+	 * The most records shown.
+	 */
+	private static final int MAXSHOWN = 20;
+	/**
+	 * The names of the columns, in the order of their constants.
+	 */
+	private static final String[] COLUMNS = {"seat", "upcard", "total",
+			"first", "action", "outcome", "flag"};
+	/**
+	 * The names of the outcomes, in the order of their constants.
+	 */
+	private static final String[] OUTCOMES = {"surrendered", "pushed",
+			"blackjackwin", "won", "busted", "lost", "none"};
+	/**
+	 * The names of the record flags, in the order of their bits.
+	 */
+	private static final String[] FLAGS = {"split", "doubled", "surrendered",
+			"insured", "dealerblackjack", "blackjack", "", "truncated"};
+
+	public static void main(String[] args)
+	{
+		if(args.length < 1)
+		{
+			System.out.println("Usage: QueryControl handHistory "
+					+ "[column=value[,value]...]...");
+			return;
+		}
+
+		try
+		{
+			HandHistoryReader reader = new HandHistoryReader(args[0]);
+			long startTime = System.nanoTime();
+			HandHistoryIndex index = null;
+			if(Files.exists(Paths.get(HandHistoryIndex.getIndexFile(args[0]))))
+			{
+				index = new HandHistoryIndex(args[0]);
+			}
+			if(index == null || index.getNumOfRecords() < reader.
+					getNumOfRecords())
+			{
+				HandHistoryIndex.update(args[0]);
+				index = new HandHistoryIndex(args[0]);
+				System.out.println("Indexed: " + index.getNumOfRecords() +
+						" Time: " + (System.nanoTime() - startTime) / 1000000 +
+						"ms");
+			}
+
+			HandHistoryQuery query = new HandHistoryQuery();
+			for(int i = 1; i < args.length; i++)
+			{
+				query.addClause(parseClause(args[i]));
+			}
+
+			startTime = System.nanoTime();
+			long count = index.count(query);
+			long[] found = index.find(query, 0, MAXSHOWN);
+			System.out.println("Records: " + index.getNumOfRecords() +
+					" Matched: " + count + " Time: " + (System.nanoTime() -
+					startTime) / 1000 + "us");
+			for(long record : found)
+			{
+				System.out.println(toString(reader, record));
+			}
+		}
+		catch(IOException | TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Parses a clause of the form column=value[,value].
+	 *
+	 * @param clause The clause.
+	 * @return The bitmaps of the values.
+	 * @throws TableException Thrown if the column or any value is invalid.
+	 * @since 1.8.0
+	 */
+	private static int[] parseClause(String clause) throws TableException
+	{
+		String[] parts = clause.split("=", 2);
+		int column = indexOf(COLUMNS, parts[0]);
+		if(column < 0 || parts.length < 2)
+		{
+			throw new TableException("Invalid clause: " + clause);
+		}
+
+		String[] values = parts[1].split(",");
+		int[] bitmaps = new int[values.length];
+		for(int i = 0; i < values.length; i++)
+		{
+			bitmaps[i] = HandHistoryIndex.getBitmap(column, parseValue(column,
+					values[i]));
+		}
+		return bitmaps;
+	}
+
+	/**
+	 * Parses a value of a column.
+	 *
+	 * @param column The column.
+	 * @param value The value.
+	 * @return The value of the column.
+	 * @throws TableException Thrown if the value is invalid.
+	 * @since 1.8.0
+	 */
+	private static int parseValue(int column, String value) throws
+			TableException
+	{
+		try
+		{
+			switch(column)
+			{
+				case HandHistoryIndex.FIRSTACTION:
+				case HandHistoryIndex.ACTION:
+					return Action.valueOf(value.toUpperCase()).ordinal();
+				case HandHistoryIndex.OUTCOME:
+					return indexOf(OUTCOMES, value);
+				case HandHistoryIndex.FLAG:
+					int bit = indexOf(FLAGS, value);
+					return bit < 0 ? 0 : 1 << bit;
+				default:
+					return Integer.parseInt(value);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			throw new TableException("Invalid value: " + value);
+		}
+	}
+
+	/**
+	 * Gets the index of a name, ignoring case.
+	 *
+	 * @param names The names.
+	 * @param name The name.
+	 * @return The index of the name, -1 if it isn't found.
+	 * @since 1.8.0
+	 */
+	private static int indexOf(String[] names, String name)
+	{
+		for(int i = 0; i < names.length; i++)
+		{
+			if(!names[i].isEmpty() && names[i].equalsIgnoreCase(name))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets a summary of a record.
+	 *
+	 * @param reader The reader of the hand history.
+	 * @param record The index of the record.
+	 * @return The summary.
+	 * @since 1.8.0
+	 */
+	private static String toString(HandHistoryReader reader, long record)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("Record: ").append(record).append(" Game: ").append(
+				reader.getGame(record)).append(" Round: ").append(reader.
+				getRound(record)).append(" Seat: ").append(reader.getSeat(
+				record)).append(" Dealer:");
+		int numOfCards = Math.min(reader.getNumOfDealerCards(record),
+				HandHistory.MAXCARDS);
+		for(int i = 0; i < numOfCards; i++)
+		{
+			builder.append(' ').append(CardCode.toString(reader.getDealerCard(
+					record, i)));
+		}
+
+		int numOfHands = (reader.getFlags(record) & HandHistory.SPLIT) != 0 ?
+				2 : 1;
+		for(int i = 0; i < numOfHands; i++)
+		{
+			builder.append(" Hand ").append(i + 1).append(':');
+			numOfCards = Math.min(reader.getNumOfCards(record, i), HandHistory.
+					MAXCARDS);
+			for(int j = 0; j < numOfCards; j++)
+			{
+				builder.append(' ').append(CardCode.toString(reader.getCard(
+						record, i, j)));
+			}
+		}
+
+		builder.append(" Actions:");
+		int numOfDecisions = Math.min(reader.getNumOfDecisions(record),
+				HandHistory.MAXDECISIONS);
+		for(int i = 0; i < numOfDecisions; i++)
+		{
+			builder.append(' ').append(reader.getDecision(record, i));
+		}
+
+		int outcome = reader.getOutcome(record);
+		builder.append(" Outcome: ").append(outcome < OUTCOMES.length ?
+				OUTCOMES[outcome] : OUTCOMES[OUTCOMES.length - 1]).append(
+				" Payout: ").append(reader.getPayout(record));
+		return builder.toString();
+	}
+}
@@ -0,0 +1,91 @@
+package main;
+import java.io.IOException;
+
+import logic.HandHistoryReader;
+import logic.HandHistoryReplay;
+import logic.Table;
+import logic.TableEvent;
+import logic.TableException;
+import logic.TableListener;
+import player.PlayerException;
+
+/**
+ * Control class to replay the games of a hand history without the GUI and
+ * check that every replay matches the original records.
+ * <br><br>
+ * Arguments: handHistory [game] [eventDelay]
+ * <br><br>
+ * Every game is replayed at full speed unless a game is given, in which
+ * case only that game is replayed and the players are shown after it. If an
+ * event delay in milliseconds is given every event of the game is shown as
+ * it happens, waiting the delay after each.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ *
+ */
+public class ReplayControl
+{
+	public static void main(String[] args)
+	{
+		if(args.length < 1)
+		{
+			System.out.println("Usage: ReplayControl handHistory [game] "
+					+ "[eventDelay]");
+			return;
+		}
+
+		try
+		{
+			HandHistoryReplay replay = new HandHistoryReplay(
+					new HandHistoryReader(args[0]));
+			long startTime = System.nanoTime();
+			if(args.length < 2)
+			{
+				int mismatchedGames = replay.replayAll();
+				System.out.println("Games: " + replay.getNumOfGames() +
+						" Records: " + replay.getReader().getNumOfRecords() +
+						" Mismatched Games: " + mismatchedGames + " Time: " +
+						(System.nanoTime() - startTime) / 1000000 + "ms");
+				return;
+			}
+
+			Table table = replay.prepareGame(Integer.parseInt(args[1]));
+			if(args.length > 2)
+			{
+				final long eventDelay = Long.parseLong(args[2]);
+				table.addTableListener(new TableListener()
+				{
+					@Override
+					public void tableChanged(Table changed, long event)
+					{
+						System.out.println(TableEvent.toString(event));
+						try
+						{
+							Thread.sleep(eventDelay);
+						}
+						catch(InterruptedException e)
+						{
+							Thread.currentThread().interrupt();
+						}
+					}
+				});
+			}
+
+			int mismatches = replay.playGame();
+			for(int i = 0; i < table.getDealerIndex(); i++)
+			{
+				System.out.println(table.getPlayerView(i));
+			}
+			System.out.println("Records: " + replay.getNumOfRecords(Integer.
+					parseInt(args[1])) + " Mismatched Records: " + mismatches);
+		}
+		catch(NumberFormatException | IOException | TableException |
+				PlayerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+}
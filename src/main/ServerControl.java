@@ -0,0 +1,44 @@
+package main;
+import java.io.IOException;
+
+import server.TableServer;
+
+/**
+ * Control class to run a table server, every connection plays its own table.
+ * <br><br>
+ * Arguments: [port]
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ *
+ */
+public class ServerControl
+{
+	/**
+	 * The port used when one isn't given.
+	 */
+	public static final int DEFAULTPORT = 7777;
+
+	public static void main(String[] args)
+	{
+		try
+		{
+			int port = DEFAULTPORT;
+			if(args.length > 0)
+			{
+				port = Integer.parseInt(args[0]);
+			}
+
+			TableServer server = new TableServer(port);
+			System.out.println("Listening on port " + server.getPort() + 
+					" Virtual threads: " + server.getHost().getVirtualThreads());
+			server.run();
+		}
+		catch(NumberFormatException | IOException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+}
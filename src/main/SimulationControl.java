@@ -0,0 +1,109 @@
+package main;
+import logic.Simulation;
+import logic.TableException;
+import player.BettingPolicy;
+import player.FlatBettingPolicy;
+import player.KellyBettingPolicy;
+import player.ProportionalBettingPolicy;
+import player.TrueCountBettingPolicy;
+
+/**
+ * Control class to run a simulation of CPU players without the GUI.
+ * <br><br>
+ * Arguments: numOfCPUPlayers numOfDecks roundsPerGame numOfGames [seed]
+ * [numOfThreads] [ev] [bettingPolicy] [csm] [handHistory]
+ * <br><br>
+ * The CPUs play basic strategy unless ev is given, in which case they take
+ * the action with the highest expected value. The betting policy is one of
+ * flat, proportional, count or kelly, proportional by default. The shoe is
+ * reshuffled at the cut card unless csm is given, in which case it's a
+ * continuous shuffling machine. Every round is recorded to the hand history
+ * file if one is given.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ *
+ */
+public class SimulationControl
+{
+	public static void main(String[] args)
+	{
+		if(args.length < 4)
+		{
+			System.out.println("Usage: SimulationControl numOfCPUPlayers "
+					+ "numOfDecks roundsPerGame numOfGames [seed] "
+					+ "[numOfThreads] [ev] [bettingPolicy] [csm] "
+					+ "[handHistory]");
+			return;
+		}
+
+		try
+		{
+			long seed = System.nanoTime();
+			if(args.length > 4)
+			{
+				seed = Long.parseLong(args[4]);
+			}
+
+			Simulation simulation = new Simulation(Integer.parseInt(args[0]),
+					Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+					Long.parseLong(args[3]), seed);
+			if(args.length > 5)
+			{
+				simulation.setNumOfThreads(Integer.parseInt(args[5]));
+			}
+			if(args.length > 6)
+			{
+				simulation.setExpectedValuePlay(args[6].equals("ev"));
+			}
+			if(args.length > 7)
+			{
+				simulation.setBettingPolicy(getBettingPolicy(args[7]));
+			}
+			if(args.length > 8)
+			{
+				simulation.setContinuousShuffle(args[8].equals("csm"));
+			}
+			if(args.length > 9)
+			{
+				simulation.setHandHistory(args[9]);
+			}
+
+			System.out.println("Seed: " + seed + " Threads: " +
+					simulation.getNumOfThreads() + " Betting Policy: " +
+					simulation.getBettingPolicy());
+			System.out.print(simulation.run());
+		}
+		catch(NumberFormatException | TableException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Gets the betting policy with a specified name.
+	 *
+	 * @param name The name of the policy.
+	 * @return The betting policy.
+	 * @throws TableException Thrown if there isn't a policy with the name.
+	 */
+	private static BettingPolicy getBettingPolicy(String name) throws
+		TableException
+	{
+		switch(name)
+		{
+			case "flat":
+				return new FlatBettingPolicy();
+			case "proportional":
+				return new ProportionalBettingPolicy();
+			case "count":
+				return new TrueCountBettingPolicy();
+			case "kelly":
+				return new KellyBettingPolicy();
+			default:
+				throw new TableException("Invalid betting policy: " + name);
+		}
+	}
+}
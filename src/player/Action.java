@@ -0,0 +1,33 @@
+package player;
+
+/**
+ * Enumerated type representing the actions a player can take during their
+ * turn.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public enum Action
+{
+	/**
+	 * Deals the player another card.
+	 */
+	HIT,
+	/**
+	 * Ends the player's turn with the current hand.
+	 */
+	STAND,
+	/**
+	 * Doubles the player's wager and deals them one more card.
+	 */
+	DOUBLE_DOWN,
+	/**
+	 * Splits the player's hand into 2 hands and doubles their wager.
+	 */
+	SPLIT,
+	/**
+	 * Returns half of the player's wager and ends their round.
+	 */
+	SURRENDER
+}
@@ -0,0 +1,401 @@
+package player;
+
+import card.CardCode;
+import card.HandView;
+import logic.Table;
+
+/**
+ * Multi-deck basic strategy for a set of rules, every decision is found with
+ * a single lookup in a table built when the strategy is constructed.
+ * <br><br>
+ * The table has a row for every hard total, soft total and pair, a column
+ * for every dealer up card and a slot for each combination of whether the
+ * player can double down and surrender, so the fallback of a double down or
+ * surrender is already resolved.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class BasicStrategy
+{
+	/**
+	 * The chart for hard totals from 4 to 21 against a dealer up card of
+	 * 2 - 10 then ace, with the dealer standing on soft 17.
+	 * <br>
+	 * H hit, S stand, D double down or hit, d double down or stand,
+	 * R surrender or hit, r surrender or stand, P split, Q surrender or split.
+	 */
+	private static final String[] HARD_CHART = {
+			"HHHHHHHHHH", //4
+			"HHHHHHHHHH", //5
+			"HHHHHHHHHH", //6
+			"HHHHHHHHHH", //7
+			"HHHHHHHHHH", //8
+			"HDDDDHHHHH", //9
+			"DDDDDDDDHH", //10
+			"DDDDDDDDDH", //11
+			"HHSSSHHHHH", //12
+			"SSSSSHHHHH", //13
+			"SSSSSHHHHH", //14
+			"SSSSSHHHRH", //15
+			"SSSSSHHRRR", //16
+			"SSSSSSSSSS", //17
+			"SSSSSSSSSS", //18
+			"SSSSSSSSSS", //19
+			"SSSSSSSSSS", //20
+			"SSSSSSSSSS"  //21
+	};
+	/**
+	 * The chart for soft totals from 13 to 21.
+	 */
+	private static final String[] SOFT_CHART = {
+			"HHHDDHHHHH", //13
+			"HHHDDHHHHH", //14
+			"HHDDDHHHHH", //15
+			"HHDDDHHHHH", //16
+			"HDDDDHHHHH", //17
+			"SddddSSHHH", //18
+			"SSSSSSSSSS", //19
+			"SSSSSSSSSS", //20
+			"SSSSSSSSSS"  //21
+	};
+	/**
+	 * The chart for pairs from aces to tens, a space means the pair isn't
+	 * split and is played as a hard or soft total.
+	 */
+	private static final String[] PAIR_CHART = {
+			"PPPPPPPPPP", //A,A
+			"PPPPPP    ", //2,2
+			"PPPPPP    ", //3,3
+			"   PP     ", //4,4
+			"          ", //5,5
+			"PPPPP     ", //6,6
+			"PPPPPP    ", //7,7
+			"PPPPPPPPPP", //8,8
+			"PPPPP PP  ", //9,9
+			"          "  //10,10
+	};
+	/**
+	 * Every action, cached to avoid the copy made by Action.values().
+	 */
+	private static final Action[] ACTIONS = Action.values();
+	/**
+	 * The number of columns, one for every dealer up card.
+	 */
+	private static final int COLUMNS = 10;
+	/**
+	 * The number of slots in each column, one for every combination of
+	 * whether the player can double down and surrender.
+	 */
+	private static final int SLOTS = 4;
+	/**
+	 * The slot flag set when the player can double down.
+	 */
+	private static final int CAN_DOUBLE = 1;
+	/**
+	 * The slot flag set when the player can surrender.
+	 */
+	private static final int CAN_SURRENDER = 2;
+	/**
+	 * The first row of the soft totals, indexed by the soft total.
+	 */
+	private static final int SOFT_ROW = Table.BLACKJACK + 1;
+	/**
+	 * The first row of the pairs, indexed by the hard value of the card.
+	 */
+	private static final int PAIR_ROW = SOFT_ROW + Table.BLACKJACK + 1;
+	/**
+	 * The number of rows in the table.
+	 */
+	private static final int ROWS = PAIR_ROW + 11;
+	/**
+	 * The rules the strategy was built for.
+	 */
+	private Rules rules;
+	/**
+	 * The ordinal of the action for every row, column and slot.
+	 */
+	private byte[] table;
+
+	/**
+	 * Constructs the basic strategy for the rules the Table implements.
+	 *
+	 * @since 1.8.0
+	 */
+	public BasicStrategy()
+	{
+		this(new Rules());
+	}
+
+	/**
+	 * Constructs the basic strategy for a set of rules, the program ends if
+	 * the rules are null.
+	 *
+	 * @param rules The rules of the table.
+	 * @since 1.8.0
+	 */
+	public BasicStrategy(Rules rules)
+	{
+		try
+		{
+			if(rules == null)
+			{
+				throw new NullPointerException("Null in BasicStrategy "
+						+ "constructor");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.rules = rules;
+		table = new byte[ROWS * COLUMNS * SLOTS];
+		char[][] hard = toChart(HARD_CHART);
+		char[][] soft = toChart(SOFT_CHART);
+		char[][] pair = toChart(PAIR_CHART);
+		applyRules(hard, soft, pair);
+
+		for(int column = 0; column < COLUMNS; column++)
+		{
+			for(int total = 0; total <= Table.BLACKJACK; total++)
+			{
+				//Totals below 4 can only be reached by a single card.
+				char hardCode = hard[Math.max(total, 4) - 4][column];
+				fillRow(total, column, hardCode);
+				if(total >= 13)
+				{
+					fillRow(SOFT_ROW + total, column, soft[total - 13][column]);
+				}
+				//A soft total of 12 is only possible with a pair of aces which
+				//can't be split, it's always hit.
+				else if(total == 12)
+				{
+					fillRow(SOFT_ROW + total, column, 'H');
+				}
+			}
+
+			for(int value = 1; value <= 10; value++)
+			{
+				char pairCode = pair[value - 1][column];
+				if(pairCode == ' ')
+				{
+					pairCode = hard[value * 2 - 4][column];
+				}
+				fillRow(PAIR_ROW + value, column, pairCode);
+			}
+		}
+	}
+
+	/**
+	 * String representation of the strategy in the form
+	 * <br><pre>
+	 * Basic Strategy: Dealer Hits Soft 17: false ...
+	 * </pre>
+	 *
+	 * @return String representation of the strategy.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "Basic Strategy: " + rules;
+	}
+
+	/**
+	 * Gets the rules the strategy was built for.
+	 *
+	 * @return The rules of the table.
+	 * @since 1.8.0
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Gets the basic strategy action for a hand of a player, the options
+	 * available are found from the state of the player and the rules.
+	 *
+	 * @param player The player.
+	 * @param handIndex The index of the hand being played.
+	 * @param dealerUpCard The code of the dealer's face up card.
+	 * @param firstAction Whether this is the first action of the hand.
+	 * @return The action to take.
+	 * @since 1.8.0
+	 */
+	public Action getAction(PlayerView player, int handIndex,
+			byte dealerUpCard, boolean firstAction)
+	{
+		boolean split = player.getNumOfHands() > 1;
+		boolean canDouble = firstAction && player.getTotalMoney() >= player.
+				getWager() && (!split || rules.getDoubleAfterSplit());
+		boolean canSplit = firstAction && !split && player.canSplit();
+		boolean canSurrender = firstAction && !split && rules.getSurrender();
+		return getAction(player.getHandView(handIndex), dealerUpCard,
+				canDouble, canSplit, canSurrender);
+	}
+
+	/**
+	 * Gets the basic strategy action for a hand.
+	 *
+	 * @param hand The hand being played.
+	 * @param dealerUpCard The code of the dealer's face up card.
+	 * @param canDouble Whether the player can double down.
+	 * @param canSplit Whether the player can split the hand, only true if the
+	 * hand is a pair.
+	 * @param canSurrender Whether the player can surrender.
+	 * @return The action to take.
+	 * @since 1.8.0
+	 */
+	public Action getAction(HandView hand, byte dealerUpCard, boolean canDouble,
+			boolean canSplit, boolean canSurrender)
+	{
+		int hardTotal = hand.getHardTotal();
+		if(hardTotal >= Table.BLACKJACK)
+		{
+			return Action.STAND;
+		}
+
+		int row;
+		if(canSplit)
+		{
+			row = PAIR_ROW + CardCode.getHardValue(hand.getCode(0));
+		}
+		else if(hand.isSoft())
+		{
+			row = SOFT_ROW + hardTotal + 10;
+		}
+		else
+		{
+			row = hardTotal;
+		}
+
+		int slot = 0;
+		if(canDouble)
+		{
+			slot |= CAN_DOUBLE;
+		}
+		if(canSurrender)
+		{
+			slot |= CAN_SURRENDER;
+		}
+
+		return ACTIONS[table[(row * COLUMNS + getColumn(dealerUpCard)) * SLOTS
+				+ slot]];
+	}
+
+	/**
+	 * Gets the column of a dealer up card, 2 - 10 are columns 0 - 8 and an
+	 * ace is column 9.
+	 *
+	 * @param dealerUpCard The code of the dealer's face up card.
+	 * @return The column of the up card.
+	 * @since 1.8.0
+	 */
+	private static int getColumn(byte dealerUpCard)
+	{
+		return (CardCode.getHardValue(dealerUpCard) + 8) % COLUMNS;
+	}
+
+	/**
+	 * Copies a chart so the rules can be applied to it.
+	 *
+	 * @param chart The rows of the chart.
+	 * @return A copy of the chart.
+	 * @since 1.8.0
+	 */
+	private static char[][] toChart(String[] chart)
+	{
+		char[][] copy = new char[chart.length][];
+		for(int i = 0; i < chart.length; i++)
+		{
+			copy[i] = chart[i].toCharArray();
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Changes the charts for rules which differ from the dealer standing on
+	 * soft 17 with double down after split.
+	 *
+	 * @param hard The hard chart.
+	 * @param soft The soft chart.
+	 * @param pair The pair chart.
+	 * @since 1.8.0
+	 */
+	private void applyRules(char[][] hard, char[][] soft, char[][] pair)
+	{
+		final int ACE = 9;
+		if(rules.getDealerHitsSoft17())
+		{
+			hard[11 - 4][ACE] = 'D';
+			hard[15 - 4][ACE] = 'R';
+			hard[17 - 4][ACE] = 'r';
+			soft[18 - 13][0] = 'd';
+			soft[19 - 13][4] = 'd';
+			pair[8 - 1][ACE] = 'Q';
+		}
+
+		if(!rules.getDoubleAfterSplit())
+		{
+			pair[2 - 1] = "  PPPP    ".toCharArray();
+			pair[3 - 1] = "  PPPP    ".toCharArray();
+			pair[4 - 1] = "          ".toCharArray();
+			pair[6 - 1] = " PPPP     ".toCharArray();
+		}
+	}
+
+	/**
+	 * Fills every slot of a row and column with the action of a chart code.
+	 *
+	 * @param row The row of the table.
+	 * @param column The column of the table.
+	 * @param code The chart code.
+	 * @since 1.8.0
+	 */
+	private void fillRow(int row, int column, char code)
+	{
+		for(int slot = 0; slot < SLOTS; slot++)
+		{
+			boolean canDouble = (slot & CAN_DOUBLE) != 0;
+			boolean canSurrender = (slot & CAN_SURRENDER) != 0;
+			Action action;
+			switch(code)
+			{
+				case 'S':
+					action = Action.STAND;
+					break;
+				case 'P':
+					action = Action.SPLIT;
+					break;
+				case 'D':
+					action = canDouble ? Action.DOUBLE_DOWN : Action.HIT;
+					break;
+				case 'd':
+					action = canDouble ? Action.DOUBLE_DOWN : Action.STAND;
+					break;
+				case 'R':
+					action = canSurrender ? Action.SURRENDER : Action.HIT;
+					break;
+				case 'r':
+					action = canSurrender ? Action.SURRENDER : Action.STAND;
+					break;
+				case 'Q':
+					action = canSurrender ? Action.SURRENDER : Action.SPLIT;
+					break;
+				default:
+					action = Action.HIT;
+					break;
+			}
+			table[(row * COLUMNS + column) * SLOTS + slot] = (byte) action.
+					ordinal();
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package player;
+
+import card.ShoeView;
+
+/**
+ * A betting policy decides the wager of a CPU at the start of each round.
+ * The policy only gives the wager it would like to make, the Table clamps it
+ * between the minimum wager, the maximum wager and the money of the CPU.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface BettingPolicy
+{
+	/**
+	 * Gets the wager the player would like to make, policies are shared
+	 * between tables so they must not keep any state between calls.
+	 *
+	 * @param player The player making the wager.
+	 * @param shoe The shoe the round is dealt from.
+	 * @return The wager before it's clamped by the table.
+	 * @since 1.8.0
+	 */
+	public double getWager(PlayerView player, ShoeView shoe);
+}
@@ -1,14 +1,20 @@
 package player;
 
 /**
- * Implementation of the Player used as a logic flag in the Table.
+ * Implementation of the Player used as a logic flag in the Table, the wager
+ * of a CPU is decided by its betting policy.
  * 
  * @author Brodie Robertson
- * @version 1.0.0
+ * @version 1.8.0
  * @since 1.0.0
  */
 public class CPU extends Player implements Cloneable
 {
+	/**
+	 * The policy deciding the wager of the CPU.
+	 */
+	private BettingPolicy bettingPolicy = new ProportionalBettingPolicy();
+	
 	/**
 	 * Constructor for CPU, takes the name of the CPU as an argument.
 	 * 
@@ -64,4 +70,44 @@ public class CPU extends Player implements Cloneable
 	{
 		return (CPU) super.clone();
 	}
+	
+	/**
+	 * Gets the policy deciding the wager of the CPU.
+	 * 
+	 * @return The betting policy.
+	 * 
+	 * (non-Javadoc)
+	 * @see player.Player#getBettingPolicy()
+	 * @since 1.8.0
+	 */
+	@Override
+	public BettingPolicy getBettingPolicy()
+	{
+		return bettingPolicy;
+	}
+	
+	/**
+	 * Sets the policy deciding the wager of the CPU, the program ends if the
+	 * policy is null.
+	 * 
+	 * @param bettingPolicy The betting policy.
+	 * @since 1.8.0
+	 */
+	public void setBettingPolicy(BettingPolicy bettingPolicy)
+	{
+		try
+		{
+			if(bettingPolicy == null)
+			{
+				throw new NullPointerException("Betting policy can't be null");
+			}
+		}
+		catch(NullPointerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		
+		this.bettingPolicy = bettingPolicy;
+	}
 }
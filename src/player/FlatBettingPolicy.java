@@ -0,0 +1,96 @@
+package player;
+
+import card.ShoeView;
+import logic.Table;
+
+/**
+ * Betting policy which makes the same wager every round.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class FlatBettingPolicy implements BettingPolicy
+{
+	/**
+	 * The wager made every round.
+	 */
+	private double wager;
+
+	/**
+	 * Constructs a policy which always makes the minimum wager.
+	 *
+	 * @since 1.8.0
+	 */
+	public FlatBettingPolicy()
+	{
+		this(Table.MINWAGER);
+	}
+
+	/**
+	 * Constructs a policy which always makes a specified wager, the program
+	 * ends if the wager is outside of the table limits.
+	 *
+	 * @param wager The wager made every round.
+	 * @since 1.8.0
+	 */
+	public FlatBettingPolicy(double wager)
+	{
+		try
+		{
+			if(!(wager >= Table.MINWAGER && wager <= Table.MAXWAGER))
+			{
+				throw new PlayerException("Invalid wager: " + wager);
+			}
+		}
+		catch(PlayerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.wager = wager;
+	}
+
+	/**
+	 * Gets the wager placed every round.
+	 *
+	 * @return The wager.
+	 * @since 1.8.0
+	 */
+	public double getWager()
+	{
+		return wager;
+	}
+
+	/**
+	 * String representation of the policy in the form
+	 * <br><pre>
+	 * Flat: 25.0
+	 * </pre>
+	 *
+	 * @return String representation of the policy.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "Flat: " + wager;
+	}
+
+	/**
+	 * Makes the same wager every round.
+	 *
+	 * (non-Javadoc)
+	 * @see player.BettingPolicy#getWager(player.PlayerView, card.ShoeView)
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getWager(PlayerView player, ShoeView shoe)
+	{
+		return wager;
+	}
+}
@@ -0,0 +1,181 @@
+package player;
+
+import card.ShoeView;
+import logic.Table;
+
+/**
+ * Betting policy which wagers a fraction of the Kelly criterion, the edge of
+ * the player is estimated from the true count of the shoe as a base edge
+ * plus a fixed edge for every point of true count. The Kelly wager is the
+ * player's money multiplied by the edge divided by the variance of a hand,
+ * when the player has no edge the minimum wager is made.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class KellyBettingPolicy implements BettingPolicy
+{
+	/**
+	 * The default fraction of the Kelly wager made.
+	 */
+	public static final double DEFAULTFRACTION = 0.5;
+	/**
+	 * The default edge of the player at a true count of 0.
+	 */
+	public static final double DEFAULTBASEEDGE = -0.005;
+	/**
+	 * The default edge gained for every point of true count.
+	 */
+	public static final double DEFAULTEDGEPERTRUECOUNT = 0.005;
+	/**
+	 * The default variance of a hand.
+	 */
+	public static final double DEFAULTVARIANCE = 1.3;
+	/**
+	 * The fraction of the Kelly wager made.
+	 */
+	private double fraction;
+	/**
+	 * The edge of the player at a true count of 0.
+	 */
+	private double baseEdge;
+	/**
+	 * The edge gained for every point of true count.
+	 */
+	private double edgePerTrueCount;
+	/**
+	 * The variance of a hand.
+	 */
+	private double variance;
+
+	/**
+	 * Constructs a half Kelly policy with the default edge estimate.
+	 *
+	 * @since 1.8.0
+	 */
+	public KellyBettingPolicy()
+	{
+		this(DEFAULTFRACTION, DEFAULTBASEEDGE, DEFAULTEDGEPERTRUECOUNT,
+				DEFAULTVARIANCE);
+	}
+
+	/**
+	 * Constructs a policy with a specified fraction and edge estimate, the
+	 * program ends if the fraction isn't greater than 0 and at most 1 or the
+	 * variance isn't positive.
+	 *
+	 * @param fraction The fraction of the Kelly wager made.
+	 * @param baseEdge The edge of the player at a true count of 0.
+	 * @param edgePerTrueCount The edge gained for every point of true count.
+	 * @param variance The variance of a hand.
+	 * @since 1.8.0
+	 */
+	public KellyBettingPolicy(double fraction, double baseEdge,
+			double edgePerTrueCount, double variance)
+	{
+		try
+		{
+			if(!(fraction > 0 && fraction <= 1))
+			{
+				throw new PlayerException("Invalid fraction: " + fraction);
+			}
+			if(!(variance > 0))
+			{
+				throw new PlayerException("Invalid variance: " + variance);
+			}
+		}
+		catch(PlayerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.fraction = fraction;
+		this.baseEdge = baseEdge;
+		this.edgePerTrueCount = edgePerTrueCount;
+		this.variance = variance;
+	}
+
+	/**
+	 * Gets the fraction of the Kelly wager made.
+	 *
+	 * @return The fraction.
+	 * @since 1.8.0
+	 */
+	public double getFraction()
+	{
+		return fraction;
+	}
+
+	/**
+	 * Gets the edge of the player at a true count of 0.
+	 *
+	 * @return The base edge.
+	 * @since 1.8.0
+	 */
+	public double getBaseEdge()
+	{
+		return baseEdge;
+	}
+
+	/**
+	 * Gets the edge gained for every point of true count.
+	 *
+	 * @return The edge per true count.
+	 * @since 1.8.0
+	 */
+	public double getEdgePerTrueCount()
+	{
+		return edgePerTrueCount;
+	}
+
+	/**
+	 * Gets the variance of a hand.
+	 *
+	 * @return The variance.
+	 * @since 1.8.0
+	 */
+	public double getVariance()
+	{
+		return variance;
+	}
+
+	/**
+	 * String representation of the policy in the form
+	 * <br><pre>
+	 * Kelly: Fraction: 0.5 Base Edge: -0.005 Edge Per True Count: 0.005 ...
+	 * </pre>
+	 *
+	 * @return String representation of the policy.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "Kelly: Fraction: " + fraction + " Base Edge: " + baseEdge
+				+ " Edge Per True Count: " + edgePerTrueCount + " Variance: "
+				+ variance;
+	}
+
+	/**
+	 * Wagers the fraction of the Kelly wager for the estimated edge.
+	 *
+	 * (non-Javadoc)
+	 * @see player.BettingPolicy#getWager(player.PlayerView, card.ShoeView)
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getWager(PlayerView player, ShoeView shoe)
+	{
+		double edge = baseEdge + edgePerTrueCount * shoe.getTrueCount();
+		if(edge <= 0)
+		{
+			return Table.MINWAGER;
+		}
+		return fraction * player.getTotalMoney() * edge / variance;
+	}
+}
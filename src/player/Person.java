@@ -5,25 +5,35 @@ import java.util.Arrays;
 import card.Card;
 import card.Hand;
 import card.HandException;
+import card.HandView;
 
 /**
  * Abstract definition of a person providing basic functionality for use with the Table.
  * 
  * @author Brodie Robertson
- * @version 1.0.0
+ * @version 1.8.0
  * @since 1.0.0
  */
-public abstract class Person implements Cloneable
+public abstract class Person implements Cloneable, PersonView
 {
 	/**
 	 * The hands of the person.
 	 * 
 	 */
 	private Hand[] hands;
+	/**
+	 * The number of hands in use by the person.
+	 */
+	private int numOfHands;
 	/**
 	 * The name of the person.
 	 */
 	private String name;
+	/**
+	 * The maximum number of hands a person can hold, a hand can only be 
+	 * split once.
+	 */
+	public static final int MAXHANDS = 2;
 	
 	/**
 	 * The constructor of the person, takes the name of the person as an
@@ -58,9 +68,9 @@ public abstract class Person implements Cloneable
 	public String toString()
 	{
 		String string = name + "\n";
-		for(int i = 0; i < hands.length; i++)
+		for(int i = 0; i < numOfHands; i++)
 		{
-			if(hands.length > 1)
+			if(numOfHands > 1)
 			{
 				string += "Hand: " + (i + 1) + "\n" + hands[i].toString();
 			}
@@ -99,7 +109,8 @@ public abstract class Person implements Cloneable
 			return false;
 		}
 		Person other = (Person) obj;
-		if (!Arrays.equals(hands, other.hands))
+		if (!Arrays.equals(hands, 0, numOfHands, other.hands, 0, 
+				other.numOfHands))
 		{
 			return false;
 		}
@@ -155,9 +166,9 @@ public abstract class Person implements Cloneable
 	 */
 	public Hand[] getHands()
 	{
-		Hand[] handsCopy = new Hand[hands.length];
+		Hand[] handsCopy = new Hand[numOfHands];
 		
-		for(int i = 0; i < hands.length; i++)
+		for(int i = 0; i < numOfHands; i++)
 		{
 			if(hands[i] != null)
 			{
@@ -189,27 +200,45 @@ public abstract class Person implements Cloneable
 			System.exit(0);
 		}
 		
-		Hand[] copy = new Hand[hand.length];;
-		for(int i = 0; i < hand.length; i++)
+		Hand[] copy = new Hand[Math.max(hand.length, MAXHANDS)];
+		for(int i = 0; i < copy.length; i++)
 		{
-			if(hand[i] != null)
+			if(i < hand.length && hand[i] != null)
 			{
 				copy[i] = new Hand(hand[i]);
 			}
+			else
+			{
+				copy[i] = new Hand();
+			}
 		}
 		
 		hands = copy;
+		numOfHands = hand.length;
 	}
 	
 	/**
-	 * Sets the starting hand of the person.
+	 * Sets the starting hand of the person, the hands are only allocated the
+	 * first time and are cleared for every round after that.
 	 * 
 	 * @since 1.0.0
 	 */
 	public void startingHand()
 	{
-		hands = new Hand[1];
-		hands[0] = new Hand();
+		if(hands == null)
+		{
+			hands = new Hand[MAXHANDS];
+			for(int i = 0; i < hands.length; i++)
+			{
+				hands[i] = new Hand();
+			}
+		}
+		
+		for(int i = 0; i < numOfHands; i++)
+		{
+			hands[i].clear();
+		}
+		numOfHands = 1;
 	}
 	
 	/**
@@ -226,30 +255,59 @@ public abstract class Person implements Cloneable
 	}
 	
 	/**
-	 * Increases the number of hands and adds a new hand.
+	 * Gets a view of the hand at a specific index without copying it, if the
+	 * index is invalid the program ends.
 	 * 
-	 * @since 1.0.0
+	 * @return A view of the hand at the specified index.
+	 * 
+	 * (non-Javadoc)
+	 * @see player.PersonView#getHandView(int)
+	 * @since 1.8.0
 	 */
-	public void addHand()
+	@Override
+	public HandView getHandView(int index)
 	{
-		increaseHands();
-		hands[hands.length - 1] = new Hand();
+		validateHandIndex(index);
+		return hands[index];
 	}
 	
 	/**
-	 * Increases the total number of hands the person has.
+	 * Gets the number of hands the person is holding.
+	 * 
+	 * @return The number of hands.
+	 * 
+	 * (non-Javadoc)
+	 * @see player.PersonView#getNumOfHands()
+	 * @since 1.8.0
+	 */
+	@Override
+	public int getNumOfHands()
+	{
+		return numOfHands;
+	}
+	
+	/**
+	 * Increases the number of hands and adds a new empty hand.
 	 * 
 	 * @since 1.0.0
 	 */
-	private void increaseHands()
+	public void addHand()
 	{
-		Hand[] newHands = new Hand[hands.length + 1];
-		for(int i = 0; i < hands.length; i++)
+		try
+		{
+			if(numOfHands == hands.length)
+			{
+				throw new PersonException("Too many hands: " + numOfHands);
+			}
+		}
+		catch(PersonException e)
 		{
-			newHands[i] = hands[i];
+			e.printStackTrace();
+			System.exit(0);
 		}
 		
-		hands = newHands;
+		hands[numOfHands].clear();
+		numOfHands++;
 	}
 	
 	/**
@@ -294,6 +352,21 @@ public abstract class Person implements Cloneable
 		return new Card(card);
 	}
 	
+	/**
+	 * Adds the code of a card to specified hand, the program ends if the 
+	 * index is invalid.
+	 * 
+	 * @param code The code of the card being added.
+	 * @param index The index of the specified hand.
+	 * @see card.CardCode
+	 * @since 1.8.0
+	 */
+	public void addToHand(byte code, int index)
+	{
+		validateHandIndex(index);
+		hands[index].addCode(code);
+	}
+	
 	/**
 	 * Removes a specified card from a specified hand, the program ends if the
 	 * the hand or card index is invalid.
@@ -346,7 +419,7 @@ public abstract class Person implements Cloneable
 		{
 			//Throws exception if the index is less than 0 or greater than number
 			//of hands.
-			if(index < 0 || index >= hands.length)
+			if(index < 0 || index >= numOfHands)
 			{
 				throw new PersonException("Invalid Hand index: " + index);
 			}
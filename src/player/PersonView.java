@@ -0,0 +1,40 @@
+package player;
+
+import card.HandView;
+
+/**
+ * Read-only view of a person, allowing the state of a person to be read 
+ * without copying them.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface PersonView
+{
+	/**
+	 * Gets the name of the person.
+	 * 
+	 * @return The name of the person.
+	 * @since 1.8.0
+	 */
+	public String getName();
+	
+	/**
+	 * Gets the number of hands the person is holding.
+	 * 
+	 * @return The number of hands.
+	 * @since 1.8.0
+	 */
+	public int getNumOfHands();
+	
+	/**
+	 * Gets a view of the hand at the specified index, the program ends if
+	 * the index is invalid.
+	 * 
+	 * @param index The index of the hand.
+	 * @return A view of the hand.
+	 * @since 1.8.0
+	 */
+	public HandView getHandView(int index);
+}
@@ -1,14 +1,17 @@
 package player;
 
+import card.CardCode;
+import card.HandView;
+
 /**
  * Abstract definition of a player providing the necessary methods for use 
  * with the table.
  * 
  * @author Brodie Robertson
- * @version 1.6.0
+ * @version 1.8.0
  * @since 1.0.0
  */
-public abstract class Player extends Person implements Cloneable
+public abstract class Player extends Person implements Cloneable, PlayerView
 {
 	/**
 	 * The player's wager.
@@ -856,13 +859,25 @@ public abstract class Player extends Person implements Cloneable
 	 */
 	public boolean canSplit()
 	{
-		if(getHand(0).getCards().length == 2 && 
-			(getHand(0).getCard(0).getFace() == getHand(0).getCard(1).getFace() || 
-			getHand(0).getCard(0).getValue() == getHand(0).getCard(1).getValue())
-			&& getTotalMoney() >= getWager())
+		HandView hand = getHandView(0);
+		if(hand.getCardsRemaining() == 2 && 
+			CardCode.getHardValue(hand.getCode(0)) == CardCode.getHardValue(
+			hand.getCode(1)) && getTotalMoney() >= getWager())
 		{
 			return true;
 		}
 		return false;
 	}
+	
+	/**
+	 * Gets the policy deciding the wager of the Player, a Player decides 
+	 * their own wager unless they're a CPU.
+	 * 
+	 * @return The betting policy, null if the Player decides their own wager.
+	 * @since 1.8.0
+	 */
+	public BettingPolicy getBettingPolicy()
+	{
+		return null;
+	}
 }
@@ -0,0 +1,189 @@
+package player;
+
+/**
+ * Read-only view of a player, allowing the state of a player to be read 
+ * without copying them.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public interface PlayerView extends PersonView
+{
+	/**
+	 * Gets the current wager of the player.
+	 * 
+	 * @return The current wager.
+	 * @since 1.8.0
+	 */
+	public double getWager();
+	
+	/**
+	 * Gets the current insurance of the player.
+	 * 
+	 * @return The current insurance.
+	 * @since 1.8.0
+	 */
+	public double getInsurance();
+	
+	/**
+	 * Gets the total money of the player.
+	 * 
+	 * @return The total money.
+	 * @since 1.8.0
+	 */
+	public double getTotalMoney();
+	
+	/**
+	 * Gets the total of every wager made by the player.
+	 * 
+	 * @return The total wagers.
+	 * @since 1.8.0
+	 */
+	public double getTotalWager();
+	
+	/**
+	 * Gets the total of every insurance bet made by the player.
+	 * 
+	 * @return The total insurance.
+	 * @since 1.8.0
+	 */
+	public double getTotalInsurance();
+	
+	/**
+	 * Gets the total winnings of the player.
+	 * 
+	 * @return The total winnings.
+	 * @since 1.8.0
+	 */
+	public double getTotalWinnings();
+	
+	/**
+	 * Gets whether the player has busted this round.
+	 * 
+	 * @return Whether the player has busted.
+	 * @since 1.8.0
+	 */
+	public boolean getBusted();
+	
+	/**
+	 * Gets the number of times the player has achieved Blackjack.
+	 * 
+	 * @return The number of Blackjacks.
+	 * @since 1.8.0
+	 */
+	public int getBlackjack();
+	
+	/**
+	 * Gets the number of wins of the player.
+	 * 
+	 * @return The number of wins.
+	 * @since 1.8.0
+	 */
+	public int getWin();
+	
+	/**
+	 * Gets the number of pushes of the player.
+	 * 
+	 * @return The number of pushes.
+	 * @since 1.8.0
+	 */
+	public int getPush();
+	
+	/**
+	 * Gets the number of losses of the player.
+	 * 
+	 * @return The number of losses.
+	 * @since 1.8.0
+	 */
+	public int getLoss();
+	
+	/**
+	 * Gets the number of busts of the player.
+	 * 
+	 * @return The number of busts.
+	 * @since 1.8.0
+	 */
+	public int getBust();
+	
+	/**
+	 * Gets the number of surrenders of the player.
+	 * 
+	 * @return The number of surrenders.
+	 * @since 1.8.0
+	 */
+	public int getSurrender();
+	
+	/**
+	 * Gets whether the player has surrendered this round.
+	 * 
+	 * @return Whether the player has surrendered.
+	 * @since 1.8.0
+	 */
+	public boolean getSurrendered();
+	
+	/**
+	 * Gets whether the player is bankrupt.
+	 * 
+	 * @return Whether the player is bankrupt.
+	 * @since 1.8.0
+	 */
+	public boolean getBankrupt();
+	
+	/**
+	 * Gets whether the player took insurance this round.
+	 * 
+	 * @return Whether the player took insurance.
+	 * @since 1.8.0
+	 */
+	public boolean getTookInsurance();
+	
+	/**
+	 * Gets the amount won by the player this round.
+	 * 
+	 * @return The amount won this round.
+	 * @since 1.8.0
+	 */
+	public double getCurrentWin();
+	
+	/**
+	 * Gets whether the player won this round.
+	 * 
+	 * @return Whether the player won this round.
+	 * @since 1.8.0
+	 */
+	public boolean getHasWin();
+	
+	/**
+	 * Gets the amount won by Blackjack this round.
+	 * 
+	 * @return The amount won by Blackjack.
+	 * @since 1.8.0
+	 */
+	public double getCurrentBlackjack();
+	
+	/**
+	 * Gets whether the player has Blackjack this round.
+	 * 
+	 * @return Whether the player has Blackjack.
+	 * @since 1.8.0
+	 */
+	public boolean getHasBlackjack();
+	
+	/**
+	 * Checks whether the player can split their hand.
+	 * 
+	 * @return Whether the player can split.
+	 * @since 1.8.0
+	 */
+	public boolean canSplit();
+	
+	/**
+	 * Gets the policy deciding the wager of the player.
+	 * 
+	 * @return The betting policy, null if the player decides their own
+	 * wager.
+	 * @since 1.8.0
+	 */
+	public BettingPolicy getBettingPolicy();
+}
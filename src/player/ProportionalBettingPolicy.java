@@ -0,0 +1,101 @@
+package player;
+
+import card.ShoeView;
+
+/**
+ * Betting policy which wagers a fixed fraction of the player's money, the
+ * default fraction of 1/15 is how the CPUs have always bet.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class ProportionalBettingPolicy implements BettingPolicy
+{
+	/**
+	 * The default fraction of the player's money wagered.
+	 */
+	public static final double DEFAULTFRACTION = 1.0 / 15;
+	/**
+	 * The fraction of the player's money wagered.
+	 */
+	private double fraction;
+
+	/**
+	 * Constructs a policy which wagers 1/15 of the player's money.
+	 *
+	 * @since 1.8.0
+	 */
+	public ProportionalBettingPolicy()
+	{
+		this(DEFAULTFRACTION);
+	}
+
+	/**
+	 * Constructs a policy which wagers a specified fraction of the player's
+	 * money, the program ends if the fraction isn't greater than 0 and at
+	 * most 1.
+	 *
+	 * @param fraction The fraction of the player's money wagered.
+	 * @since 1.8.0
+	 */
+	public ProportionalBettingPolicy(double fraction)
+	{
+		try
+		{
+			if(!(fraction > 0 && fraction <= 1))
+			{
+				throw new PlayerException("Invalid fraction: " + fraction);
+			}
+		}
+		catch(PlayerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.fraction = fraction;
+	}
+
+	/**
+	 * Gets the fraction of the player's money wagered.
+	 *
+	 * @return The fraction.
+	 * @since 1.8.0
+	 */
+	public double getFraction()
+	{
+		return fraction;
+	}
+
+	/**
+	 * String representation of the policy in the form
+	 * <br><pre>
+	 * Proportional: 0.0666
+	 * </pre>
+	 *
+	 * @return String representation of the policy.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "Proportional: " + fraction;
+	}
+
+	/**
+	 * Wagers the fraction of the player's money.
+	 *
+	 * (non-Javadoc)
+	 * @see player.BettingPolicy#getWager(player.PlayerView, card.ShoeView)
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getWager(PlayerView player, ShoeView shoe)
+	{
+		return player.getTotalMoney() * fraction;
+	}
+}
@@ -0,0 +1,168 @@
+package player;
+
+/**
+ * The rules of the table which change how a hand should be played, the
+ * default rules are the rules the Table implements.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class Rules
+{
+	/**
+	 * Whether the dealer hits a soft 17.
+	 */
+	private boolean dealerHitsSoft17;
+	/**
+	 * Whether a player can double down after splitting.
+	 */
+	private boolean doubleAfterSplit;
+	/**
+	 * Whether a player can surrender.
+	 */
+	private boolean surrender;
+
+	/**
+	 * Constructs the rules of the Table, the dealer stands on every 17,
+	 * players can double down after splitting and can surrender.
+	 *
+	 * @since 1.8.0
+	 */
+	public Rules()
+	{
+		this(false, true, true);
+	}
+
+	/**
+	 * Constructs a set of rules.
+	 *
+	 * @param dealerHitsSoft17 Whether the dealer hits a soft 17.
+	 * @param doubleAfterSplit Whether a player can double down after
+	 * splitting.
+	 * @param surrender Whether a player can surrender.
+	 * @since 1.8.0
+	 */
+	public Rules(boolean dealerHitsSoft17, boolean doubleAfterSplit,
+			boolean surrender)
+	{
+		super();
+		this.dealerHitsSoft17 = dealerHitsSoft17;
+		this.doubleAfterSplit = doubleAfterSplit;
+		this.surrender = surrender;
+	}
+
+	/**
+	 * String representation of the rules in the form
+	 * <br><pre>
+	 * Dealer Hits Soft 17: false Double After Split: true Surrender: true
+	 * </pre>
+	 *
+	 * @return String representation of the rules.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "Dealer Hits Soft 17: " + dealerHitsSoft17
+				+ " Double After Split: " + doubleAfterSplit + " Surrender: "
+				+ surrender;
+	}
+
+	/**
+	 * Checks if the rules are equal to another object.
+	 *
+	 * @param obj The object to compare the rules with.
+	 * @return Whether the objects are equal.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 * @since 1.8.0
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (obj == null)
+		{
+			return false;
+		}
+		if (getClass() != obj.getClass())
+		{
+			return false;
+		}
+		Rules other = (Rules) obj;
+		if (dealerHitsSoft17 != other.dealerHitsSoft17)
+		{
+			return false;
+		}
+		if (doubleAfterSplit != other.doubleAfterSplit)
+		{
+			return false;
+		}
+		if (surrender != other.surrender)
+		{
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the hash code of the rules, equal rules have equal hash codes.
+	 *
+	 * @return The hash code.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 * @since 1.8.0
+	 */
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (dealerHitsSoft17 ? 1231 : 1237);
+		result = prime * result + (doubleAfterSplit ? 1231 : 1237);
+		result = prime * result + (surrender ? 1231 : 1237);
+		return result;
+	}
+
+	/**
+	 * Gets whether the dealer hits a soft 17.
+	 *
+	 * @return Whether the dealer hits a soft 17.
+	 * @since 1.8.0
+	 */
+	public boolean getDealerHitsSoft17()
+	{
+		return dealerHitsSoft17;
+	}
+
+	/**
+	 * Gets whether a player can double down after splitting.
+	 *
+	 * @return Whether a player can double down after splitting.
+	 * @since 1.8.0
+	 */
+	public boolean getDoubleAfterSplit()
+	{
+		return doubleAfterSplit;
+	}
+
+	/**
+	 * Gets whether a player can surrender.
+	 *
+	 * @return Whether a player can surrender.
+	 * @since 1.8.0
+	 */
+	public boolean getSurrender()
+	{
+		return surrender;
+	}
+}
@@ -0,0 +1,126 @@
+package player;
+
+import card.ShoeView;
+import logic.Table;
+
+/**
+ * Betting policy which ramps the wager with the true count of the shoe, a
+ * unit is wagered for every whole point of true count, with at least 1 unit
+ * and at most the maximum number of units.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class TrueCountBettingPolicy implements BettingPolicy
+{
+	/**
+	 * The default maximum number of units wagered.
+	 */
+	public static final int DEFAULTMAXUNITS = 8;
+	/**
+	 * The size of a unit.
+	 */
+	private double unit;
+	/**
+	 * The maximum number of units wagered.
+	 */
+	private int maxUnits;
+
+	/**
+	 * Constructs a policy with a unit of the minimum wager and a spread of 1
+	 * to 8 units.
+	 *
+	 * @since 1.8.0
+	 */
+	public TrueCountBettingPolicy()
+	{
+		this(Table.MINWAGER, DEFAULTMAXUNITS);
+	}
+
+	/**
+	 * Constructs a policy with a specified unit and maximum number of units,
+	 * the program ends if the unit isn't positive or the maximum is less
+	 * than 1.
+	 *
+	 * @param unit The size of a unit.
+	 * @param maxUnits The maximum number of units wagered.
+	 * @since 1.8.0
+	 */
+	public TrueCountBettingPolicy(double unit, int maxUnits)
+	{
+		try
+		{
+			if(!(unit > 0))
+			{
+				throw new PlayerException("Invalid unit: " + unit);
+			}
+			if(maxUnits < 1)
+			{
+				throw new PlayerException("Invalid maximum units: " + maxUnits);
+			}
+		}
+		catch(PlayerException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.unit = unit;
+		this.maxUnits = maxUnits;
+	}
+
+	/**
+	 * Gets the size of a unit.
+	 *
+	 * @return The size of a unit.
+	 * @since 1.8.0
+	 */
+	public double getUnit()
+	{
+		return unit;
+	}
+
+	/**
+	 * Gets the maximum number of units wagered.
+	 *
+	 * @return The maximum number of units.
+	 * @since 1.8.0
+	 */
+	public int getMaxUnits()
+	{
+		return maxUnits;
+	}
+
+	/**
+	 * String representation of the policy in the form
+	 * <br><pre>
+	 * True Count: Unit: 25.0 Max Units: 8
+	 * </pre>
+	 *
+	 * @return String representation of the policy.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		return "True Count: Unit: " + unit + " Max Units: " + maxUnits;
+	}
+
+	/**
+	 * Wagers a unit for every whole point of true count.
+	 *
+	 * (non-Javadoc)
+	 * @see player.BettingPolicy#getWager(player.PlayerView, card.ShoeView)
+	 * @since 1.8.0
+	 */
+	@Override
+	public double getWager(PlayerView player, ShoeView shoe)
+	{
+		double units = Math.floor(shoe.getTrueCount());
+		return unit * Math.max(1, Math.min(maxUnits, units));
+	}
+}
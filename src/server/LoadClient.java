@@ -0,0 +1,600 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+import card.CardCode;
+import logic.Table;
+import logic.TableEvent;
+import logic.TableException;
+import logic.TableHost;
+import player.Action;
+
+/**
+ * Generates load on a TableServer from a single thread, every connection
+ * joins its own table and plays until the game finishes. Each connection
+ * wagers the minimum, never takes insurance and hits until its hand reaches
+ * 17, so every message type is exercised.
+ * <br><br>
+ * The latency of a decision is the time from sending it to receiving the
+ * next AWAIT or FINISHED, which covers the round trip and the CPU turns and
+ * dealer turn in between. Latencies are counted in log scaled buckets, each
+ * power of 2 microseconds is split into SUBBUCKETS buckets so a percentile
+ * is within about 3% of the real latency however slow it is.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class LoadClient
+{
+	/**
+	 * The number of buckets each power of 2 microseconds is split into, the
+	 * latencies below twice this have a bucket each.
+	 */
+	private static final int SUBBUCKETS = 32;
+	/**
+	 * The number of buckets in the latency histogram, enough for any latency
+	 * which fits in a long.
+	 */
+	private static final int LATENCYBUCKETS = (Long.SIZE - Integer.
+			numberOfTrailingZeros(SUBBUCKETS)) * SUBBUCKETS;
+	/**
+	 * The score the client stands on.
+	 */
+	private static final int STANDSCORE = 17;
+	/**
+	 * The size of the buffers of each connection.
+	 */
+	private static final int BUFFERSIZE = 4 * Protocol.MAXFRAME;
+	/**
+	 * The address of the server.
+	 */
+	private InetSocketAddress address;
+	/**
+	 * The number of connections.
+	 */
+	private int numOfConnections;
+	/**
+	 * The number of CPU players at each table.
+	 */
+	private int numOfCPUPlayers;
+	/**
+	 * The number of decks at each table.
+	 */
+	private int numOfDecks;
+	/**
+	 * The number of rounds at each table.
+	 */
+	private int totalRounds;
+	/**
+	 * The number of decisions sent.
+	 */
+	private long decisions;
+	/**
+	 * The number of messages received.
+	 */
+	private long messagesReceived;
+	/**
+	 * The number of messages rejected by the server.
+	 */
+	private long rejected;
+	/**
+	 * The number of games finished.
+	 */
+	private int finished;
+	/**
+	 * The number of decisions by their latency in microseconds.
+	 */
+	private long[] latencies;
+	/**
+	 * The slowest latency in microseconds.
+	 */
+	private long maxLatency;
+	/**
+	 * The time the load took in nanoseconds.
+	 */
+	private long elapsed;
+
+	/**
+	 * Constructs a load client.
+	 *
+	 * @param address The address of the server.
+	 * @param numOfConnections The number of connections.
+	 * @param numOfCPUPlayers The number of CPU players at each table.
+	 * @param numOfDecks The number of decks at each table.
+	 * @param totalRounds The number of rounds at each table.
+	 * @throws ServerException Thrown if the number of connections is less than
+	 * 1 or a table can't be described by the protocol.
+	 * @since 1.8.0
+	 */
+	public LoadClient(InetSocketAddress address, int numOfConnections,
+			int numOfCPUPlayers, int numOfDecks, int totalRounds) throws
+			ServerException
+	{
+		if(numOfConnections < 1)
+		{
+			throw new ServerException("Invalid number of connections: " +
+					numOfConnections);
+		}
+		if(numOfCPUPlayers < 0 || numOfCPUPlayers > 0xFF || numOfDecks < 0 ||
+				numOfDecks > 0xFF || totalRounds < 0 || totalRounds > 0xFFFF)
+		{
+			throw new ServerException("Invalid table");
+		}
+
+		this.address = address;
+		this.numOfConnections = numOfConnections;
+		this.numOfCPUPlayers = numOfCPUPlayers;
+		this.numOfDecks = numOfDecks;
+		this.totalRounds = totalRounds;
+		latencies = new long[LATENCYBUCKETS];
+	}
+
+	/**
+	 * String representation of the load in the form
+	 * <br><pre>
+	 * Connections: 1000 Finished: 1000 Decisions: 45012 Rejected: 0 ...
+	 * </pre>
+	 *
+	 * @return String representation of the load.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 * @since 1.8.0
+	 */
+	@Override
+	public String toString()
+	{
+		double seconds = elapsed / 1e9;
+		return String.format("Connections: %d Finished: %d Decisions: %d " +
+				"Rejected: %d Messages: %d%nSeconds: %.2f Messages/second: " +
+				"%.2f%nLatency us p50: %d p99: %d p999: %d max: %d%n",
+				numOfConnections, finished, decisions, rejected,
+				messagesReceived, seconds, messagesReceived / seconds,
+				getLatencyPercentile(0.5), getLatencyPercentile(0.99),
+				getLatencyPercentile(0.999), maxLatency);
+	}
+
+	/**
+	 * Gets the number of decisions sent.
+	 *
+	 * @return The number of decisions.
+	 * @since 1.8.0
+	 */
+	public long getDecisions()
+	{
+		return decisions;
+	}
+
+	/**
+	 * Gets the number of messages received.
+	 *
+	 * @return The number of messages.
+	 * @since 1.8.0
+	 */
+	public long getMessagesReceived()
+	{
+		return messagesReceived;
+	}
+
+	/**
+	 * Gets the number of messages rejected by the server.
+	 *
+	 * @return The number of rejected messages.
+	 * @since 1.8.0
+	 */
+	public long getRejected()
+	{
+		return rejected;
+	}
+
+	/**
+	 * Gets the number of games finished.
+	 *
+	 * @return The number of games.
+	 * @since 1.8.0
+	 */
+	public int getFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Gets the slowest latency.
+	 *
+	 * @return The latency in microseconds.
+	 * @since 1.8.0
+	 */
+	public long getMaxLatency()
+	{
+		return maxLatency;
+	}
+
+	/**
+	 * Gets the latency a fraction of the decisions were within, rounded up
+	 * to the end of its bucket.
+	 *
+	 * @param fraction The fraction of the decisions, from 0 to 1.
+	 * @return The latency in microseconds.
+	 * @since 1.8.0
+	 */
+	public long getLatencyPercentile(double fraction)
+	{
+		long total = 0;
+		for(long count : latencies)
+		{
+			total += count;
+		}
+
+		long target = (long) Math.ceil(total * fraction);
+		long seen = 0;
+		for(int i = 0; i < latencies.length; i++)
+		{
+			seen += latencies[i];
+			if(seen >= target && seen > 0)
+			{
+				return Math.min(getBucketStart(i + 1) - 1, maxLatency);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Opens every connection and plays until every game has finished or a
+	 * time limit is reached.
+	 *
+	 * @param timeoutMillis The time limit in milliseconds.
+	 * @throws IOException Thrown if a connection fails.
+	 * @throws ServerException Thrown if the server sends an invalid frame.
+	 * @since 1.8.0
+	 */
+	public void run(long timeoutMillis) throws IOException, ServerException
+	{
+		long start = System.nanoTime();
+		long deadline = start + timeoutMillis * 1000000;
+		try(Selector selector = Selector.open())
+		{
+			for(int i = 0; i < numOfConnections; i++)
+			{
+				SocketChannel channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.connect(address);
+				channel.register(selector, SelectionKey.OP_CONNECT,
+						new Connection(channel));
+			}
+
+			while(finished < numOfConnections && System.nanoTime() < deadline)
+			{
+				selector.select(100);
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext())
+				{
+					SelectionKey key = keys.next();
+					keys.remove();
+					Connection connection = (Connection) key.attachment();
+					if(key.isConnectable())
+					{
+						connection.channel.finishConnect();
+						key.interestOps(SelectionKey.OP_READ);
+						Protocol.writeJoin(connection.output, numOfCPUPlayers,
+								numOfDecks, totalRounds);
+						flush(connection, key);
+					}
+					else
+					{
+						if(key.isReadable())
+						{
+							read(connection, key);
+						}
+						if(key.isValid() && key.isWritable())
+						{
+							flush(connection, key);
+						}
+					}
+				}
+			}
+
+			for(SelectionKey key : selector.keys())
+			{
+				key.channel().close();
+			}
+		}
+		elapsed = System.nanoTime() - start;
+	}
+
+	/**
+	 * Reads and handles every complete frame of a connection.
+	 *
+	 * @param connection The connection.
+	 * @param key The key of the connection.
+	 * @throws IOException Thrown if the connection fails.
+	 * @throws ServerException Thrown if the server sends an invalid frame or
+	 * closes the connection.
+	 * @since 1.8.0
+	 */
+	private void read(Connection connection, SelectionKey key) throws
+			IOException, ServerException
+	{
+		ByteBuffer input = connection.input;
+		if(connection.channel.read(input) < 0)
+		{
+			throw new ServerException("Connection closed by server");
+		}
+
+		input.flip();
+		int length;
+		while((length = Protocol.getFrameLength(input)) > 0)
+		{
+			int end = input.position() + length;
+			input.position(input.position() + Protocol.HEADER);
+			handle(connection, input, end);
+			input.position(end);
+			messagesReceived++;
+		}
+		input.compact();
+		flush(connection, key);
+	}
+
+	/**
+	 * Handles a frame from the server.
+	 *
+	 * @param connection The connection.
+	 * @param input The buffer positioned at the type of the frame.
+	 * @param end The position of the end of the frame.
+	 * @throws ServerException Thrown if a DELTA holds an invalid event.
+	 * @since 1.8.0
+	 */
+	private void handle(Connection connection, ByteBuffer input, int end)
+			throws ServerException
+	{
+		byte type = input.get();
+		switch(type)
+		{
+			case Protocol.DELTA:
+				try
+				{
+					while(input.position() < end)
+					{
+						connection.apply(TableEvent.read(input));
+					}
+				}
+				catch(TableException e)
+				{
+					throw new ServerException(e.getMessage());
+				}
+				break;
+			case Protocol.AWAIT:
+				recordLatency(connection);
+				int decision = input.get();
+				int handIndex = input.get();
+				if(decision == TableHost.WAGER)
+				{
+					Protocol.writeMoney(connection.output, Protocol.WAGER,
+							Table.MINWAGER);
+				}
+				else if(decision == TableHost.INSURANCE)
+				{
+					Protocol.writeMoney(connection.output, Protocol.INSURANCE, 0);
+				}
+				else
+				{
+					Action action = Action.STAND;
+					if(connection.getHandScore(handIndex) < STANDSCORE)
+					{
+						action = Action.HIT;
+					}
+					Protocol.writeAction(connection.output, action.ordinal());
+				}
+				connection.sent = System.nanoTime();
+				decisions++;
+				break;
+			case Protocol.REJECTED:
+				rejected++;
+				break;
+			case Protocol.FINISHED:
+				recordLatency(connection);
+				finished++;
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Records the latency of the last decision of a connection.
+	 *
+	 * @param connection The connection.
+	 * @since 1.8.0
+	 */
+	private void recordLatency(Connection connection)
+	{
+		if(connection.sent != 0)
+		{
+			long micros = (System.nanoTime() - connection.sent) / 1000;
+			latencies[getBucket(micros)]++;
+			maxLatency = Math.max(maxLatency, micros);
+			connection.sent = 0;
+		}
+	}
+
+	/**
+	 * Gets the bucket of a latency.
+	 *
+	 * @param micros The latency in microseconds.
+	 * @return The index of the bucket.
+	 * @since 1.8.0
+	 */
+	private static int getBucket(long micros)
+	{
+		if(micros < 2 * SUBBUCKETS)
+		{
+			return (int) Math.max(micros, 0);
+		}
+
+		//Keeps the top bits of the latency, the rest only pick the power of 2.
+		int shift = Long.SIZE - Long.numberOfLeadingZeros(micros) - Integer.
+				numberOfTrailingZeros(SUBBUCKETS) - 1;
+		return shift * SUBBUCKETS + (int) (micros >>> shift);
+	}
+
+	/**
+	 * Gets the lowest latency of a bucket.
+	 *
+	 * @param bucket The index of the bucket.
+	 * @return The latency in microseconds.
+	 * @since 1.8.0
+	 */
+	private static long getBucketStart(int bucket)
+	{
+		if(bucket < 2 * SUBBUCKETS)
+		{
+			return bucket;
+		}
+
+		int shift = bucket / SUBBUCKETS - 1;
+		return (long) (bucket % SUBBUCKETS + SUBBUCKETS) << shift;
+	}
+
+	/**
+	 * Writes as much of the output of a connection as the channel accepts.
+	 *
+	 * @param connection The connection.
+	 * @param key The key of the connection.
+	 * @throws IOException Thrown if the connection fails.
+	 * @since 1.8.0
+	 */
+	private static void flush(Connection connection, SelectionKey key) throws
+			IOException
+	{
+		ByteBuffer output = connection.output;
+		output.flip();
+		connection.channel.write(output);
+		output.compact();
+		if(output.position() > 0)
+		{
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+		else
+		{
+			key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * A connection and the cards of its human seat.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private static class Connection
+	{
+		/**
+		 * The channel of the connection.
+		 */
+		private SocketChannel channel;
+		/**
+		 * The bytes read but not yet handled.
+		 */
+		private ByteBuffer input;
+		/**
+		 * The bytes waiting to be written.
+		 */
+		private ByteBuffer output;
+		/**
+		 * The cards of each hand of the human seat.
+		 */
+		private byte[][] codes;
+		/**
+		 * The number of cards in each hand of the human seat.
+		 */
+		private int[] counts;
+		/**
+		 * The time the last decision was sent, 0 if it has been answered.
+		 */
+		private long sent;
+
+		/**
+		 * Constructs a connection.
+		 *
+		 * @param channel The channel of the connection.
+		 * @since 1.8.0
+		 */
+		private Connection(SocketChannel channel)
+		{
+			this.channel = channel;
+			input = ByteBuffer.allocate(BUFFERSIZE);
+			output = ByteBuffer.allocate(BUFFERSIZE);
+			codes = new byte[2][Table.BLACKJACK + 1];
+			counts = new int[2];
+		}
+
+		/**
+		 * Applies an event of a DELTA, only the cards of the human seat are
+		 * kept.
+		 *
+		 * @param event The event.
+		 * @since 1.8.0
+		 */
+		private void apply(long event)
+		{
+			if(TableEvent.getPerson(event) != 0)
+			{
+				return;
+			}
+
+			switch(TableEvent.getType(event))
+			{
+				case TableEvent.CARDDEALT:
+				case TableEvent.CARDFLIPPED:
+					int hand = TableEvent.getHand(event);
+					int position = TableEvent.getPosition(event);
+					codes[hand][position] = TableEvent.getCode(event);
+					counts[hand] = Math.max(counts[hand], position + 1);
+					break;
+				case TableEvent.SPLIT:
+					codes[1][0] = codes[0][1];
+					counts[0] = 1;
+					counts[1] = 1;
+					break;
+				case TableEvent.CLEARED:
+					counts[0] = 0;
+					counts[1] = 0;
+					break;
+				default:
+					break;
+			}
+		}
+
+		/**
+		 * Gets the score of a hand of the human seat.
+		 *
+		 * @param hand The index of the hand.
+		 * @return The score of the hand.
+		 * @since 1.8.0
+		 */
+		private int getHandScore(int hand)
+		{
+			int score = 0;
+			boolean ace = false;
+			for(int i = 0; i < counts[hand]; i++)
+			{
+				score += CardCode.getHardValue(codes[hand][i]);
+				ace |= CardCode.isAce(codes[hand][i]);
+			}
+			if(ace && score + 10 <= Table.BLACKJACK)
+			{
+				score += 10;
+			}
+			return score;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package server;
+
+import java.nio.ByteBuffer;
+
+import logic.TableEvent;
+
+/**
+ * The binary protocol spoken between a TableServer and its clients. Every
+ * message is a frame of
+ * <br><pre>
+ * u16 length | u8 type | payload
+ * </pre>
+ * where the length counts the type and payload. Money is sent as a whole
+ * number of cents and cards are sent as their card code.
+ * <br><br>
+ * Client messages
+ * <br><pre>
+ * JOIN      u8 numOfCPUPlayers, u8 numOfDecks, u16 totalRounds
+ * WAGER     i32 cents
+ * INSURANCE i32 cents
+ * ACTION    u8 ordinal of the action
+ * LEAVE
+ * </pre>
+ * Server messages
+ * <br><pre>
+ * JOINED    i32 table id, u8 seat
+ * DELTA     TableEvent * n
+ * AWAIT     u8 decision, u8 hand, u8 first action, i32 money, i32 wager
+ * REJECTED  u8 type of the rejected message
+ * FINISHED  i32 money
+ * </pre>
+ * A DELTA holds every event of the table since the last DELTA written by
+ * TableEvent.write, the frame length gives the number of bytes. A card dealt
+ * face down is sent with the code HIDDEN until it's flipped. The DELTA is
+ * always sent before the AWAIT or FINISHED it leads to.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public final class Protocol
+{
+	/**
+	 * The number of bytes in the length of a frame.
+	 */
+	public static final int HEADER = 2;
+	/**
+	 * The largest frame, including its length.
+	 */
+	public static final int MAXFRAME = 1024;
+	/**
+	 * Joins a new table as its only human seat.
+	 */
+	public static final byte JOIN = 0x01;
+	/**
+	 * Submits a wager.
+	 */
+	public static final byte WAGER = 0x02;
+	/**
+	 * Submits insurance.
+	 */
+	public static final byte INSURANCE = 0x03;
+	/**
+	 * Submits an action.
+	 */
+	public static final byte ACTION = 0x04;
+	/**
+	 * Leaves the table, closing it.
+	 */
+	public static final byte LEAVE = 0x05;
+	/**
+	 * The table was created.
+	 */
+	public static final byte JOINED = 0x41;
+	/**
+	 * The events of the table since the last DELTA.
+	 */
+	public static final byte DELTA = 0x42;
+	/**
+	 * The seat is awaiting a decision.
+	 */
+	public static final byte AWAIT = 0x43;
+	/**
+	 * A client message was rejected.
+	 */
+	public static final byte REJECTED = 0x44;
+	/**
+	 * The game has finished.
+	 */
+	public static final byte FINISHED = 0x45;
+	/**
+	 * The code sent for a face down card.
+	 */
+	public static final byte HIDDEN = 0x7F;
+
+	/**
+	 * Prevents the utility class from being constructed.
+	 *
+	 * @since 1.8.0
+	 */
+	private Protocol()
+	{
+		super();
+	}
+
+	/**
+	 * Starts a frame, the length is filled in by endFrame.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param type The type of the message.
+	 * @return The position of the frame.
+	 * @since 1.8.0
+	 */
+	public static int startFrame(ByteBuffer buffer, byte type)
+	{
+		int start = buffer.position();
+		buffer.putShort((short) 0);
+		buffer.put(type);
+		return start;
+	}
+
+	/**
+	 * Ends a frame by writing its length.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param start The position of the frame.
+	 * @since 1.8.0
+	 */
+	public static void endFrame(ByteBuffer buffer, int start)
+	{
+		buffer.putShort(start, (short) (buffer.position() - start - HEADER));
+	}
+
+	/**
+	 * Writes a JOIN message.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param numOfCPUPlayers The number of CPU players.
+	 * @param numOfDecks The number of decks.
+	 * @param totalRounds The number of rounds.
+	 * @since 1.8.0
+	 */
+	public static void writeJoin(ByteBuffer buffer, int numOfCPUPlayers,
+			int numOfDecks, int totalRounds)
+	{
+		int start = startFrame(buffer, JOIN);
+		buffer.put((byte) numOfCPUPlayers);
+		buffer.put((byte) numOfDecks);
+		buffer.putShort((short) totalRounds);
+		endFrame(buffer, start);
+	}
+
+	/**
+	 * Writes a WAGER or INSURANCE message.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param type WAGER or INSURANCE.
+	 * @param money The amount of money.
+	 * @since 1.8.0
+	 */
+	public static void writeMoney(ByteBuffer buffer, byte type, double money)
+	{
+		int start = startFrame(buffer, type);
+		buffer.putInt(TableEvent.toCents(money));
+		endFrame(buffer, start);
+	}
+
+	/**
+	 * Writes an ACTION message.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param action The ordinal of the action.
+	 * @since 1.8.0
+	 */
+	public static void writeAction(ByteBuffer buffer, int action)
+	{
+		int start = startFrame(buffer, ACTION);
+		buffer.put((byte) action);
+		endFrame(buffer, start);
+	}
+
+	/**
+	 * Writes a message without a payload.
+	 *
+	 * @param buffer The buffer being written.
+	 * @param type The type of the message.
+	 * @since 1.8.0
+	 */
+	public static void writeEmpty(ByteBuffer buffer, byte type)
+	{
+		int start = startFrame(buffer, type);
+		endFrame(buffer, start);
+	}
+
+	/**
+	 * Gets the length of the complete frame at the position of a buffer.
+	 *
+	 * @param buffer The buffer being read.
+	 * @return The length of the frame including its length, or 0 if the
+	 * frame isn't complete.
+	 * @throws ServerException Thrown if the frame is empty or larger than the
+	 * maximum.
+	 * @since 1.8.0
+	 */
+	public static int getFrameLength(ByteBuffer buffer) throws ServerException
+	{
+		if(buffer.remaining() < HEADER)
+		{
+			return 0;
+		}
+
+		int length = (buffer.getShort(buffer.position()) & 0xFFFF) + HEADER;
+		if(length == HEADER || length > MAXFRAME)
+		{
+			throw new ServerException("Invalid frame length: " + length);
+		}
+		if(buffer.remaining() < length)
+		{
+			return 0;
+		}
+		return length;
+	}
+}
@@ -0,0 +1,30 @@
+package server;
+
+/**
+ * Thrown when an exception is caused by a connection to a server, such as a
+ * malformed frame.
+ * 
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class ServerException extends Exception
+{
+	/**
+	 * Constructs a server exception with a basic detail message.
+	 */
+	public ServerException()
+	{
+		super("Exception in server");
+	}
+	
+	/**
+	 * Constructs a server exception with a custom detail message.
+	 * 
+	 * @param str The detail message.
+	 */
+	public ServerException(String str)
+	{
+		super(str);
+	}
+}
@@ -0,0 +1,789 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import card.CardCode;
+import card.DeckException;
+import logic.HostListener;
+import logic.Table;
+import logic.TableEvent;
+import logic.TableException;
+import logic.TableHost;
+import logic.TableListener;
+import player.Action;
+import player.CPUException;
+import player.HumanException;
+import player.PlayerException;
+import player.PlayerView;
+
+/**
+ * A non-blocking server hosting a table for each connection, every
+ * connection is the only human seat of its table and the rest of the seats
+ * are CPUs. Messages follow the Protocol.
+ * <br><br>
+ * A single thread runs the selector, reading the decisions of every client
+ * and submitting them to the TableHost without waiting for the tables. The
+ * state of a table is encoded on the thread of the table when a decision is
+ * awaited, as only then is the table safe to read, and is queued for the
+ * selector to write along with any decision the table rejects.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class TableServer implements HostListener, Runnable
+{
+	/**
+	 * The size of the buffer each connection reads into.
+	 */
+	private static final int INPUTSIZE = 4 * Protocol.MAXFRAME;
+	/**
+	 * The size of the buffer a DELTA and AWAIT are encoded into.
+	 */
+	private static final int OUTPUTSIZE = Protocol.MAXFRAME + 32;
+	/**
+	 * The most events held by a DELTA, the longest event is 7 bytes.
+	 */
+	private static final int DELTASIZE = Protocol.MAXFRAME - Protocol.HEADER -
+			1;
+	/**
+	 * The length of the longest event.
+	 */
+	private static final int MAXEVENT = 7;
+	/**
+	 * The seat of the human at every table.
+	 */
+	private static final int SEAT = 0;
+	/**
+	 * Every action, cached to avoid the copy made by Action.values().
+	 */
+	private static final Action[] ACTIONS = Action.values();
+	/**
+	 * The tables played by every connection.
+	 */
+	private TableHost host;
+	/**
+	 * Selects the channels ready for IO.
+	 */
+	private Selector selector;
+	/**
+	 * Accepts new connections.
+	 */
+	private ServerSocketChannel serverChannel;
+	/**
+	 * The stream of the events of every table being played by its id.
+	 */
+	private ConcurrentHashMap<Integer, TableStream> streams;
+	/**
+	 * Connections with messages queued by a table.
+	 */
+	private ConcurrentLinkedQueue<Connection> pendingWrites;
+	/**
+	 * Whether the selector has been woken and hasn't yet drained the pending
+	 * writes, so a burst of messages from the tables costs one wakeup.
+	 */
+	private AtomicBoolean wakeupPending;
+	/**
+	 * Whether the server is running.
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Constructs a server listening on a port of every interface.
+	 *
+	 * @param port The port, 0 for any free port.
+	 * @throws IOException Thrown if the port can't be bound.
+	 * @since 1.8.0
+	 */
+	public TableServer(int port) throws IOException
+	{
+		this(new InetSocketAddress(port));
+	}
+
+	/**
+	 * Constructs a server listening on an address.
+	 *
+	 * @param address The address.
+	 * @throws IOException Thrown if the address can't be bound.
+	 * @since 1.8.0
+	 */
+	public TableServer(InetSocketAddress address) throws IOException
+	{
+		host = new TableHost();
+		host.setHostListener(this);
+		streams = new ConcurrentHashMap<Integer, TableStream>();
+		pendingWrites = new ConcurrentLinkedQueue<Connection>();
+		wakeupPending = new AtomicBoolean();
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.configureBlocking(false);
+		serverChannel.bind(address, 1024);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		running = true;
+	}
+
+	/**
+	 * Gets the port the server is listening on.
+	 *
+	 * @return The port.
+	 * @throws IOException Thrown if the server has been closed.
+	 * @since 1.8.0
+	 */
+	public int getPort() throws IOException
+	{
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Gets the host of the tables.
+	 *
+	 * @return The table host.
+	 * @since 1.8.0
+	 */
+	public TableHost getHost()
+	{
+		return host;
+	}
+
+	/**
+	 * Gets the number of tables being played by a connection.
+	 *
+	 * @return The number of tables.
+	 * @since 1.8.0
+	 */
+	public int getNumOfTables()
+	{
+		return streams.size();
+	}
+
+	/**
+	 * Stops the server, the selector thread closes every connection and
+	 * table.
+	 *
+	 * @since 1.8.0
+	 */
+	public void close()
+	{
+		running = false;
+		selector.wakeup();
+	}
+
+	/**
+	 * Runs the selector until the server is closed.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Runnable#run()
+	 * @since 1.8.0
+	 */
+	@Override
+	public void run()
+	{
+		try
+		{
+			while(running)
+			{
+				selector.select();
+
+				wakeupPending.set(false);
+				Connection pending;
+				while((pending = pendingWrites.poll()) != null)
+				{
+					pending.writeScheduled.set(false);
+					flush(pending);
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext())
+				{
+					SelectionKey key = keys.next();
+					keys.remove();
+					if(!key.isValid())
+					{
+						continue;
+					}
+
+					if(key.isAcceptable())
+					{
+						accept();
+					}
+					else
+					{
+						Connection connection = (Connection) key.attachment();
+						if(key.isReadable())
+						{
+							read(connection);
+						}
+						if(key.isValid() && key.isWritable())
+						{
+							flush(connection);
+						}
+					}
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+		finally
+		{
+			for(SelectionKey key : selector.keys())
+			{
+				if(key.attachment() instanceof Connection)
+				{
+					disconnect((Connection) key.attachment());
+				}
+			}
+			host.shutdown();
+			try
+			{
+				serverChannel.close();
+				selector.close();
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Encodes the events since the last decision and the decision being
+	 * awaited.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.HostListener#decisionAwaited(int, int, int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void decisionAwaited(int id, int seat, int decision)
+	{
+		TableStream stream = streams.get(id);
+		if(stream == null)
+		{
+			return;
+		}
+
+		try
+		{
+			Table table = host.getTable(id);
+			ByteBuffer buffer = ByteBuffer.allocate(OUTPUTSIZE);
+			stream.writeDelta(buffer);
+
+			PlayerView player = table.getPlayerView(seat);
+			int start = Protocol.startFrame(buffer, Protocol.AWAIT);
+			buffer.put((byte) decision);
+			buffer.put((byte) host.getAwaitingHandIndex(id));
+			buffer.put((byte) (host.getAwaitingFirstAction(id) ? 1 : 0));
+			buffer.putInt(TableEvent.toCents(player.getTotalMoney()));
+			buffer.putInt(TableEvent.toCents(player.getWager()));
+			Protocol.endFrame(buffer, start);
+			enqueue(stream.connection, buffer);
+		}
+		catch(TableException e)
+		{
+			//The table was closed by the connection.
+		}
+	}
+
+	/**
+	 * Sends a REJECTED for a decision the table rejected.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.HostListener#decisionRejected(int, int, int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void decisionRejected(int id, int seat, int decision)
+	{
+		TableStream stream = streams.get(id);
+		if(stream == null)
+		{
+			return;
+		}
+
+		switch(decision)
+		{
+			case TableHost.WAGER:
+				reject(stream.connection, Protocol.WAGER);
+				break;
+			case TableHost.INSURANCE:
+				reject(stream.connection, Protocol.INSURANCE);
+				break;
+			default:
+				reject(stream.connection, Protocol.ACTION);
+				break;
+		}
+	}
+
+	/**
+	 * Sends the last events and the final money of the human.
+	 *
+	 * (non-Javadoc)
+	 * @see logic.HostListener#tableFinished(int)
+	 * @since 1.8.0
+	 */
+	@Override
+	public void tableFinished(int id)
+	{
+		TableStream stream = streams.get(id);
+		if(stream == null)
+		{
+			return;
+		}
+
+		try
+		{
+			PlayerView player = host.getTable(id).getPlayerView(SEAT);
+			ByteBuffer buffer = ByteBuffer.allocate(OUTPUTSIZE);
+			stream.writeDelta(buffer);
+			Protocol.writeMoney(buffer, Protocol.FINISHED, player.
+					getTotalMoney());
+			enqueue(stream.connection, buffer);
+		}
+		catch(TableException e)
+		{
+			//The table was closed by the connection.
+		}
+	}
+
+	/**
+	 * Accepts every pending connection.
+	 *
+	 * @throws IOException Thrown if the server channel fails.
+	 * @since 1.8.0
+	 */
+	private void accept() throws IOException
+	{
+		SocketChannel channel;
+		while((channel = serverChannel.accept()) != null)
+		{
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			Connection connection = new Connection(channel);
+			connection.key = channel.register(selector, SelectionKey.OP_READ,
+					connection);
+		}
+	}
+
+	/**
+	 * Reads and handles every complete frame of a connection, the
+	 * connection is closed if it ends or sends an invalid frame.
+	 *
+	 * @param connection The connection.
+	 * @since 1.8.0
+	 */
+	private void read(Connection connection)
+	{
+		ByteBuffer input = connection.input;
+		try
+		{
+			if(connection.channel.read(input) < 0)
+			{
+				disconnect(connection);
+				return;
+			}
+
+			input.flip();
+			int length;
+			while((length = Protocol.getFrameLength(input)) > 0)
+			{
+				int end = input.position() + length;
+				input.position(input.position() + Protocol.HEADER);
+				handle(connection, input, end - input.position());
+				input.position(end);
+			}
+			input.compact();
+		}
+		catch(IOException | ServerException | RuntimeException e)
+		{
+			disconnect(connection);
+		}
+	}
+
+	/**
+	 * Handles a frame from a client, a decision is only rejected here if the
+	 * seat isn't awaiting it, otherwise the table rejects it if it's invalid.
+	 *
+	 * @param connection The connection.
+	 * @param input The buffer positioned at the type of the frame.
+	 * @param length The length of the type and payload.
+	 * @throws ServerException Thrown if the frame is invalid.
+	 * @since 1.8.0
+	 */
+	private void handle(Connection connection, ByteBuffer input, int length)
+			throws ServerException
+	{
+		byte type = input.get();
+		int payload = length - 1;
+		boolean accepted;
+		try
+		{
+			switch(type)
+			{
+				case Protocol.JOIN:
+					validatePayload(type, payload, 4);
+					accepted = join(connection, input.get() & 0xFF,
+							input.get() & 0xFF, input.getShort() & 0xFFFF);
+					break;
+				case Protocol.WAGER:
+					validatePayload(type, payload, 4);
+					accepted = connection.tableId >= 0 && host.submitWager(
+							connection.tableId, SEAT, TableEvent.fromCents(input.
+							getInt()));
+					break;
+				case Protocol.INSURANCE:
+					validatePayload(type, payload, 4);
+					accepted = connection.tableId >= 0 && host.submitInsurance(
+							connection.tableId, SEAT, TableEvent.fromCents(input.
+							getInt()));
+					break;
+				case Protocol.ACTION:
+					validatePayload(type, payload, 1);
+					int action = input.get() & 0xFF;
+					accepted = connection.tableId >= 0 && action < ACTIONS.
+							length && host.submitAction(connection.tableId, SEAT,
+							ACTIONS[action]);
+					break;
+				case Protocol.LEAVE:
+					validatePayload(type, payload, 0);
+					leave(connection);
+					accepted = true;
+					break;
+				default:
+					throw new ServerException("Invalid message type: " + type);
+			}
+		}
+		catch(TableException e)
+		{
+			//The table has already been closed.
+			accepted = false;
+		}
+
+		if(!accepted)
+		{
+			reject(connection, type);
+		}
+	}
+
+	/**
+	 * Queues a REJECTED for a message of a connection, called from any
+	 * thread.
+	 *
+	 * @param connection The connection.
+	 * @param type The type of the rejected message.
+	 * @since 1.8.0
+	 */
+	private void reject(Connection connection, byte type)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(Protocol.HEADER + 2);
+		int start = Protocol.startFrame(buffer, Protocol.REJECTED);
+		buffer.put(type);
+		Protocol.endFrame(buffer, start);
+		enqueue(connection, buffer);
+	}
+
+	/**
+	 * Validates the length of the payload of a frame.
+	 *
+	 * @param type The type of the frame.
+	 * @param payload The length of the payload.
+	 * @param expected The expected length.
+	 * @throws ServerException Thrown if the lengths differ.
+	 * @since 1.8.0
+	 */
+	private static void validatePayload(byte type, int payload, int expected)
+			throws ServerException
+	{
+		if(payload != expected)
+		{
+			throw new ServerException("Invalid payload for " + type + ": " +
+					payload);
+		}
+	}
+
+	/**
+	 * Creates and starts a new table for a connection, leaving any table it
+	 * was already playing.
+	 *
+	 * @param connection The connection.
+	 * @param numOfCPUPlayers The number of CPU players.
+	 * @param numOfDecks The number of decks.
+	 * @param totalRounds The number of rounds.
+	 * @return Whether the table was created.
+	 * @throws TableException Thrown if the table can't be started.
+	 * @since 1.8.0
+	 */
+	private boolean join(Connection connection, int numOfCPUPlayers,
+			int numOfDecks, int totalRounds) throws TableException
+	{
+		leave(connection);
+		int id;
+		try
+		{
+			id = host.createTable(1, numOfCPUPlayers, numOfDecks, totalRounds);
+		}
+		catch(PlayerException | HumanException | CPUException | DeckException |
+				TableException e)
+		{
+			return false;
+		}
+
+		TableStream stream = new TableStream(connection);
+		host.getTable(id).addTableListener(stream);
+		connection.tableId = id;
+		streams.put(id, stream);
+
+		//JOINED is queued before the table can queue anything.
+		ByteBuffer buffer = ByteBuffer.allocate(Protocol.HEADER + 6);
+		int start = Protocol.startFrame(buffer, Protocol.JOINED);
+		buffer.putInt(id);
+		buffer.put((byte) SEAT);
+		Protocol.endFrame(buffer, start);
+		enqueue(connection, buffer);
+		host.startTable(id);
+		return true;
+	}
+
+	/**
+	 * Closes the table of a connection if it has one.
+	 *
+	 * @param connection The connection.
+	 * @since 1.8.0
+	 */
+	private void leave(Connection connection)
+	{
+		int id = connection.tableId;
+		if(id < 0)
+		{
+			return;
+		}
+
+		connection.tableId = -1;
+		streams.remove(id);
+		try
+		{
+			host.closeTable(id);
+		}
+		catch(TableException e)
+		{
+			//The table has already been closed.
+		}
+	}
+
+	/**
+	 * Closes a connection and its table.
+	 *
+	 * @param connection The connection.
+	 * @since 1.8.0
+	 */
+	private void disconnect(Connection connection)
+	{
+		leave(connection);
+		connection.key.cancel();
+		try
+		{
+			connection.channel.close();
+		}
+		catch(IOException e)
+		{
+			//The channel is already closed.
+		}
+	}
+
+	/**
+	 * Queues a buffer to be written to a connection, called from any thread.
+	 *
+	 * @param connection The connection.
+	 * @param buffer The buffer in write mode.
+	 * @since 1.8.0
+	 */
+	private void enqueue(Connection connection, ByteBuffer buffer)
+	{
+		buffer.flip();
+		connection.output.add(buffer);
+		if(connection.writeScheduled.compareAndSet(false, true))
+		{
+			pendingWrites.add(connection);
+			if(wakeupPending.compareAndSet(false, true))
+			{
+				selector.wakeup();
+			}
+		}
+	}
+
+	/**
+	 * Writes as many queued buffers as the channel accepts, the connection
+	 * waits to be writable if any remain.
+	 *
+	 * @param connection The connection.
+	 * @since 1.8.0
+	 */
+	private void flush(Connection connection)
+	{
+		if(!connection.key.isValid())
+		{
+			return;
+		}
+
+		try
+		{
+			ByteBuffer buffer;
+			while((buffer = connection.output.peek()) != null)
+			{
+				connection.channel.write(buffer);
+				if(buffer.hasRemaining())
+				{
+					connection.key.interestOps(SelectionKey.OP_READ |
+							SelectionKey.OP_WRITE);
+					return;
+				}
+				connection.output.poll();
+			}
+			connection.key.interestOps(SelectionKey.OP_READ);
+		}
+		catch(IOException e)
+		{
+			disconnect(connection);
+		}
+	}
+
+	/**
+	 * A client connection.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private static class Connection
+	{
+		/**
+		 * The channel of the connection.
+		 */
+		private SocketChannel channel;
+		/**
+		 * The key of the channel.
+		 */
+		private SelectionKey key;
+		/**
+		 * The bytes read but not yet handled.
+		 */
+		private ByteBuffer input;
+		/**
+		 * The buffers waiting to be written.
+		 */
+		private ConcurrentLinkedQueue<ByteBuffer> output;
+		/**
+		 * Whether the connection is queued to be flushed.
+		 */
+		private AtomicBoolean writeScheduled;
+		/**
+		 * The id of the table being played, -1 if there isn't one.
+		 */
+		private volatile int tableId = -1;
+		/**
+		 * Constructs a connection.
+		 *
+		 * @param channel The channel of the connection.
+		 * @since 1.8.0
+		 */
+		private Connection(SocketChannel channel)
+		{
+			this.channel = channel;
+			input = ByteBuffer.allocate(INPUTSIZE);
+			output = new ConcurrentLinkedQueue<ByteBuffer>();
+			writeScheduled = new AtomicBoolean();
+		}
+	}
+
+	/**
+	 * Streams the events of a table to a connection, only used by the thread
+	 * of the table. Face down cards are sent as HIDDEN.
+	 *
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class TableStream implements TableListener
+	{
+		/**
+		 * The connection playing the table.
+		 */
+		private Connection connection;
+		/**
+		 * The events since the last DELTA.
+		 */
+		private ByteBuffer events;
+
+		/**
+		 * Constructs a stream to a connection.
+		 *
+		 * @param connection The connection playing the table.
+		 * @since 1.8.0
+		 */
+		private TableStream(Connection connection)
+		{
+			this.connection = connection;
+			events = ByteBuffer.allocate(DELTASIZE);
+		}
+
+		/**
+		 * Adds an event to the next DELTA, the DELTA is sent early if it's
+		 * full.
+		 *
+		 * (non-Javadoc)
+		 * @see logic.TableListener#tableChanged(logic.Table, long)
+		 * @since 1.8.0
+		 */
+		@Override
+		public void tableChanged(Table table, long event)
+		{
+			if(TableEvent.getType(event) == TableEvent.CARDDEALT && !CardCode.
+					getFaceUp(TableEvent.getCode(event)))
+			{
+				event = TableEvent.encode(TableEvent.CARDDEALT, TableEvent.
+						getPerson(event), TableEvent.getHand(event), TableEvent.
+						getPosition(event), Protocol.HIDDEN);
+			}
+			if(events.remaining() < MAXEVENT)
+			{
+				ByteBuffer buffer = ByteBuffer.allocate(OUTPUTSIZE);
+				writeDelta(buffer);
+				enqueue(connection, buffer);
+			}
+			TableEvent.write(events, event);
+		}
+
+		/**
+		 * Writes the events since the last DELTA as a DELTA frame, nothing is
+		 * written if there aren't any.
+		 *
+		 * @param buffer The buffer being written.
+		 * @since 1.8.0
+		 */
+		private void writeDelta(ByteBuffer buffer)
+		{
+			if(events.position() == 0)
+			{
+				return;
+			}
+
+			int start = Protocol.startFrame(buffer, Protocol.DELTA);
+			events.flip();
+			buffer.put(events);
+			events.clear();
+			Protocol.endFrame(buffer, start);
+		}
+	}
+}
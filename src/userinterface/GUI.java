@@ -15,10 +15,14 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -26,6 +30,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JDialog;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
@@ -35,21 +40,25 @@ import javax.swing.JPanel;
 import javax.swing.JRootPane;
 import javax.swing.JScrollPane;
 import javax.swing.JSlider;
-import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.border.MatteBorder;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import card.Card;
+import card.CardCode;
 import card.Colour;
 import card.Deck;
 import card.DeckException;
 import card.Face;
-import card.Hand;
+import card.FisherYatesShuffler;
+import card.HandView;
+import card.ShoeView;
 import card.Suit;
 import logic.*;
 import player.*;
@@ -133,6 +142,20 @@ public class GUI extends JFrame
 	 * Shorthand of JComponent constant WHEN_IN_FOCUSED_WINDOW
 	 */
 	public static final int WIFW = JComponent.WHEN_IN_FOCUSED_WINDOW;
+	/**
+	 * Longest time in milliseconds the game log is given to finish writing 
+	 * when exiting.
+	 */
+	private static final long EXIT_LOG_WAIT = 1000;
+	/**
+	 * Directory the hand histories of each game are written to.
+	 */
+	private static final String HAND_HISTORY_DIRECTORY = "Hand Histories";
+	/**
+	 * Format of the time a game started in its hand history's name.
+	 */
+	private static final DateTimeFormatter HAND_HISTORY_FORMAT = 
+			DateTimeFormatter.ofPattern("yyyy-MM-dd HH-mm-ss");
 
 	/**
 	 * Every KeyStroke that has been reused.
@@ -143,7 +166,8 @@ public class GUI extends JFrame
 			P = KeyStroke.getKeyStroke(KeyEvent.VK_P, 0), U = KeyStroke.getKeyStroke(KeyEvent.VK_U, 0),
 			M = KeyStroke.getKeyStroke(KeyEvent.VK_M, 0), Y = KeyStroke.getKeyStroke(KeyEvent.VK_Y, 0),
 			N = KeyStroke.getKeyStroke(KeyEvent.VK_N, 0), G = KeyStroke.getKeyStroke(KeyEvent.VK_G, 0),
-			L = KeyStroke.getKeyStroke(KeyEvent.VK_L, 0);
+			L = KeyStroke.getKeyStroke(KeyEvent.VK_L, 0), I = KeyStroke.getKeyStroke(KeyEvent.VK_I, 0),
+			R = KeyStroke.getKeyStroke(KeyEvent.VK_R, 0);
 	/**
 	 * Every Color that has been reused.
 	 */
@@ -168,7 +192,24 @@ public class GUI extends JFrame
 	/**
 	 * Text area containing a log of all events that occurred during the game.
 	 */
-	private JTextArea gameLog;
+	private GameLog gameLog;
+	/**
+	 * The file the rounds of the game are recorded to, null if it couldn't 
+	 * be opened.
+	 */
+	private HandHistoryWriter handHistoryWriter;
+	/**
+	 * Records the rounds of the game to the hand history.
+	 */
+	private HandHistoryRecorder handHistory;
+	/**
+	 * The seed the shoe of the game was shuffled with.
+	 */
+	private long shoeSeed;
+	/**
+	 * The replay being shown, null if a game is being played.
+	 */
+	private HandHistoryReplay replay;
 	/**
 	 * GUI element showing the back of a card and how many cards are left in the deck.
 	 */
@@ -177,6 +218,14 @@ public class GUI extends JFrame
 	 * The logic layer for the game.
 	 */
 	private Table table;
+	/**
+	 * The strategy used to play the turns of the CPUs.
+	 */
+	private BasicStrategy strategy = new BasicStrategy();
+	/**
+	 * The calculator used for the hints given to the humans.
+	 */
+	private ExpectedValueCalculator calculator = new ExpectedValueCalculator();
 	/**
 	 * Formats doubles to to contain 2 digits after the decimal.
 	 */
@@ -290,6 +339,16 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
+					//Lets the game log finish writing before exiting.
+					closeHandHistory();
+					if(gameLog != null)
+					{
+						gameLog.close();
+						if(gameLog.getWriter() != null)
+						{
+							gameLog.getWriter().awaitClosed(EXIT_LOG_WAIT);
+						}
+					}
 					System.exit(0);	
 				}
 			};
@@ -326,6 +385,74 @@ public class GUI extends JFrame
 		}
 	}
 	
+	/**
+	 * Dialog window telling the user something couldn't be done, such as a
+	 * file which couldn't be opened or written.
+	 * 
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class ErrorWindow extends JDialog
+	{
+		/**
+		 * Constructs an error window with a default layout.
+		 * 
+		 * @param message What couldn't be done.
+		 * @param detail The reason, shown as the tooltip of the message.
+		 * @since 1.8.0
+		 */
+		public ErrorWindow(String message, String detail)
+		{
+			setTitle("Error");
+			setSize(TINY_WINDOW);
+			setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+			setModalityType(ModalityType.APPLICATION_MODAL);
+			setLocationRelativeTo(GUI.this);
+			setLayout(new BorderLayout());
+			getContentPane().setBackground(Color.LIGHT_GRAY);
+			setResizable(false);
+			
+			JLabel messageLabel = new JLabel(message);
+			messageLabel.setFont(MAIN_HEADING_FONT);
+			messageLabel.setHorizontalAlignment(JLabel.CENTER);
+			messageLabel.setToolTipText(detail);
+			add(messageLabel, BorderLayout.CENTER);
+			
+			//Closes the error window.
+			Action ok = new AbstractAction() 
+			{
+				@Override
+				public void actionPerformed(ActionEvent e) 
+				{
+					dispose();
+				}
+			};
+			
+			//Key bindings
+			JRootPane rootPane = getRootPane();
+			rootPane.getInputMap(WIFW).put(ENTER, "ENTER");
+			rootPane.getActionMap().put("ENTER", ok);
+			rootPane.getInputMap(WIFW).put(ESC, "ESC");
+			rootPane.getActionMap().put("ESC", ok);
+			
+			//Button Panel
+			JPanel buttonPanel = new JPanel();
+			buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 
+					TINY_BUTTON_HGAP, TINY_BUTTON_VGAP));
+			buttonPanel.setPreferredSize(new Dimension(getWidth(), TINY_BUTTON_PANEL_HEIGHT));
+			buttonPanel.setBackground(Color.DARK_GRAY);
+			JGradientButton okButton = new JGradientButton("OK");
+			okButton.setFont(BUTTON_FONT);
+			okButton.setPreferredSize(BUTTON_SIZE);
+			okButton.setBackground(GREEN);
+			okButton.addActionListener(ok);
+			okButton.setToolTipText("Continue");
+			buttonPanel.add(okButton);
+			add(buttonPanel, BorderLayout.SOUTH);
+		}
+	}
+	
 	/**
 	 * Closes the current window.
 	 * 
@@ -424,6 +551,51 @@ public class GUI extends JFrame
 		}	
 	}
 	
+	/**
+	 * Chooses a hand history and replays its first game on the main screen.
+	 * 
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class ReplayGame extends AbstractAction
+	{
+		/**
+		 * Activates when this object receives an action event.
+		 * 
+		 * (non-Javadoc)
+		 * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
+		 * @since 1.8.0
+		 */
+		@Override
+		public void actionPerformed(ActionEvent e) 
+		{
+			JFileChooser chooser = new JFileChooser(HAND_HISTORY_DIRECTORY);
+			chooser.setFileFilter(new FileNameExtensionFilter("Hand Histories",
+					"bin"));
+			if(chooser.showOpenDialog(GUI.this) != JFileChooser.APPROVE_OPTION)
+			{
+				return;
+			}
+			
+			try
+			{
+				replay = new HandHistoryReplay(new HandHistoryReader(chooser.
+						getSelectedFile().getPath()));
+				table = replay.prepareGame(0);
+			}
+			catch(IOException | TableException ex)
+			{
+				replay = null;
+				ErrorWindow window = new ErrorWindow("The hand history "
+						+ "couldn't be replayed", ex.getMessage());
+				window.setVisible(true);
+				return;
+			}
+			mainScreen();
+		}
+	}
+	
 	/**
 	 * Opens a GameSpeedWindow to change how fast CPU turns occur.
 	 * 
@@ -741,7 +913,11 @@ public class GUI extends JFrame
 					dispose();
 					try 
 					{
-						table.createDeck(humanPlayers + cpuPlayers);
+						//The seed lets the game be replayed from its hand 
+						//history.
+						shoeSeed = new SplittableRandom().nextLong();
+						table.createDeck(humanPlayers + cpuPlayers, 
+								new FisherYatesShuffler(shoeSeed));
 					} 
 					catch (DeckException ex) 
 					{
@@ -1000,18 +1176,18 @@ public class GUI extends JFrame
 		
 			//Number of Players
 			JLabel numPlayer = new JLabel("Number of Players: " 
-			+ (table.getPlayers().length - 1));
+			+ (table.getNumOfPeople() - 1));
 			numPlayer.setFont(MAIN_TEXT_FONT);
 			statistics.add(numPlayer);
 			
 			//Cards in Deck
 			JLabel cardsInFullDeck = new JLabel("Cards in Full Deck: " 
-					+ (table.getDeck().getNumOfDecks() * Deck.DECKSIZE));
+					+ (table.getShoeView().getNumOfDecks() * Deck.DECKSIZE));
 			cardsInFullDeck.setFont(MAIN_TEXT_FONT);
 			statistics.add(cardsInFullDeck);
 			
 			JLabel cardsLeftinDeck = new JLabel("Cards Remaining in Deck: " 
-			+ table.getDeck().getCardsRemaining());
+			+ table.getShoeView().getCardsRemaining());
 			cardsLeftinDeck.setFont(MAIN_TEXT_FONT);
 			statistics.add(cardsLeftinDeck);
 			
@@ -1021,12 +1197,11 @@ public class GUI extends JFrame
 			currentRound.setFont(MAIN_TEXT_FONT);
 			statistics.add(currentRound);
 			
-			Person[] players = table.getPlayers();
-			for(int i = 0; i < players.length; i++)
+			for(int i = 0; i < table.getNumOfPeople(); i++)
 			{
-				if(players[i] instanceof Player)
+				if(table.getPersonView(i) instanceof PlayerView)
 				{
-					Player player = (Player)players[i];
+					PlayerView player = table.getPlayerView(i);
 					JLabel statBreak = new JLabel("");
 					statBreak.setMinimumSize(breakSize);
 					statBreak.setMaximumSize(breakSize);
@@ -1057,26 +1232,25 @@ public class GUI extends JFrame
 					statistics.add(currentWager);
 					
 					//Not split
-					if(!player.getHand(0).getSplit())
+					if(!player.getHandView(0).getSplit())
 					{
 						JLabel handScore = new JLabel("Hand Score: " + 
-								player.getHand(0).getHandScore());
+								player.getHandView(0).getHandScore());
 						handScore.setFont(MAIN_TEXT_FONT);
 						statistics.add(handScore);
 						
 						JLabel cardsHeld = new JLabel("Cards Held: " + 
-								player.getHand(0).getCardsRemaining());
+								player.getHandView(0).getCardsRemaining());
 						cardsHeld.setFont(MAIN_TEXT_FONT);
 						statistics.add(cardsHeld);
 					}
 					//Split
 					else
 					{
-						Hand[] hands = player.getHands();
-						for(int j = 0; j < hands.length; j++)
+						for(int j = 0; j < player.getNumOfHands(); j++)
 						{
 							JLabel handScore = new JLabel("Hand " +	(i + 1) 
-									+ "Score " + hands[i].getHandScore());
+									+ "Score " + player.getHandView(j).getHandScore());
 							handScore.setFont(MAIN_TEXT_FONT);
 							statistics.add(handScore);
 							
@@ -1149,7 +1323,7 @@ public class GUI extends JFrame
 				}
 				else
 				{
-					Person dealer = players[i];
+					PersonView dealer = table.getPersonView(i);
 					JLabel statBreak = new JLabel("");
 					statBreak.setMinimumSize(breakSize);
 					statBreak.setMaximumSize(breakSize);
@@ -1167,13 +1341,13 @@ public class GUI extends JFrame
 					
 					//Hand Score
 					JLabel handScore = new JLabel("Hand Score: " + dealer.
-							getHand(0).getHandScore());
+							getHandView(0).getHandScore());
 					handScore.setFont(MAIN_TEXT_FONT);
 					statistics.add(handScore);
 					
 					//Cards Held
 					JLabel cardsHeld = new JLabel("Cards Held: " + dealer.
-							getHand(0).getCardsRemaining());
+							getHandView(0).getCardsRemaining());
 					cardsHeld.setFont(MAIN_TEXT_FONT);
 					statistics.add(cardsHeld);
 				}
@@ -1269,7 +1443,7 @@ public class GUI extends JFrame
 	 * Used to draw a player's hand onto the display.
 	 * 
 	 * @author Brodie Robertson
-	 * @version 1.7.0
+	 * @version 1.8.0
 	 * @since 1.2.0
 	 */
 	private class HandPanel extends JPanel
@@ -1293,7 +1467,7 @@ public class GUI extends JFrame
 		 * @param hand The persom's hand.
 		 * @since 1.2.0
 		 */
-		public HandPanel(Hand hand)
+		public HandPanel(HandView hand)
 		{
 			setLayout(new GridLayout(row, col));
 			cards = new GUICard[row*col];
@@ -1315,7 +1489,7 @@ public class GUI extends JFrame
 		 */
 		public void updatePanel(int index, int handIndex)
 		{
-			Hand hand = table.getPersonAtIndex(index).getHand(handIndex);
+			HandView hand = table.getPersonView(index).getHandView(handIndex);
 			for(int i = 0; i < row*col; i++)
 			{
 				if(i < hand.getCardsRemaining())
@@ -1329,6 +1503,42 @@ public class GUI extends JFrame
 				cards[i].repaint();
 			}
 		}
+		
+		/**
+		 * Sets the card at a position of the hand, only the changed card is
+		 * repainted.
+		 * 
+		 * @param position The position in the hand.
+		 * @param code The code of the card.
+		 * @since 1.8.0
+		 */
+		public void setCard(int position, byte code)
+		{
+			if(position < cards.length)
+			{
+				cards[position].card = CardCode.toCard(code);
+				cards[position].repaint();
+			}
+		}
+		
+		/**
+		 * Removes every card from a position onwards, only the cards which 
+		 * were shown are repainted.
+		 * 
+		 * @param position The first position removed.
+		 * @since 1.8.0
+		 */
+		public void clearFrom(int position)
+		{
+			for(int i = position; i < cards.length; i++)
+			{
+				if(cards[i].card != null)
+				{
+					cards[i].card = null;
+					cards[i].repaint();
+				}
+			}
+		}
 	}
 	
 	/**
@@ -2059,7 +2269,7 @@ public class GUI extends JFrame
 		 * @param player The player.
 		 * @since 1.2.0
 		 */
-		public PlayerPanel(Player player)
+		public PlayerPanel(PlayerView player)
 		{
 			setLayout(new GridLayout(2, 1));
 			
@@ -2114,7 +2324,7 @@ public class GUI extends JFrame
 			scoreLabels[0].setFont(MAIN_HEADING_FONT);
 			scoreLabels[0].setHorizontalAlignment(JLabel.CENTER);
 			scorePanels[0].add(scoreLabels[0]);
-			scores[0] = new JLabel("" + player.getHand(0).getHandScore());
+			scores[0] = new JLabel("" + player.getHandView(0).getHandScore());
 			scores[0].setFont(MAIN_TEXT_FONT);
 			scores[0].setHorizontalAlignment(JLabel.CENTER);
 			scores[0].setToolTipText(player.getName() + " hand score");
@@ -2152,8 +2362,8 @@ public class GUI extends JFrame
 			handList.setLayout(new GridLayout(0, 1));
 			
 			hands = new HandPanel[2];
-			hands[0] = new HandPanel(player.getHand(0));
-			hands[0].setToolTipText("Cards in hand: " + player.getHand(0).getCardsRemaining());
+			hands[0] = new HandPanel(player.getHandView(0));
+			hands[0].setToolTipText("Cards in hand: " + player.getHandView(0).getCardsRemaining());
 			handList.add(hands[0]);
 
 			JScrollPane handScrollPane = new JScrollPane(handList);
@@ -2173,20 +2383,20 @@ public class GUI extends JFrame
 		 */
 		public void updatePanel(int index)
 		{
-			Player player = (Player)table.getPersonAtIndex(index);
+			PlayerView player = table.getPlayerView(index);
 			totalMoney.setText("$" + df.format(player.getTotalMoney()));
 			wager.setText("$" + df.format(player.getWager()));
-			scores[0].setText("" + player.getHand(0).getHandScore());
+			scores[0].setText("" + player.getHandView(0).getHandScore());
 			
 			//Hand not split
-			if(player.getHand(0).getSplit() && !splitHand)
+			if(player.getHandView(0).getSplit() && !splitHand)
 			{
 				scoreLabels[0].setText("Hand 1 Score");
 				scoreLabels[1].setText("Hand 2 Score");
-				scores[1].setText("" + player.getHand(1).getHandScore());
+				scores[1].setText("" + player.getHandView(1).getHandScore());
 				
-				hands[1] = new HandPanel(player.getHand(0));
-				hands[1].setToolTipText("Cards in hand: " + player.getHand(0).
+				hands[1] = new HandPanel(player.getHandView(0));
+				hands[1].setToolTipText("Cards in hand: " + player.getHandView(0).
 						getCardsRemaining());
 				hands[1].setPreferredSize(new Dimension(0, handList.getHeight()));
 				hands[1].setBorder(new MatteBorder(1, 0, 0, 0, Color.DARK_GRAY));
@@ -2195,11 +2405,10 @@ public class GUI extends JFrame
 				splitHand = true;
 			}
 			//Hand split
-			else if(player.getHand(0).getSplit())
+			else if(player.getHandView(0).getSplit())
 			{
-				scores[1].setText("" + player.getHand(1).getHandScore());
-				hands[1].updatePanel(index, 1);
-				hands[1].setToolTipText("Cards in hand: " + player.getHand(0).
+				scores[1].setText("" + player.getHandView(1).getHandScore());
+				hands[1].setToolTipText("Cards in hand: " + player.getHandView(0).
 						getCardsRemaining());
 			}
 			
@@ -2225,9 +2434,8 @@ public class GUI extends JFrame
 				extra.setToolTipText("");
 			}
 			
-			hands[0].setToolTipText("Cards in hand: " + player.getHand(0).
+			hands[0].setToolTipText("Cards in hand: " + player.getHandView(0).
 					getCardsRemaining());
-			hands[0].updatePanel(index, 0);
 		}
 		
 		/**
@@ -2280,7 +2488,7 @@ public class GUI extends JFrame
 		 * @param dealer The dealer.
 		 * @since 1.2.0
 		 */
-		public DealerPanel(Dealer dealer)
+		public DealerPanel(PersonView dealer)
 		{
 			setLayout(new GridLayout(2, 1));
 			
@@ -2307,7 +2515,7 @@ public class GUI extends JFrame
 			scoreLabel.setFont(MAIN_HEADING_FONT);
 			scoreLabel.setHorizontalAlignment(JLabel.CENTER);
 			scorePanel.add(scoreLabel);
-			score = new JLabel("" + dealer.getHand(0).getHandScore());
+			score = new JLabel("" + dealer.getHandView(0).getHandScore());
 			score.setFont(MAIN_TEXT_FONT);
 			score.setHorizontalAlignment(JLabel.CENTER);
 			score.setToolTipText("The dealer's score");
@@ -2317,8 +2525,8 @@ public class GUI extends JFrame
 			
 			//Hand Panel
 			JPanel fullHandPanel = new JPanel(new GridLayout(0, 1));
-			hand = new HandPanel(dealer.getHand(0));
-			hand.setToolTipText("Cards in hand: " + dealer.getHand(0).getCardsRemaining());
+			hand = new HandPanel(dealer.getHandView(0));
+			hand.setToolTipText("Cards in hand: " + dealer.getHandView(0).getCardsRemaining());
 			fullHandPanel.add(hand);
 			JScrollPane handScrollPanel = new JScrollPane(fullHandPanel);
 			handScrollPanel.setHorizontalScrollBarPolicy(JScrollPane.
@@ -2336,11 +2544,291 @@ public class GUI extends JFrame
 		 */
 		public void updatePanel(int index)
 		{
-			Person dealer = table.getPersonAtIndex(index);
-			score.setText("" + dealer.getHand(0).getHandScore());
-			hand.setToolTipText("Cards in hand: " + dealer.getHand(0).
+			PersonView dealer = table.getPersonView(index);
+			score.setText("" + dealer.getHandView(0).getHandScore());
+			hand.setToolTipText("Cards in hand: " + dealer.getHandView(0).
 					getCardsRemaining());
-			hand.updatePanel(index, 0);
+		}
+	}
+	
+	/**
+	 * Applies the cards which changed on the table to the hand panels, 
+	 * instead of redrawing every hand each update.
+	 * 
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class CardListener implements TableListener
+	{
+		/**
+		 * Applies a card event to the hand panel of the person.
+		 * 
+		 * (non-Javadoc)
+		 * @see logic.TableListener#tableChanged(logic.Table, long)
+		 * @since 1.8.0
+		 */
+		@Override
+		public void tableChanged(Table changed, long event)
+		{
+			int type = TableEvent.getType(event);
+			int person = TableEvent.getPerson(event);
+			if(type == TableEvent.CARDDEALT || type == TableEvent.CARDFLIPPED)
+			{
+				HandPanel hand = getHandPanel(person, TableEvent.getHand(event));
+				if(hand != null)
+				{
+					hand.setCard(TableEvent.getPosition(event), TableEvent.
+							getCode(event));
+				}
+			}
+			//The second hand's panel is created by the next update
+			else if(type == TableEvent.SPLIT)
+			{
+				HandPanel hand = getHandPanel(person, 0);
+				if(hand != null)
+				{
+					hand.clearFrom(1);
+				}
+			}
+			else if(type == TableEvent.CLEARED)
+			{
+				for(int i = 0; i < 2; i++)
+				{
+					HandPanel hand = getHandPanel(person, i);
+					if(hand != null)
+					{
+						hand.clearFrom(0);
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Gets the panel of a hand of a person.
+		 * 
+		 * @param person The index of the person, the dealer is last.
+		 * @param handIndex The index of the hand.
+		 * @return The panel of the hand, null if it isn't shown.
+		 * @since 1.8.0
+		 */
+		private HandPanel getHandPanel(int person, int handIndex)
+		{
+			if(playerPanels == null || dealerPanel == null)
+			{
+				return null;
+			}
+			else if(person < playerPanels.length)
+			{
+				return playerPanels[person].hands[handIndex];
+			}
+			else if(handIndex == 0)
+			{
+				return dealerPanel.hand;
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Shows every event of a replay, the events are applied on the event
+	 * dispatch thread while the replay waits so the table isn't changed as
+	 * it's drawn. The replay pauses for the turn delay after each event 
+	 * which is logged.
+	 * 
+	 * @author Brodie Robertson
+	 * @version 1.8.0
+	 * @since 1.8.0
+	 */
+	private class ReplayListener implements TableListener
+	{
+		/**
+		 * Applies the cards of each event to the hand panels.
+		 */
+		private CardListener cards;
+		/**
+		 * The round being replayed.
+		 */
+		private int round = 1;
+		/**
+		 * Whether the last event applied was logged.
+		 */
+		private boolean logged;
+		
+		/**
+		 * Constructs a listener which applies cards through a card listener.
+		 * 
+		 * @param cards Applies the cards of each event to the hand panels.
+		 * @since 1.8.0
+		 */
+		public ReplayListener(CardListener cards)
+		{
+			this.cards = cards;
+		}
+		
+		/**
+		 * Applies an event on the event dispatch thread then pauses if it 
+		 * was logged.
+		 * 
+		 * (non-Javadoc)
+		 * @see logic.TableListener#tableChanged(logic.Table, long)
+		 * @since 1.8.0
+		 */
+		@Override
+		public void tableChanged(Table changed, long event)
+		{
+			try
+			{
+				SwingUtilities.invokeAndWait(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						apply(changed, event);
+					}
+				});
+				if(logged)
+				{
+					Thread.sleep(turnDelay);
+				}
+			}
+			catch(InvocationTargetException ex)
+			{
+				ex.printStackTrace();
+			}
+			catch(InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		/**
+		 * Updates the panels of the person of an event and logs the event.
+		 * 
+		 * @param changed The table being replayed.
+		 * @param event The event.
+		 * @since 1.8.0
+		 */
+		private void apply(Table changed, long event)
+		{
+			cards.tableChanged(changed, event);
+			int type = TableEvent.getType(event);
+			int index = TableEvent.getPerson(event);
+			if(index < playerPanels.length)
+			{
+				playerPanels[index].updatePanel(index);
+			}
+			else
+			{
+				dealerPanel.updatePanel(index);
+			}
+			updateDeck();
+			
+			String name = changed.getPersonView(index).getName();
+			String money = df.format(TableEvent.fromCents(TableEvent.
+					getValue(event)));
+			String line = null;
+			switch(type)
+			{
+				case TableEvent.WAGER:
+					line = name + "'s wager is $" + money;
+					break;
+				case TableEvent.INSURANCE:
+					if(TableEvent.getValue(event) > 0)
+					{
+						line = name + " takes insurance of $" + money;
+					}
+					break;
+				case TableEvent.ACTION:
+					line = name + " " + getActionText(TableEvent.
+							getPosition(event));
+					if(changed.getPlayerView(index).getNumOfHands() > 1)
+					{
+						line += " with hand " + (TableEvent.getHand(event) + 1);
+					}
+					break;
+				case TableEvent.CARDDEALT:
+				case TableEvent.CARDFLIPPED:
+					//Only the dealer's cards are logged, every player's cards
+					//are shown on their panel.
+					if(index == changed.getDealerIndex())
+					{
+						line = name + (type == TableEvent.CARDDEALT ? 
+								" was dealt a " : " flips a ") + CardCode.
+								toString(TableEvent.getCode(event));
+					}
+					break;
+				case TableEvent.RESULT:
+					line = name + " " + getResultText(TableEvent.
+							getPosition(event)) + " and has $" + money;
+					break;
+				case TableEvent.CLEARED:
+					//The dealer is cleared last.
+					if(index == changed.getDealerIndex())
+					{
+						round++;
+						currentRound(round);
+					}
+					break;
+				default:
+					break;
+			}
+			
+			logged = line != null;
+			if(logged)
+			{
+				gameLog.log(line + "\n");
+			}
+		}
+		
+		/**
+		 * Gets the text logged for an action.
+		 * 
+		 * @param ordinal The ordinal of the action.
+		 * @return The text of the action.
+		 * @since 1.8.0
+		 */
+		private String getActionText(int ordinal)
+		{
+			switch(player.Action.values()[ordinal])
+			{
+				case HIT:
+					return "hits";
+				case DOUBLE_DOWN:
+					return "doubles down";
+				case SPLIT:
+					return "splits";
+				case SURRENDER:
+					return "surrenders";
+				default:
+					return "stands";
+			}
+		}
+		
+		/**
+		 * Gets the text logged for the outcome of a round.
+		 * 
+		 * @param outcome The outcome.
+		 * @return The text of the outcome.
+		 * @since 1.8.0
+		 */
+		private String getResultText(int outcome)
+		{
+			switch(outcome)
+			{
+				case Table.SURRENDERED:
+					return "surrendered";
+				case Table.PUSHED:
+					return "pushes";
+				case Table.BLACKJACKWIN:
+					return "wins with Blackjack";
+				case Table.WON:
+					return "wins";
+				case Table.BUSTED:
+					return "busts";
+				default:
+					return "loses";
+			}
 		}
 	}
 	
@@ -2361,7 +2849,7 @@ public class GUI extends JFrame
 		 */
 		public WagerWindow(int index)
 		{
-			String name = table.getPersonAtIndex(index).getName();
+			String name = table.getPersonView(index).getName();
 			setTitle(name + "'s Wager");
 			setSize(TINY_WINDOW);
 			setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
@@ -2413,7 +2901,7 @@ public class GUI extends JFrame
 						error.setText(ex.getMessage());
 						return;
 					}
-					gameLog.setText(gameLog.getText() + table.getPersonAtIndex(index).
+					gameLog.log(table.getPersonView(index).
 							getName() + "'s wager is $" + df.format(wager) + "\n");
 					playerPanels[index].updatePanel(index);
 					dispose();
@@ -2480,7 +2968,7 @@ public class GUI extends JFrame
 		 */
 		public InsuranceWindow(int index)
 		{
-			Player player = (Player)table.getPersonAtIndex(index);
+			PlayerView player = table.getPlayerView(index);
 			String name = player.getName();
 			setTitle(name + "'s Insurance");
 			setSize(TINY_WINDOW);
@@ -2536,7 +3024,7 @@ public class GUI extends JFrame
 						error.setText(ex.getMessage());
 						return;
 					}
-					gameLog.setText(gameLog.getText() + player.getName()
+					gameLog.log(player.getName()
 							+ " has $" + df.format(insurance) + " of insurance\n");
 					dispose();
 					nextInsurance(index);
@@ -2608,7 +3096,7 @@ public class GUI extends JFrame
 						
 						buttonPanel.revalidate();
 						buttonPanel.repaint();
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 						+ " takes insurance\n");
 					}
 				}
@@ -2620,7 +3108,7 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 					+ " doesn't take insurance\n");
 					dispose();
 					nextInsurance(index);
@@ -2661,7 +3149,7 @@ public class GUI extends JFrame
 	 * Dialog window used for playing out a human's turn.
 	 * 
 	 * @author Brodie Robertson
-	 * @version 1.7.1
+	 * @version 1.8.0
 	 * @since 1.2.0
 	 */
 	private class TurnWindow extends JDialog
@@ -2682,6 +3170,10 @@ public class GUI extends JFrame
 		 * The index of the human.
 		 */
 		private int index;
+		/**
+		 * The index of the hand being played.
+		 */
+		private int handIndex;
 		
 		/**
 		 * Ends the Human's turn with this hand and displays the results.
@@ -2709,10 +3201,10 @@ public class GUI extends JFrame
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
-				Player player = (Player)table.getPersonAtIndex(index);
-				gameLog.setText(gameLog.getText() + "Stands hand " 
+				PlayerView player = table.getPlayerView(index);
+				gameLog.log("Stands hand " 
 						+ (handIndex + 1) + " with a score of " + player.
-						getHand(handIndex).getHandScore() + "\n");
+						getHandView(handIndex).getHandScore() + "\n");
 				nextHand(handIndex);
 			}
 		}
@@ -2743,17 +3235,17 @@ public class GUI extends JFrame
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
-				Player player = (Player)table.getPersonAtIndex(index);
+				PlayerView player = table.getPlayerView(index);
 				error.setText("");
 				Card card = table.hit(index, handIndex);
 				updateDeck();
-				player = (Player)table.getPersonAtIndex(index);
-				gameLog.setText(gameLog.getText() + player.getName() 
+				player = table.getPlayerView(index);
+				gameLog.log(player.getName() 
 					+ " hits and is dealt a " + card + " to hand " + 
 					(handIndex + 1) + "\n");
 				playerPanels[index].updatePanel(index);
 				
-				int handScore = player.getHand(handIndex).getHandScore();
+				int handScore = player.getHandView(handIndex).getHandScore();
 				//Rebuilds the window if the hand's score is less than
 				//Blackjack.
 				if(handScore < Table.BLACKJACK)
@@ -2785,7 +3277,7 @@ public class GUI extends JFrame
 				//If the hand's score is equal to Blackjack
 				else if(handScore == Table.BLACKJACK)
 				{
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 						+ "'s score is " + Table.BLACKJACK + " with hand " 
 						+ (handIndex + 1) + " and is forced to stand");
 					dispose();
@@ -2794,7 +3286,7 @@ public class GUI extends JFrame
 				//If the hand's score is greater than Blackjack.
 				else if(player.getBusted())
 				{
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 						+ " busts\n");
 					dispose();
 					nextPlayer(index);
@@ -2829,29 +3321,28 @@ public class GUI extends JFrame
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
-				Player player = (Player)table.getPersonAtIndex(index);
+				PlayerView player = table.getPlayerView(index);
 				error.setText("");
 				//If the human can afford to double down.
 				if(player.getTotalMoney() >= player.getWager())
 				{
 					Card card = table.doubleDown(index, handIndex);
 					updateDeck();
-					player = (Player)table.getPersonAtIndex(index);
-					gameLog.setText(gameLog.getText() + player.getName() 
+					player = table.getPlayerView(index);
+					gameLog.log(player.getName() 
 						+ " doubles down hand " + (handIndex + 1) + " and their "
 						+ "wager has increased to " + df.format(player.getWager()) + "\n");
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 						+ " is dealt a " + card + " to hand " + (handIndex + 1) + "\n");
-					gameLog.setText(gameLog.getText() + player.getName() 
-						+ " now has a score of " + player.getHand(handIndex).
+					gameLog.log(player.getName() 
+						+ " now has a score of " + player.getHandView(handIndex).
 						getHandScore() + "\n");
 					
 					playerPanels[index].updatePanel(index);
 					//If the player's hand score is above Blackjack
 					if(player.getBusted())
 					{
-						gameLog.setText(gameLog.getText() 
-								+ player.getName() + " busts\n");
+						gameLog.log(player.getName() + " busts\n");
 						dispose();
 						nextPlayer(handIndex);
 					}
@@ -2878,7 +3369,7 @@ public class GUI extends JFrame
 		 */
 		public TurnWindow(int index)
 		{
-			String name = table.getPersonAtIndex(index).getName();
+			String name = table.getPersonView(index).getName();
 			setTitle(name + "'s Turn");
 			setSize(TINY_WINDOW);
 			setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
@@ -2888,7 +3379,7 @@ public class GUI extends JFrame
 			this.index = index;
 			
 			//Request for action
-			JPanel messagePanel = new JPanel(new GridLayout(1, 2));
+			JPanel messagePanel = new JPanel(new GridLayout(1, 3));
 			command = new JLabel("What action would you like to take?");
 			command.setFont(TEXT_FONT);
 			messagePanel.add(command);
@@ -2897,6 +3388,47 @@ public class GUI extends JFrame
 			error.setForeground(Color.RED);
 			error.setHorizontalAlignment(SwingConstants.CENTER);
 			messagePanel.add(error);
+			
+			//Displays the expected value of each action available with the 
+			//current hand.
+			Action hint = new AbstractAction() 
+			{
+				@Override
+				public void actionPerformed(ActionEvent e) 
+				{
+					PlayerView human = table.getPlayerView(index);
+					//A split hand has a single card until it's first hit.
+					int startingCards = human.getNumOfHands() > 1 ? 1 : 2;
+					boolean firstAction = human.getHandView(handIndex).
+							getCardsRemaining() == startingCards;
+					double[] values = calculator.getExpectedValues(table, index,
+							handIndex, firstAction);
+					
+					String hintText = "Hint for hand " + (handIndex + 1) + ":";
+					for(player.Action action : player.Action.values())
+					{
+						if(!Double.isNaN(values[action.ordinal()]))
+						{
+							hintText += " " + action + " " + 
+									df.format(values[action.ordinal()]);
+						}
+					}
+					gameLog.log(hintText + ", best "
+							+ ExpectedValueCalculator.getBestAction(values) + "\n");
+				}
+			};
+			
+			//Hint button, bound on the button as the window's key bindings are
+			//rebuilt after every action.
+			JGradientButton hintButton = new JGradientButton("Hint");
+			hintButton.setFont(BUTTON_FONT);
+			hintButton.setBackground(LIGHT_BLUE);
+			hintButton.addActionListener(hint);
+			hintButton.setToolTipText("Shows the expected value of each action "
+					+ "in the game log");
+			hintButton.getInputMap(WIFW).put(I, "I");
+			hintButton.getActionMap().put("I", hint);
+			messagePanel.add(hintButton);
 			add(messagePanel, BorderLayout.CENTER);
 			
 			//Ends the Human's turn and displays the results.
@@ -2905,9 +3437,9 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Player player = (Player)table.getPersonAtIndex(index);
-					gameLog.setText(gameLog.getText() + player.getName() 
-					+ " stands with a score of " + player.getHand(0).
+					PlayerView player = table.getPlayerView(index);
+					gameLog.log(player.getName() 
+					+ " stands with a score of " + player.getHandView(0).
 					getHandScore() + "\n");
 					dispose();
 					nextPlayer(index);
@@ -2923,12 +3455,12 @@ public class GUI extends JFrame
 					error.setText("");
 					Card card = table.hit(index, 0);
 					updateDeck();
-					Player player = (Player)table.getPersonAtIndex(index);
-					gameLog.setText(gameLog.getText() + player.getName() 
+					PlayerView player = table.getPlayerView(index);
+					gameLog.log(player.getName() 
 						+ " hits and is dealt a " + card + "\n");
 					playerPanels[index].updatePanel(index);
 					
-					int handScore = player.getHand(0).getHandScore();
+					int handScore = player.getHandView(0).getHandScore();
 					
 					//If hand score is less than Blackjack.
 					if(handScore < Table.BLACKJACK)
@@ -2964,7 +3496,7 @@ public class GUI extends JFrame
 					//If hand score is equal to Blackjack.
 					else if(handScore == Table.BLACKJACK)
 					{
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 							+ "'s score is " + Table.BLACKJACK + " and is "
 							+ "forced to stand\n");
 						dispose();
@@ -2973,7 +3505,7 @@ public class GUI extends JFrame
 					//If hand score greater than Blackjack.
 					else if(player.getBusted())
 					{
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 							+ " busts\n");
 						dispose();
 						nextPlayer(index);
@@ -2988,7 +3520,7 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Player player = (Player)table.getPersonAtIndex(0);
+					PlayerView player = table.getPlayerView(0);
 					error.setText("");
 					//Doubles the wager and deals a new card if the human can 
 					//afford to.
@@ -2996,20 +3528,19 @@ public class GUI extends JFrame
 					{
 						Card card = table.doubleDown(index, 0);
 						updateDeck();
-						player = (Player)table.getPersonAtIndex(index);
-						gameLog.setText(gameLog.getText() + player.getName() 
+						player = table.getPlayerView(index);
+						gameLog.log(player.getName() 
 							+ " doubles down and their wager has increased to " 
 								+ df.format(player.getWager()) + "\n");
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 							+ " is dealt a " + card + "\n");
-						gameLog.setText(gameLog.getText() + player.getName() 
-							+ " now has a score of " + player.getHand(0).getHandScore() + "\n");
+						gameLog.log(player.getName() 
+							+ " now has a score of " + player.getHandView(0).getHandScore() + "\n");
 						
 						//If hand score greater than Blackjack.
 						if(player.getBusted())
 						{
-							gameLog.setText(gameLog.getText() 
-									+ player.getName() + " has gone bust");
+							gameLog.log(player.getName() + " has gone bust");
 						}
 						playerPanels[index].updatePanel(index);
 						dispose();
@@ -3031,19 +3562,19 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Player player = (Player)table.getPersonAtIndex(0);
+					PlayerView player = table.getPlayerView(0);
 					error.setText("");
 					//If the human meet the requirements for a split.
 					if(player.getTotalMoney() >= player.getWager() && (player.
-					   getHand(0).getCard(0).getValue() == player.getHand(0).
-					   getCard(1).getValue() || (player.getHand(0).getCard(0).
-					   getFace() == Face.ACE && player.getHand(0).getCard(1).
+					   getHandView(0).getCard(0).getValue() == player.getHandView(0).
+					   getCard(1).getValue() || (player.getHandView(0).getCard(0).
+					   getFace() == Face.ACE && player.getHandView(0).getCard(1).
 					   getFace() == Face.ACE)))
 					{
 						error.setText("");
 						table.split(index);
-						player = (Player)table.getPersonAtIndex(index);
-						gameLog.setText(gameLog.getText() + player.getName() 
+						player = table.getPlayerView(index);
+						gameLog.log(player.getName() 
 							+ " splits their hand and their wager increase to " 
 							+ df.format(player.getWager()) + "\n");
 						playerPanels[index].updatePanel(index);
@@ -3100,9 +3631,9 @@ public class GUI extends JFrame
 						return;
 					}
 					//Error if the humans card do not match.
-					else if(player.getHand(0).getCard(0).getValue() != player.
-							getHand(0).getCard(0).getValue() || (player.getHand(0).
-							getCard(0).getFace() != Face.ACE && player.getHand(0).
+					else if(player.getHandView(0).getCard(0).getValue() != player.
+							getHandView(0).getCard(0).getValue() || (player.getHandView(0).
+							getCard(0).getFace() != Face.ACE && player.getHandView(0).
 							getCard(1).getFace() != Face.ACE))
 					{
 						error.setText("The cards in your hand don't match");
@@ -3118,11 +3649,11 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Player player = (Player)table.getPersonAtIndex(0);
+					PlayerView player = table.getPlayerView(0);
 					double returnedAmount = table.surrender(index);
-					gameLog.setText(gameLog.getText() + player.getName()
+					gameLog.log(player.getName()
 						+ " surrenders and half of their wager is returned\n");
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 						+ " regains $" + df.format(returnedAmount) + "\n");
 					playerPanels[index].updatePanel(index);
 					dispose();
@@ -3198,11 +3729,12 @@ public class GUI extends JFrame
 		 */
 		private void nextHand(int handIndex)
 		{
-			Hand[] hands = table.getPersonAtIndex(index).getHands();
+			int numOfHands = table.getPersonView(index).getNumOfHands();
 			//If there is a hand remaining, rebuild the window.
-			if(handIndex + 1 < hands.length)
+			if(handIndex + 1 < numOfHands)
 			{
 				handIndex++;
+				this.handIndex = handIndex;
 				error.setText("");
 				command.setText("What action would you like to take with hand " 
 						+ (handIndex + 1) + "?");
@@ -3308,29 +3840,23 @@ public class GUI extends JFrame
 				}
 			};
 			
-			//Saves the game log to a .txt file, overwriting the previous log.
+			//Shows where the game log is being saved, the log is written as
+			//the game is played.
 			Action printGameLog = new AbstractAction()
 			{
 				@Override
 				public void actionPerformed(ActionEvent arg0) 
 				{
-					PrintWriter outputStream = null;
-					try
+					gameLog.flush();
+					if(gameLog.getWriter() != null)
 					{
-						outputStream = new PrintWriter(new FileOutputStream("Game Log.txt"), false);
+						command.setText("Game log saved to " + gameLog.
+								getWriter().getFile().getFileName());
 					}
-					catch(FileNotFoundException ex)
-					{
-						System.out.println("Error opening the file");
-						System.exit(0);
-					}
-					
-					String[] log = gameLog.getText().split("\n");
-					for(int i = 0; i < log.length; i++)
+					else
 					{
-						outputStream.println(log[i]);
+						command.setText("The game log couldn't be saved");
 					}
-					outputStream.close();
 				}
 			};
 			
@@ -3451,6 +3977,8 @@ public class GUI extends JFrame
 		rootPane.getActionMap().put("A", new About());
 		rootPane.getInputMap(WIFW).put(S, "S");
 		rootPane.getActionMap().put("S", new Statistics());
+		rootPane.getInputMap(WIFW).put(R, "R");
+		rootPane.getActionMap().put("R", new ReplayGame());
 		
 		final int buttonPanelHeight = 80;
 		final int buttonVGap = buttonPanelHeight / 4;
@@ -3479,6 +4007,13 @@ public class GUI extends JFrame
 		playButton.setPreferredSize(buttonSize);
 		playButton.setFont(buttonFont);
 		buttonPanel.add(playButton);
+		JGradientButton replayButton = new JGradientButton("Replay");
+		replayButton.setBackground(LIGHT_BLUE);
+		replayButton.addActionListener(new ReplayGame());
+		replayButton.setToolTipText("Replays a game from its hand history");
+		replayButton.setPreferredSize(buttonSize);
+		replayButton.setFont(buttonFont);
+		buttonPanel.add(replayButton);
 		JGradientButton quitButton = new JGradientButton("Quit Game");
 		quitButton.setBackground(LIGHT_BLUE);
 		quitButton.addActionListener(new QuitGame());
@@ -3550,8 +4085,8 @@ public class GUI extends JFrame
 		
 		//Dealer Panel
 		JPanel topQuarterPanel = new JPanel(new GridLayout(1, 3));
-		dealerPanel = new DealerPanel((Dealer)table.getPersonAtIndex
-				(table.getPlayers().length - 1));
+		dealerPanel = new DealerPanel(table.getPersonView
+				(table.getNumOfPeople() - 1));
 		topQuarterPanel.add(dealerPanel);
 		
 		//Deck Panel
@@ -3582,7 +4117,27 @@ public class GUI extends JFrame
 		JLabel gameLogHeader = new JLabel("Game Log");
 		gameLogHeader.setFont(MAIN_HEADING_FONT);
 		logPanel.add(gameLogHeader, BorderLayout.NORTH);
-		gameLog = new JTextArea();
+		//Ends the previous session's log file.
+		if(gameLog != null)
+		{
+			gameLog.close();
+		}
+		gameLog = new GameLog();
+		try
+		{
+			gameLog.setWriter(new GameLogWriter());
+		}
+		catch(IOException ex)
+		{
+			ErrorWindow window = new ErrorWindow("The game log couldn't be "
+					+ "opened, it won't be saved", ex.getMessage());
+			window.setVisible(true);
+		}
+		//A replay is already recorded.
+		if(replay == null)
+		{
+			openHandHistory();
+		}
 		gameLog.setFont(MAIN_TEXT_FONT);
 		gameLog.setLineWrap(true);
 		gameLog.setEditable(false);
@@ -3596,13 +4151,21 @@ public class GUI extends JFrame
 		
 		//Player panels
 		JPanel bottomCenterPanel = new JPanel(new GridLayout(1, Table.MAXNUMPLAYERS));
-		playerPanels = new PlayerPanel[table.getPlayers().length - 1];
+		playerPanels = new PlayerPanel[table.getNumOfPeople() - 1];
+		if(replay == null)
+		{
+			table.addTableListener(new CardListener());
+		}
+		else
+		{
+			table.addTableListener(new ReplayListener(new CardListener()));
+		}
 		for(int i = 0; i < Table.MAXNUMPLAYERS; i++)
 		{
 			//If there are player's left create a new player panel
 			if(i < playerPanels.length)
 			{
-				Player player = (Player)table.getPersonAtIndex(i);
+				PlayerView player = table.getPlayerView(i);
 				playerPanels[i] = new PlayerPanel(player);
 				bottomCenterPanel.add(playerPanels[i]);
 			}
@@ -3617,11 +4180,63 @@ public class GUI extends JFrame
 		
 		getContentPane().revalidate();
 		repaint();
+		if(replay != null)
+		{
+			startReplay();
+			return;
+		}
 		currentRound();
-		gameLog.setText(gameLog.getText() + "Wagers:\n");
+		gameLog.log("Wagers:\n");
 		initialWager(0);
 	}
 	
+	/**
+	 * Plays the prepared replay on its own thread, every event is shown as 
+	 * it happens. Once it's finished the result of comparing the replay with
+	 * its hand history is logged.
+	 * 
+	 * @since 1.8.0
+	 */
+	private void startReplay()
+	{
+		final HandHistoryReplay playing = replay;
+		currentRound(1);
+		Thread thread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				String result;
+				try
+				{
+					int mismatches = playing.playGame();
+					result = mismatches == 0 ? "The replay matches its hand "
+							+ "history\n" : "The replay doesn't match " 
+							+ mismatches + " records of its hand history\n";
+				}
+				catch(TableException | PlayerException ex)
+				{
+					result = "The replay failed: " + ex.getMessage() + "\n";
+				}
+				
+				final String message = result;
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						gameLog.log(message);
+						replay = null;
+						EndGameWindow window = new EndGameWindow();
+						window.setVisible(true);
+					}
+				});
+			}
+		}, "hand-history-replay");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
 	/**
 	 * Updates the deck tool tip text.
 	 * 
@@ -3629,8 +4244,12 @@ public class GUI extends JFrame
 	 */
 	private void updateDeck()
 	{
-		deck.setToolTipText("Cards Remaining: " + table.getDeck().getCardsRemaining() 
-				+ "/" + (table.getDeck().getNumOfDecks() * Deck.DECKSIZE));
+		ShoeView shoe = table.getShoeView();
+		deck.setToolTipText("Cards Remaining: " + shoe.getCardsRemaining() 
+				+ "/" + (shoe.getNumOfDecks() * Deck.DECKSIZE) + " Aces: " 
+				+ shoe.getValueCount(1) + " Tens: " + shoe.getValueCount(10)
+				+ " Red: " + shoe.getColourCount(Colour.RED) + " Black: " 
+				+ shoe.getColourCount(Colour.BLACK));
 	}
 	
 	/**
@@ -3640,7 +4259,18 @@ public class GUI extends JFrame
 	 */
 	private void currentRound()
 	{
-		gameLog.setText(gameLog.getText() + "Round " + table.getCurrentRound() 
+		currentRound(table.getCurrentRound());
+	}
+	
+	/**
+	 * Adds a specified round to the game log.
+	 * 
+	 * @param round The number of the round.
+	 * @since 1.8.0
+	 */
+	private void currentRound(int round)
+	{
+		gameLog.log("Round " + round 
 		+ " -------------------------------------------------------------------"
 		+ "----------------------------------\n");
 	}
@@ -3653,7 +4283,7 @@ public class GUI extends JFrame
 	 */
 	private void initialWager(int index)
 	{
-		Player player = (Player)table.getPersonAtIndex(index);
+		PlayerView player = table.getPlayerView(index);
 		//If the player isn't bankrupt.
 		if(!player.getBankrupt())
 		{
@@ -3672,7 +4302,7 @@ public class GUI extends JFrame
 					public void actionPerformed(ActionEvent e) 
 					{
 						double wager = table.setCPUWager(index);
-						gameLog.setText(gameLog.getText() + player.getName() + 
+						gameLog.log(player.getName() + 
 								"'s wager is $" + df.format(wager) + "\n");
 						playerPanels[index].updatePanel(index);
 						nextWager(index);	
@@ -3700,15 +4330,15 @@ public class GUI extends JFrame
 	private void nextWager(int index)
 	{
 		//If there are any more players left.
-		if(index + 1 < table.getPlayers().length - 1)
+		if(index + 1 < table.getNumOfPeople() - 1)
 		{
 			initialWager(index + 1);
 		}
 		//If not goes to the next stage of the game.
 		else
 		{
-			gameLog.setText(gameLog.getText() + "\nDealing Cards to Players:\n");
-			gameLog.setText(gameLog.getText() + "All player's are dealt 2 cards\n");
+			gameLog.log("\nDealing Cards to Players:\n");
+			gameLog.log("All player's are dealt 2 cards\n");
 			initialDeal(0);
 		}
 	}
@@ -3723,38 +4353,38 @@ public class GUI extends JFrame
 	{
 		table.deal(index);
 		updateDeck();
-		Person person = table.getPersonAtIndex(index);
+		PersonView person = table.getPersonView(index);
 		ActionListener deal = new ActionListener() 
 		{	
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
 				//If the person is a Player.
-				if(person instanceof Player)
+				if(person instanceof PlayerView)
 				{
-					Player player = (Player)person;
+					PlayerView player = (PlayerView)person;
 					//If the Player is not bankrupt.
 					if(!player.getBankrupt())
 					{
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 							+ " was dealt a ");
-						Card[] cards = player.getHand(0).getCards();
+						Card[] cards = player.getHandView(0).getCards();
 						//For each card in the hand.
 						for(int j = 0; j < cards.length; j++)
 						{
-							gameLog.setText(gameLog.getText() + cards[j]);
+							gameLog.log("" + cards[j]);
 							if(j < cards.length - 1)
 							{
-								gameLog.setText(gameLog.getText() + " and a ");
+								gameLog.log(" and a ");
 							}
 						}
-						gameLog.setText(gameLog.getText() + "\n");
+						gameLog.log("\n");
 						
-						player = (Player)table.getPersonAtIndex(index);
+						player = table.getPlayerView(index);
 						//If the player has Blackjack
-						if(player.getHand(0).getHandScore() == Table.BLACKJACK)
+						if(player.getHandView(0).getHandScore() == Table.BLACKJACK)
 						{
-							gameLog.setText(gameLog.getText() + player.getName() 
+							gameLog.log(player.getName() 
 								+ " has Blackjack\n");
 						}
 						playerPanels[index].updatePanel(index);
@@ -3763,26 +4393,26 @@ public class GUI extends JFrame
 				//If the person is the Dealer.
 				else
 				{
-					Person dealer = person;
-					gameLog.setText(gameLog.getText() + dealer.getName() 
+					PersonView dealer = person;
+					gameLog.log(dealer.getName() 
 						+ " was dealt a ");
-					Card[] cards = dealer.getHand(0).getCards();
+					Card[] cards = dealer.getHandView(0).getCards();
 					//For each card in the hand.
 					for(int j = 0; j < cards.length; j++)
 					{
-						gameLog.setText(gameLog.getText() + cards[j]);
+						gameLog.log("" + cards[j]);
 						if(j < cards.length - 1)
 						{
-							gameLog.setText(gameLog.getText() + " and a ");
+							gameLog.log(" and a ");
 						}
 					}
-					gameLog.setText(gameLog.getText() + "\n");
+					gameLog.log("\n");
 					
-					dealer = table.getPersonAtIndex(index);
+					dealer = table.getPersonView(index);
 					//If the player has Blackjack
-					if(dealer.getHand(0).getHandScore() == Table.BLACKJACK)
+					if(dealer.getHandView(0).getHandScore() == Table.BLACKJACK)
 					{
-						gameLog.setText(gameLog.getText() + dealer.getName() 
+						gameLog.log(dealer.getName() 
 						+ " has Blackjack\n");
 					}
 					dealerPanel.updatePanel(index);
@@ -3805,7 +4435,7 @@ public class GUI extends JFrame
 	 */
 	private void nextDeal(int index)
 	{
-		if(index + 1 < table.getPlayers().length)
+		if(index + 1 < table.getNumOfPeople())
 		{
 			initialDeal(index + 1);
 		}
@@ -3816,18 +4446,18 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Person[] people = table.getPlayers();
+					PersonView dealer = table.getPersonView(table.
+							getDealerIndex());
 					//If the dealer's first card is an Ace,begin insurance round.
-					if(people[people.length - 1].getHand(0).getCard(0).
-							getFace() == Face.ACE)
+					if(CardCode.isAce(dealer.getHandView(0).getCode(0)))
 					{
-						gameLog.setText(gameLog.getText() + "\nInsurance:\n");
+						gameLog.log("\nInsurance:\n");
 						insurance(0);
 					}
 					//If not begin the first player turn.
 					else
 					{
-						gameLog.setText(gameLog.getText() + "\nPlayer Turns:");
+						gameLog.log("\nPlayer Turns:");
 						playerTurn(0);
 					}
 				}
@@ -3847,10 +4477,10 @@ public class GUI extends JFrame
 	 */
 	private void insurance(int index)
 	{
-		Player player = (Player)table.getPersonAtIndex(index);
+		PlayerView player = table.getPlayerView(index);
 		
 		//If the player is not bankrupt and does not have Blackjack.
-		if(!player.getBankrupt() && player.getHand(0).getHandScore() < Table.BLACKJACK)
+		if(!player.getBankrupt() && player.getHandView(0).getHandScore() < Table.BLACKJACK)
 		{
 			//If the player is a Human, open an InsuranceWindow.
 			if(player instanceof Human)
@@ -3868,19 +4498,18 @@ public class GUI extends JFrame
 					public void actionPerformed(ActionEvent e) 
 					{
 						double insurance = table.setCPUInsurance(index);
-						Player cpu = (Player)table.getPersonAtIndex(index);
+						PlayerView cpu = table.getPlayerView(index);
 						//If the CPU took insurance.
 						if(cpu.getTookInsurance())
 						{
 							playerPanels[index].updatePanel(index);
-							gameLog.setText(gameLog.getText() + cpu.getName() + 
+							gameLog.log(cpu.getName() + 
 									" has $" + df.format(insurance) + " of insurance\n");
 						}
 						//If the CPU doesn't take insurance.
 						else
 						{
-							gameLog.setText(gameLog.getText() + 
-									cpu.getName() + " doesn't take insurance\n");
+							gameLog.log(cpu.getName() + " doesn't take insurance\n");
 						}
 						
 						playerPanels[index].updatePanel(index);
@@ -3910,7 +4539,7 @@ public class GUI extends JFrame
 	private void nextInsurance(int index)
 	{
 		//If there is are any more player's left.
-		if(index + 1 < table.getPlayers().length - 1)
+		if(index + 1 < table.getNumOfPeople() - 1)
 		{
 			insurance(index + 1);
 		}
@@ -3920,9 +4549,9 @@ public class GUI extends JFrame
 			//If the insurance bet was successful prepare for the next round.
 			if(insuranceResult())
 			{
-				for(int i = 0; i < table.getPlayers().length - 1; i++)
+				for(int i = 0; i < table.getNumOfPeople() - 1; i++)
 				{
-					Player player = (Player)table.getPersonAtIndex(i);
+					PlayerView player = table.getPlayerView(i);
 					if(player.getBankrupt())
 					{
 						ActionListener bankrupt = new ActionListener() 
@@ -3931,7 +4560,7 @@ public class GUI extends JFrame
 							@Override
 							public void actionPerformed(ActionEvent e) 
 							{
-								gameLog.setText(gameLog.getText() + player.getName() 
+								gameLog.log(player.getName() 
 								+ " has gone bankrupt\n");
 							}
 						};
@@ -3947,7 +4576,7 @@ public class GUI extends JFrame
 			//If the insurance bet was not successful
 			else
 			{
-				gameLog.setText(gameLog.getText() + "\nPlayer Turns:\n");
+				gameLog.log("\nPlayer Turns:\n");
 				playerTurn(0);
 			}
 		}
@@ -3960,21 +4589,20 @@ public class GUI extends JFrame
 	 */
 	private boolean insuranceResult()
 	{
-		Person[] players = table.getPlayers();
-		int finalIndex = table.getPlayers().length - 1;
+		int finalIndex = table.getNumOfPeople() - 1;
 		
 		//If the dealer's second card has a value of 10.
 		if(table.attemptDealerCardFlip())
 		{
-			Person dealer = table.getPersonAtIndex(finalIndex);
-			gameLog.setText(gameLog.getText() + "\nInsurance Result:\n");
-			gameLog.setText(gameLog.getText() + dealer.getName() + "'s second card is " + 
-					dealer.getHand(0).getCard(1) + "\n");
-			gameLog.setText(gameLog.getText() + dealer.getName() 
+			PersonView dealer = table.getPersonView(finalIndex);
+			gameLog.log("\nInsurance Result:\n");
+			gameLog.log(dealer.getName() + "'s second card is " + 
+					dealer.getHandView(0).getCard(1) + "\n");
+			gameLog.log(dealer.getName() 
 					+ " has Blackjack\n");
 			dealerPanel.updatePanel(finalIndex);
 			
-			for(int i = 0; i < players.length - 1; i++)
+			for(int i = 0; i < finalIndex; i++)
 			{
 				final int j = i;
 				ActionListener insuranceResult = new ActionListener() 
@@ -3982,7 +4610,7 @@ public class GUI extends JFrame
 					@Override
 					public void actionPerformed(ActionEvent e) 
 					{
-						gameLog.setText(gameLog.getText() + table.insurancePayout(j));
+						gameLog.log(table.insurancePayout(j));
 						playerPanels[j].updatePanel(j);
 					}
 				};
@@ -3996,13 +4624,13 @@ public class GUI extends JFrame
 		//If the dealer's second card does not.
 		else
 		{
-			gameLog.setText(gameLog.getText() + table.getPersonAtIndex(finalIndex).
+			gameLog.log(table.getPersonView(finalIndex).
 					getName() + " does not have Blackjack, all insurace bets lost\n");
 			
 			//Reset the insurance of each player that took insurance.
-			for(int i = 0; i < table.getPlayers().length - 1; i++)
+			for(int i = 0; i < table.getNumOfPeople() - 1; i++)
 			{
-				Player player = (Player)table.getPersonAtIndex(i);
+				PlayerView player = table.getPlayerView(i);
 				if(player.getTookInsurance())
 				{
 					table.resetInsurance(i);
@@ -4022,11 +4650,11 @@ public class GUI extends JFrame
 	 */
 	private void playerTurn(int index)
 	{
-		Player player = (Player)table.getPersonAtIndex(index);
+		PlayerView player = table.getPlayerView(index);
 		//If the Player is not bankrupt and has a score of less than Blackjack.
-		if(!player.getBankrupt() && player.getHand(0).getHandScore() < Table.BLACKJACK)			
+		if(!player.getBankrupt() && player.getHandView(0).getHandScore() < Table.BLACKJACK)			
 		{
-			gameLog.setText(gameLog.getText() + "\nIt's now " 
+			gameLog.log("\nIt's now " 
 					+ player.getName() + "'s turn");
 			//If the Player is a Human open up a new TurnWindow.
 			if(player instanceof Human)
@@ -4041,7 +4669,7 @@ public class GUI extends JFrame
 				timer.setRepeats(false);
 				timer.start();
 			}
-			gameLog.setText(gameLog.getText() + "\n");
+			gameLog.log("\n");
 		}
 		//If the Player is bankrupt or the Player's score is greater than or
 		//equal to Blackjack.
@@ -4060,7 +4688,7 @@ public class GUI extends JFrame
 	private void nextPlayer(int index)
 	{
 		//If there are any more Player's left.
-		if(index + 1 < table.getPlayers().length - 1)
+		if(index + 1 < table.getNumOfPeople() - 1)
 		{
 			playerTurn(index + 1);
 		}
@@ -4075,7 +4703,7 @@ public class GUI extends JFrame
 	 * Plays out the turn of a CPU at a specified index.
 	 * 
 	 * @author Brodie Robertson
-	 * @version 1.6.0
+	 * @version 1.8.0
 	 * @since 1.6.0
 	 */
 	private class CpuTurn implements ActionListener
@@ -4097,7 +4725,8 @@ public class GUI extends JFrame
 		}
 		
 		/**
-		 * Activates when this object receives an action event.
+		 * Activates when this object receives an action event, every hand is 
+		 * played with the basic strategy against the dealer's face up card.
 		 * 
 		 * (non-Javadoc)
 		 * @see java.awt.event.ActionListener#actionPerformed(java.awt.event.ActionEvent)
@@ -4106,167 +4735,95 @@ public class GUI extends JFrame
 		@Override
 		public void actionPerformed(ActionEvent e) 
 		{
-			Player player = (Player)table.getPersonAtIndex(index);
+			PlayerView cpu = table.getPlayerView(index);
+			byte dealerUpCard = table.getPersonView(table.getDealerIndex()).
+					getHandView(0).getCode(0);
+			int handIndex = 0;
+			boolean firstAction = true;
 			
-			//If the player can split and has an an ace a 9 or a card with a
-			//value of 10.
-			if(player.canSplit() && (player.getHand(0).getCard(0).getValue() == 10 
-					|| player.getHand(0).getCard(0).getValue() == 9
-					|| player.getHand(0).getCard(0).getFace() == Face.ACE))
+			while(handIndex < cpu.getNumOfHands())
 			{
-				table.split(index);
-				player = (Player)table.getPersonAtIndex(index);
-				gameLog.setText(gameLog.getText() + player.getName() 
-					+ " splits their hand and their wager increase to " 
-					+ df.format(player.getWager()) + "\n");
-				playerPanels[index].updatePanel(index);
-				
-				int i = 0;
-				while(i < player.getHands().length && player.getHand(0).
-						getHandScore() < Table.BLACKJACK && player.getHand(1).
-						getHandScore() < Table.BLACKJACK)
+				player.Action action = strategy.getAction(cpu, handIndex, 
+						dealerUpCard, firstAction);
+				String handName = "";
+				if(cpu.getNumOfHands() > 1)
 				{
-					while(player.getHand(i).getHandScore() < 17)
-					{
-						Card card = table.hit(index, i);
-						updateDeck();
-						player = (Player)table.getPersonAtIndex(index);
-						gameLog.setText(gameLog.getText() + player.getName() 
-							+ " hits and is dealt a " + card + " to hand " + 
-							(i + 1) + "\n");
-						playerPanels[index].updatePanel(index);
-					}
-					
-					int handScore = player.getHand(i).getHandScore();
-					//If the CPU has Blackjack.
-					if(handScore == Table.BLACKJACK)
-					{
-						gameLog.setText(gameLog.getText() + player.getName() 
-						+ "'s score is " + Table.BLACKJACK + " and is forced"
-						+ " to stand\n");
-					}
-					//If the CPU has gone bust.
-					else if(player.getBusted())
-					{
-						gameLog.setText(gameLog.getText() + player.getName() 
-						+ " busts\n");
-					}
-					//Else the player stands.
-					else
-					{
-						gameLog.setText(gameLog.getText() + "Stands hand " 
-							+ (i + 1) + " with a score of " + handScore + "\n");
-					}
-					playerPanels[index].updatePanel(index);
-					i++;
+					handName = " to hand " + (handIndex + 1);
 				}
 				
-				nextPlayer(index);
-			}
-			//If the CPU doesn't split.
-			else
-			{
-				//If the CPU's score is less than or equal to 10, hit.
-				if(player.getHand(0).getHandScore() <= 10)
+				if(action == player.Action.SPLIT)
 				{
-					hit();
+					table.split(index);
+					gameLog.log(cpu.getName() 
+						+ " splits their hand and their wager increase to " 
+						+ df.format(cpu.getWager()) + "\n");
 				}
-				//If the the CPU's score is from 11 - 14.
-				else if(player.getHand(0).getHandScore() >= 11 && 
-						player.getHand(0).getHandScore() <= 14)
+				else if(action == player.Action.HIT)
 				{
-					//If the player can afford to double down then do do so.
-					if(player.getTotalMoney() >= player.getWager())
-					{
-						Card card = table.doubleDown(index, 0);
-						updateDeck();
-						player = (Player)table.getPersonAtIndex(index);
-						gameLog.setText(gameLog.getText() + player.getName() 
-							+ " doubles down and their wager has increased to " 
-							+ df.format(player.getWager()) + "\n");
-						gameLog.setText(gameLog.getText() + player.getName() 
-							+ " is dealt a " + card + "\n");
-						gameLog.setText(gameLog.getText() + player.getName() 
-							+ " now has a score of " + player.getHand(0).
-							getHandScore() + "\n");
-						
-						if(player.getBusted())
-						{
-							gameLog.setText(gameLog.getText() 
-									+ player.getName() + " has gone bust\n");
-						}
-						playerPanels[index].updatePanel(index);
-					}
-					//Otherwise hit.
-					else
-					{
-						hit();
-					}
+					Card card = table.hit(index, handIndex);
+					updateDeck();
+					gameLog.log(cpu.getName() 
+						+ " hits and is dealt a " + card + handName + "\n");
 				}
-				//If the CPU's score equals 15 then surrender.
-				else if(player.getHand(0).getHandScore() == 15)
+				else if(action == player.Action.DOUBLE_DOWN)
+				{
+					Card card = table.doubleDown(index, handIndex);
+					updateDeck();
+					gameLog.log(cpu.getName() 
+						+ " doubles down and their wager has increased to " 
+						+ df.format(cpu.getWager()) + "\n");
+					gameLog.log(cpu.getName() 
+						+ " is dealt a " + card + handName + "\n");
+					gameLog.log(cpu.getName() 
+						+ " now has a score of " + cpu.getHandView(handIndex).
+						getHandScore() + "\n");
+				}
+				else if(action == player.Action.SURRENDER)
 				{
 					double returnedAmount = table.surrender(index);
-					gameLog.setText(gameLog.getText() + player.getName()
+					gameLog.log(cpu.getName()
 						+ " surrenders and half of their wager is returned\n");
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(cpu.getName() 
 						+ " regains $" + df.format(returnedAmount) + "\n");
 					playerPanels[index].updatePanel(index);
+					nextPlayer(index);
+					return;
 				}
-				//If the CPU's score is 16 or greater than stand.
-				else if(player.getHand(0).getHandScore() >= 16)
+				playerPanels[index].updatePanel(index);
+				
+				HandView hand = cpu.getHandView(handIndex);
+				firstAction = action == player.Action.SPLIT;
+				//The hand is over if the CPU stands, doubles down, reaches
+				//Blackjack or busts.
+				if(action == player.Action.STAND || action == player.Action.
+						DOUBLE_DOWN || hand.getHandScore() >= Table.BLACKJACK)
 				{
-					gameLog.setText(gameLog.getText() + player.getName() 
-					+ " stands with a score of " + table.getPersonAtIndex
-					(index).getHand(0).getHandScore() + "\n");
-					playerPanels[index].updatePanel(index);
+					//If the CPU has gone bust.
+					if(hand.isBust())
+					{
+						gameLog.log(cpu.getName() 
+						+ " busts\n");
+					}
+					//If the CPU's score equals Blackjack stand.
+					else if(hand.getHandScore() == Table.BLACKJACK)
+					{
+						gameLog.log(cpu.getName() 
+						+ "'s score is " + Table.BLACKJACK + " and is forced"
+						+ " to stand\n");
+					}
+					//Else stand.
+					else if(action == player.Action.STAND)
+					{
+						gameLog.log(cpu.getName() 
+						+ " stands with a score of " + hand.getHandScore() 
+						+ handName.replace(" to", " with") + "\n");
+					}
+					handIndex++;
+					firstAction = true;
 				}
-				playerPanels[index].updatePanel(index);
-				nextPlayer(index);
-			}
-		}
-		
-		/**
-		 * Deals the CPU a new card.
-		 * 
-		 * @since 1.6.0
-		 */
-		private void hit()
-		{
-			Player player = (Player)table.getPersonAtIndex(index);
-			
-			//While the CPU's score is less than 17 hit.
-			while(player.getHand(0).getHandScore() < 17)
-			{
-				Card card = table.hit(index, 0);
-				updateDeck();
-				player = (Player)table.getPersonAtIndex(index);
-				gameLog.setText(gameLog.getText() + player.getName() 
-						+ " hits and is dealt a " + card + "\n");
-				playerPanels[index].updatePanel(index);
 			}
 			
-			int handScore = player.getHand(0).getHandScore();
-			//If the CPU's score equals Blackjack stand
-			if(handScore == Table.BLACKJACK)
-			{
-				gameLog.setText(gameLog.getText() + player.getName() 
-				+ "'s score is " + Table.BLACKJACK + " and is forced"
-				+ " to stand\n");
-			}
-			//If the CPU has gone bust.
-			else if(player.getBusted())
-			{
-				gameLog.setText(gameLog.getText() + player.getName() 
-				+ " busts\n");
-			}
-			//Else stand.
-			else
-			{
-				gameLog.setText(gameLog.getText() + player.getName() 
-				+ " stands with a score of " + handScore + "\n");
-			}
-			playerPanels[index].updatePanel(index);
+			nextPlayer(index);
 		}
 	}
 	
@@ -4277,7 +4834,7 @@ public class GUI extends JFrame
 	 */
 	private void dealerTurn()
 	{
-		final int finalIndex = table.getPlayers().length - 1;
+		final int finalIndex = table.getNumOfPeople() - 1;
 		table.flipDealersCard();
 
 		ActionListener dealerStart = new ActionListener() 
@@ -4285,12 +4842,12 @@ public class GUI extends JFrame
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
-				Person dealer = table.getPersonAtIndex(finalIndex);
-				gameLog.setText(gameLog.getText() + "\nIt's now " 
+				PersonView dealer = table.getPersonView(finalIndex);
+				gameLog.log("\nIt's now " 
 						+ dealer.getName() + "'s turn\n");
-				gameLog.setText(gameLog.getText() + dealer.getName() + "'s face "
-						+ "down card was " + dealer.getHand(0).getCard(1) + " and"
-						+ " they now have a score of " + dealer.getHand(0).
+				gameLog.log(dealer.getName() + "'s face "
+						+ "down card was " + dealer.getHandView(0).getCard(1) + " and"
+						+ " they now have a score of " + dealer.getHandView(0).
 						getHandScore() + "\n");	
 				dealerPanel.updatePanel(finalIndex);
 				dealerDraw();
@@ -4308,7 +4865,7 @@ public class GUI extends JFrame
 	 */
 	private void dealerDraw()
 	{
-		final int finalIndex = table.getPlayers().length - 1;
+		final int finalIndex = table.getNumOfPeople() - 1;
 		Card[] cards = table.addToDealersHand();
 		updateDeck();
 		
@@ -4320,23 +4877,23 @@ public class GUI extends JFrame
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{
-					Person dealer = table.getPersonAtIndex(finalIndex);
-					gameLog.setText(gameLog.getText() + dealer.getName() 
+					PersonView dealer = table.getPersonView(finalIndex);
+					gameLog.log(dealer.getName() 
 						+ " adds a ");
 					for(int i = 0; i < cards.length; i++)
 					{
-						gameLog.setText(gameLog.getText() + cards[i]);
+						gameLog.log("" + cards[i]);
 						if(i < cards.length - 1)
 						{
-							gameLog.setText(gameLog.getText() + ", ");
+							gameLog.log(", ");
 						}
 					}
 					
-					dealer = table.getPersonAtIndex(finalIndex);
-					gameLog.setText(gameLog.getText() + " and now has a score of " 
-							+ dealer.getHand(0).getHandScore() + "\n");
+					dealer = table.getPersonView(finalIndex);
+					gameLog.log(" and now has a score of " 
+							+ dealer.getHandView(0).getHandScore() + "\n");
 					dealerPanel.updatePanel(finalIndex);
-					gameLog.setText(gameLog.getText() + "\nRound Results:\n");
+					gameLog.log("\nRound Results:\n");
 					roundResults(0);
 				}
 			};
@@ -4347,7 +4904,7 @@ public class GUI extends JFrame
 		}
 		else
 		{
-			gameLog.setText(gameLog.getText() + "\nRound Results:\n");
+			gameLog.log("\nRound Results:\n");
 			roundResults(0);
 		}
 	}
@@ -4365,13 +4922,13 @@ public class GUI extends JFrame
 			@Override
 			public void actionPerformed(ActionEvent e) 
 			{
-				gameLog.setText(gameLog.getText() + table.roundResult(index) + "\n");		
-				Player player = (Player)table.getPersonAtIndex(index);
+				gameLog.log(table.roundResult(index) + "\n");		
+				PlayerView player = table.getPlayerView(index);
 				
 				//If the player has gone bankrupt.
 				if(player.getBankrupt())
 				{
-					gameLog.setText(gameLog.getText() + player.getName() 
+					gameLog.log(player.getName() 
 						+ " has gone bankrupt\n");
 				}
 				//If the player has not gone bankrupt.
@@ -4380,13 +4937,13 @@ public class GUI extends JFrame
 					//If the Player has a standard win.
 					if(player.getHasWin())
 					{
-						gameLog.setText(gameLog.getText() + player.getName() 
+						gameLog.log(player.getName() 
 							+ " wins $" + df.format(player.getCurrentWin()) + "\n");
 					}
 					//If the Player has Blackjack.
 					else if(player.getHasBlackjack())
 					{
-						gameLog.setText(gameLog.getText() + player.getName()
+						gameLog.log(player.getName()
 							+ " wins $" + df.format(player.getCurrentBlackjack()) + "\n");
 					}
 				}
@@ -4409,7 +4966,7 @@ public class GUI extends JFrame
 	 */
 	private void nextResult(int index)
 	{
-		if(index + 1 < table.getPlayers().length - 1)
+		if(index + 1 < table.getNumOfPeople() - 1)
 		{
 			roundResults(index + 1);
 		}
@@ -4432,18 +4989,94 @@ public class GUI extends JFrame
 		{
 			resetTableForNewRound();
 			table.setCurrentRound(table.getCurrentRound() + 1);
-			gameLog.setText(gameLog.getText() + "\n");
+			gameLog.log("\n");
 			currentRound();
 			initialWager(0);
 		}
 		//If there are no rounds remaining or every player is bankrupt.
 		else
 		{
+			closeHandHistory();
 			EndGameWindow window = new EndGameWindow();
 			window.setVisible(true);
 		}
 	}
 	
+	/**
+	 * Starts recording the game to a new hand history, finishing the 
+	 * previous game's hand history.
+	 * 
+	 * @since 1.8.0
+	 */
+	private void openHandHistory()
+	{
+		closeHandHistory();
+		int numOfHumans = 0;
+		BettingPolicy bettingPolicy = null;
+		for(int i = 0; i < table.getDealerIndex(); i++)
+		{
+			BettingPolicy seatPolicy = table.getPlayerView(i).getBettingPolicy();
+			if(seatPolicy == null)
+			{
+				numOfHumans++;
+			}
+			//Every CPU uses the default policy.
+			else if(bettingPolicy == null)
+			{
+				bettingPolicy = seatPolicy;
+			}
+		}
+		
+		try
+		{
+			Files.createDirectories(Paths.get(HAND_HISTORY_DIRECTORY));
+			handHistoryWriter = new HandHistoryWriter(HAND_HISTORY_DIRECTORY 
+					+ "/Hand History " + LocalDateTime.now().format(
+					HAND_HISTORY_FORMAT) + ".bin", table.getDealerIndex(), 
+					numOfHumans, table.getShoeView().getNumOfDecks(), 
+					table.getTotalRounds(), table.getPenetration(), 
+					table.getContinuousShuffle(), bettingPolicy);
+		}
+		catch(IOException ex)
+		{
+			ErrorWindow window = new ErrorWindow("The hand history couldn't "
+					+ "be opened, this game won't be recorded", ex.getMessage());
+			window.setVisible(true);
+			return;
+		}
+		handHistory = new HandHistoryRecorder(handHistoryWriter);
+		handHistory.startGame(table, shoeSeed);
+	}
+	
+	/**
+	 * Records the round in progress and closes the hand history of the 
+	 * game, if there is one.
+	 * 
+	 * @since 1.8.0
+	 */
+	private void closeHandHistory()
+	{
+		if(handHistory == null)
+		{
+			return;
+		}
+		
+		handHistory.finishGame();
+		try
+		{
+			handHistory.flush();
+			handHistoryWriter.close();
+		}
+		catch(IOException ex)
+		{
+			ErrorWindow window = new ErrorWindow("The hand history couldn't "
+					+ "be saved, its last rounds are lost", ex.getMessage());
+			window.setVisible(true);
+		}
+		handHistory = null;
+		handHistoryWriter = null;
+	}
+	
 	/**
 	 * Resets the table and every person for the new round.
 	 * 
@@ -4451,11 +5084,11 @@ public class GUI extends JFrame
 	 */
 	private void resetTableForNewRound()
 	{
-		for(int i = 0; i < table.getPlayers().length; i++)
+		for(int i = 0; i < table.getNumOfPeople(); i++)
 		{
 			table.prepareForNewRound(i);
 			//If the Person is a Player, update their panel.
-			if(table.getPersonAtIndex(i) instanceof Player)
+			if(table.getPersonView(i) instanceof Player)
 			{
 				playerPanels[i].resetPanel(i);
 			}
@@ -4465,6 +5098,13 @@ public class GUI extends JFrame
 				dealerPanel.updatePanel(i);
 			}
 		}
+		
+		if(table.reshuffleAtCutCard())
+		{
+			gameLog.log("The cut card has been reached, "
+					+ "the dealer reshuffles the deck\n");
+			updateDeck();
+		}
 	}
 	
 	/**
@@ -0,0 +1,183 @@
+package userinterface;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+/**
+ * Text area showing the log of a game. Only the most recent lines are shown
+ * and the lines logged during a single event are inserted into the document
+ * together, so the cost of logging a line doesn't grow with the length of
+ * the game. Every line is streamed to disk by a GameLogWriter.
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class GameLog extends JTextArea
+{
+	/**
+	 * The default number of lines shown.
+	 */
+	public static final int DEFAULTVISIBLELINES = 500;
+	/**
+	 * Streams every line logged to disk, null if it couldn't be opened.
+	 */
+	private GameLogWriter writer;
+	/**
+	 * Text logged since the document was last updated.
+	 */
+	private StringBuilder pending;
+	/**
+	 * Whether an update of the document has been scheduled.
+	 */
+	private boolean flushScheduled;
+	/**
+	 * The most lines shown at once.
+	 */
+	private int visibleLines;
+	/**
+	 * Inserts the pending text into the document.
+	 */
+	private Runnable flush = new Runnable()
+	{
+		@Override
+		public void run()
+		{
+			flush();
+		}
+	};
+
+	/**
+	 * Constructs an empty game log showing the default number of lines.
+	 *
+	 * @since 1.8.0
+	 */
+	public GameLog()
+	{
+		this(DEFAULTVISIBLELINES);
+	}
+
+	/**
+	 * Constructs an empty game log, the program ends if the number of lines
+	 * is less than 1.
+	 *
+	 * @param visibleLines The most lines shown at once.
+	 * @since 1.8.0
+	 */
+	public GameLog(int visibleLines)
+	{
+		try
+		{
+			if(visibleLines < 1)
+			{
+				throw new IllegalArgumentException("Invalid number of visible "
+						+ "lines: " + visibleLines);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.visibleLines = visibleLines;
+		pending = new StringBuilder();
+	}
+
+	/**
+	 * Logs text, the text is shown once the current event has been handled.
+	 * Must be called on the event dispatch thread.
+	 *
+	 * @param text The text being logged, ending with a new line.
+	 * @since 1.8.0
+	 */
+	public void log(String text)
+	{
+		pending.append(text);
+		if(!flushScheduled)
+		{
+			flushScheduled = true;
+			SwingUtilities.invokeLater(flush);
+		}
+	}
+
+	/**
+	 * Inserts the pending text into the document with a single insert, removes
+	 * the oldest lines beyond the visible number of lines and hands the text
+	 * to the writer.
+	 *
+	 * @since 1.8.0
+	 */
+	public void flush()
+	{
+		flushScheduled = false;
+		if(pending.length() == 0)
+		{
+			return;
+		}
+
+		Document document = getDocument();
+		try
+		{
+			String text = pending.toString();
+			pending.setLength(0);
+			document.insertString(document.getLength(), text, null);
+			if(writer != null)
+			{
+				writer.write(text);
+			}
+
+			//The last line is empty while the text ends with a new line
+			int excess = getLineCount() - 1 - visibleLines;
+			if(excess > 0)
+			{
+				document.remove(0, getLineEndOffset(excess - 1));
+			}
+		}
+		catch(BadLocationException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+		setCaretPosition(document.getLength());
+	}
+
+	/**
+	 * Sets the writer every line logged is streamed to.
+	 *
+	 * @param writer The writer, or null to keep the log only on screen.
+	 * @since 1.8.0
+	 */
+	public void setWriter(GameLogWriter writer)
+	{
+		this.writer = writer;
+	}
+
+	/**
+	 * Gets the writer every line logged is streamed to.
+	 *
+	 * @return The writer, null if there isn't one.
+	 * @since 1.8.0
+	 */
+	public GameLogWriter getWriter()
+	{
+		return writer;
+	}
+
+	/**
+	 * Writes the pending text and closes the writer without waiting for it
+	 * to finish.
+	 *
+	 * @since 1.8.0
+	 */
+	public void close()
+	{
+		flush();
+		if(writer != null)
+		{
+			writer.close();
+		}
+	}
+}
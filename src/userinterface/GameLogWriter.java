@@ -0,0 +1,384 @@
+package userinterface;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the game log of a session to disk on a background thread. Text is
+ * handed over through a bounded queue without ever blocking the caller and
+ * written through a buffered file channel. Each session writes its own
+ * file, which is rotated to a new part once it reaches a maximum size.
+ * <br><br>
+ * The files of a session are named
+ * <br><pre>
+ * Game Log 2026-10-18 14-05-09.txt
+ * Game Log 2026-10-18 14-05-09 (2).txt
+ * </pre>
+ *
+ * @author Brodie Robertson
+ * @version 1.8.0
+ * @since 1.8.0
+ */
+public class GameLogWriter implements Runnable
+{
+	/**
+	 * The default directory the logs are written to.
+	 */
+	public static final String DEFAULTDIRECTORY = "Game Logs";
+	/**
+	 * The default size a file is rotated at, in bytes.
+	 */
+	public static final long DEFAULTMAXFILESIZE = 8L * 1024 * 1024;
+	/**
+	 * The default number of writes the queue holds.
+	 */
+	public static final int DEFAULTQUEUESIZE = 1024;
+	/**
+	 * The size of the buffer in front of the file channel.
+	 */
+	private static final int BUFFERSIZE = 64 * 1024;
+	/**
+	 * How long the thread waits for text before checking if it's closed.
+	 */
+	private static final long POLLMILLIS = 100;
+	/**
+	 * Format of the time a session started in its file names.
+	 */
+	private static final DateTimeFormatter SESSIONFORMAT = DateTimeFormatter.
+			ofPattern("yyyy-MM-dd HH-mm-ss");
+	/**
+	 * The text waiting to be written.
+	 */
+	private ArrayBlockingQueue<String> queue;
+	/**
+	 * Text which didn't fit in the queue, only used by the producing thread.
+	 */
+	private StringBuilder overflow;
+	/**
+	 * The overflow left when the writer was closed.
+	 */
+	private volatile String remaining;
+	/**
+	 * Whether the writer has been closed.
+	 */
+	private volatile boolean closed;
+	/**
+	 * The directory the logs are written to.
+	 */
+	private Path directory;
+	/**
+	 * The name of every file of the session, without its part or extension.
+	 */
+	private String session;
+	/**
+	 * The size a file is rotated at.
+	 */
+	private long maxFileSize;
+	/**
+	 * The file currently being written.
+	 */
+	private volatile Path file;
+	/**
+	 * The channel of the file currently being written.
+	 */
+	private FileChannel channel;
+	/**
+	 * The part of the session currently being written, starting at 1.
+	 */
+	private int part;
+	/**
+	 * The number of bytes written to the current file.
+	 */
+	private long fileSize;
+	/**
+	 * Text encoded but not yet written.
+	 */
+	private ByteBuffer buffer;
+	/**
+	 * The thread writing the files.
+	 */
+	private Thread thread;
+
+	/**
+	 * Constructs a writer for a new session in the default directory and
+	 * starts its thread.
+	 *
+	 * @throws IOException Thrown if the first file can't be created.
+	 * @since 1.8.0
+	 */
+	public GameLogWriter() throws IOException
+	{
+		this(DEFAULTDIRECTORY, DEFAULTMAXFILESIZE, DEFAULTQUEUESIZE);
+	}
+
+	/**
+	 * Constructs a writer for a new session and starts its thread, the
+	 * program ends if the size of a file or the queue is less than 1.
+	 *
+	 * @param directory The directory the logs are written to, created if it
+	 * doesn't exist.
+	 * @param maxFileSize The size a file is rotated at, in bytes.
+	 * @param queueSize The number of writes the queue holds.
+	 * @throws IOException Thrown if the first file can't be created.
+	 * @since 1.8.0
+	 */
+	public GameLogWriter(String directory, long maxFileSize, int queueSize)
+			throws IOException
+	{
+		try
+		{
+			if(maxFileSize < 1)
+			{
+				throw new IllegalArgumentException("Invalid file size: " +
+						maxFileSize);
+			}
+			else if(queueSize < 1)
+			{
+				throw new IllegalArgumentException("Invalid queue size: " +
+						queueSize);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		this.directory = Paths.get(directory);
+		this.maxFileSize = maxFileSize;
+		queue = new ArrayBlockingQueue<String>(queueSize);
+		overflow = new StringBuilder();
+		buffer = ByteBuffer.allocate(BUFFERSIZE);
+		session = "Game Log " + LocalDateTime.now().format(SESSIONFORMAT);
+		Files.createDirectories(this.directory);
+		openNextPart();
+
+		thread = new Thread(this, "game-log-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Hands text to the writer without blocking. If the queue is full the
+	 * text is held until the queue has room, so no text is lost. Must only be
+	 * called by a single thread.
+	 *
+	 * @param text The text being written.
+	 * @since 1.8.0
+	 */
+	public void write(String text)
+	{
+		if(closed)
+		{
+			return;
+		}
+		else if(overflow.length() == 0 && queue.offer(text))
+		{
+			return;
+		}
+
+		//The overflow is only copied once the queue has room for it
+		overflow.append(text);
+		if(queue.remainingCapacity() > 0 && queue.offer(overflow.toString()))
+		{
+			overflow.setLength(0);
+		}
+	}
+
+	/**
+	 * Closes the writer without blocking, the text already handed over is
+	 * still written. Must be called by the thread which writes.
+	 *
+	 * @since 1.8.0
+	 */
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+
+		remaining = overflow.toString();
+		overflow.setLength(0);
+		closed = true;
+	}
+
+	/**
+	 * Waits for the text handed over before close to be written.
+	 *
+	 * @param timeoutMillis The longest time waited in milliseconds.
+	 * @return Whether everything was written.
+	 * @since 1.8.0
+	 */
+	public boolean awaitClosed(long timeoutMillis)
+	{
+		try
+		{
+			thread.join(timeoutMillis);
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		return !thread.isAlive();
+	}
+
+	/**
+	 * Gets the file currently being written.
+	 *
+	 * @return The file.
+	 * @since 1.8.0
+	 */
+	public Path getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Writes the text in the queue until the writer is closed, the buffer is
+	 * written to the file whenever the queue is empty. If writing fails the
+	 * rest of the session is discarded.
+	 *
+	 * (non-Javadoc)
+	 * @see java.lang.Runnable#run()
+	 * @since 1.8.0
+	 */
+	@Override
+	public void run()
+	{
+		try
+		{
+			while(true)
+			{
+				String text = queue.poll(POLLMILLIS, TimeUnit.MILLISECONDS);
+				if(text != null)
+				{
+					append(text);
+					while((text = queue.poll()) != null)
+					{
+						append(text);
+					}
+					flushBuffer();
+				}
+				//Nothing is queued after closing, so the queue is drained
+				else if(closed && queue.isEmpty())
+				{
+					append(remaining);
+					flushBuffer();
+					break;
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			closed = true;
+			queue.clear();
+			try
+			{
+				channel.close();
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Encodes text into the buffer, writing the buffer whenever it's full.
+	 *
+	 * @param text The text being written.
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	private void append(String text) throws IOException
+	{
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		int offset = 0;
+		while(offset < bytes.length)
+		{
+			if(!buffer.hasRemaining())
+			{
+				flushBuffer();
+			}
+			int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.put(bytes, offset, length);
+			offset += length;
+		}
+	}
+
+	/**
+	 * Writes the buffer to the file, rotating to the next part first if the
+	 * file has reached its maximum size.
+	 *
+	 * @throws IOException Thrown if the file can't be written.
+	 * @since 1.8.0
+	 */
+	private void flushBuffer() throws IOException
+	{
+		if(buffer.position() == 0)
+		{
+			return;
+		}
+		if(fileSize >= maxFileSize)
+		{
+			channel.close();
+			openNextPart();
+		}
+
+		buffer.flip();
+		while(buffer.hasRemaining())
+		{
+			fileSize += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Opens the next part of the session, skipping any part which already
+	 * exists.
+	 *
+	 * @throws IOException Thrown if the file can't be created.
+	 * @since 1.8.0
+	 */
+	private void openNextPart() throws IOException
+	{
+		while(true)
+		{
+			part++;
+			Path next = directory.resolve(part == 1 ? session + ".txt" :
+					session + " (" + part + ").txt");
+			try
+			{
+				channel = FileChannel.open(next, StandardOpenOption.CREATE_NEW,
+						StandardOpenOption.WRITE);
+				file = next;
+				fileSize = 0;
+				return;
+			}
+			catch(FileAlreadyExistsException e)
+			{
+				continue;
+			}
+		}
+	}
+}